@@ -0,0 +1,152 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of {@link BookDTO}s by book id, with a time to live.
+ * <p>Writes to a book evict it once their transaction commits, and the time to live bounds how long a
+ * concurrently cached older version, or a stock held outside the book row (stock slots, flash sale ledger),
+ * can be served. When the cache is full, expired entries are dropped and new entries are not cached
+ * until there is room again.</p>
+ * <p>The books are kept on the heap by default. With {@code cache.books.store=off-heap} they are kept in an
+ * {@link OffHeapBookCacheStore} instead, for catalogs large enough that millions of cached objects would
+ * lengthen garbage collection pauses.</p>
+ */
+@Component
+public class BookCache {
+
+    private final BookCacheStore store;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param ttlMs         How long an entry is served after it was cached, in milliseconds.
+     * @param maxEntries    The maximum number of cached books.
+     * @param storeType     Where the books are kept, {@code heap} or {@code off-heap}.
+     * @param arenaBytes    The size of the off-heap string arena in bytes, if the books are kept off heap.
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    @Autowired
+    public BookCache(@Value("${cache.books.ttl-ms:5000}") final long ttlMs,
+                     @Value("${cache.books.max-entries:10000}") final int maxEntries,
+                     @Value("${cache.books.store:heap}") final String storeType,
+                     @Value("${cache.books.off-heap.arena-bytes:8388608}") final long arenaBytes,
+                     final MeterRegistry meterRegistry) {
+        this(ttlMs, createStore(storeType, maxEntries, arenaBytes), meterRegistry, System::nanoTime);
+    }
+
+    BookCache(final long ttlMs, final int maxEntries, final MeterRegistry meterRegistry, final LongSupplier nanoClock) {
+        this(ttlMs, new HeapBookCacheStore(maxEntries), meterRegistry, nanoClock);
+    }
+
+    BookCache(final long ttlMs, final BookCacheStore store, final MeterRegistry meterRegistry, final LongSupplier nanoClock) {
+
+        this.store = store;
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.nanoClock = nanoClock;
+
+        this.hits = Counter.builder("books.cache.requests")
+                .description("Book cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("books.cache.requests")
+                .description("Book cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("books.cache.size", store, BookCacheStore::size)
+                .description("Number of cached books")
+                .register(meterRegistry);
+        Gauge.builder("books.cache.off-heap.memory", store, BookCacheStore::offHeapBytes)
+                .description("Memory reserved outside the heap for cached books")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached book with the given id, if it has not expired.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The cached book, or an empty Optional on a miss.
+     */
+    public Optional<BookDTO> get(final String bookId) {
+
+        final BookDTO book = store.get(bookId, nanoClock.getAsLong());
+        (book == null ? misses : hits).increment();
+        return Optional.ofNullable(book);
+    }
+
+    /**
+     * Returns the cached books among the given ids.
+     *
+     * @param bookIds The unique identifiers of the books.
+     * @return The cached books by id; ids that missed are absent.
+     */
+    public Map<String, BookDTO> getAll(final Collection<String> bookIds) {
+
+        final Map<String, BookDTO> books = new HashMap<>();
+        for (final String bookId : bookIds) {
+            get(bookId).ifPresent(book -> books.put(bookId, book));
+        }
+        return books;
+    }
+
+    /**
+     * Returns every cached book that has not expired, for the cache to be persisted.
+     *
+     * @return The unexpired cached books, in no particular order.
+     */
+    public List<BookDTO> getAllUnexpired() {
+        return store.values(nanoClock.getAsLong());
+    }
+
+    /**
+     * Caches a book, replacing any cached version of it.
+     *
+     * @param book The book to cache.
+     */
+    public void put(final BookDTO book) {
+        final long now = nanoClock.getAsLong();
+        store.put(book, now + ttlNanos, now);
+    }
+
+    /**
+     * Removes a book from the cache.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    public void evict(final String bookId) {
+        store.remove(bookId);
+    }
+
+    private static BookCacheStore createStore(final String storeType, final int maxEntries, final long arenaBytes) {
+
+        return switch (storeType) {
+            case "heap" -> new HeapBookCacheStore(maxEntries);
+            case "off-heap" -> new OffHeapBookCacheStore(maxEntries, arenaBytes);
+            default -> throw new IllegalArgumentException("Unknown book cache store: " + storeType);
+        };
+    }
+
+}
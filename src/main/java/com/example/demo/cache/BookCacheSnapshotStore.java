@@ -0,0 +1,235 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persists the books of the {@link BookCache} as a compact binary snapshot on the local disk, so that a restarted
+ * node can start from a warm cache.
+ * <p>Each book is written as a presence bitmap followed by its present fields; the snapshot is read back through
+ * a read-only memory mapping. It is written to a temporary file and moved into place, so a crash never leaves a
+ * partial snapshot.</p>
+ */
+@Component
+@Slf4j
+public class BookCacheSnapshotStore {
+
+    private static final int MAGIC = 0x424B4353;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SNAPSHOT_FILE_NAME = "books.snapshot";
+
+    private static final int HAS_ISBN = 1;
+
+    private static final int HAS_NAME = 1 << 1;
+
+    private static final int HAS_AUTHOR_FULL_NAME = 1 << 2;
+
+    private static final int HAS_PRICE = 1 << 3;
+
+    private static final int HAS_STOCK = 1 << 4;
+
+    private static final int HAS_STOCK_SLOT_COUNT = 1 << 5;
+
+    private static final int FLASH_SALE = 1 << 6;
+
+    private static final int HAS_CHANGE_VERSION = 1 << 7;
+
+    private final Path directory;
+
+    public BookCacheSnapshotStore(@Value("${cache.books.snapshot.directory:${java.io.tmpdir}/bookdelivery/cache}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * A persisted snapshot: the cached books and the time the snapshot was taken.
+     *
+     * @param books   The cached books.
+     * @param takenAt The time the snapshot was taken.
+     */
+    public record Snapshot(List<BookDTO> books, Instant takenAt) {
+    }
+
+    /**
+     * Writes a snapshot, replacing the previous one. Books with a text longer than 65535 bytes or a price whose
+     * unscaled value exceeds 255 bytes are left out.
+     *
+     * @param snapshot The snapshot to be written.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void write(final Snapshot snapshot) throws IOException {
+
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, SNAPSHOT_FILE_NAME, ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(snapshot.takenAt().toEpochMilli());
+            final List<BookDTO> books = snapshot.books().stream().filter(BookCacheSnapshotStore::fits).toList();
+            output.writeInt(books.size());
+
+            for (final BookDTO book : books) {
+                writeBook(output, book);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE_NAME),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the persisted snapshot.
+     *
+     * @return The snapshot, or an empty {@link Optional} if there is none or it cannot be read.
+     */
+    public Optional<Snapshot> read() {
+
+        final Path file = directory.resolve(SNAPSHOT_FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final MappedByteBuffer input = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (input.getInt() != MAGIC || input.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+
+            final Instant takenAt = Instant.ofEpochMilli(input.getLong());
+            final int bookCount = input.getInt();
+            final List<BookDTO> books = new ArrayList<>(bookCount);
+
+            for (int i = 0; i < bookCount; i++) {
+                books.add(readBook(input));
+            }
+
+            return Optional.of(new Snapshot(books, takenAt));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.error("BookCacheSnapshotStore | read | {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void writeBook(final DataOutputStream output, final BookDTO book) throws IOException {
+
+        int flags = 0;
+        flags |= book.getIsbn() == null ? 0 : HAS_ISBN;
+        flags |= book.getName() == null ? 0 : HAS_NAME;
+        flags |= book.getAuthorFullName() == null ? 0 : HAS_AUTHOR_FULL_NAME;
+        flags |= book.getPrice() == null ? 0 : HAS_PRICE;
+        flags |= book.getStock() == null ? 0 : HAS_STOCK;
+        flags |= book.getStockSlotCount() == null ? 0 : HAS_STOCK_SLOT_COUNT;
+        flags |= book.isFlashSale() ? FLASH_SALE : 0;
+        flags |= book.getChangeVersion() == null ? 0 : HAS_CHANGE_VERSION;
+        output.writeByte(flags);
+
+        writeString(output, book.getId());
+        if (book.getIsbn() != null) {
+            writeString(output, book.getIsbn());
+        }
+        if (book.getName() != null) {
+            writeString(output, book.getName());
+        }
+        if (book.getAuthorFullName() != null) {
+            writeString(output, book.getAuthorFullName());
+        }
+        if (book.getPrice() != null) {
+            final byte[] unscaled = book.getPrice().unscaledValue().toByteArray();
+            output.writeByte(unscaled.length);
+            output.write(unscaled);
+            output.writeInt(book.getPrice().scale());
+        }
+        if (book.getStock() != null) {
+            output.writeInt(book.getStock());
+        }
+        if (book.getStockSlotCount() != null) {
+            output.writeInt(book.getStockSlotCount());
+        }
+        if (book.getChangeVersion() != null) {
+            output.writeLong(book.getChangeVersion());
+        }
+    }
+
+    private static BookDTO readBook(final ByteBuffer input) {
+
+        final int flags = input.get() & 0xFF;
+
+        final BookDTO.BookDTOBuilder book = BookDTO.builder().id(readString(input));
+        if ((flags & HAS_ISBN) != 0) {
+            book.isbn(readString(input));
+        }
+        if ((flags & HAS_NAME) != 0) {
+            book.name(readString(input));
+        }
+        if ((flags & HAS_AUTHOR_FULL_NAME) != 0) {
+            book.authorFullName(readString(input));
+        }
+        if ((flags & HAS_PRICE) != 0) {
+            final byte[] unscaled = new byte[input.get() & 0xFF];
+            input.get(unscaled);
+            book.price(new BigDecimal(new BigInteger(unscaled), input.getInt()));
+        }
+        if ((flags & HAS_STOCK) != 0) {
+            book.stock(input.getInt());
+        }
+        if ((flags & HAS_STOCK_SLOT_COUNT) != 0) {
+            book.stockSlotCount(input.getInt());
+        }
+        if ((flags & HAS_CHANGE_VERSION) != 0) {
+            book.changeVersion(input.getLong());
+        }
+        return book.flashSale((flags & FLASH_SALE) != 0).build();
+    }
+
+    private static boolean fits(final BookDTO book) {
+        return book.getId() != null
+                && fits(book.getId()) && fits(book.getIsbn()) && fits(book.getName()) && fits(book.getAuthorFullName())
+                && (book.getPrice() == null || book.getPrice().unscaledValue().bitLength() < 255 * Byte.SIZE);
+    }
+
+    private static boolean fits(final String value) {
+        return value == null || value.getBytes(StandardCharsets.UTF_8).length <= 0xFFFF;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer input) {
+        final byte[] bytes = new byte[input.getShort() & 0xFFFF];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
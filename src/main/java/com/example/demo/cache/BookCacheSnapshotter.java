@@ -0,0 +1,122 @@
+package com.example.demo.cache;
+
+import com.example.demo.datasource.PrimaryReads;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.dto.BookVersionDTO;
+import com.example.demo.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Warms the {@link BookCache} at startup from the snapshot persisted through the {@link BookCacheSnapshotStore},
+ * and persists the cache periodically and on graceful shutdown.
+ * <p>The snapshot is loaded once the context has started, before the application reports itself ready. A persisted
+ * book is only cached again if its change version still matches the database; books whose stock is held outside
+ * the book row (stock slots, flash sale ledger) are never persisted, since that stock is not covered by the
+ * change version.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookCacheSnapshotter {
+
+    private final BookCache bookCache;
+
+    private final BookCacheSnapshotStore bookCacheSnapshotStore;
+
+    private final BookRepository bookRepository;
+
+    @Value("${cache.books.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.books.snapshot.validate-batch-size:500}")
+    private int validateBatchSize;
+
+    /**
+     * Loads the persisted snapshot into the cache, keeping only the books still at their persisted change version.
+     * The current versions are read from the primary, so that a lagging replica cannot validate an outdated book.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadSnapshot() {
+
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            final Optional<BookCacheSnapshotStore.Snapshot> snapshot = bookCacheSnapshotStore.read();
+            if (snapshot.isEmpty()) {
+                return;
+            }
+
+            final List<BookDTO> books = snapshot.get().books();
+            int restored = 0;
+
+            for (int from = 0; from < books.size(); from += validateBatchSize) {
+                final List<BookDTO> batch = books.subList(from, Math.min(from + validateBatchSize, books.size()));
+
+                final Map<String, Long> currentVersions = PrimaryReads.call(() -> bookRepository
+                        .findVersionsByIds(batch.stream().map(BookDTO::getId).toList())).stream()
+                        .filter(version -> version.getChangeVersion() != null)
+                        .collect(Collectors.toMap(BookVersionDTO::getId, BookVersionDTO::getChangeVersion));
+
+                for (final BookDTO book : batch) {
+                    if (Objects.equals(currentVersions.get(book.getId()), book.getChangeVersion())) {
+                        bookCache.put(book);
+                        restored++;
+                    }
+                }
+            }
+
+            log.info("BookCacheSnapshotter | loadSnapshot | {} of {} books restored", restored, books.size());
+        } catch (Exception e) {
+            log.error("BookCacheSnapshotter | loadSnapshot | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Persists the cache.
+     */
+    @Scheduled(
+            initialDelayString = "${cache.books.snapshot.interval-ms:60000}",
+            fixedDelayString = "${cache.books.snapshot.interval-ms:60000}"
+    )
+    public void persistSnapshot() {
+
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            final List<BookDTO> books = bookCache.getAllUnexpired().stream()
+                    .filter(book -> book.getChangeVersion() != null)
+                    .filter(book -> !book.isFlashSale() && book.getStockSlotCount() == null)
+                    .toList();
+            bookCacheSnapshotStore.write(new BookCacheSnapshotStore.Snapshot(books, Instant.now()));
+        } catch (Exception e) {
+            log.error("BookCacheSnapshotter | persistSnapshot | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Persists the cache on graceful shutdown.
+     */
+    @PreDestroy
+    public void persistOnShutdown() {
+        persistSnapshot();
+    }
+
+}
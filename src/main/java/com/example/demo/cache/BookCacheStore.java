@@ -0,0 +1,63 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+
+import java.util.List;
+
+/**
+ * Storage behind the {@link BookCache}: books by id, each with the time it expires at.
+ * Times are {@link System#nanoTime()} readings supplied by the cache.
+ */
+interface BookCacheStore {
+
+    /**
+     * Returns the stored book with the given id, unless it has expired.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param now    The current time.
+     * @return The book, or {@code null} if it is absent or expired.
+     */
+    BookDTO get(String bookId, long now);
+
+    /**
+     * Stores a book, replacing any stored version of it. When the store is full, expired books are dropped first.
+     *
+     * @param book      The book to store.
+     * @param expiresAt The time the book expires at.
+     * @param now       The current time.
+     * @return {@code false} if there was no room for the book.
+     */
+    boolean put(BookDTO book, long expiresAt, long now);
+
+    /**
+     * Removes a book.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    void remove(String bookId);
+
+    /**
+     * Returns the stored books that have not expired.
+     *
+     * @param now The current time.
+     * @return The unexpired books, in no particular order.
+     */
+    List<BookDTO> values(long now);
+
+    /**
+     * Returns the number of stored books, including expired ones not dropped yet.
+     *
+     * @return The number of stored books.
+     */
+    int size();
+
+    /**
+     * Returns the memory reserved outside the Java heap.
+     *
+     * @return The reserved off-heap memory in bytes.
+     */
+    default long offHeapBytes() {
+        return 0;
+    }
+
+}
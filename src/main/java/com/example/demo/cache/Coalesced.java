@@ -0,0 +1,36 @@
+package com.example.demo.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent identical calls share a single execution through the
+ * {@link RequestCoalescer}.
+ * <p>Calls are identical when their arguments are equal. Calls made inside a transaction, or with the reads kept on
+ * the primary, always run on their own, as they must see the data as of their own transaction.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+
+    /**
+     * The name of the coalesced read, used in the configuration ({@code coalescing.<name>.ttl-ms}) and in the
+     * metric tags.
+     *
+     * @return The name of the read.
+     */
+    String value();
+
+    /**
+     * A SpEL expression over the arguments, such as {@code #p0.page < 3}, deciding whether a call is coalesced.
+     * All calls are coalesced by default.
+     *
+     * @return The condition of the coalescing.
+     */
+    String condition() default "";
+
+}
@@ -0,0 +1,73 @@
+package com.example.demo.cache;
+
+import com.example.demo.datasource.PrimaryReads;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect class running the {@link Coalesced} methods through the {@link RequestCoalescer}.
+ * <p>The aspect is ordered ahead of the transaction interceptor, so that the waiting calls do not hold a
+ * transaction, and with it a database connection, while the shared call runs in its own.</p>
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class CoalescingAspect {
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<String, Expression> conditions = new ConcurrentHashMap<>();
+
+    /**
+     * Advice method sharing the calls of a coalesced method with identical arguments.
+     *
+     * @param joinPoint The call of the coalesced method.
+     * @param coalesced The annotation of the method.
+     * @return The result of the call, or of the identical call it shared.
+     * @throws Throwable Anything thrown by the call it ran or shared.
+     */
+    @Around("@annotation(coalesced)")
+    public Object coalesce(final ProceedingJoinPoint joinPoint, final Coalesced coalesced) throws Throwable {
+
+        if (TransactionSynchronizationManager.isActualTransactionActive() || PrimaryReads.isActive()
+                || !matches(joinPoint, coalesced)) {
+            return joinPoint.proceed();
+        }
+        return requestCoalescer.execute(coalesced.value(), Arrays.asList(joinPoint.getArgs()), joinPoint::proceed);
+    }
+
+    private boolean matches(final ProceedingJoinPoint joinPoint, final Coalesced coalesced) {
+
+        if (coalesced.condition().isEmpty()) {
+            return true;
+        }
+
+        final Expression condition = conditions.computeIfAbsent(coalesced.condition(),
+                expressionParser::parseExpression);
+        return Boolean.TRUE.equals(condition.getValue(new MethodBasedEvaluationContext(joinPoint.getTarget(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(),
+                parameterNameDiscoverer), Boolean.class));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link BookCacheStore} keeping the {@link BookDTO}s themselves in a concurrent map on the heap.
+ */
+final class HeapBookCacheStore implements BookCacheStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    private record Entry(BookDTO book, long expiresAt) {
+    }
+
+    HeapBookCacheStore(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public BookDTO get(final String bookId, final long now) {
+        final Entry entry = entries.get(bookId);
+        return entry == null || isExpired(entry, now) ? null : entry.book();
+    }
+
+    @Override
+    public boolean put(final BookDTO book, final long expiresAt, final long now) {
+
+        if (entries.size() >= maxEntries && !entries.containsKey(book.getId())) {
+            entries.values().removeIf(entry -> isExpired(entry, now));
+            if (entries.size() >= maxEntries) {
+                return false;
+            }
+        }
+
+        entries.put(book.getId(), new Entry(book, expiresAt));
+        return true;
+    }
+
+    @Override
+    public void remove(final String bookId) {
+        entries.remove(bookId);
+    }
+
+    @Override
+    public List<BookDTO> values(final long now) {
+        return entries.values().stream()
+                .filter(entry -> !isExpired(entry, now))
+                .map(Entry::book)
+                .toList();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    private static boolean isExpired(final Entry entry, final long now) {
+        return now - entry.expiresAt() >= 0;
+    }
+
+}
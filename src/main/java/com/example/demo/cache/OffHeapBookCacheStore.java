@@ -0,0 +1,527 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link BookCacheStore} keeping books outside the Java heap, so that a cache of millions of books adds no objects
+ * for the garbage collector to trace and only the books actually read are materialized as {@link BookDTO}s.
+ * <p>Every book is a fixed-layout record in a direct buffer. Its strings are UTF-8 encoded into a separate direct
+ * arena, each behind a header holding its length and the record field that owns it; replaced strings are marked
+ * dead and the arena is compacted in place when it runs full. Two primitive open-addressing tables with linear
+ * probing map the id and the ISBN of a book to its record.</p>
+ * <p>Lookups share a lock and writes take it exclusively. Prices whose unscaled value or scale do not fit the
+ * record are not stored.</p>
+ */
+final class OffHeapBookCacheStore implements BookCacheStore {
+
+    static final int RECORD_BYTES = 64;
+
+    private static final int EXPIRES_AT = 0;
+
+    private static final int CHANGE_VERSION = 8;
+
+    private static final int PRICE_UNSCALED = 16;
+
+    private static final int STOCK = 24;
+
+    private static final int STOCK_SLOT_COUNT = 28;
+
+    private static final int FLAGS = 32;
+
+    private static final int PRICE_SCALE = 33;
+
+    private static final int ID_HASH = 36;
+
+    private static final int ISBN_HASH = 40;
+
+    private static final int[] STRING_FIELDS = {44, 48, 52, 56};
+
+    private static final int ID = 0;
+
+    private static final int ISBN = 1;
+
+    private static final int NAME = 2;
+
+    private static final int AUTHOR_FULL_NAME = 3;
+
+    private static final byte IN_USE = 1;
+
+    private static final byte FLASH_SALE = 1 << 1;
+
+    private static final byte HAS_PRICE = 1 << 2;
+
+    private static final byte HAS_STOCK = 1 << 3;
+
+    private static final byte HAS_STOCK_SLOT_COUNT = 1 << 4;
+
+    private static final byte HAS_CHANGE_VERSION = 1 << 5;
+
+    private static final int STRING_HEADER_BYTES = 8;
+
+    private static final int NO_STRING = -1;
+
+    private static final int DEAD = -1;
+
+    private final ByteBuffer records;
+
+    private final ByteBuffer arena;
+
+    private final int capacity;
+
+    private final int[] freeRecords;
+
+    private final Index byId;
+
+    private final Index byIsbn;
+
+    private final StampedLock lock = new StampedLock();
+
+    private int freeCount;
+
+    private int arenaTop;
+
+    private int size;
+
+    /**
+     * Reserves the off-heap memory of the store.
+     *
+     * @param capacity   The maximum number of books.
+     * @param arenaBytes The size of the string arena in bytes.
+     */
+    OffHeapBookCacheStore(final int capacity, final long arenaBytes) {
+
+        if (capacity <= 0 || (long) capacity * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Off-heap book capacity must be between 1 and "
+                    + Integer.MAX_VALUE / RECORD_BYTES + ": " + capacity);
+        }
+        if (arenaBytes <= 0 || arenaBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Off-heap string arena must be between 1 and "
+                    + Integer.MAX_VALUE + " bytes: " + arenaBytes);
+        }
+
+        this.capacity = capacity;
+        this.records = ByteBuffer.allocateDirect(capacity * RECORD_BYTES);
+        this.arena = ByteBuffer.allocateDirect((int) arenaBytes);
+
+        this.freeRecords = new int[capacity];
+        for (int record = 0; record < capacity; record++) {
+            freeRecords[record] = capacity - 1 - record;
+        }
+        this.freeCount = capacity;
+
+        this.byId = new Index(capacity, ID);
+        this.byIsbn = new Index(capacity, ISBN);
+    }
+
+    @Override
+    public BookDTO get(final String bookId, final long now) {
+        return find(byId, bookId, now);
+    }
+
+    /**
+     * Returns a stored book with the given ISBN, unless it has expired.
+     *
+     * @param isbn The ISBN of the book.
+     * @param now  The current time.
+     * @return One of the books with the ISBN, or {@code null} if none is stored.
+     */
+    BookDTO getByIsbn(final String isbn, final long now) {
+        return find(byIsbn, isbn, now);
+    }
+
+    @Override
+    public boolean put(final BookDTO book, final long expiresAt, final long now) {
+
+        if (book.getId() == null) {
+            return false;
+        }
+
+        final BigDecimal price = book.getPrice();
+        if (price != null && (price.unscaledValue().bitLength() > 63
+                || price.scale() < Byte.MIN_VALUE || price.scale() > Byte.MAX_VALUE)) {
+            remove(book.getId());
+            return false;
+        }
+
+        final byte[][] strings = {
+                encode(book.getId()), encode(book.getIsbn()), encode(book.getName()), encode(book.getAuthorFullName())
+        };
+        final int idHash = hash(strings[ID]);
+
+        final long stamp = lock.writeLock();
+        try {
+            int record = byId.find(strings[ID], idHash);
+            final boolean created = record < 0;
+
+            if (created && freeCount == 0) {
+                sweepExpired(now);
+                if (freeCount == 0) {
+                    return false;
+                }
+            }
+
+            final int needed = arenaBytesNeeded(created ? -1 : record, strings);
+            if (arena.capacity() - arenaTop < needed) {
+                compact();
+                if (arena.capacity() - arenaTop < needed) {
+                    if (!created) {
+                        free(record);
+                    }
+                    return false;
+                }
+            }
+
+            if (created) {
+                record = freeRecords[--freeCount];
+                for (final int field : STRING_FIELDS) {
+                    records.putInt(offset(record) + field, NO_STRING);
+                }
+                size++;
+            } else if (stringRef(record, ISBN) != NO_STRING) {
+                byIsbn.remove(record, records.getInt(offset(record) + ISBN_HASH));
+            }
+
+            for (int field = 0; field < STRING_FIELDS.length; field++) {
+                writeString(record, field, strings[field]);
+            }
+            writeScalars(record, book, expiresAt);
+
+            if (created) {
+                records.putInt(offset(record) + ID_HASH, idHash);
+                byId.insert(record, idHash);
+            }
+            if (strings[ISBN] != null) {
+                final int isbnHash = hash(strings[ISBN]);
+                records.putInt(offset(record) + ISBN_HASH, isbnHash);
+                byIsbn.insert(record, isbnHash);
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void remove(final String bookId) {
+
+        final byte[] key = encode(bookId);
+        final int hash = hash(key);
+
+        final long stamp = lock.writeLock();
+        try {
+            final int record = byId.find(key, hash);
+            if (record >= 0) {
+                free(record);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public List<BookDTO> values(final long now) {
+
+        final long stamp = lock.readLock();
+        try {
+            final List<BookDTO> books = new ArrayList<>(size);
+            for (int record = 0; record < capacity; record++) {
+                if ((records.get(offset(record) + FLAGS) & IN_USE) != 0 && !isExpired(record, now)) {
+                    books.add(read(record));
+                }
+            }
+            return books;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        final long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return (long) records.capacity() + arena.capacity();
+    }
+
+    private BookDTO find(final Index index, final String key, final long now) {
+
+        if (key == null) {
+            return null;
+        }
+
+        final byte[] bytes = encode(key);
+        final int hash = hash(bytes);
+
+        final long stamp = lock.readLock();
+        try {
+            final int record = index.find(bytes, hash);
+            return record < 0 || isExpired(record, now) ? null : read(record);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private BookDTO read(final int record) {
+
+        final int offset = offset(record);
+        final byte flags = records.get(offset + FLAGS);
+
+        return BookDTO.builder()
+                .id(readString(record, ID))
+                .isbn(readString(record, ISBN))
+                .name(readString(record, NAME))
+                .authorFullName(readString(record, AUTHOR_FULL_NAME))
+                .price((flags & HAS_PRICE) == 0 ? null
+                        : BigDecimal.valueOf(records.getLong(offset + PRICE_UNSCALED), records.get(offset + PRICE_SCALE)))
+                .stock((flags & HAS_STOCK) == 0 ? null : records.getInt(offset + STOCK))
+                .stockSlotCount((flags & HAS_STOCK_SLOT_COUNT) == 0 ? null : records.getInt(offset + STOCK_SLOT_COUNT))
+                .flashSale((flags & FLASH_SALE) != 0)
+                .changeVersion((flags & HAS_CHANGE_VERSION) == 0 ? null : records.getLong(offset + CHANGE_VERSION))
+                .build();
+    }
+
+    private void writeScalars(final int record, final BookDTO book, final long expiresAt) {
+
+        final int offset = offset(record);
+        byte flags = IN_USE;
+
+        records.putLong(offset + EXPIRES_AT, expiresAt);
+        if (book.getPrice() != null) {
+            flags |= HAS_PRICE;
+            records.putLong(offset + PRICE_UNSCALED, book.getPrice().unscaledValue().longValue());
+            records.put(offset + PRICE_SCALE, (byte) book.getPrice().scale());
+        }
+        if (book.getStock() != null) {
+            flags |= HAS_STOCK;
+            records.putInt(offset + STOCK, book.getStock());
+        }
+        if (book.getStockSlotCount() != null) {
+            flags |= HAS_STOCK_SLOT_COUNT;
+            records.putInt(offset + STOCK_SLOT_COUNT, book.getStockSlotCount());
+        }
+        if (book.isFlashSale()) {
+            flags |= FLASH_SALE;
+        }
+        if (book.getChangeVersion() != null) {
+            flags |= HAS_CHANGE_VERSION;
+            records.putLong(offset + CHANGE_VERSION, book.getChangeVersion());
+        }
+        records.put(offset + FLAGS, flags);
+    }
+
+    private boolean isExpired(final int record, final long now) {
+        return now - records.getLong(offset(record) + EXPIRES_AT) >= 0;
+    }
+
+    private void sweepExpired(final long now) {
+        for (int record = 0; record < capacity; record++) {
+            if ((records.get(offset(record) + FLAGS) & IN_USE) != 0 && isExpired(record, now)) {
+                free(record);
+            }
+        }
+    }
+
+    private void free(final int record) {
+
+        final int offset = offset(record);
+
+        byId.remove(record, records.getInt(offset + ID_HASH));
+        if (stringRef(record, ISBN) != NO_STRING) {
+            byIsbn.remove(record, records.getInt(offset + ISBN_HASH));
+        }
+        for (int field = 0; field < STRING_FIELDS.length; field++) {
+            writeString(record, field, null);
+        }
+        records.put(offset + FLAGS, (byte) 0);
+
+        freeRecords[freeCount++] = record;
+        size--;
+    }
+
+    private int arenaBytesNeeded(final int record, final byte[][] strings) {
+
+        int needed = 0;
+        for (int field = 0; field < STRING_FIELDS.length; field++) {
+            final byte[] value = strings[field];
+            if (value != null && (record < 0 || !stringEquals(stringRef(record, field), value))) {
+                needed += STRING_HEADER_BYTES + value.length;
+            }
+        }
+        return needed;
+    }
+
+    private void writeString(final int record, final int field, final byte[] value) {
+
+        final int ref = stringRef(record, field);
+        if (ref != NO_STRING) {
+            if (value != null && stringEquals(ref, value)) {
+                return;
+            }
+            arena.putInt(ref + Integer.BYTES, DEAD);
+        }
+
+        if (value == null) {
+            records.putInt(offset(record) + STRING_FIELDS[field], NO_STRING);
+            return;
+        }
+
+        arena.putInt(arenaTop, value.length);
+        arena.putInt(arenaTop + Integer.BYTES, record * STRING_FIELDS.length + field);
+        arena.put(arenaTop + STRING_HEADER_BYTES, value);
+        records.putInt(offset(record) + STRING_FIELDS[field], arenaTop);
+        arenaTop += STRING_HEADER_BYTES + value.length;
+    }
+
+    /**
+     * Slides the live strings to the start of the arena, in arena order, and repoints their owners.
+     */
+    private void compact() {
+
+        int read = 0;
+        int write = 0;
+        while (read < arenaTop) {
+            final int length = arena.getInt(read);
+            final int owner = arena.getInt(read + Integer.BYTES);
+            final int total = STRING_HEADER_BYTES + length;
+
+            if (owner != DEAD) {
+                if (read != write) {
+                    arena.put(write, arena, read, total);
+                    records.putInt(offset(owner / STRING_FIELDS.length) + STRING_FIELDS[owner % STRING_FIELDS.length], write);
+                }
+                write += total;
+            }
+            read += total;
+        }
+        arenaTop = write;
+    }
+
+    private String readString(final int record, final int field) {
+
+        final int ref = stringRef(record, field);
+        if (ref == NO_STRING) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[arena.getInt(ref)];
+        arena.get(ref + STRING_HEADER_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(final int ref, final byte[] value) {
+
+        if (ref == NO_STRING || arena.getInt(ref) != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (arena.get(ref + STRING_HEADER_BYTES + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int stringRef(final int record, final int field) {
+        return records.getInt(offset(record) + STRING_FIELDS[field]);
+    }
+
+    private static int offset(final int record) {
+        return record * RECORD_BYTES;
+    }
+
+    private static byte[] encode(final String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(final byte[] key) {
+        int hash = 1;
+        for (final byte b : key) {
+            hash = 31 * hash + b;
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Open-addressing table from a string field to records, holding {@code record + 1} per slot ({@code 0} is
+     * empty) and the hash of the key next to it. It is sized to keep the load factor under two thirds at full
+     * capacity, and deletions shift the following entries back instead of leaving tombstones.
+     */
+    private final class Index {
+
+        private final int[] slots;
+
+        private final int[] hashes;
+
+        private final int mask;
+
+        private final int field;
+
+        private Index(final int capacity, final int field) {
+            final int size = Integer.highestOneBit(capacity + capacity / 2) << 1;
+            this.slots = new int[size];
+            this.hashes = new int[size];
+            this.mask = size - 1;
+            this.field = field;
+        }
+
+        private int find(final byte[] key, final int hash) {
+
+            for (int i = hash & mask; slots[i] != 0; i = (i + 1) & mask) {
+                final int record = slots[i] - 1;
+                if (hashes[i] == hash && stringEquals(stringRef(record, field), key)) {
+                    return record;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(final int record, final int hash) {
+
+            int i = hash & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = record + 1;
+            hashes[i] = hash;
+        }
+
+        private void remove(final int record, final int hash) {
+
+            int hole = hash & mask;
+            while (slots[hole] != record + 1) {
+                if (slots[hole] == 0) {
+                    return;
+                }
+                hole = (hole + 1) & mask;
+            }
+
+            for (int i = (hole + 1) & mask; slots[i] != 0; i = (i + 1) & mask) {
+                final int home = hashes[i] & mask;
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    slots[hole] = slots[i];
+                    hashes[hole] = hashes[i];
+                    hole = i;
+                }
+            }
+            slots[hole] = 0;
+            hashes[hole] = 0;
+        }
+
+    }
+
+}
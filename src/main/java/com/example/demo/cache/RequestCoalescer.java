@@ -0,0 +1,254 @@
+package com.example.demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-flight execution of identical concurrent reads: the first call of a key loads, and the calls arriving while
+ * it runs wait for its result instead of running the same query.
+ * <p>A read configured with {@code coalescing.<name>.ttl-ms} also keeps its results for that long. To keep a hot
+ * key from expiring under all of its callers at once, each call refreshes the result early with a probability that
+ * grows as the expiry nears and with the time the last load took (XFetch), scaled by
+ * {@code coalescing.early-refresh-beta}. The caller refreshing early loads on its own while the others keep being
+ * served the current result.</p>
+ * <p>Calls are counted per read as {@code coalescing.calls}, tagged {@code result=load}, {@code shared} or
+ * {@code cached}, {@code coalescing.ratio} is the share of the calls that did not load and {@code coalescing.results}
+ * the number of results kept.</p>
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Environment environment;
+
+    private final double earlyRefreshBeta;
+
+    private final MeterRegistry meterRegistry;
+
+    private final LongSupplier nanoClock;
+
+    private final DoubleSupplier random;
+
+    private final Map<String, Read> reads = new ConcurrentHashMap<>();
+
+    /**
+     * A call to coalesce, which may throw whatever the coalesced method throws.
+     *
+     * @param <V> The type of the result.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+
+        /**
+         * Runs the call.
+         *
+         * @return The result of the call.
+         * @throws Throwable Anything thrown by the call.
+         */
+        V load() throws Throwable;
+
+    }
+
+    /**
+     * Creates the coalescer.
+     *
+     * @param environment      The environment the time to live of each read is read from.
+     * @param earlyRefreshBeta How eagerly results are refreshed before they expire; {@code 0} never refreshes early.
+     * @param meterRegistry    The registry the metrics are published to.
+     */
+    @Autowired
+    public RequestCoalescer(final Environment environment,
+                            @Value("${coalescing.early-refresh-beta:1.0}") final double earlyRefreshBeta,
+                            final MeterRegistry meterRegistry) {
+        this(environment, earlyRefreshBeta, meterRegistry, System::nanoTime,
+                () -> 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    RequestCoalescer(final Environment environment,
+                     final double earlyRefreshBeta,
+                     final MeterRegistry meterRegistry,
+                     final LongSupplier nanoClock,
+                     final DoubleSupplier random) {
+        this.environment = environment;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.random = random;
+    }
+
+    /**
+     * Runs a call of a read, or shares the result of an identical call already running or recently completed.
+     *
+     * @param name   The name of the read.
+     * @param key    The key identical calls share, typically their arguments.
+     * @param loader The call.
+     * @param <V>    The type of the result.
+     * @return The result of this call or of the identical call it shared.
+     * @throws Throwable Anything thrown by the call it ran or shared.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(final String name, final Object key, final Loader<V> loader) throws Throwable {
+        return (V) reads.computeIfAbsent(name, this::register).execute(key, loader);
+    }
+
+    /**
+     * Drops the kept results of a read and lets the next calls load again instead of sharing the calls already
+     * running, which may have read the data before a change.
+     *
+     * @param name The name of the read.
+     */
+    public void invalidate(final String name) {
+
+        final Read read = reads.get(name);
+        if (read != null) {
+            read.invalidate();
+        }
+    }
+
+    private Read register(final String name) {
+        return new Read(name, environment.getProperty("coalescing." + name + ".ttl-ms", Long.class, 0L));
+    }
+
+    private record Result(Object value, long loadNanos, long expiresAt) {
+    }
+
+    /**
+     * The in-flight calls and kept results of one read.
+     */
+    private final class Read {
+
+        private final long ttlNanos;
+
+        private final Map<Object, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+        private final Map<Object, Result> results = new ConcurrentHashMap<>();
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private final Counter loads;
+
+        private final Counter shared;
+
+        private final Counter cached;
+
+        private final Counter earlyRefreshes;
+
+        private Read(final String name, final long ttlMs) {
+
+            this.ttlNanos = ttlMs * 1_000_000;
+            this.loads = calls(name, "load");
+            this.shared = calls(name, "shared");
+            this.cached = calls(name, "cached");
+            this.earlyRefreshes = Counter.builder("coalescing.early.refreshes")
+                    .description("Kept results refreshed before they expired")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            Gauge.builder("coalescing.results", results, Map::size)
+                    .description("Results kept")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            Gauge.builder("coalescing.ratio", this, Read::ratio)
+                    .description("Share of the calls served without loading")
+                    .tag("name", name)
+                    .register(meterRegistry);
+        }
+
+        private Object execute(final Object key, final Loader<?> loader) throws Throwable {
+
+            if (ttlNanos > 0) {
+                final long now = nanoClock.getAsLong();
+                final Result result = results.get(key);
+                if (result != null && now - result.expiresAt() < 0) {
+                    if (!refreshesEarly(result, now)) {
+                        cached.increment();
+                        return result.value();
+                    }
+                    final CompletableFuture<Object> flight = new CompletableFuture<>();
+                    if (flights.putIfAbsent(key, flight) != null) {
+                        cached.increment();
+                        return result.value();
+                    }
+                    earlyRefreshes.increment();
+                    return load(key, flight, loader);
+                }
+            }
+
+            final CompletableFuture<Object> flight = new CompletableFuture<>();
+            final CompletableFuture<Object> running = flights.putIfAbsent(key, flight);
+            if (running != null) {
+                shared.increment();
+                return await(running);
+            }
+            return load(key, flight, loader);
+        }
+
+        private Object load(final Object key, final CompletableFuture<Object> flight, final Loader<?> loader)
+                throws Throwable {
+
+            loads.increment();
+            final long loadGeneration = generation.get();
+            final long start = nanoClock.getAsLong();
+            try {
+                final Object value = loader.load();
+                final long end = nanoClock.getAsLong();
+                if (ttlNanos > 0 && generation.get() == loadGeneration) {
+                    results.put(key, new Result(value, end - start, end + ttlNanos));
+                }
+                flight.complete(value);
+                return value;
+            } catch (Throwable e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(key, flight);
+            }
+        }
+
+        private boolean refreshesEarly(final Result result, final long now) {
+            return now - result.loadNanos() * earlyRefreshBeta * Math.log(random.getAsDouble()) - result.expiresAt() >= 0;
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            results.clear();
+            flights.clear();
+        }
+
+        private double ratio() {
+            final double calls = loads.count() + shared.count() + cached.count();
+            return calls == 0 ? 0 : (shared.count() + cached.count()) / calls;
+        }
+
+        private Counter calls(final String name, final String result) {
+            return Counter.builder("coalescing.calls")
+                    .description("Calls of coalesced reads")
+                    .tag("name", name)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+    }
+
+    private static Object await(final CompletableFuture<Object> flight) throws Throwable {
+
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.example.demo.catalog;
+
+import com.example.demo.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Stamps a change version on the books that were last written before change versions were introduced,
+ * so that the change feed also returns them to a client syncing from scratch.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookChangeVersionBackfiller {
+
+    private final BookRepository bookRepository;
+
+    private final BookChangeVersionClock bookChangeVersionClock;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.changes.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Value("${catalog.changes.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * Stamps every book without a change version, one batch per transaction.
+     * Books written concurrently already carry a version and are left as they are.
+     * Nothing is done if {@code catalog.changes.backfill-on-startup} is {@code false}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillChangeVersions() {
+
+        if (!backfillOnStartup) {
+            return;
+        }
+
+        try {
+            int stamped = 0;
+            List<String> bookIds = bookRepository.findAllIdsWithoutChangeVersion(PageRequest.of(0, batchSize));
+
+            while (!bookIds.isEmpty()) {
+                final List<String> batch = bookIds;
+                transactionTemplate.executeWithoutResult(status -> {
+                    final long firstVersion = bookChangeVersionClock.reserve(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        bookRepository.stampChangeVersionIfAbsent(batch.get(i), firstVersion + i);
+                    }
+                });
+                stamped += batch.size();
+                bookIds = bookRepository.findAllIdsWithoutChangeVersion(PageRequest.of(0, batchSize));
+            }
+
+            if (stamped > 0) {
+                log.info("BookChangeVersionBackfiller | backfillChangeVersions | {} books stamped", stamped);
+            }
+        } catch (Exception e) {
+            log.error("BookChangeVersionBackfiller | backfillChangeVersions | {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.demo.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Issues the change versions stamped on {@link com.example.demo.model.Book} writes.
+ * <p>A version is the current time in microseconds since the epoch, bumped past the last issued version if the
+ * clock has not moved on, so versions are strictly increasing within the instance and roughly ordered by time
+ * across instances. Because a version is issued before its transaction commits, readers of the change feed
+ * only look at versions older than a settle window.</p>
+ */
+@Component
+public class BookChangeVersionClock {
+
+    private final AtomicLong lastVersion = new AtomicLong();
+
+    private final LongSupplier currentTimeMicros;
+
+    /**
+     * Creates a clock based on the system time.
+     */
+    public BookChangeVersionClock() {
+        this(() -> System.currentTimeMillis() * 1_000);
+    }
+
+    BookChangeVersionClock(final LongSupplier currentTimeMicros) {
+        this.currentTimeMicros = currentTimeMicros;
+    }
+
+    /**
+     * Issues the next version.
+     *
+     * @return A version greater than every version issued before.
+     */
+    public long next() {
+        return reserve(1);
+    }
+
+    /**
+     * Issues a block of consecutive versions.
+     *
+     * @param count The number of versions to issue.
+     * @return The first version of the block; the block ends at {@code first + count - 1}.
+     */
+    public long reserve(final int count) {
+
+        while (true) {
+            final long last = lastVersion.get();
+            final long first = Math.max(currentTimeMicros.getAsLong(), last + 1);
+            if (lastVersion.compareAndSet(last, first + count - 1)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * Returns the newest version that is old enough to be read from the change feed.
+     *
+     * @param settleMs The settle window in milliseconds.
+     * @return The current time in microseconds minus the settle window.
+     */
+    public long settledVersion(final long settleMs) {
+        return currentTimeMicros.getAsLong() - settleMs * 1_000;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.demo.catalog;
+
+import com.example.demo.datasource.PrimaryReads;
+import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.payload.response.CustomResponse;
+import com.example.demo.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rebuilds the {@link BookPageSnapshots} in the background whenever a book changed since the last build.
+ * <p>The hot pages are the first {@code catalog.snapshots.pages} pages of every size in
+ * {@code catalog.snapshots.page-sizes}. Each page is read through the {@link BookService}, wrapped exactly like
+ * {@code POST /api/v1/books/all} wraps it, serialized once and compressed once, so the
+ * {@code time} of a snapshot body is the time of its build.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookPageSnapshotRebuilder {
+
+    private final BookPageSnapshots bookPageSnapshots;
+
+    private final BookService bookService;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.snapshots.pages:3}")
+    private int pages;
+
+    @Value("${catalog.snapshots.page-sizes:10}")
+    private List<Integer> pageSizes;
+
+    /**
+     * Rebuilds the snapshots if a book changed since they were built. The pages are read from the primary, since
+     * a page read from a lagging replica would stay stale until the next change. Failures are logged and the
+     * previous snapshots stay in place until the next attempt.
+     */
+    @Scheduled(
+            initialDelayString = "${catalog.snapshots.initial-delay-ms:0}",
+            fixedDelayString = "${catalog.snapshots.rebuild-delay-ms:200}"
+    )
+    public void rebuildIfStale() {
+
+        if (!bookPageSnapshots.isStale()) {
+            return;
+        }
+
+        try {
+            final long start = System.nanoTime();
+            final long generation = bookPageSnapshots.getGeneration();
+
+            final List<BookPageSnapshots.Snapshot> snapshots = new ArrayList<>(pages * pageSizes.size());
+            for (final int size : pageSizes) {
+                for (int page = 0; page < pages; page++) {
+                    snapshots.add(snapshot(page, size));
+                }
+            }
+            bookPageSnapshots.swap(snapshots, generation);
+
+            log.debug("BookPageSnapshotRebuilder | rebuildIfStale | {} pages built in {} ms",
+                    snapshots.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("BookPageSnapshotRebuilder | rebuildIfStale | {}", e.getMessage());
+        }
+    }
+
+    private BookPageSnapshots.Snapshot snapshot(final int page, final int size) throws IOException {
+
+        final PaginationRequest paginationRequest = PaginationRequest.builder()
+                .page(page)
+                .size(size)
+                .build();
+        final byte[] plain = objectMapper.writeValueAsBytes(
+                CustomResponse.ok(BookMapper.toGetResponse(
+                        PrimaryReads.call(() -> bookService.getAllBooks(paginationRequest)))));
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(plain);
+        }
+
+        return new BookPageSnapshots.Snapshot(page, size, plain, compressed.toByteArray());
+    }
+
+}
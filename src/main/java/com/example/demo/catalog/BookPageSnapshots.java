@@ -0,0 +1,152 @@
+package com.example.demo.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the hot pages of the book catalog as ready-to-write response bodies, both plain and gzip compressed.
+ * <p>Every change of a book bumps a change generation; the {@link BookPageSnapshotRebuilder} notices it in the
+ * background and swaps in a new set of snapshots. Until then the previous snapshots keep being served, so a page
+ * lags behind the catalog by at most one rebuild.</p>
+ */
+@Component
+public class BookPageSnapshots {
+
+    private final AtomicReference<Map<Long, Snapshot>> snapshots = new AtomicReference<>(Map.of());
+
+    private final AtomicLong generation = new AtomicLong(1);
+
+    private final AtomicLong builtGeneration = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    /**
+     * A serialized catalog page.
+     *
+     * @param page  The page number.
+     * @param size  The page size.
+     * @param plain The JSON response body.
+     * @param gzip  The JSON response body, gzip compressed.
+     */
+    public record Snapshot(int page, int size, byte[] plain, byte[] gzip) {
+    }
+
+    /**
+     * Creates an empty holder and registers its metrics.
+     *
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    public BookPageSnapshots(final MeterRegistry meterRegistry) {
+
+        this.hits = Counter.builder("books.snapshots.requests")
+                .description("Catalog page requests by whether a page snapshot was found")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("books.snapshots.requests")
+                .description("Catalog page requests by whether a page snapshot was found")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("books.snapshots.memory", snapshots, reference -> reference.get().values().stream()
+                        .mapToLong(snapshot -> snapshot.plain().length + snapshot.gzip().length)
+                        .sum())
+                .description("Bytes held by the catalog page snapshots")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the snapshot of a catalog page, if the page is hot.
+     *
+     * @param page The page number.
+     * @param size The page size.
+     * @return The snapshot, or an empty optional if the page has to be read from the database.
+     */
+    public Optional<Snapshot> get(final int page, final int size) {
+
+        final Snapshot snapshot = snapshots.get().get(key(page, size));
+        (snapshot == null ? misses : hits).increment();
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Records that a book changed, so that the snapshots are rebuilt.
+     */
+    public void markStale() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Returns the current change generation, to be passed back to {@link #swap(Collection, long)} by a rebuild.
+     *
+     * @return The change generation.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Tells whether a book changed since the snapshots were built.
+     *
+     * @return {@code true} if the snapshots have to be rebuilt.
+     */
+    public boolean isStale() {
+        return builtGeneration.get() < generation.get();
+    }
+
+    /**
+     * Replaces all snapshots with freshly built ones.
+     *
+     * @param rebuilt    The new snapshots.
+     * @param generation The change generation read before the rebuild started.
+     */
+    public void swap(final Collection<Snapshot> rebuilt, final long generation) {
+        snapshots.set(rebuilt.stream().collect(Collectors.toUnmodifiableMap(
+                snapshot -> key(snapshot.page(), snapshot.size()), Function.identity())));
+        builtGeneration.accumulateAndGet(generation, Math::max);
+    }
+
+    /**
+     * Tells whether an {@code Accept-Encoding} header allows a gzip compressed response.
+     *
+     * @param acceptEncoding The header value, or {@code null} if the header is absent.
+     * @return {@code true} if gzip, or any coding, is accepted with a non-zero quality.
+     */
+    public static boolean acceptsGzip(final String acceptEncoding) {
+
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Boolean wildcard = null;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.split(";");
+            final String name = parts[0].trim();
+            final boolean accepted = parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static long key(final int page, final int size) {
+        return ((long) page << 32) | size;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.example.demo.config;
+
+import com.example.demo.workload.AdaptiveConcurrencyLimitFilter;
+import com.example.demo.workload.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class of the adaptive concurrency limit, enabled unless {@code workload.adaptive-limit.enabled} is
+ * false.
+ * <p>The limit is enforced ahead of the workload bulkheads and the Spring Security filter chain, and with it the
+ * {@code AuthTokenFilter}, so that shed requests cost neither a bulkhead wait nor a token check.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "workload.adaptive-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveLimitConfig {
+
+    /**
+     * Creates the adaptive concurrency limiter.
+     *
+     * @param initialLimit     The limit before any sample is taken.
+     * @param minLimit         The lowest the limit is cut to.
+     * @param maxLimit         The highest the limit grows to.
+     * @param backoffRatio     The ratio the limit is multiplied by on a slow sample.
+     * @param latencyTolerance How many times its usual latency a request may take before it counts as slow.
+     * @param priorityShare    The share of the limit reserved for order placement.
+     * @param meterRegistry    The registry the metrics are published to.
+     * @return The limiter.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${workload.adaptive-limit.initial-limit:100}") final int initialLimit,
+            @Value("${workload.adaptive-limit.min-limit:20}") final int minLimit,
+            @Value("${workload.adaptive-limit.max-limit:200}") final int maxLimit,
+            @Value("${workload.adaptive-limit.backoff-ratio:0.9}") final double backoffRatio,
+            @Value("${workload.adaptive-limit.latency-tolerance:2.0}") final double latencyTolerance,
+            @Value("${workload.adaptive-limit.priority-share:0.2}") final double priorityShare,
+            final MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance,
+                priorityShare, meterRegistry);
+    }
+
+    /**
+     * Registers the adaptive limit filter ahead of every other filter of the application.
+     *
+     * @param adaptiveConcurrencyLimiter The limiter the requests are admitted through.
+     * @param objectMapper               The mapper the error responses are written with.
+     * @param retryAfterSeconds          The delay suggested to rejected clients, in seconds.
+     * @param managementBasePath         The base path of the management endpoints, which are never limited.
+     * @return The registration of the filter.
+     */
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilter(
+            final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+            final ObjectMapper objectMapper,
+            @Value("${workload.retry-after-seconds:1}") final long retryAfterSeconds,
+            @Value("${management.endpoints.web.base-path:/actuator}") final String managementBasePath) {
+
+        final FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new AdaptiveConcurrencyLimitFilter(adaptiveConcurrencyLimiter, objectMapper, retryAfterSeconds,
+                        managementBasePath));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registration;
+    }
+
+}
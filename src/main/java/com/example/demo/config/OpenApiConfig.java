@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.servers.Server;
 
 /**
  * Configuration class for OpenAPI documentation.
@@ -20,7 +21,9 @@ import io.swagger.v3.oas.annotations.security.SecurityScheme;
                         "(Spring Boot, Spring Security , Mysql, JUnit, Integration Test, Docker, Test Container, AOP) ",
                 title = "Book Delivery App API",
                 version = "1.0.0"
-        )
+        ),
+        // Relative, so that the document generated at build time points at whichever host serves it
+        servers = @Server(url = "/")
 )
 @SecurityScheme(
         name = "bearerAuth",
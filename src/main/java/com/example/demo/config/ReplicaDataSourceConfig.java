@@ -0,0 +1,119 @@
+package com.example.demo.config;
+
+import com.example.demo.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class of the read replicas, enabled with {@code datasource.replicas.enabled}.
+ * <p>The primary pool is created from {@code spring.datasource} as without replicas. One pool per URL in
+ * {@code datasource.replicas.urls} is created with the same Hikari settings and credentials, unless overridden.
+ * The application data source routes the read-only transactions to the replicas through a
+ * {@link ReplicaRoutingDataSource}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * Creates the pool of the primary.
+     *
+     * @param properties The data source properties.
+     * @return The pool of the primary.
+     */
+    @Bean
+    @ConfigurationProperties(HIKARI_PREFIX)
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Creates the pools of the replicas and the data source routing between them and the primary.
+     *
+     * @param primaryDataSource The pool of the primary.
+     * @param properties        The data source properties, supplying the default credentials of the replicas.
+     * @param environment       The environment the Hikari settings of the replicas are bound from.
+     * @param urls              The JDBC URLs of the replicas.
+     * @param username          The user name on the replicas, defaulting to the one on the primary.
+     * @param password          The password on the replicas, defaulting to the one on the primary.
+     * @param poolSize          The maximum size of each replica pool, defaulting to the one of the primary.
+     * @param selection         How a replica is chosen: {@code round-robin} or {@code least-loaded}.
+     * @param readYourWritesMs  How long a user reads from the primary after their own write, in milliseconds.
+     * @param meterRegistry     The registry the metrics are published to.
+     * @return The routing data source.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") final DataSource primaryDataSource,
+            final DataSourceProperties properties,
+            final Environment environment,
+            @Value("${datasource.replicas.urls:}") final List<String> urls,
+            @Value("${datasource.replicas.username:}") final String username,
+            @Value("${datasource.replicas.password:}") final String password,
+            @Value("${datasource.replicas.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") final int poolSize,
+            @Value("${datasource.replicas.selection:round-robin}") final String selection,
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") final long readYourWritesMs,
+            final MeterRegistry meterRegistry) {
+
+        final Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (final String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+
+            final String name = "replica-" + replicas.size();
+            final HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                    .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                    .build();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                ReplicaRoutingDataSource.Selection.of(selection), readYourWritesMs, meterRegistry);
+    }
+
+    /**
+     * Creates the application data source, requesting a connection from the routing data source only once the
+     * first statement runs, when the transaction is known to be read-only or not.
+     *
+     * @param replicaRoutingDataSource The routing data source.
+     * @return The application data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(final ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+}
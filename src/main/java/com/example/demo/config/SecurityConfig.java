@@ -4,6 +4,7 @@ import com.example.demo.security.CustomUserDetailsService;
 import com.example.demo.security.jwt.AuthEntryPointJwt;
 import com.example.demo.security.jwt.AuthTokenFilter;
 import com.example.demo.security.jwt.JwtUtils;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -102,6 +103,8 @@ public class SecurityConfig {
                 .cors(customizer -> customizer.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(customizer -> customizer
+                        // Async dispatches of already authorized requests (e.g. server-sent events) carry no token
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST,
                                 "/api/v1/auth/register",
                                 "/api/v1/auth/login"
@@ -112,6 +115,7 @@ public class SecurityConfig {
                                 "/swagger-ui.html",
                                 "/v2/api-docs/**",
                                 "/v3/api-docs/**",
+                                "/openapi.json",
                                 "/actuator/**"
                         ).permitAll()
                         .anyRequest().authenticated()
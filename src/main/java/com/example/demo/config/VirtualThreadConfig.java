@@ -0,0 +1,98 @@
+package com.example.demo.config;
+
+import com.example.demo.execution.ConnectionLimitingDataSource;
+import com.example.demo.execution.VirtualThreadPinningMonitor;
+import com.example.demo.execution.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.time.Duration;
+
+/**
+ * Configuration class of the virtual thread execution mode, enabled with {@code execution.virtual-threads.enabled}.
+ * <p>Tomcat handles each request, and the application task executor runs each asynchronous task, on a new virtual
+ * thread, so that requests blocked on JDBC and pessimistic locks no longer hold a pooled platform thread. Connection
+ * requests are limited to the pool size by a {@link ConnectionLimitingDataSource}, and pinned virtual threads are
+ * reported by a {@link VirtualThreadPinningMonitor}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "execution.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Runs the request handling of Tomcat on virtual threads.
+     *
+     * @return The customizer replacing the executor of the Tomcat connector.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+    }
+
+    /**
+     * Runs asynchronous request processing and {@code @Async} methods on virtual threads, in place of the pooled
+     * application task executor.
+     *
+     * @return The executor starting a virtual thread per task.
+     */
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-"));
+    }
+
+    /**
+     * Reports virtual threads pinned to their carrier thread.
+     *
+     * @param thresholdMs   The shortest pinning recorded, in milliseconds.
+     * @param meterRegistry The registry the metrics are published to.
+     * @return The monitor.
+     */
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${execution.virtual-threads.pinned-threshold-ms:20}") final long thresholdMs,
+            final MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+
+    /**
+     * Wraps the connection pools so that no more connections are requested at a time than a pool holds. Data
+     * sources that only delegate to a pool, such as the replica routing ones, are left as they are.
+     *
+     * @param permits          The number of connections borrowed at a time.
+     * @param acquireTimeoutMs How long a caller waits for a connection permit, in milliseconds.
+     * @param meterRegistry    The registry the metrics are published to, looked up once the data source is created.
+     * @return The post processor wrapping the data source.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${execution.virtual-threads.connection-permits:${spring.datasource.hikari.maximum-pool-size:10}}") final int permits,
+            @Value("${execution.virtual-threads.connection-acquire-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}") final long acquireTimeoutMs,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    return new ConnectionLimitingDataSource(dataSource, permits, acquireTimeoutMs,
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example.demo.config;
+
+import com.example.demo.workload.WorkloadBulkhead;
+import com.example.demo.workload.WorkloadBulkheadFilter;
+import com.example.demo.workload.WorkloadClass;
+import com.example.demo.workload.WorkloadConnectionQuotaDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration class of the workload bulkheads, enabled unless {@code workload.bulkheads.enabled} is false.
+ * <p>Order placement, catalog reads and authentication each get a concurrency limit of their own
+ * ({@code workload.<class>.max-concurrent}), enforced before authentication, and every class can be given a
+ * connection quota ({@code workload.<class>.connection-quota}). Analytics requests are limited by their own
+ * executor instead.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "workload.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class WorkloadConfig {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    /**
+     * Registers the bulkhead filter ahead of the Spring Security filter chain, so that rejected requests are not
+     * authenticated first.
+     *
+     * @param environment       The environment the limits are read from.
+     * @param objectMapper      The mapper the error responses are written with.
+     * @param retryAfterSeconds The delay suggested to rejected clients, in seconds.
+     * @param meterRegistry     The registry the metrics are published to.
+     * @return The registration of the filter.
+     */
+    @Bean
+    public FilterRegistrationBean<WorkloadBulkheadFilter> workloadBulkheadFilter(
+            final Environment environment,
+            final ObjectMapper objectMapper,
+            @Value("${workload.retry-after-seconds:1}") final long retryAfterSeconds,
+            final MeterRegistry meterRegistry) {
+
+        final Map<WorkloadClass, WorkloadBulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+        bulkheads.put(WorkloadClass.ORDER_WRITE, bulkhead(environment, WorkloadClass.ORDER_WRITE, 100, 0, meterRegistry));
+        bulkheads.put(WorkloadClass.CATALOG_READ, bulkhead(environment, WorkloadClass.CATALOG_READ, 80, 0, meterRegistry));
+        bulkheads.put(WorkloadClass.AUTH, bulkhead(environment, WorkloadClass.AUTH, 20, 0, meterRegistry));
+
+        final FilterRegistrationBean<WorkloadBulkheadFilter> registration = new FilterRegistrationBean<>(
+                new WorkloadBulkheadFilter(bulkheads, objectMapper, retryAfterSeconds));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    /**
+     * Wraps the application data source so that each workload class borrows no more connections than its quota.
+     *
+     * @param environment      The environment the quotas are read from.
+     * @param acquireTimeoutMs How long a caller over its quota waits for a connection, in milliseconds.
+     * @param meterRegistry    The registry the metrics are published to, looked up once the data source is created.
+     * @return The post processor wrapping the data source.
+     */
+    @Bean
+    public static BeanPostProcessor workloadConnectionQuotaPostProcessor(
+            final Environment environment,
+            @Value("${workload.connection-acquire-timeout-ms:2000}") final long acquireTimeoutMs,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource) {
+                    final Map<WorkloadClass, Integer> quotas = new EnumMap<>(WorkloadClass.class);
+                    quotas.put(WorkloadClass.ORDER_WRITE, quota(environment, WorkloadClass.ORDER_WRITE, 0));
+                    quotas.put(WorkloadClass.CATALOG_READ, quota(environment, WorkloadClass.CATALOG_READ, 5));
+                    quotas.put(WorkloadClass.ANALYTICS, quota(environment, WorkloadClass.ANALYTICS, 2));
+                    quotas.put(WorkloadClass.AUTH, quota(environment, WorkloadClass.AUTH, 2));
+                    return new WorkloadConnectionQuotaDataSource(dataSource, quotas, acquireTimeoutMs,
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static WorkloadBulkhead bulkhead(final Environment environment,
+                                             final WorkloadClass workloadClass,
+                                             final int defaultMaxConcurrent,
+                                             final long defaultMaxWaitMs,
+                                             final MeterRegistry meterRegistry) {
+
+        final String prefix = "workload." + workloadClass.getKey();
+        return new WorkloadBulkhead(workloadClass,
+                environment.getProperty(prefix + ".max-concurrent", Integer.class, defaultMaxConcurrent),
+                environment.getProperty(prefix + ".max-wait-ms", Long.class, defaultMaxWaitMs),
+                meterRegistry);
+    }
+
+    private static int quota(final Environment environment, final WorkloadClass workloadClass, final int defaultQuota) {
+        return environment.getProperty("workload." + workloadClass.getKey() + ".connection-quota",
+                Integer.class, defaultQuota);
+    }
+
+}
@@ -1,25 +1,59 @@
 package com.example.demo.controller;
 
+import com.example.demo.catalog.BookPageSnapshots;
+import com.example.demo.dto.BookChangesDTO;
 import com.example.demo.dto.BookDTO;
 import com.example.demo.model.Book;
 import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.model.mapper.book.StockMovementMapper;
+import com.example.demo.payload.request.book.BookAutocompleteRequest;
+import com.example.demo.payload.request.book.BookBatchGetRequest;
+import com.example.demo.payload.request.book.BookBulkStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookChangesRequest;
 import com.example.demo.payload.request.book.BookCreateRequest;
+import com.example.demo.payload.request.book.BookSearchRequest;
+import com.example.demo.payload.request.book.BookStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookStockAtRequest;
+import com.example.demo.payload.request.book.BookStockStripingRequest;
+import com.example.demo.payload.request.book.BookStreamRequest;
 import com.example.demo.payload.request.book.BookUpdateRequest;
 import com.example.demo.payload.request.book.BookUpdateStockRequest;
+import com.example.demo.payload.request.book.StockMovementTailRequest;
 import com.example.demo.payload.request.pagination.PaginationRequest;
 import com.example.demo.payload.response.CustomPageResponse;
 import com.example.demo.payload.response.CustomResponse;
+import com.example.demo.payload.response.book.BookBatchGetResponse;
+import com.example.demo.payload.response.book.BookChangesResponse;
+import com.example.demo.payload.response.book.BookCompletionResponse;
 import com.example.demo.payload.response.book.BookCreatedResponse;
 import com.example.demo.payload.response.book.BookGetResponse;
+import com.example.demo.payload.response.book.BookStockAtResponse;
 import com.example.demo.payload.response.book.BookUpdatedResponse;
+import com.example.demo.payload.response.book.StockMovementResponse;
 import com.example.demo.service.BookService;
+import com.example.demo.service.StockJournalService;
+import com.example.demo.stream.BookChangeStream;
+import com.example.demo.util.HttpCaching;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -29,6 +63,15 @@ public class BookController {
 
     private final BookService bookService;
 
+    private final StockJournalService stockJournalService;
+
+    private final BookChangeStream bookChangeStream;
+
+    private final BookPageSnapshots bookPageSnapshots;
+
+    @Value("${cache.http.books-max-age-seconds:0}")
+    private long bookMaxAgeSeconds;
+
     /**
      * Creates a new Book entity.
      *
@@ -63,6 +106,122 @@ public class BookController {
         return CustomResponse.ok(response);
     }
 
+    /**
+     * Adds to or removes from a {@link Book}'s stock, e.g. received or damaged copies
+     *
+     * @param bookId  The specified book id
+     * @param request {@link BookStockAdjustmentRequest}
+     * @return Response entity of {@link BookUpdatedResponse}
+     */
+    @PostMapping("/stock-adjustment/{bookId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<BookUpdatedResponse> adjustStock(@PathVariable String bookId, @RequestBody @Valid final BookStockAdjustmentRequest request) {
+        final BookDTO updatedBookEntity = bookService.adjustBookStockById(bookId, request);
+        final BookUpdatedResponse response = BookMapper.toUpdatedResponse(updatedBookEntity);
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Adds to or removes from the stock of many {@link Book}s at once
+     *
+     * @param request {@link BookBulkStockAdjustmentRequest}
+     * @return Response entity of the list of {@link BookUpdatedResponse}
+     */
+    @PostMapping("/stock-adjustments")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<List<BookUpdatedResponse>> adjustStocks(@RequestBody @Valid final BookBulkStockAdjustmentRequest request) {
+        final List<BookUpdatedResponse> response = bookService.adjustBookStocks(request)
+                .stream()
+                .map(BookMapper::toUpdatedResponse)
+                .toList();
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Returns the stock movements following a sequence number, for consumers tailing the stock journal
+     *
+     * @param request {@link StockMovementTailRequest}
+     * @return Response entity of the list of {@link StockMovementResponse}
+     */
+    @PostMapping("/stock-movements")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<List<StockMovementResponse>> getStockMovements(@RequestBody @Valid final StockMovementTailRequest request) {
+        final List<StockMovementResponse> response = stockJournalService
+                .getMovementsSince(request.getSince(), request.getSize())
+                .stream()
+                .map(StockMovementMapper::toResponse)
+                .toList();
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Returns a {@link Book}'s stock at a point in time, calculated from the stock journal
+     *
+     * @param bookId  The specified book id
+     * @param request {@link BookStockAtRequest}
+     * @return Response entity of {@link BookStockAtResponse}
+     */
+    @PostMapping("/stock-history/{bookId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<BookStockAtResponse> getStockAt(@PathVariable String bookId, @RequestBody @Valid final BookStockAtRequest request) {
+        final BookStockAtResponse response = BookStockAtResponse.builder()
+                .bookId(bookId)
+                .at(request.getAt())
+                .stock(stockJournalService.getStockAt(bookId, request.getAt()))
+                .build();
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Turns the striped stock mode of a {@link Book} on or off
+     *
+     * @param bookId  The specified book id
+     * @param request {@link BookStockStripingRequest}
+     * @return Response entity of {@link BookUpdatedResponse}
+     */
+    @PutMapping("/stock-striping/{bookId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<BookUpdatedResponse> updateStockStriping(@PathVariable String bookId, @RequestBody @Valid final BookStockStripingRequest request) {
+        final BookDTO updatedBookEntity = bookService.updateStockStripingById(bookId, request);
+        final BookUpdatedResponse response = BookMapper.toUpdatedResponse(updatedBookEntity);
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Puts a {@link Book} in flash sale mode, so that its stock is reserved from the in-memory ledger
+     *
+     * @param bookId The specified book id
+     * @return Response entity of {@link BookUpdatedResponse}
+     */
+    @PutMapping("/flash-sale/{bookId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<BookUpdatedResponse> enterFlashSale(@PathVariable String bookId) {
+        final BookDTO updatedBookEntity = bookService.enterFlashSaleById(bookId);
+        final BookUpdatedResponse response = BookMapper.toUpdatedResponse(updatedBookEntity);
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Takes a {@link Book} out of flash sale mode, writing its ledger stock back to the database
+     *
+     * @param bookId The specified book id
+     * @return Response entity of {@link BookUpdatedResponse}
+     */
+    @DeleteMapping("/flash-sale/{bookId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<BookUpdatedResponse> exitFlashSale(@PathVariable String bookId) {
+        final BookDTO updatedBookEntity = bookService.exitFlashSaleById(bookId);
+        final BookUpdatedResponse response = BookMapper.toUpdatedResponse(updatedBookEntity);
+
+        return CustomResponse.ok(response);
+    }
+
     /**
      * The endpoint that updates the {@link Book} entity.
      *
@@ -82,34 +241,154 @@ public class BookController {
         return CustomResponse.ok(response);
     }
 
+    /**
+     * Returns the Books changed after a change version, oldest change first, for clients mirroring the catalog.
+     * The returned {@code nextSince} is the version to pass on the next call.
+     *
+     * @param request The change version to start after and the page size, bound from the query string.
+     * @return Response containing the changed Books and the version to continue from.
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<BookChangesResponse> getBookChanges(@Valid final BookChangesRequest request) {
+        final BookChangesDTO bookChanges = bookService.getBookChanges(request);
+        final BookChangesResponse response = BookMapper.toChangesResponse(bookChanges);
+
+        return CustomResponse.ok(response);
+    }
+
+    /**
+     * Streams the stock and price changes of Books as server-sent events named {@code book-change}.
+     * The event id is the change version of the Book, to resume through the change feed after a reconnect.
+     *
+     * @param request The IDs of the Books to follow, bound from the query string; none to follow the whole catalog.
+     * @return The emitter the events are sent through.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public SseEmitter streamBookChanges(@Valid final BookStreamRequest request) {
+        return bookChangeStream.subscribe(request.getBookIds());
+    }
+
     /**
      * Retrieves a Book by its ID.
+     * <p>The response carries an ETag and, when known, a Last-Modified time; a request whose
+     * {@code If-None-Match} or {@code If-Modified-Since} header still matches gets a {@code 304} without a body.</p>
      *
-     * @param bookId The ID of the Book to retrieve.
+     * @param bookId     The ID of the Book to retrieve.
+     * @param webRequest The current request, holding its conditional headers.
      * @return Response containing information about the requested Book.
      */
     @GetMapping("/{bookId}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
-    public CustomResponse<BookGetResponse> getBookById(@PathVariable("bookId") final String bookId) {
+    public ResponseEntity<CustomResponse<BookGetResponse>> getBookById(@PathVariable("bookId") final String bookId,
+                                                                      final WebRequest webRequest) {
         final BookDTO bookEntityFromDb = bookService.getBookById(bookId);
-        final BookGetResponse response = BookMapper.toGetResponse(bookEntityFromDb);
+
+        return HttpCaching.conditionalGet(
+                webRequest,
+                BookMapper.toETag(bookEntityFromDb),
+                BookMapper.toLastModified(bookEntityFromDb),
+                CacheControl.maxAge(Duration.ofSeconds(bookMaxAgeSeconds)).cachePrivate().mustRevalidate(),
+                () -> CustomResponse.ok(BookMapper.toGetResponse(bookEntityFromDb))
+        );
+    }
+
+    /**
+     * Retrieves many Books by their IDs at once. Unknown IDs are reported instead of failing the request.
+     *
+     * @param request The request containing the IDs of the Books to retrieve.
+     * @return Response containing the requested Books in request order and the unknown IDs.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<BookBatchGetResponse> getBooksByIds(@RequestBody @Valid final BookBatchGetRequest request) {
+        final List<BookDTO> bookEntities = bookService.getBooksByIds(request.getBookIds());
+        final BookBatchGetResponse response = BookMapper.toBatchGetResponse(request.getBookIds(), bookEntities);
 
         return CustomResponse.ok(response);
     }
 
     /**
      * Returns all {@link Book} entities.
+     * <p>Hot pages are written straight from their {@link BookPageSnapshots} snapshot, gzip compressed if the
+     * client accepts it, and no response entity is returned; other pages are read from the database. The
+     * {@code time} of a snapshot body is the time the snapshot was built, not the time of the request.</p>
      *
-     * @return list of Book entities
+     * @param paginationRequest The requested page
+     * @param acceptEncoding    The {@code Accept-Encoding} header, if any
+     * @param response          The response a snapshot is written to
+     * @return page of Book entities, or {@code null} if a snapshot was written
+     * @throws IOException if a snapshot cannot be written
      */
     @PostMapping("/all")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
-    public CustomResponse<CustomPageResponse<BookGetResponse>> getBooks(@RequestBody @Valid PaginationRequest paginationRequest) {
+    public ResponseEntity<CustomResponse<CustomPageResponse<BookGetResponse>>> getBooks(
+            @RequestBody @Valid PaginationRequest paginationRequest,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding,
+            final HttpServletResponse response
+    ) throws IOException {
+        final Optional<BookPageSnapshots.Snapshot> snapshot = bookPageSnapshots
+                .get(paginationRequest.getPage(), paginationRequest.getSize());
+        if (snapshot.isPresent()) {
+            writeSnapshot(snapshot.get(), acceptEncoding, response);
+            return null;
+        }
+
         final Page<BookDTO> bookEntitiesFromDb = bookService.getAllBooks(paginationRequest);
         final CustomPageResponse<BookGetResponse> responses = BookMapper
                 .toGetResponse(bookEntitiesFromDb);
 
+        return ResponseEntity.ok(CustomResponse.ok(responses));
+    }
+
+    /**
+     * Searches {@link Book} entities by name, author and ISBN, best match first.
+     *
+     * @param request The request containing the query and pagination information
+     * @return page of matching Book entities
+     */
+    @PostMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<CustomPageResponse<BookGetResponse>> searchBooks(@RequestBody @Valid BookSearchRequest request) {
+        final Page<BookDTO> bookEntitiesFromIndex = bookService.searchBooks(request);
+        final CustomPageResponse<BookGetResponse> responses = BookMapper
+                .toGetResponse(bookEntitiesFromIndex);
+
+        return CustomResponse.ok(responses);
+    }
+
+    /**
+     * Completes a prefix to the most popular {@link Book} titles and author names.
+     *
+     * @param request The request containing the prefix and the number of completions
+     * @return list of completions, most popular first
+     */
+    @PostMapping("/autocomplete")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<List<BookCompletionResponse>> getBookCompletions(@RequestBody @Valid BookAutocompleteRequest request) {
+        final List<BookCompletionResponse> responses = bookService.getBookCompletions(request)
+                .stream()
+                .map(BookMapper::toCompletionResponse)
+                .toList();
+
         return CustomResponse.ok(responses);
     }
 
+    private void writeSnapshot(final BookPageSnapshots.Snapshot snapshot, final String acceptEncoding,
+                               final HttpServletResponse response) throws IOException {
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        byte[] body = snapshot.plain();
+        if (BookPageSnapshots.acceptsGzip(acceptEncoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = snapshot.gzip();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
 }
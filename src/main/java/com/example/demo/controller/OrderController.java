@@ -1,6 +1,8 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.OrderDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.dto.OrderVersionDTO;
 import com.example.demo.model.enums.Role;
 import com.example.demo.model.mapper.order.OrderMapper;
 import com.example.demo.payload.request.order.CreateOrderRequest;
@@ -12,17 +14,29 @@ import com.example.demo.payload.response.order.OrderCreatedResponse;
 import com.example.demo.payload.response.order.OrderGetBetweenDatesResponse;
 import com.example.demo.payload.response.order.OrderGetByCustomerResponse;
 import com.example.demo.payload.response.order.OrderGetResponse;
+import com.example.demo.payload.response.order.OrderQuoteResponse;
 import com.example.demo.security.CustomUserDetails;
+import com.example.demo.service.OrderQuoteService;
 import com.example.demo.service.OrderSaveService;
 import com.example.demo.service.OrderService;
+import com.example.demo.util.HttpCaching;
 import com.example.demo.util.Identity;
+import com.example.demo.workload.AnalyticsTasks;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -32,6 +46,11 @@ public class OrderController {
 
     private final OrderService orderService;
     private final OrderSaveService orderSaveService;
+    private final OrderQuoteService orderQuoteService;
+    private final AnalyticsTasks analyticsTasks;
+
+    @Value("${cache.http.orders-max-age-seconds:86400}")
+    private long orderMaxAgeSeconds;
 
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
@@ -43,14 +62,28 @@ public class OrderController {
         return CustomResponse.created(response);
     }
 
-    @GetMapping("/{orderId}")
+    @PostMapping("/quote")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
-    public CustomResponse<OrderGetResponse> getOrderById(@PathVariable Long orderId) {
+    public CustomResponse<OrderQuoteResponse> quoteOrder(@RequestBody @Valid CreateOrderRequest createOrderRequest) {
 
-        final OrderDTO orderDTO = orderService.findOrderById(orderId);
-        final OrderGetResponse response = OrderMapper.toGetResponse(orderDTO);
+        final OrderQuoteDTO orderQuoteDTO = orderQuoteService.quoteOrder(createOrderRequest);
+        final OrderQuoteResponse response = OrderMapper.toQuoteResponse(orderQuoteDTO);
         return CustomResponse.ok(response);
+    }
+
+    @GetMapping("/{orderId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public ResponseEntity<CustomResponse<OrderGetResponse>> getOrderById(@PathVariable Long orderId, WebRequest webRequest) {
+
+        final OrderVersionDTO orderVersion = orderService.findOrderVersionById(orderId);
 
+        return HttpCaching.conditionalGet(
+                webRequest,
+                OrderMapper.toETag(orderVersion),
+                OrderMapper.toLastModified(orderVersion),
+                CacheControl.maxAge(Duration.ofSeconds(orderMaxAgeSeconds)).cachePrivate(),
+                () -> CustomResponse.ok(OrderMapper.toGetResponse(orderService.findOrderById(orderId)))
+        );
     }
 
     @GetMapping("/customer/{customerId}")
@@ -71,15 +104,17 @@ public class OrderController {
 
     @PostMapping("/between-dates")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public CustomResponse<CustomPageResponse<OrderGetBetweenDatesResponse>> getOrdersBetweenTwoDates(
+    public WebAsyncTask<CustomResponse<CustomPageResponse<OrderGetBetweenDatesResponse>>> getOrdersBetweenTwoDates(
             @RequestBody PaginatedFindAllRequest paginatedFindAllRequest
     ) {
-        final Page<OrderDTO> pageOfOrderDTOs = orderService
-                .findAllOrdersBetweenTwoDatesAndPagination(paginatedFindAllRequest);
-        final CustomPageResponse<OrderGetBetweenDatesResponse> response = OrderMapper
-                .toGetBetweenDatesResponses(pageOfOrderDTOs);
+        return analyticsTasks.submit(() -> {
+            final Page<OrderDTO> pageOfOrderDTOs = orderService
+                    .findAllOrdersBetweenTwoDatesAndPagination(paginatedFindAllRequest);
+            final CustomPageResponse<OrderGetBetweenDatesResponse> response = OrderMapper
+                    .toGetBetweenDatesResponses(pageOfOrderDTOs);
 
-        return CustomResponse.ok(response);
+            return CustomResponse.ok(response);
+        });
     }
 
 }
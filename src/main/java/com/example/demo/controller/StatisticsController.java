@@ -7,11 +7,13 @@ import com.example.demo.payload.response.CustomPageResponse;
 import com.example.demo.payload.response.CustomResponse;
 import com.example.demo.payload.response.order.OrderReportResponse;
 import com.example.demo.service.StatisticsService;
+import com.example.demo.workload.AnalyticsTasks;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/api/v1/statistics")
@@ -21,26 +23,32 @@ public class StatisticsController {
 
     private final StatisticsService statisticsService;
 
+    private final AnalyticsTasks analyticsTasks;
+
     @GetMapping("/{customerId}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
-    public CustomResponse<CustomPageResponse<OrderReportResponse>> getOrderStatisticsByCustomerId(
+    public WebAsyncTask<CustomResponse<CustomPageResponse<OrderReportResponse>>> getOrderStatisticsByCustomerId(
             @PathVariable Long customerId,
             @RequestBody PaginationRequest paginationRequest
     ) {
-        Page<OrderReportDTO> orderReportDTOs = statisticsService
-                .getOrderStatisticsByCustomerId(customerId, paginationRequest);
-        CustomPageResponse<OrderReportResponse> orderReportResponse = OrderReportMapper.toOrderReportResponseList(orderReportDTOs);
-        return CustomResponse.ok(orderReportResponse);
+        return analyticsTasks.submit(() -> {
+            Page<OrderReportDTO> orderReportDTOs = statisticsService
+                    .getOrderStatisticsByCustomerId(customerId, paginationRequest);
+            CustomPageResponse<OrderReportResponse> orderReportResponse = OrderReportMapper.toOrderReportResponseList(orderReportDTOs);
+            return CustomResponse.ok(orderReportResponse);
+        });
     }
 
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public CustomResponse<CustomPageResponse<OrderReportResponse>> getAllOrderStatistics(
+    public WebAsyncTask<CustomResponse<CustomPageResponse<OrderReportResponse>>> getAllOrderStatistics(
             @RequestBody PaginationRequest paginationRequest
     ) {
-        Page<OrderReportDTO> orderReportDTOs = statisticsService.getAllOrderStatistics(paginationRequest);
-        CustomPageResponse<OrderReportResponse> orderReportResponse = OrderReportMapper.toOrderReportResponseList(orderReportDTOs);
-        return CustomResponse.ok(orderReportResponse);
+        return analyticsTasks.submit(() -> {
+            Page<OrderReportDTO> orderReportDTOs = statisticsService.getAllOrderStatistics(paginationRequest);
+            CustomPageResponse<OrderReportResponse> orderReportResponse = OrderReportMapper.toOrderReportResponseList(orderReportDTOs);
+            return CustomResponse.ok(orderReportResponse);
+        });
     }
 
 }
@@ -0,0 +1,60 @@
+package com.example.demo.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the read-only transactions started by the current thread on the primary for the duration of a call.
+ * <p>Background readers that act on what they read, such as rebuilding a derived state right after a write,
+ * cannot tolerate the lag of a replica. Wrapping them here lets them keep calling the read-only service and
+ * repository methods while the {@link ReplicaRoutingDataSource} routes their connections to the primary.
+ * Without replica routing the scope has no effect.</p>
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Runs the given action with its reads kept on the primary.
+     *
+     * @param action The action to run.
+     */
+    public static void run(final Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls the given supplier with its reads kept on the primary.
+     *
+     * @param supplier The supplier to call.
+     * @param <T>      The type of the result.
+     * @return The result of the supplier.
+     */
+    public static <T> T call(final Supplier<T> supplier) {
+
+        final boolean wasActive = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            if (!wasActive) {
+                ACTIVE.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the current thread runs inside {@link #run(Runnable)} or {@link #call(Supplier)}.
+     *
+     * @return {@code true} if the reads of the current thread are kept on the primary.
+     */
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+
+}
@@ -0,0 +1,440 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes the connections of read-only transactions to a pool of replicas and all other connections to the primary.
+ * <p>A replica is chosen round-robin, or as the one with the fewest connections in use. A user whose own write
+ * committed less than the read-your-writes interval ago reads from the primary, so that they never miss it on a
+ * lagging replica; writes are recognized from the statements run on primary connections. A replica that
+ * cannot hand out a connection is taken out of the rotation and the request fails over to the primary; the replica
+ * is only used again once {@link #checkReplicas(int)} finds it valid.</p>
+ * <p>The routing decision is made when the connection is requested, so the data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers that request until the
+ * transaction is marked read-only.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * The lookup key of the primary.
+     */
+    public static final String PRIMARY = "primary";
+
+    private static final String WRITTEN_KEY = ReplicaRoutingDataSource.class.getName() + ".WRITTEN";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final Selection selection;
+
+    private final long readYourWritesNanos;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Map<String, Counter> connections = new HashMap<>();
+
+    private final Counter failovers;
+
+    /**
+     * Creates the routing data source and registers its metrics.
+     *
+     * @param primary          The data source of the primary.
+     * @param replicas         The data sources of the replicas, by name.
+     * @param selection        How a replica is chosen.
+     * @param readYourWritesMs How long a user reads from the primary after their own write, in milliseconds.
+     * @param meterRegistry    The registry the metrics are published to.
+     */
+    public ReplicaRoutingDataSource(final DataSource primary,
+                                    final Map<String, DataSource> replicas,
+                                    final Selection selection,
+                                    final long readYourWritesMs,
+                                    final MeterRegistry meterRegistry) {
+
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.selection = selection;
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMs);
+
+        final Map<Object, Object> targetDataSources = new LinkedHashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        replicas.forEach(targetDataSources::put);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        for (final Object target : targetDataSources.keySet()) {
+            connections.put((String) target, Counter.builder("datasource.routing.connections")
+                    .description("Connections handed out, by the database they were routed to")
+                    .tag("target", (String) target)
+                    .register(meterRegistry));
+        }
+        this.failovers = Counter.builder("datasource.routing.failovers")
+                .description("Read-only connections routed to the primary because a replica failed")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Replicas currently in the rotation")
+                .register(meterRegistry);
+        Gauge.builder("datasource.routing.pinned.users", pinnedUntil, Map::size)
+                .description("Users reading from the primary after their own write")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Returns the key of the database the current thread would be routed to.
+     *
+     * @return {@link #PRIMARY} or the name of a replica.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final Replica replica = selectReplica();
+        return replica == null ? PRIMARY : replica.name;
+    }
+
+    /**
+     * Validates every replica, putting the valid ones back into the rotation and taking the others out, and
+     * forgets the users whose read-your-writes interval is over.
+     *
+     * @param timeoutSeconds How long a replica may take to validate a connection, in seconds.
+     */
+    public void checkReplicas(final int timeoutSeconds) {
+
+        for (final Replica replica : replicas) {
+            boolean valid;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                valid = connection.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                valid = false;
+            }
+
+            if (valid && !replica.healthy) {
+                log.info("ReplicaRoutingDataSource | checkReplicas | replica {} is back in the rotation", replica.name);
+            } else if (!valid && replica.healthy) {
+                log.warn("ReplicaRoutingDataSource | checkReplicas | replica {} failed validation", replica.name);
+            }
+            replica.healthy = valid;
+        }
+
+        final long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    /**
+     * Returns the number of replicas currently in the rotation.
+     *
+     * @return The number of healthy replicas.
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Closes the replica data sources, which are owned by this data source. The primary is left open.
+     */
+    @Override
+    public void close() throws Exception {
+        for (final Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection connect(final ConnectionSource source) throws SQLException {
+
+        final Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                final Connection connection = source.get(replica.dataSource);
+                connections.get(replica.name).increment();
+                return replica.borrow(connection);
+            } catch (SQLException e) {
+                replica.healthy = false;
+                failovers.increment();
+                log.warn("ReplicaRoutingDataSource | connect | replica {} failed, using the primary: {}",
+                        replica.name, e.getMessage());
+            }
+        }
+
+        final Connection connection = source.get(primary);
+        connections.get(PRIMARY).increment();
+        return trackWrites(connection);
+    }
+
+    private Replica selectReplica() {
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReads.isActive()) {
+            return null;
+        }
+
+        final String user = currentUser();
+        if (user != null) {
+            final Long until = pinnedUntil.get(user);
+            if (until != null && until - System.nanoTime() > 0) {
+                return null;
+            }
+        }
+
+        final List<Replica> healthy = new ArrayList<>(replicas.size());
+        for (final Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy.add(replica);
+            }
+        }
+        if (healthy.isEmpty()) {
+            return null;
+        }
+
+        final int start = Math.floorMod(nextReplica.getAndIncrement(), healthy.size());
+        if (selection == Selection.ROUND_ROBIN) {
+            return healthy.get(start);
+        }
+
+        // Least loaded; ties go round-robin, so that idle replicas share the load
+        final List<Replica> rotated = new ArrayList<>(healthy.subList(start, healthy.size()));
+        rotated.addAll(healthy.subList(0, start));
+        return rotated.stream()
+                .min(Comparator.comparingInt(candidate -> candidate.inUse.get()))
+                .orElseThrow();
+    }
+
+    /**
+     * Wraps a primary connection so that a statement that is not a query pins the current user to the primary once
+     * the surrounding transaction commits.
+     */
+    private Connection trackWrites(final Connection connection) {
+
+        if (readYourWritesNanos <= 0) {
+            return connection;
+        }
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement", "prepareCall" -> {
+                            if (!isQuery((String) args[0])) {
+                                onWrite();
+                            }
+                        }
+                        case "createStatement" -> {
+                            return trackWrites((Statement) invoke(connection, method, args));
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "unwrap" -> {
+                            if (Connection.class.equals(args[0])) {
+                                return connection;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    /**
+     * Wraps a plain statement, whose SQL is only known when it is executed.
+     */
+    private Statement trackWrites(final Statement statement) {
+
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "execute" -> {
+                            if (!isQuery((String) args[0])) {
+                                onWrite();
+                            }
+                        }
+                        case "executeUpdate", "executeLargeUpdate", "addBatch" -> onWrite();
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private void onWrite() {
+
+        final String user = currentUser();
+        if (user == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pin(user);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.hasResource(WRITTEN_KEY)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(WRITTEN_KEY, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITTEN_KEY);
+                if (status == STATUS_COMMITTED) {
+                    pin(user);
+                }
+            }
+        });
+    }
+
+    private void pin(final String user) {
+        pinnedUntil.merge(user, System.nanoTime() + readYourWritesNanos,
+                (pinned, until) -> until - pinned > 0 ? until : pinned);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static boolean isQuery(final String sql) {
+        final String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private static String currentUser() {
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * How a replica is chosen among the healthy ones.
+     */
+    public enum Selection {
+
+        ROUND_ROBIN,
+
+        LEAST_LOADED;
+
+        /**
+         * Parses a selection from its configured name, such as {@code round-robin} or {@code least-loaded}.
+         *
+         * @param value The configured name.
+         * @return The selection.
+         */
+        public static Selection of(final String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+
+    }
+
+    /**
+     * A replica in the rotation, with the number of its connections in use.
+     */
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private final AtomicInteger inUse = new AtomicInteger();
+
+        private volatile boolean healthy = true;
+
+        private Replica(final String name, final DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private Connection borrow(final Connection connection) {
+
+            inUse.incrementAndGet();
+            final AtomicBoolean returned = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && returned.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                inUse.decrementAndGet();
+                            }
+                            return null;
+                        }
+                        if ("equals".equals(method.getName())) {
+                            return proxy == args[0];
+                        }
+                        if ("hashCode".equals(method.getName())) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if ("unwrap".equals(method.getName()) && Connection.class.equals(args[0])) {
+                            return connection;
+                        }
+                        return invoke(connection, method, args);
+                    });
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing one page of the catalog change feed.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+public class BookChangesDTO {
+
+    private List<BookDTO> books;
+    private long nextSince;
+    private boolean hasMore;
+
+}
@@ -20,4 +20,7 @@ public class BookDTO {
     private String authorFullName;
     private BigDecimal price;
     private Integer stock;
+    private Integer stockSlotCount;
+    private boolean flashSale;
+    private Long changeVersion;
 }
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) representing how many items of a book have been ordered.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookOrderCountDTO {
+
+    private String bookId;
+    private Long orderedItemCount;
+
+}
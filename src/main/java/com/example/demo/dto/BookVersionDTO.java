@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) holding the current change version of a book, used to validate a cached copy
+ * without loading the whole book.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookVersionDTO {
+
+    private String id;
+    private Long changeVersion;
+
+}
@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the availability and price of a cart, quoted without locks.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+public class OrderQuoteDTO {
+
+    private List<OrderQuoteLine> lines;
+    private BigDecimal totalPrice;
+    private boolean fulfillable;
+
+    /**
+     * Data Transfer Object (DTO) representing the availability and price of one line of a cart.
+     */
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class OrderQuoteLine {
+        private String bookId;
+        private int amount;
+        private boolean known;
+        private boolean available;
+        private Integer availableStock;
+        private BigDecimal unitPrice;
+        private BigDecimal linePrice;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) holding what identifies the version of an order: orders are not changed after
+ * they are created, so their id and creation time are enough to validate a cached copy.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderVersionDTO {
+
+    private Long id;
+    private Long userId;
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.enums.StockMovementType;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing a stock movement in the stock journal.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+public class StockMovementDTO {
+
+    private Long sequence;
+    private String bookId;
+    private StockMovementType type;
+    private Integer delta;
+    private LocalDateTime createdAt;
+}
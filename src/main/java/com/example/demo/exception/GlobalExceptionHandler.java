@@ -2,6 +2,8 @@ package com.example.demo.exception;
 
 import com.example.demo.exception.response.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -25,6 +27,9 @@ import java.util.List;
 @Slf4j
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    @Value("${workload.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
     /**
      * Handles the HTTP media type not supported exception, which triggers when the JSON content type is invalid.
      *
@@ -209,4 +214,27 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
         return ResponseEntity.status(ProcessException.STATUS).body(errorResponse);
     }
+
+    /**
+     * Handles TaskRejectedException, thrown when the executor of an asynchronous request is saturated, returning an
+     * ErrorResponse with a {@code 503 Service Unavailable} status and a {@code Retry-After} header.
+     *
+     * @param exception The exception that was thrown.
+     * @return A ResponseEntity containing an error response.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    protected ResponseEntity<Object> handleTaskRejectedException(TaskRejectedException exception) {
+
+        log.error(exception.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message("Too many requests are being handled, please try again later!")
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.demo.exception.book;
+
+import com.example.demo.exception.AlreadyException;
+import com.example.demo.model.Book;
+
+import java.io.Serial;
+
+/**
+ * Thrown when the stock of a {@link Book} is changed while the book is in flash sale mode.
+ */
+public class BookInFlashSaleException extends AlreadyException {
+
+    @Serial
+    private static final long serialVersionUID = 3829106215487296501L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The specified Book is in flash sale mode!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "Stock cannot be changed while in flash sale mode for book with ID: ";
+
+    /**
+     * Constructs a BookInFlashSaleException with the specified book id.
+     *
+     * @param id The id of the book in flash sale mode.
+     */
+    public BookInFlashSaleException(String id) {
+        super(MESSAGE_TEMPLATE.concat(id));
+    }
+
+    public BookInFlashSaleException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+}
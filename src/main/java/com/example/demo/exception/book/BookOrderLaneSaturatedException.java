@@ -0,0 +1,33 @@
+package com.example.demo.exception.book;
+
+import com.example.demo.exception.ProcessException;
+
+import java.io.Serial;
+
+/**
+ * Custom exception class for cases where too many orders are already waiting for the same book.
+ */
+public class BookOrderLaneSaturatedException extends ProcessException {
+
+    @Serial
+    private static final long serialVersionUID = -2871540391862047715L;
+
+    private static final String DEFAULT_MESSAGE =
+            "Too many orders are waiting for the book, please try again later!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "Too many orders are waiting for the book with ID: ";
+
+    /**
+     * Constructs a BookOrderLaneSaturatedException with the specified book id.
+     *
+     * @param id The id of the book whose order lane is saturated.
+     */
+    public BookOrderLaneSaturatedException(String id) {
+        super(MESSAGE_TEMPLATE.concat(id));
+    }
+
+    public BookOrderLaneSaturatedException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.exception.book;
+
+import com.example.demo.exception.NotFoundException;
+
+import java.io.Serial;
+import java.time.LocalDateTime;
+
+/**
+ * Thrown when the stock of a book is requested for a point in time that the stock journal no longer covers.
+ */
+public class StockHistoryNotFoundException extends NotFoundException {
+
+    @Serial
+    private static final long serialVersionUID = -3190547711928364605L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The stock history is not found!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "No stock history found for book with ID: %s at %s";
+
+    /**
+     * Constructs a StockHistoryNotFoundException with the specified book id and point in time.
+     *
+     * @param id The id of the book.
+     * @param at The point in time the stock was requested for.
+     */
+    public StockHistoryNotFoundException(String id, LocalDateTime at) {
+        super(MESSAGE_TEMPLATE.formatted(id, at));
+    }
+
+    public StockHistoryNotFoundException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.example.demo.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of connections borrowed from the wrapped data source at a time with a fair semaphore.
+ * <p>With a thread per request, the number of callers waiting for a connection is bounded by the request threads.
+ * Virtual threads remove that bound: thousands of requests blocked on pessimistic locks would all queue inside the
+ * connection pool. The semaphore keeps them parked in a plain first-come queue instead, holding no more permits
+ * than the pool has connections. A caller that cannot get a permit within the acquire timeout gets a
+ * {@link SQLTransientConnectionException}, like a pool timeout. The permit is given back when the connection is
+ * closed.</p>
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMs;
+
+    private final Counter timeouts;
+
+    /**
+     * Wraps the given data source and registers the metrics of the semaphore.
+     *
+     * @param targetDataSource The data source the connections are borrowed from.
+     * @param permits          The number of connections borrowed at a time.
+     * @param acquireTimeoutMs How long a caller waits for a permit, in milliseconds.
+     * @param meterRegistry    The registry the metrics are published to.
+     */
+    public ConnectionLimitingDataSource(final DataSource targetDataSource,
+                                        final int permits,
+                                        final long acquireTimeoutMs,
+                                        final MeterRegistry meterRegistry) {
+        this(targetDataSource, permits, acquireTimeoutMs, meterRegistry, "datasource.connections.permits", Tags.empty());
+    }
+
+    /**
+     * Wraps the given data source and registers the metrics of the semaphore under the given name prefix.
+     *
+     * @param targetDataSource The data source the connections are borrowed from.
+     * @param permits          The number of connections borrowed at a time.
+     * @param acquireTimeoutMs How long a caller waits for a permit, in milliseconds.
+     * @param meterRegistry    The registry the metrics are published to.
+     * @param metricPrefix     The prefix of the metric names.
+     * @param tags             The tags of the metrics.
+     */
+    public ConnectionLimitingDataSource(final DataSource targetDataSource,
+                                        final int permits,
+                                        final long acquireTimeoutMs,
+                                        final MeterRegistry meterRegistry,
+                                        final String metricPrefix,
+                                        final Tags tags) {
+
+        super(targetDataSource);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        this.timeouts = Counter.builder(metricPrefix + ".timeouts")
+                .description("Connection requests that timed out waiting for a permit")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".waiting", this.permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a permit to borrow a connection")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".available", this.permits, Semaphore::availablePermits)
+                .description("Permits left to borrow a connection")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrow(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        acquire();
+        return borrow(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "No connection permit available within " + acquireTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    private Connection borrow(final ConnectionSupplier supplier) throws SQLException {
+
+        final Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        final AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("unwrap".equals(method.getName()) && Connection.class.equals(args[0])) {
+                        return connection;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+}
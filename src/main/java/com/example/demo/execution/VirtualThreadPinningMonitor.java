@@ -0,0 +1,97 @@
+package com.example.demo.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Surfaces virtual threads pinned to their carrier thread as metrics, from the {@code jdk.VirtualThreadPinned}
+ * flight recorder events.
+ * <p>A virtual thread blocking inside a {@code synchronized} block or a native frame keeps its carrier thread; the
+ * MySQL driver synchronizes on its connections, so long lock waits inside it show up here. Every pinning longer
+ * than the threshold increments {@code jvm.threads.virtual.pinned} and is recorded by the
+ * {@code jvm.threads.virtual.pinned.duration} timer; its top application frame is logged at debug level.</p>
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+
+    private final Counter pinned;
+
+    private final Timer pinnedDuration;
+
+    private RecordingStream recordingStream;
+
+    /**
+     * Creates the monitor and registers its metrics.
+     *
+     * @param threshold     The shortest pinning recorded.
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    public VirtualThreadPinningMonitor(final Duration threshold, final MeterRegistry meterRegistry) {
+
+        this.threshold = threshold;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("How long virtual threads blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming the pinning events.
+     */
+    @PostConstruct
+    public void start() {
+
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::record);
+            recordingStream.startAsync();
+        } catch (Exception e) {
+            log.error("VirtualThreadPinningMonitor | start | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops streaming the pinning events.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    void record(final RecordedEvent event) {
+
+        pinned.increment();
+        pinnedDuration.record(event.getDuration());
+
+        if (log.isDebugEnabled() && event.getStackTrace() != null) {
+            final List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            frames.stream()
+                    .filter(frame -> frame.getMethod().getType().getName().startsWith("com.example.demo"))
+                    .findFirst()
+                    .or(() -> frames.stream().findFirst())
+                    .ifPresent(frame -> log.debug("VirtualThreadPinningMonitor | record | pinned for {} ms at {}.{}",
+                            event.getDuration().toMillis(), frame.getMethod().getType().getName(),
+                            frame.getMethod().getName()));
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.demo.execution;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates named virtual threads.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VirtualThreads {
+
+    /**
+     * Creates a factory of virtual threads named with the given prefix and a counter.
+     *
+     * @param prefix The prefix of the thread names.
+     * @return The factory.
+     */
+    public static ThreadFactory newThreadFactory(final String prefix) {
+        return Thread.ofVirtual().name(prefix, 0).factory();
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for each task.
+     *
+     * @param prefix The prefix of the thread names.
+     * @return The executor.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String prefix) {
+        return Executors.newThreadPerTaskExecutor(newThreadFactory(prefix));
+    }
+
+}
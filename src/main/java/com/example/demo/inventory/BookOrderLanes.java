@@ -0,0 +1,123 @@
+package com.example.demo.inventory;
+
+import com.example.demo.exception.book.BookOrderLaneSaturatedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process admission lanes for order placement, one per book.
+ * <p>Orders for the same book are serialized on a fair lock inside the JVM before they borrow a database
+ * connection, so contenders wait here instead of holding a pooled connection while waiting on the book row lock.
+ * A lane admits at most one holder plus {@code maxQueueDepth} waiters; anything beyond that, or anything
+ * that waits longer than {@code maxWaitMs}, is rejected with a {@link BookOrderLaneSaturatedException}.</p>
+ * <p>Lanes are created on demand and discarded once nobody occupies them.</p>
+ */
+@Component
+public class BookOrderLanes {
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final int maxQueueDepth;
+
+    private final long maxWaitMs;
+
+    public BookOrderLanes(@Value("${inventory.order-lanes.max-queue-depth:50}") int maxQueueDepth,
+                          @Value("${inventory.order-lanes.max-wait-ms:2000}") long maxWaitMs) {
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * Runs the given action while holding the lanes of all the given books.
+     * Lanes are entered in a fixed order to avoid deadlocks between orders containing several books.
+     *
+     * @param bookIds The unique identifiers of the books.
+     * @param action  The action to be run.
+     * @param <T>     The result type of the action.
+     * @return The result of the action.
+     * @throws BookOrderLaneSaturatedException If a lane is full or could not be entered in time.
+     */
+    public <T> T runInLanes(final Collection<String> bookIds, final Supplier<T> action) {
+
+        final Deque<String> entered = new ArrayDeque<>();
+        try {
+            for (String bookId : new TreeSet<>(bookIds)) {
+                enter(bookId);
+                entered.push(bookId);
+            }
+            return action.get();
+        } finally {
+            while (!entered.isEmpty()) {
+                leave(entered.pop());
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of orders currently holding or waiting for the lane of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The occupancy of the lane.
+     */
+    public int getOccupancy(final String bookId) {
+        final Lane lane = lanes.get(bookId);
+        return lane == null ? 0 : lane.occupants;
+    }
+
+    private void enter(final String bookId) {
+
+        final boolean[] admitted = new boolean[1];
+        final Lane lane = lanes.compute(bookId, (id, current) -> {
+            final Lane target = current == null ? new Lane() : current;
+            if (target.occupants <= maxQueueDepth) {
+                target.occupants++;
+                admitted[0] = true;
+            }
+            return target;
+        });
+
+        if (!admitted[0]) {
+            throw new BookOrderLaneSaturatedException(bookId);
+        }
+
+        boolean locked = false;
+        try {
+            locked = lane.lock.tryLock(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!locked) {
+            vacate(bookId);
+            throw new BookOrderLaneSaturatedException(bookId);
+        }
+    }
+
+    private void leave(final String bookId) {
+        lanes.get(bookId).lock.unlock();
+        vacate(bookId);
+    }
+
+    private void vacate(final String bookId) {
+        lanes.computeIfPresent(bookId, (id, lane) -> --lane.occupants == 0 ? null : lane);
+    }
+
+    private static final class Lane {
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+
+        private volatile int occupants;
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.example.demo.inventory;
+
+import com.example.demo.exception.book.NoAvailableStockException;
+import com.example.demo.util.RandomUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory, authoritative stock ledger for books in flash sale mode.
+ * <p>Each loaded book holds its available stock in an {@link AtomicLong} that is decremented with a
+ * compare-and-set loop, so reservations never block each other and can never take the counter below zero.
+ * The ledger is local to this JVM; a book must only be put in flash sale mode on a single instance.</p>
+ */
+@Component
+public class FlashSaleLedger {
+
+    private final Map<String, AtomicLong> availableStocks = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a book into the ledger with the given available stock, replacing any previous value.
+     *
+     * @param bookId         The unique identifier of the book.
+     * @param availableStock The stock available for reservations.
+     */
+    public void load(final String bookId, final long availableStock) {
+        availableStocks.put(bookId, new AtomicLong(availableStock));
+    }
+
+    /**
+     * Removes a book from the ledger.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    public void unload(final String bookId) {
+        availableStocks.remove(bookId);
+    }
+
+    /**
+     * Checks whether a book is held by the ledger.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return {@code true} if the book is loaded, {@code false} otherwise.
+     */
+    public boolean isLoaded(final String bookId) {
+        return availableStocks.containsKey(bookId);
+    }
+
+    /**
+     * Retrieves the available stock of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The available stock, or an empty {@link OptionalLong} if the book is not loaded.
+     */
+    public OptionalLong getAvailableStock(final String bookId) {
+        final AtomicLong availableStock = availableStocks.get(bookId);
+        return availableStock == null ? OptionalLong.empty() : OptionalLong.of(availableStock.get());
+    }
+
+    /**
+     * Reserves the given amount from the available stock of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @return The identifier of the reservation.
+     * @throws NoAvailableStockException If the book is not loaded or does not have enough stock.
+     */
+    public String reserve(final String bookId, final int amount) {
+
+        final AtomicLong availableStock = availableStocks.get(bookId);
+        if (availableStock == null) {
+            throw new NoAvailableStockException(amount);
+        }
+
+        long current;
+        do {
+            current = availableStock.get();
+            if (current < amount) {
+                throw new NoAvailableStockException(amount);
+            }
+        } while (!availableStock.compareAndSet(current, current - amount));
+
+        return RandomUtil.generateUUID();
+    }
+
+    /**
+     * Gives back a previously reserved amount to the available stock of a book.
+     * Has no effect if the book has been unloaded in the meantime.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be released.
+     */
+    public void release(final String bookId, final int amount) {
+        final AtomicLong availableStock = availableStocks.get(bookId);
+        if (availableStock != null) {
+            availableStock.addAndGet(amount);
+        }
+    }
+
+}
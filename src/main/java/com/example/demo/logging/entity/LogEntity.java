@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 
 /**
  * Entity class representing a {@link LogEntity} entry in the database.
+ * The {@code TEXT} columns are only loaded when read if the entities are enhanced (built with {@code -Penhance}).
  */
 @Entity
 @Data
@@ -22,6 +23,7 @@ public class LogEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String message;
 
@@ -36,6 +38,7 @@ public class LogEntity {
 
     private String errorType;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String response;
 
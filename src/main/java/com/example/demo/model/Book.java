@@ -12,7 +12,10 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "BOOKS")
+@Table(
+        name = "BOOKS",
+        indexes = @Index(name = "IDX_BOOKS_CHANGE_VERSION", columnList = "CHANGE_VERSION")
+)
 public class Book extends BaseEntity {
 
     @Id
@@ -35,7 +38,38 @@ public class Book extends BaseEntity {
     @Column(name = "PRICE")
     private BigDecimal price;
 
+    /**
+     * Number of {@link BookStockSlot} rows the stock is striped across, or {@code null}
+     * when the stock lives in the {@code STOCK} column only.
+     */
+    @Column(name = "STOCK_SLOT_COUNT")
+    private Integer stockSlotCount;
+
+    /**
+     * Whether the stock of this book is held by the in-memory flash sale ledger.
+     * While set, {@code STOCK} lags behind the ledger by the pending {@link FlashSaleReservation}s.
+     */
+    @Column(name = "FLASH_SALE")
+    private boolean flashSale;
+
+    /**
+     * Version of the last change of this book, issued by the {@code BookChangeVersionClock}.
+     * Reservations against striped stock or the flash sale ledger do not touch the row and leave it unchanged.
+     */
+    @Column(name = "CHANGE_VERSION")
+    private Long changeVersion;
+
     @OneToMany(mappedBy = "book")
     private List<OrderItem> orderItems;
 
+    /**
+     * Checks whether the stock of this book is striped across {@link BookStockSlot} rows.
+     * While striped, the {@code STOCK} column is not maintained and the total stock is the sum of the slots.
+     *
+     * @return {@code true} if the stock is striped, {@code false} otherwise.
+     */
+    public boolean isStockStriped() {
+        return stockSlotCount != null && stockSlotCount > 0;
+    }
+
 }
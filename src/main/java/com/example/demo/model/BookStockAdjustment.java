@@ -0,0 +1,36 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity recording a relative change applied to the stock of a {@link Book}, such as received or damaged copies.
+ * <p>Adjustments are append-only; the user and time of each adjustment are kept in the audit columns
+ * inherited from {@link BaseEntity}.</p>
+ */
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "BOOK_STOCK_ADJUSTMENTS",
+        indexes = @Index(name = "IDX_BOOK_STOCK_ADJUSTMENTS_BOOK_ID", columnList = "BOOK_ID")
+)
+public class BookStockAdjustment extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "BOOK_ID", nullable = false)
+    private String bookId;
+
+    @Column(name = "DELTA", nullable = false)
+    private Integer delta;
+
+    @Column(name = "REASON")
+    private String reason;
+
+}
@@ -0,0 +1,39 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing one stripe of a {@link Book}'s stock.
+ * <p>When striping is enabled for a book, its stock is split across several slots so that
+ * concurrent reservations decrement different rows instead of contending on the single
+ * {@code BOOKS.STOCK} row.</p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "BOOK_STOCK_SLOTS",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"BOOK_ID", "SLOT_INDEX"})
+)
+public class BookStockSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "BOOK_ID", nullable = false)
+    private String bookId;
+
+    @Column(name = "SLOT_INDEX", nullable = false)
+    private Integer slotIndex;
+
+    @Column(name = "STOCK", nullable = false)
+    private Integer stock;
+
+}
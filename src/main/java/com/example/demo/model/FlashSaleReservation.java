@@ -0,0 +1,61 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a stock reservation taken from the in-memory flash sale ledger
+ * whose delta has not been applied to {@code BOOKS.STOCK} yet.
+ * <p>Rows are written in the order transaction and removed once the write-behind flush
+ * has subtracted them from the book's stock, so the pending rows are exactly the deltas
+ * needed to rebuild the ledger after a crash.</p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "FLASH_SALE_RESERVATIONS",
+        indexes = @Index(name = "IDX_FLASH_SALE_RESERVATIONS_BOOK_ID", columnList = "BOOK_ID")
+)
+public class FlashSaleReservation implements Persistable<String> {
+
+    @Id
+    @Column(name = "ID")
+    private String id;
+
+    @Column(name = "BOOK_ID", nullable = false)
+    private String bookId;
+
+    @Column(name = "AMOUNT", nullable = false)
+    private Integer amount;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * The identifier is assigned by the ledger, so a new reservation is inserted without a prior select.
+     */
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+}
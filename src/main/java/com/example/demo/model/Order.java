@@ -7,6 +7,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -30,8 +31,15 @@ public class Order extends BaseEntity {
     private List<OrderItem> orderItems;
 
 
+    /**
+     * Sets the items of this order and makes this order their owner.
+     * The items are copied into a modifiable list, since the enhanced {@link OrderItem#setOrder} (built with
+     * {@code -Penhance}) keeps this list in sync with the owning side.
+     *
+     * @param orderItems The items of the order.
+     */
     public void setOrderItems(List<OrderItem> orderItems) {
-        this.orderItems = orderItems;
+        this.orderItems = new ArrayList<>(orderItems);
         orderItems.forEach(orderItem -> orderItem.setOrder(this));
     }
 
@@ -0,0 +1,35 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the stock balance of a {@link Book} folded from the {@link StockMovement}s
+ * pruned by the journal compaction.
+ * <p>The balance covers every movement created before {@code snapshotAt}, so the stock at any later point
+ * in time is the balance plus the remaining movements up to that point.</p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "STOCK_BALANCE_SNAPSHOTS")
+public class StockBalanceSnapshot {
+
+    @Id
+    @Column(name = "BOOK_ID")
+    private String bookId;
+
+    @Column(name = "STOCK", nullable = false)
+    private Integer stock;
+
+    @Column(name = "SNAPSHOT_AT", nullable = false)
+    private LocalDateTime snapshotAt;
+
+}
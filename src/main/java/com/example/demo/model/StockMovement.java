@@ -0,0 +1,49 @@
+package com.example.demo.model;
+
+import com.example.demo.model.enums.StockMovementType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a single change to the stock of a {@link Book} in the append-only stock journal.
+ * <p>The identifier doubles as the sequence number consumers tail the journal by. It is drawn from a pooled
+ * sequence, so that the movements of a transaction can be written with batch inserts.</p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "STOCK_MOVEMENTS",
+        indexes = {
+                @Index(name = "IDX_STOCK_MOVEMENTS_BOOK_ID_CREATED_AT", columnList = "BOOK_ID, CREATED_AT"),
+                @Index(name = "IDX_STOCK_MOVEMENTS_CREATED_AT", columnList = "CREATED_AT")
+        }
+)
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "STOCK_MOVEMENTS_SEQ")
+    @SequenceGenerator(name = "STOCK_MOVEMENTS_SEQ", sequenceName = "STOCK_MOVEMENTS_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "BOOK_ID", nullable = false)
+    private String bookId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TYPE", nullable = false)
+    private StockMovementType type;
+
+    @Column(name = "DELTA", nullable = false)
+    private Integer delta;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,11 @@
+package com.example.demo.model.enums;
+
+/**
+ * Enum representing the kinds of stock movements recorded in the stock journal.
+ */
+public enum StockMovementType {
+
+    ORDER_RESERVATION,
+    RESTOCK,
+    CORRECTION
+}
@@ -1,17 +1,28 @@
 package com.example.demo.model.mapper.book;
 
 
+import com.example.demo.dto.BookChangesDTO;
 import com.example.demo.dto.BookDTO;
 import com.example.demo.model.Book;
 import com.example.demo.payload.request.book.BookCreateRequest;
 import com.example.demo.payload.request.book.BookUpdateRequest;
 import com.example.demo.payload.response.CustomPageResponse;
+import com.example.demo.payload.response.book.BookBatchGetResponse;
+import com.example.demo.payload.response.book.BookChangesResponse;
+import com.example.demo.payload.response.book.BookCompletionResponse;
 import com.example.demo.payload.response.book.BookCreatedResponse;
 import com.example.demo.payload.response.book.BookGetResponse;
 import com.example.demo.payload.response.book.BookUpdatedResponse;
+import com.example.demo.search.BookAutocompleteTrie;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
 
+import java.time.Instant;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Utility class for mapping between {@link Book} entities and DTOs.
  */
@@ -68,6 +79,37 @@ public class BookMapper {
                 .build();
     }
 
+    /**
+     * Derives the strong entity tag of a {@link BookDTO}'s representation from its change version and stock.
+     * The stock is part of the tag because a striped or flash sale stock changes without a new change version.
+     *
+     * @param source The source {@link BookDTO}.
+     * @return The entity tag, or {@code null} if the book has no change version yet.
+     */
+    public static String toETag(BookDTO source) {
+        if (source.getChangeVersion() == null) {
+            return null;
+        }
+
+        return source.getChangeVersion() + "-" + source.getStock();
+    }
+
+    /**
+     * Derives when a {@link BookDTO} last changed from its change version, which counts microseconds since the epoch.
+     * A striped or flash sale stock changes without a new change version, so those books have no known time.
+     *
+     * @param source The source {@link BookDTO}.
+     * @return The time of the last change, or {@code null} if it is not known.
+     */
+    public static Instant toLastModified(BookDTO source) {
+        if (source.getChangeVersion() == null || source.isFlashSale()
+                || (source.getStockSlotCount() != null && source.getStockSlotCount() > 0)) {
+            return null;
+        }
+
+        return Instant.ofEpochMilli(source.getChangeVersion() / 1_000);
+    }
+
     /**
      * Converts a {@link BookDTO} to a {@link BookGetResponse}.
      *
@@ -86,6 +128,7 @@ public class BookMapper {
                 .authorFullName(source.getAuthorFullName())
                 .stock(source.getStock())
                 .price(source.getPrice())
+                .changeVersion(source.getChangeVersion())
                 .build();
 
     }
@@ -101,6 +144,40 @@ public class BookMapper {
         return CustomPageResponse.of(sources.map(BookMapper::toGetResponse));
     }
 
+    /**
+     * Converts the books found for a list of ids to a {@link BookBatchGetResponse}, listing the ids
+     * that were not found.
+     *
+     * @param bookIds The requested book ids.
+     * @param sources The {@link BookDTO}s that were found, in request order.
+     * @return A {@link BookBatchGetResponse} containing the found books and the unknown ids.
+     */
+    public static BookBatchGetResponse toBatchGetResponse(List<String> bookIds, List<BookDTO> sources) {
+
+        final Set<String> foundBookIds = sources.stream()
+                .map(BookDTO::getId)
+                .collect(Collectors.toSet());
+
+        return BookBatchGetResponse.builder()
+                .books(sources.stream().map(BookMapper::toGetResponse).toList())
+                .unknownBookIds(bookIds.stream().distinct().filter(bookId -> !foundBookIds.contains(bookId)).toList())
+                .build();
+    }
+
+    /**
+     * Converts a page of the change feed to a {@link BookChangesResponse}.
+     *
+     * @param source The source {@link BookChangesDTO} to be converted.
+     * @return A {@link BookChangesResponse} containing data from the source DTO.
+     */
+    public static BookChangesResponse toChangesResponse(BookChangesDTO source) {
+        return BookChangesResponse.builder()
+                .books(source.getBooks().stream().map(BookMapper::toGetResponse).toList())
+                .nextSince(source.getNextSince())
+                .hasMore(source.isHasMore())
+                .build();
+    }
+
     /**
      * Converts a {@link BookDTO} to a {@link BookUpdatedResponse}.
      *
@@ -119,6 +196,22 @@ public class BookMapper {
                 .authorFullName(source.getAuthorFullName())
                 .stock(source.getStock())
                 .price(source.getPrice())
+                .stockSlotCount(source.getStockSlotCount())
+                .flashSale(source.isFlashSale())
+                .build();
+    }
+
+    /**
+     * Converts an autocomplete {@link BookAutocompleteTrie.Completion} to a {@link BookCompletionResponse}.
+     *
+     * @param source The source completion to be converted.
+     * @return A {@link BookCompletionResponse} containing data from the source completion.
+     */
+    public static BookCompletionResponse toCompletionResponse(BookAutocompleteTrie.Completion source) {
+        return BookCompletionResponse.builder()
+                .text(source.text())
+                .kind(source.kind().name())
+                .popularity(source.popularity())
                 .build();
     }
 
@@ -129,13 +222,28 @@ public class BookMapper {
      * @return A {@link BookDTO} containing data from the source entity.
      */
     public static BookDTO toDTO(Book book) {
+        return toDTO(book, book.getStock());
+    }
+
+    /**
+     * Converts a {@link Book} entity to a {@link BookDTO} with the given stock amount.
+     * Used for books whose stock is striped or held by the flash sale ledger and therefore not read from the entity itself.
+     *
+     * @param book  The {@link Book} entity to be converted.
+     * @param stock The stock amount to be set on the DTO.
+     * @return A {@link BookDTO} containing data from the source entity.
+     */
+    public static BookDTO toDTO(Book book, Integer stock) {
         return BookDTO.builder()
                 .id(book.getId())
                 .name(book.getName())
                 .authorFullName(book.getAuthorFullName())
                 .isbn(book.getIsbn())
                 .price(book.getPrice())
-                .stock(book.getStock())
+                .stock(stock)
+                .stockSlotCount(book.getStockSlotCount())
+                .flashSale(book.isFlashSale())
+                .changeVersion(book.getChangeVersion())
                 .build();
     }
 
@@ -153,6 +261,8 @@ public class BookMapper {
                 .isbn(bookDTO.getIsbn())
                 .price(bookDTO.getPrice())
                 .stock(bookDTO.getStock())
+                .stockSlotCount(bookDTO.getStockSlotCount())
+                .flashSale(bookDTO.isFlashSale())
                 .build();
 
     }
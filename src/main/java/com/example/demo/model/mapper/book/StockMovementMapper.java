@@ -0,0 +1,46 @@
+package com.example.demo.model.mapper.book;
+
+import com.example.demo.dto.StockMovementDTO;
+import com.example.demo.model.StockMovement;
+import com.example.demo.payload.response.book.StockMovementResponse;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility class for mapping between {@link StockMovement} entities and DTOs.
+ */
+@UtilityClass
+public class StockMovementMapper {
+
+    /**
+     * Maps a {@link StockMovement} entity to a {@link StockMovementDTO}.
+     *
+     * @param stockMovement The {@link StockMovement} entity to be mapped.
+     * @return A {@link StockMovementDTO} containing data from the source entity.
+     */
+    public static StockMovementDTO toDTO(StockMovement stockMovement) {
+        return StockMovementDTO.builder()
+                .sequence(stockMovement.getId())
+                .bookId(stockMovement.getBookId())
+                .type(stockMovement.getType())
+                .delta(stockMovement.getDelta())
+                .createdAt(stockMovement.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Maps a {@link StockMovementDTO} to a {@link StockMovementResponse}.
+     *
+     * @param stockMovementDTO The {@link StockMovementDTO} to be mapped.
+     * @return A {@link StockMovementResponse} containing data from the source DTO.
+     */
+    public static StockMovementResponse toResponse(StockMovementDTO stockMovementDTO) {
+        return StockMovementResponse.builder()
+                .sequence(stockMovementDTO.getSequence())
+                .bookId(stockMovementDTO.getBookId())
+                .type(stockMovementDTO.getType())
+                .delta(stockMovementDTO.getDelta())
+                .createdAt(stockMovementDTO.getCreatedAt())
+                .build();
+    }
+
+}
@@ -2,6 +2,8 @@ package com.example.demo.model.mapper.order;
 
 
 import com.example.demo.dto.OrderDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.dto.OrderVersionDTO;
 import com.example.demo.model.Order;
 import com.example.demo.model.mapper.user.UserMapper;
 import com.example.demo.payload.response.CustomPageResponse;
@@ -9,9 +11,13 @@ import com.example.demo.payload.response.order.OrderCreatedResponse;
 import com.example.demo.payload.response.order.OrderGetBetweenDatesResponse;
 import com.example.demo.payload.response.order.OrderGetByCustomerResponse;
 import com.example.demo.payload.response.order.OrderGetResponse;
+import com.example.demo.payload.response.order.OrderQuoteResponse;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
 
+import java.time.Instant;
+import java.time.ZoneId;
+
 /**
  * Utility class for mapping operations related to {@link Order} and {@link OrderDTO}.
  */
@@ -33,6 +39,35 @@ public class OrderMapper {
                 .build();
     }
 
+    /**
+     * Derives the strong entity tag of an order's representation from its id and creation time;
+     * orders are not changed after they are created.
+     *
+     * @param source The {@link OrderVersionDTO} of the order.
+     * @return The entity tag.
+     */
+    public static String toETag(OrderVersionDTO source) {
+        if (source.getCreatedAt() == null) {
+            return String.valueOf(source.getId());
+        }
+
+        return source.getId() + "-" + toLastModified(source).toEpochMilli();
+    }
+
+    /**
+     * Returns when an order last changed, which is when it was created.
+     *
+     * @param source The {@link OrderVersionDTO} of the order.
+     * @return The creation time, or {@code null} if it is not known.
+     */
+    public static Instant toLastModified(OrderVersionDTO source) {
+        if (source.getCreatedAt() == null) {
+            return null;
+        }
+
+        return source.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+    }
+
     /**
      * Converts an {@link OrderDTO} object to an {@link OrderGetResponse}.
      *
@@ -130,4 +165,29 @@ public class OrderMapper {
                 .build();
     }
 
+    /**
+     * Converts an {@link OrderQuoteDTO} object to an {@link OrderQuoteResponse}.
+     *
+     * @param source The {@link OrderQuoteDTO} object to be converted.
+     * @return An {@link OrderQuoteResponse} containing data from the source DTO.
+     */
+    public static OrderQuoteResponse toQuoteResponse(OrderQuoteDTO source) {
+
+        return OrderQuoteResponse.builder()
+                .lines(source.getLines().stream()
+                        .map(line -> OrderQuoteResponse.OrderQuoteLineResponse.builder()
+                                .bookId(line.getBookId())
+                                .amount(line.getAmount())
+                                .known(line.isKnown())
+                                .available(line.isAvailable())
+                                .availableStock(line.getAvailableStock())
+                                .unitPrice(line.getUnitPrice())
+                                .linePrice(line.getLinePrice())
+                                .build())
+                        .toList())
+                .totalPrice(source.getTotalPrice())
+                .fulfillable(source.isFulfillable())
+                .build();
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request object for type-ahead completions of book titles and author names.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookAutocompleteRequest {
+
+    @NotBlank
+    @Size(max = 100, message = "PREFIX MUST AT MOST BE 100 CHARACTERS!")
+    private String prefix;
+
+    @Min(1)
+    @Max(10)
+    @Builder.Default
+    private int limit = 10;
+
+}
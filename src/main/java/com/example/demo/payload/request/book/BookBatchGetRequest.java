@@ -0,0 +1,26 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents a request object for retrieving many books by their ids at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchGetRequest {
+
+    @NotEmpty
+    @Size(max = 500, message = "AT MOST 500 BOOK IDS CAN BE REQUESTED AT ONCE!")
+    private List<@NotBlank String> bookIds;
+
+}
@@ -0,0 +1,49 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents a request object for adjusting the stock of many books at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBulkStockAdjustmentRequest {
+
+    @Valid
+    @NotEmpty
+    @Size(max = 1000, message = "ADJUSTMENTS MUST AT MOST BE 1000!")
+    private List<Item> adjustments;
+
+    /**
+     * Represents the stock adjustment of a single book within a bulk request.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank
+        private String bookId;
+
+        @NotNull
+        private Integer delta;
+
+        @Size(max = 255, message = "REASON MUST AT MOST BE 255 CHARACTERS!")
+        private String reason;
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request object for reading the catalog change feed after a change version.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookChangesRequest {
+
+    @Min(0)
+    @Builder.Default
+    private long since = 0;
+
+    @Min(1)
+    @Max(500)
+    @Builder.Default
+    private int size = 100;
+
+}
@@ -0,0 +1,46 @@
+package com.example.demo.payload.request.book;
+
+import com.example.demo.payload.request.pagination.Paging;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Represents a request object for a full-text search over the book catalog.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchRequest implements Paging {
+
+    @NotBlank
+    @Size(max = 100, message = "QUERY MUST AT MOST BE 100 CHARACTERS!")
+    private String query;
+
+    @Min(0)
+    @Builder.Default
+    private int page = 0;
+
+    @Min(1)
+    @Max(50)
+    @Builder.Default
+    private int size = 10;
+
+    /**
+     * Converts the fields of this instance to {@link Pageable}
+     *
+     * @return Pageable
+     */
+    @Override
+    public Pageable toPageable() {
+        return PageRequest.of(page, size);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request object for adding to or removing from the stock of an existing book.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStockAdjustmentRequest {
+
+    @NotNull
+    private Integer delta;
+
+    @Size(max = 255, message = "REASON MUST AT MOST BE 255 CHARACTERS!")
+    private String reason;
+
+}
@@ -0,0 +1,27 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request object for turning the striped stock mode of a book on or off.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStockStripingRequest {
+
+    @NotNull
+    private Boolean enabled;
+
+    @Min(value = 2, message = "SLOT COUNT MUST AT LEAST BE TWO!")
+    @Max(value = 64, message = "SLOT COUNT MUST AT MOST BE SIXTY FOUR!")
+    private Integer slotCount;
+
+}
@@ -0,0 +1,27 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a request object for subscribing to the stock and price changes of books.
+ * Without book ids, the changes of the whole catalog are streamed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStreamRequest {
+
+    @Size(max = 500, message = "AT MOST 500 BOOK IDS CAN BE FOLLOWED AT ONCE!")
+    @Builder.Default
+    private List<@NotBlank String> bookIds = new ArrayList<>();
+
+}
@@ -0,0 +1,29 @@
+package com.example.demo.payload.request.book;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request object for reading the stock journal after a sequence number.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementTailRequest {
+
+    @NotNull
+    @Min(value = 0, message = "SEQUENCE MUST NOT BE NEGATIVE!")
+    private Long since;
+
+    @NotNull
+    @Min(value = 1, message = "SIZE MUST AT LEAST BE ONE!")
+    @Max(value = 1000, message = "SIZE MUST AT MOST BE 1000!")
+    private Integer size;
+
+}
@@ -0,0 +1,18 @@
+package com.example.demo.payload.response.book;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents a response object for books retrieved by their ids at once.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookBatchGetResponse {
+    private List<BookGetResponse> books;
+    private List<String> unknownBookIds;
+}
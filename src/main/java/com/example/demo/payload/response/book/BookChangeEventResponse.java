@@ -0,0 +1,20 @@
+package com.example.demo.payload.response.book;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the data of a server-sent event announcing a change of the stock or price of a book.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookChangeEventResponse {
+    private String bookId;
+    private Integer stock;
+    private BigDecimal price;
+    private Long changeVersion;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.payload.response.book;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents a response object for one page of the catalog change feed.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookChangesResponse {
+    private List<BookGetResponse> books;
+    private long nextSince;
+    private boolean hasMore;
+}
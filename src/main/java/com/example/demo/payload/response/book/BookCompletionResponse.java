@@ -0,0 +1,17 @@
+package com.example.demo.payload.response.book;
+
+import lombok.*;
+
+/**
+ * Represents a response object for a type-ahead completion.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookCompletionResponse {
+    private String text;
+    private String kind;
+    private Long popularity;
+}
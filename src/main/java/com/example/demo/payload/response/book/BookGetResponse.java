@@ -19,4 +19,5 @@ public class BookGetResponse {
     private String authorFullName;
     private Integer stock;
     private BigDecimal price;
+    private Long changeVersion;
 }
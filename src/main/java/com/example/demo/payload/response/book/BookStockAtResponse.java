@@ -0,0 +1,19 @@
+package com.example.demo.payload.response.book;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a response object for the stock of a book at a point in time.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookStockAtResponse {
+    private String bookId;
+    private LocalDateTime at;
+    private Integer stock;
+}
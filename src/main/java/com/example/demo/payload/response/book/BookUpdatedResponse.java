@@ -19,4 +19,6 @@ public class BookUpdatedResponse {
     private String authorFullName;
     private Integer stock;
     private BigDecimal price;
+    private Integer stockSlotCount;
+    private boolean flashSale;
 }
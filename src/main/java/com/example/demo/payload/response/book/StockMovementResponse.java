@@ -0,0 +1,22 @@
+package com.example.demo.payload.response.book;
+
+import com.example.demo.model.enums.StockMovementType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a response object for a stock movement in the stock journal.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockMovementResponse {
+    private Long sequence;
+    private String bookId;
+    private StockMovementType type;
+    private Integer delta;
+    private LocalDateTime createdAt;
+}
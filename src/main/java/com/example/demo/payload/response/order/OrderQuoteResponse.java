@@ -0,0 +1,40 @@
+package com.example.demo.payload.response.order;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Represents a response object for the availability and price quote of a cart.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderQuoteResponse {
+
+    private List<OrderQuoteLineResponse> lines;
+    private BigDecimal totalPrice;
+    private boolean fulfillable;
+
+    /**
+     * Represents the availability and price of one line of a cart.
+     */
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class OrderQuoteLineResponse {
+        private String bookId;
+        private int amount;
+        private boolean known;
+        private boolean available;
+        private Integer availableStock;
+        private BigDecimal unitPrice;
+        private BigDecimal linePrice;
+    }
+
+}
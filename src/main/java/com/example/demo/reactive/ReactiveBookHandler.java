@@ -0,0 +1,137 @@
+package com.example.demo.reactive;
+
+import com.example.demo.dto.BookDTO;
+import com.example.demo.exception.NotFoundException;
+import com.example.demo.exception.response.ErrorResponse;
+import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.payload.response.CustomResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Handler functions of the reactive catalog read API, answering with the same {@code BookGetResponse} shapes as
+ * the blocking {@code BookController}.
+ */
+@Component
+@Slf4j
+@Profile(ReactiveCatalogConfig.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveBookHandler {
+
+    private final ReactiveBookService reactiveBookService;
+
+    private final Validator validator;
+
+    @Value("${cache.http.books-max-age-seconds:0}")
+    private long bookMaxAgeSeconds;
+
+    /**
+     * Retrieves a book by its ID. Like the blocking endpoint, a request whose {@code If-None-Match} or
+     * {@code If-Modified-Since} header still matches gets a {@code 304} without a body.
+     *
+     * @param request The request, holding the {@code bookId} path variable.
+     * @return Response containing information about the requested book.
+     */
+    public Mono<ServerResponse> getBookById(final ServerRequest request) {
+
+        final CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(bookMaxAgeSeconds))
+                .cachePrivate()
+                .mustRevalidate();
+
+        return reactiveBookService.getBookById(request.pathVariable("bookId"))
+                .flatMap(book -> checkNotModified(request, book)
+                        .flatMap(notModified -> ServerResponse.from(notModified).cacheControl(cacheControl).build())
+                        .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .cacheControl(cacheControl)
+                                .bodyValue(CustomResponse.ok(BookMapper.toGetResponse(book))))))
+                .onErrorResume(NotFoundException.class, exception -> error(NotFoundException.STATUS, exception.getMessage(), null));
+    }
+
+    /**
+     * Returns a page of all books, ordered by id, bound from the {@code page} and {@code size} query parameters.
+     *
+     * @param request The request.
+     * @return Response containing the page of books.
+     */
+    public Mono<ServerResponse> getBooks(final ServerRequest request) {
+
+        final PaginationRequest paginationRequest;
+        try {
+            paginationRequest = new PaginationRequest(
+                    request.queryParam("page").map(Integer::parseInt).orElse(0),
+                    request.queryParam("size").map(Integer::parseInt).orElse(10)
+            );
+        } catch (NumberFormatException exception) {
+            return error(HttpStatus.BAD_REQUEST, "Validation Errors", List.of("paginationRequest : must be a number"));
+        }
+
+        final Set<ConstraintViolation<PaginationRequest>> violations = validator.validate(paginationRequest);
+        if (!violations.isEmpty()) {
+            return error(HttpStatus.BAD_REQUEST, "Validation Errors", violations.stream()
+                    .map(violation -> "paginationRequest : " + violation.getPropertyPath() + " " + violation.getMessage())
+                    .toList());
+        }
+
+        return reactiveBookService.getAllBooks(paginationRequest)
+                .flatMap(books -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(CustomResponse.ok(BookMapper.toGetResponse(books))));
+    }
+
+    /**
+     * Streams all books of the catalog as newline-delimited JSON, one {@code BookGetResponse} per line, written as
+     * fast as the client reads them.
+     *
+     * @param request The request.
+     * @return Response streaming the books.
+     */
+    public Mono<ServerResponse> streamBooks(final ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveBookService.streamAllBooks().map(BookMapper::toGetResponse), Object.class);
+    }
+
+    private Mono<ServerResponse> checkNotModified(final ServerRequest request, final BookDTO book) {
+
+        final String eTag = BookMapper.toETag(book);
+        final Instant lastModified = BookMapper.toLastModified(book);
+
+        if (eTag == null) {
+            return lastModified == null ? Mono.empty() : request.checkNotModified(lastModified);
+        }
+        return lastModified == null ? request.checkNotModified(eTag) : request.checkNotModified(lastModified, eTag);
+    }
+
+    private Mono<ServerResponse> error(final HttpStatus status, final String message, final List<String> details) {
+
+        log.error("ReactiveBookHandler | error | {}", message);
+
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ErrorResponse.builder()
+                        .message(message)
+                        .errorDetails(details)
+                        .statusCode(status.value())
+                        .status(status)
+                        .build());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.demo.reactive;
+
+import com.example.demo.dto.BookDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Reads books through the non-blocking R2DBC driver, for the reactive catalog read API.
+ * <p>The stock of a striped book is summed from its stock slots in the same query, like the blocking read path does.
+ * Pages and the streamed catalog are ordered by book id.</p>
+ */
+@Repository
+@Profile(ReactiveCatalogConfig.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final String SELECT_BOOKS = """
+            SELECT b.ID, b.ISBN, b.NAME, b.AUTHOER_FULL_NAME, b.PRICE, b.STOCK_SLOT_COUNT, b.FLASH_SALE, b.CHANGE_VERSION,
+                   CAST(CASE WHEN b.STOCK_SLOT_COUNT > 0
+                             THEN (SELECT COALESCE(SUM(s.STOCK), 0) FROM BOOK_STOCK_SLOTS s WHERE s.BOOK_ID = b.ID)
+                             ELSE b.STOCK END AS SIGNED) AS RESOLVED_STOCK
+            FROM BOOKS b
+            """;
+
+    private final DatabaseClient catalogDatabaseClient;
+
+    /**
+     * Retrieves a book by its unique identifier.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The book, or an empty {@link Mono} if there is none.
+     */
+    public Mono<BookDTO> findById(final String bookId) {
+        return catalogDatabaseClient.sql(SELECT_BOOKS + "WHERE b.ID = :id")
+                .bind("id", bookId)
+                .map(ReactiveBookRepository::toDTO)
+                .one();
+    }
+
+    /**
+     * Retrieves a page of books.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size.
+     * @return The books of the page, ordered by id.
+     */
+    public Flux<BookDTO> findPage(final int page, final int size) {
+        return catalogDatabaseClient.sql(SELECT_BOOKS + "ORDER BY b.ID LIMIT :size OFFSET :offset")
+                .bind("size", size)
+                .bind("offset", (long) page * size)
+                .map(ReactiveBookRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Counts all books.
+     *
+     * @return The number of books.
+     */
+    public Mono<Long> count() {
+        return catalogDatabaseClient.sql("SELECT COUNT(*) AS TOTAL FROM BOOKS")
+                .map(row -> row.get("TOTAL", Long.class))
+                .one();
+    }
+
+    /**
+     * Streams all books, as fast as the subscriber requests them.
+     *
+     * @return The books, ordered by id.
+     */
+    public Flux<BookDTO> findAll() {
+        return catalogDatabaseClient.sql(SELECT_BOOKS + "ORDER BY b.ID")
+                .map(ReactiveBookRepository::toDTO)
+                .all();
+    }
+
+    static BookDTO toDTO(final Readable row) {
+
+        final Long stock = row.get("RESOLVED_STOCK", Long.class);
+        final Boolean flashSale = row.get("FLASH_SALE", Boolean.class);
+
+        return BookDTO.builder()
+                .id(row.get("ID", String.class))
+                .isbn(row.get("ISBN", String.class))
+                .name(row.get("NAME", String.class))
+                .authorFullName(row.get("AUTHOER_FULL_NAME", String.class))
+                .price(row.get("PRICE", BigDecimal.class))
+                .stock(stock == null ? null : stock.intValue())
+                .stockSlotCount(row.get("STOCK_SLOT_COUNT", Integer.class))
+                .flashSale(Boolean.TRUE.equals(flashSale))
+                .changeVersion(row.get("CHANGE_VERSION", Long.class))
+                .build();
+    }
+
+}
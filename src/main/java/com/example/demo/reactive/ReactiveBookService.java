@@ -0,0 +1,38 @@
+package com.example.demo.reactive;
+
+import com.example.demo.dto.BookDTO;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * This interface defines a service for reading the book catalog without blocking.
+ */
+public interface ReactiveBookService {
+
+    /**
+     * Retrieves a book by its unique identifier.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The {@link BookDTO} of the book, or a {@link com.example.demo.exception.book.BookNotFoundException}
+     * error if there is none.
+     */
+    Mono<BookDTO> getBookById(String bookId);
+
+    /**
+     * Retrieves a page of all books.
+     *
+     * @param paginationRequest The request containing pagination information.
+     * @return A {@link Page} of {@link BookDTO}s, ordered by id.
+     */
+    Mono<Page<BookDTO>> getAllBooks(PaginationRequest paginationRequest);
+
+    /**
+     * Streams all books of the catalog.
+     *
+     * @return The {@link BookDTO}s, ordered by id.
+     */
+    Flux<BookDTO> streamAllBooks();
+
+}
@@ -0,0 +1,102 @@
+package com.example.demo.reactive;
+
+import com.example.demo.cache.BookCache;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.exception.book.BookNotFoundException;
+import com.example.demo.inventory.FlashSaleLedger;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.OptionalLong;
+
+/**
+ * Service implementation of the reactive catalog reads.
+ * <p>Books are served from the {@link BookCache} when cached and read through the {@link ReactiveBookRepository}
+ * otherwise; the reactive path only reads the cache and never fills it, so that the blocking write path stays the
+ * only one deciding what is cached. The stock of a book in flash sale mode is taken from the in-memory
+ * {@link FlashSaleLedger}, like on the blocking read path.</p>
+ */
+@Service
+@Profile(ReactiveCatalogConfig.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+
+    private final BookCache bookCache;
+
+    private final FlashSaleLedger flashSaleLedger;
+
+    /**
+     * Retrieves a book by its unique identifier, from the {@link BookCache} if it is cached.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The {@link BookDTO} of the book, or a {@link BookNotFoundException} error if there is none.
+     */
+    @Override
+    public Mono<BookDTO> getBookById(final String bookId) {
+        return Mono.defer(() -> Mono.justOrEmpty(bookCache.get(bookId)))
+                .switchIfEmpty(Mono.defer(() -> reactiveBookRepository.findById(bookId).map(this::withLedgerStock)))
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(bookId)));
+    }
+
+    /**
+     * Retrieves a page of all books, counting the books while the page is read.
+     *
+     * @param paginationRequest The request containing pagination information.
+     * @return A {@link Page} of {@link BookDTO}s, ordered by id.
+     */
+    @Override
+    public Mono<Page<BookDTO>> getAllBooks(final PaginationRequest paginationRequest) {
+
+        final int page = paginationRequest.getPage();
+        final int size = paginationRequest.getSize();
+
+        return Mono.zip(
+                reactiveBookRepository.findPage(page, size).map(this::withLedgerStock).collectList(),
+                reactiveBookRepository.count()
+        ).map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), PageRequest.of(page, size), pageAndTotal.getT2()));
+    }
+
+    /**
+     * Streams all books of the catalog from the database, as fast as the subscriber requests them.
+     *
+     * @return The {@link BookDTO}s, ordered by id.
+     */
+    @Override
+    public Flux<BookDTO> streamAllBooks() {
+        return reactiveBookRepository.findAll().map(this::withLedgerStock);
+    }
+
+    private BookDTO withLedgerStock(final BookDTO book) {
+
+        if (!book.isFlashSale()) {
+            return book;
+        }
+
+        final OptionalLong availableStock = flashSaleLedger.getAvailableStock(book.getId());
+        if (availableStock.isEmpty()) {
+            return book;
+        }
+
+        return BookDTO.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn())
+                .name(book.getName())
+                .authorFullName(book.getAuthorFullName())
+                .price(book.getPrice())
+                .stock((int) availableStock.getAsLong())
+                .stockSlotCount(book.getStockSlotCount())
+                .flashSale(true)
+                .changeVersion(book.getChangeVersion())
+                .build();
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.example.demo.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+
+/**
+ * Configuration class of the reactive catalog read API, enabled with the {@code reactive-catalog} profile.
+ * <p>Book reads are served by WebFlux functional routes on a separate Reactor Netty server
+ * ({@code catalog.reactive.port}) and read the database through their own R2DBC connection pool, so that catalog
+ * browsing scales independently of the blocking servlet stack and JDBC pool used by order writes. The R2DBC
+ * auto-configuration of Spring Boot is excluded on the application class, since its connection factory and
+ * transaction manager would replace the JDBC data source and the JPA transaction manager.</p>
+ */
+@Configuration
+@Profile(ReactiveCatalogConfig.PROFILE)
+public class ReactiveCatalogConfig {
+
+    public static final String PROFILE = "reactive-catalog";
+
+    /**
+     * The pool is deliberately not a bean: the JDBC data source auto-configuration backs off as soon as a
+     * {@link ConnectionFactory} bean exists.
+     */
+    private ConnectionPool catalogConnectionPool;
+
+    /**
+     * Creates the client the catalog queries are run with, over its own R2DBC connection pool.
+     *
+     * @param url         The R2DBC URL of the database.
+     * @param username    The database user.
+     * @param password    The password of the database user.
+     * @param initialSize The number of connections opened when the pool is first used.
+     * @param maxSize     The most connections the pool holds.
+     * @param maxIdleMs   How long a connection stays idle in the pool, in milliseconds.
+     * @return The database client.
+     */
+    @Bean
+    public DatabaseClient catalogDatabaseClient(@Value("${catalog.reactive.r2dbc.url}") final String url,
+                                                @Value("${catalog.reactive.r2dbc.username}") final String username,
+                                                @Value("${catalog.reactive.r2dbc.password}") final String password,
+                                                @Value("${catalog.reactive.r2dbc.initial-size:2}") final int initialSize,
+                                                @Value("${catalog.reactive.r2dbc.max-size:20}") final int maxSize,
+                                                @Value("${catalog.reactive.r2dbc.max-idle-ms:1800000}") final long maxIdleMs) {
+
+        final ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+
+        catalogConnectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("catalog")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .build());
+
+        return DatabaseClient.create(catalogConnectionPool);
+    }
+
+    /**
+     * Closes the connections of the R2DBC pool.
+     */
+    @PreDestroy
+    public void disposeConnectionPool() {
+        if (catalogConnectionPool != null) {
+            catalogConnectionPool.dispose();
+        }
+    }
+
+    /**
+     * Routes the catalog reads to their handler functions, behind the bearer token check.
+     *
+     * @param handler The handler functions.
+     * @param filter  The bearer token check.
+     * @return The routes.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> catalogRoutes(final ReactiveBookHandler handler,
+                                                        final ReactiveJwtAuthorizationFilter filter) {
+        return RouterFunctions.route()
+                .GET("/api/v1/catalog/books/stream", handler::streamBooks)
+                .GET("/api/v1/catalog/books/{bookId}", handler::getBookById)
+                .GET("/api/v1/catalog/books", handler::getBooks)
+                .filter(filter)
+                .build();
+    }
+
+    /**
+     * Creates the Reactor Netty server of the catalog routes, writing JSON with the application object mapper.
+     *
+     * @param port          The port the server listens on.
+     * @param catalogRoutes The routes.
+     * @param objectMapper  The object mapper of the application.
+     * @return The server, started with the application context.
+     */
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(@Value("${catalog.reactive.port:1222}") final int port,
+                                                       final RouterFunction<ServerResponse> catalogRoutes,
+                                                       final ObjectMapper objectMapper) {
+
+        final HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        return new ReactiveCatalogServer(port, RouterFunctions.toHttpHandler(catalogRoutes, strategies));
+    }
+
+}
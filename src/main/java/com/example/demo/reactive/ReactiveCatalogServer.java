@@ -0,0 +1,59 @@
+package com.example.demo.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * Runs the reactive catalog read API on its own Reactor Netty server, next to the servlet container.
+ * <p>Catalog reads on this port are served by the Netty event loops and the R2DBC pool, and do not take Tomcat
+ * threads or JDBC connections from the blocking write path. The server starts once the application context is
+ * refreshed and stops before the beans it serves are destroyed.</p>
+ */
+@Slf4j
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private final WebServer webServer;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the server, without starting it.
+     *
+     * @param port        The port the server listens on.
+     * @param httpHandler The handler of the catalog routes.
+     */
+    public ReactiveCatalogServer(final int port, final HttpHandler httpHandler) {
+        this.webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        log.info("ReactiveCatalogServer | start | reactive catalog API listening on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The port, or {@code -1} if the server is not started.
+     */
+    public int getPort() {
+        return webServer.getPort();
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.demo.reactive;
+
+import com.example.demo.model.enums.Role;
+import com.example.demo.model.enums.TokenClaims;
+import com.example.demo.security.jwt.JwtUtils;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Lets requests through to the reactive catalog read API only with a valid bearer token of an admin or a customer,
+ * like the {@code hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')} rule of the blocking book endpoints.
+ * <p>The roles are taken from the signed token itself: the user is not loaded from the database, so that
+ * authorization never blocks the event loop. A token therefore keeps its roles until it expires.</p>
+ */
+@Component
+@Profile(ReactiveCatalogConfig.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveJwtAuthorizationFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final Set<String> READER_ROLES = Set.of(Role.ROLE_ADMIN.name(), Role.ROLE_CUSTOMER.name());
+
+    private final JwtUtils jwtUtils;
+
+    /**
+     * Hands the request to the handler if its bearer token grants a reader role.
+     *
+     * @param request The request.
+     * @param next    The handler of the request.
+     * @return The response of the handler, {@code 401} without a valid token, including a token whose signature
+     * does not match, or {@code 403} without a reader role.
+     */
+    @Override
+    public Mono<ServerResponse> filter(final ServerRequest request, final HandlerFunction<ServerResponse> next) {
+
+        final String token = jwtUtils.extractTokenFromHeader(request.headers().firstHeader(HttpHeaders.AUTHORIZATION));
+        final Object roles;
+        try {
+            if (token == null || !jwtUtils.validateJwtToken(token)) {
+                return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            roles = jwtUtils.extractClaims(token).get(TokenClaims.ROLES.getValue());
+        } catch (JwtException e) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (roles instanceof Collection<?> grantedRoles && grantedRoles.stream().map(String::valueOf).anyMatch(READER_ROLES::contains)) {
+            return next.handle(request);
+        }
+        return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+    }
+
+}
@@ -1,18 +1,26 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.BookVersionDTO;
 import com.example.demo.model.Book;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for accessing and managing Book entities in the database.
  * This interface extends JpaRepository to provide basic CRUD operations.
  */
-public interface BookRepository extends JpaRepository<Book, String> {
+public interface BookRepository extends JpaRepository<Book, String>, BookRepositoryCustom {
 
     /**
      * <p>Retrieves a Book entity by its unique identifier while applying
@@ -26,4 +34,152 @@ public interface BookRepository extends JpaRepository<Book, String> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Nonnull // Added to suppress warning
     Optional<Book> findById(@Nonnull String id);
+
+    /**
+     * Retrieves a Book entity by its unique identifier without applying any lock.
+     * Used on paths that must not serialize on the book row, such as reservations against striped stock.
+     *
+     * @param id The unique identifier of the Book.
+     * @return An Optional containing the Book entity if found, or an empty Optional if not found.
+     */
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findByIdWithoutLock(@Param("id") String id);
+
+    /**
+     * Retrieves the number of stock slots of a book without loading the book, so that a later locked read of
+     * the book in the same transaction loads its current row rather than upgrading the lock on a stale instance.
+     *
+     * @param id The unique identifier of the book.
+     * @return The number of stock slots, or an empty Optional if the stock is not striped or the book does not exist.
+     */
+    @Query("SELECT b.stockSlotCount FROM Book b WHERE b.id = :id")
+    Optional<Integer> findStockSlotCountById(@Param("id") String id);
+
+    /**
+     * Retrieves the identifiers of all books whose stock is striped across stock slots.
+     *
+     * @return The identifiers of the striped books.
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.stockSlotCount IS NOT NULL")
+    List<String> findAllStockStripedBookIds();
+
+    /**
+     * Retrieves all books that are in flash sale mode.
+     *
+     * @return The books in flash sale mode.
+     */
+    List<Book> findAllByFlashSaleTrue();
+
+    /**
+     * Atomically adds the given delta to the stock of a book without reading it first.
+     * <p>The update is skipped if it would take the stock below zero, or if the book's stock is
+     * striped or held by the flash sale ledger.</p>
+     *
+     * @param id      The unique identifier of the Book.
+     * @param delta   The amount to be added to the stock, negative to remove stock.
+     * @param version The change version to be stamped on the book.
+     * @return {@code 1} if the stock was adjusted, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Book b SET b.stock = b.stock + :delta, b.changeVersion = :version
+        WHERE b.id = :id AND b.stock + :delta >= 0 AND b.stockSlotCount IS NULL AND b.flashSale = false
+    """)
+    int adjustStock(@Param("id") String id, @Param("delta") int delta, @Param("version") long version);
+
+    /**
+     * Stamps a change version on a book without loading it.
+     * <p>Pending changes, such as drained stock slots, are flushed first, since the persistence context
+     * is cleared afterwards.</p>
+     *
+     * @param id      The unique identifier of the Book.
+     * @param version The change version to be stamped on the book.
+     * @return {@code 1} if the book exists, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.changeVersion = :version WHERE b.id = :id")
+    int stampChangeVersion(@Param("id") String id, @Param("version") long version);
+
+    /**
+     * Stamps a change version on a book that has none yet, i.e. a book that was last written before
+     * change versions were introduced.
+     *
+     * @param id      The unique identifier of the Book.
+     * @param version The change version to be stamped on the book.
+     * @return {@code 1} if the book was stamped, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.changeVersion = :version WHERE b.id = :id AND b.changeVersion IS NULL")
+    int stampChangeVersionIfAbsent(@Param("id") String id, @Param("version") long version);
+
+    /**
+     * Retrieves the identifiers of the books that have no change version yet.
+     *
+     * @param pageable The page to be retrieved.
+     * @return The identifiers of the books without a change version.
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.changeVersion IS NULL ORDER BY b.id")
+    List<String> findAllIdsWithoutChangeVersion(Pageable pageable);
+
+    /**
+     * Retrieves the books whose change version lies in the given range, in version order.
+     *
+     * @param since    The exclusive lower bound of the change version.
+     * @param upTo     The inclusive upper bound of the change version.
+     * @param pageable The number of books to be retrieved.
+     * @return The changed books, oldest change first.
+     */
+    @Query("""
+        SELECT b FROM Book b
+        WHERE b.changeVersion > :since AND b.changeVersion <= :upTo
+        ORDER BY b.changeVersion, b.id
+    """)
+    List<Book> findAllChangedBetween(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    /**
+     * Retrieves all books stamped with the given change version.
+     *
+     * @param version The change version.
+     * @return The books stamped with the version, in identifier order.
+     */
+    @Query("SELECT b FROM Book b WHERE b.changeVersion = :version ORDER BY b.id")
+    List<Book> findAllByChangeVersion(@Param("version") long version);
+
+    /**
+     * Retrieves the identifiers of the books that have no balance snapshot yet,
+     * i.e. the books whose stock history has not been seeded.
+     *
+     * @return The identifiers of the books without a balance snapshot.
+     */
+    @Query("""
+        SELECT b.id FROM Book b
+        WHERE NOT EXISTS (SELECT s.bookId FROM StockBalanceSnapshot s WHERE s.bookId = b.id)
+    """)
+    List<String> findAllIdsWithoutStockSnapshot();
+
+    /**
+     * Retrieves the identifiers of all books.
+     *
+     * @return The identifiers of all books.
+     */
+    @Query("SELECT b.id FROM Book b")
+    List<String> findAllIds();
+
+    /**
+     * Retrieves the books created or updated at or after the given time.
+     *
+     * @param since The lower bound of the creation or update time.
+     * @return The books modified since the given time.
+     */
+    @Query("SELECT b FROM Book b WHERE b.createdAt >= :since OR b.updatedAt >= :since")
+    List<Book> findAllModifiedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Retrieves the current change versions of the given books.
+     *
+     * @param ids The identifiers of the books.
+     * @return The change versions of the books that still exist.
+     */
+    @Query("SELECT NEW com.example.demo.dto.BookVersionDTO(b.id, b.changeVersion) FROM Book b WHERE b.id IN :ids")
+    List<BookVersionDTO> findVersionsByIds(@Param("ids") Collection<String> ids);
 }
@@ -0,0 +1,24 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.BookStockAdjustment;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for {@link BookRepository} holding operations that go through plain JDBC.
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Applies the given stock adjustments as a single JDBC batch of {@code STOCK = STOCK + ?} updates.
+     * <p>An adjustment is skipped if it would take the stock below zero, or if the book's stock is striped
+     * or held by the flash sale ledger. An applied adjustment stamps the change version {@code firstVersion + i}
+     * on its book, where {@code i} is the index of the adjustment.</p>
+     *
+     * @param adjustments  The stock adjustments to be applied.
+     * @param firstVersion The change version stamped by the first adjustment.
+     * @return The number of updated rows for each adjustment, in the given order.
+     */
+    int[] adjustStocks(List<BookStockAdjustment> adjustments, long firstVersion);
+
+}
@@ -0,0 +1,81 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Book;
+import com.example.demo.model.BookStockAdjustment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Implementation of the {@link BookRepositoryCustom} fragment.
+ * <p>The statements run on the connection of the surrounding JPA transaction. Table and column names are
+ * taken from the {@link Book} mapping, so they follow whichever physical naming strategy is configured.</p>
+ */
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String adjustStockSql;
+
+    /**
+     * Applies the given stock adjustments as a single JDBC batch of {@code STOCK = STOCK + ?} updates.
+     *
+     * @param adjustments  The stock adjustments to be applied.
+     * @param firstVersion The change version stamped by the first adjustment.
+     * @return The number of updated rows for each adjustment, in the given order.
+     */
+    @Override
+    public int[] adjustStocks(final List<BookStockAdjustment> adjustments, final long firstVersion) {
+
+        final Session session = entityManager.unwrap(Session.class);
+        final String sql = getAdjustStockSql(session);
+
+        session.flush();
+
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                long version = firstVersion;
+                for (BookStockAdjustment adjustment : adjustments) {
+                    statement.setInt(1, adjustment.getDelta());
+                    statement.setLong(2, version++);
+                    statement.setString(3, adjustment.getBookId());
+                    statement.setInt(4, adjustment.getDelta());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    private String getAdjustStockSql(final Session session) {
+
+        if (adjustStockSql == null) {
+            final AbstractEntityPersister persister = (AbstractEntityPersister) session.getSessionFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(Book.class);
+
+            final String stock = persister.getPropertyColumnNames("stock")[0];
+
+            adjustStockSql = "UPDATE %s SET %s = %s + ?, %s = ? WHERE %s = ? AND %s + ? >= 0 AND %s IS NULL AND %s = FALSE".formatted(
+                    persister.getTableName(),
+                    stock,
+                    stock,
+                    persister.getPropertyColumnNames("changeVersion")[0],
+                    persister.getIdentifierColumnNames()[0],
+                    stock,
+                    persister.getPropertyColumnNames("stockSlotCount")[0],
+                    persister.getPropertyColumnNames("flashSale")[0]
+            );
+        }
+
+        return adjustStockSql;
+    }
+
+}
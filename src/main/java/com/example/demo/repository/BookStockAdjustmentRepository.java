@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.BookStockAdjustment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for accessing and managing BookStockAdjustment entities in the database.
+ * This interface extends JpaRepository to provide basic CRUD operations for BookStockAdjustment entities.
+ */
+public interface BookStockAdjustmentRepository extends JpaRepository<BookStockAdjustment, Long> {
+
+}
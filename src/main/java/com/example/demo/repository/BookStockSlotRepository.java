@@ -0,0 +1,92 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.BookStockSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for accessing and managing BookStockSlot entities in the database.
+ * This interface extends JpaRepository to provide basic CRUD operations for BookStockSlot entities.
+ */
+public interface BookStockSlotRepository extends JpaRepository<BookStockSlot, Long> {
+
+    /**
+     * Retrieves the slot indexes of a book's stock slots without loading the slot entities,
+     * so that subsequent bulk updates are not shadowed by stale managed instances.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The slot indexes of the book, in ascending order.
+     */
+    @Query("SELECT s.slotIndex FROM BookStockSlot s WHERE s.bookId = :bookId ORDER BY s.slotIndex")
+    List<Integer> findSlotIndexesByBookId(@Param("bookId") String bookId);
+
+    /**
+     * Retrieves all stock slots of a book while applying a pessimistic write lock on them.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The locked stock slots of the book, in ascending slot index order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookStockSlot s WHERE s.bookId = :bookId ORDER BY s.slotIndex")
+    List<BookStockSlot> findAllByBookIdForUpdate(@Param("bookId") String bookId);
+
+    /**
+     * Calculates the total stock of a book across all of its slots.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The sum of the slot stocks, or {@code null} if the book has no slots.
+     */
+    @Query("SELECT SUM(s.stock) FROM BookStockSlot s WHERE s.bookId = :bookId")
+    Long sumStockByBookId(@Param("bookId") String bookId);
+
+    /**
+     * Atomically decrements the stock of a single slot if it holds at least the given amount.
+     *
+     * @param bookId    The unique identifier of the book.
+     * @param slotIndex The index of the slot to decrement.
+     * @param amount    The amount to decrement.
+     * @return {@code 1} if the slot was decremented, {@code 0} if it did not hold enough stock.
+     */
+    @Modifying
+    @Query("""
+        UPDATE BookStockSlot s SET s.stock = s.stock - :amount
+        WHERE s.bookId = :bookId AND s.slotIndex = :slotIndex AND s.stock >= :amount
+    """)
+    int decrementStock(@Param("bookId") String bookId,
+                       @Param("slotIndex") int slotIndex,
+                       @Param("amount") int amount);
+
+    /**
+     * Atomically increments the stock of a single slot.
+     *
+     * @param bookId    The unique identifier of the book.
+     * @param slotIndex The index of the slot to increment.
+     * @param amount    The amount to increment.
+     * @return The number of updated slots.
+     */
+    @Modifying
+    @Query("""
+        UPDATE BookStockSlot s SET s.stock = s.stock + :amount
+        WHERE s.bookId = :bookId AND s.slotIndex = :slotIndex
+    """)
+    int incrementStock(@Param("bookId") String bookId,
+                       @Param("slotIndex") int slotIndex,
+                       @Param("amount") int amount);
+
+    /**
+     * Deletes all stock slots of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The number of deleted slots.
+     */
+    @Modifying
+    @Query("DELETE FROM BookStockSlot s WHERE s.bookId = :bookId")
+    int deleteAllByBookId(@Param("bookId") String bookId);
+
+}
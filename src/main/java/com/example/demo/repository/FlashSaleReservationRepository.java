@@ -0,0 +1,57 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.FlashSaleReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for accessing and managing FlashSaleReservation entities in the database.
+ * This interface extends JpaRepository to provide basic CRUD operations for FlashSaleReservation entities.
+ */
+public interface FlashSaleReservationRepository extends JpaRepository<FlashSaleReservation, String> {
+
+    /**
+     * Retrieves a batch of pending reservations of a book, oldest first, while applying
+     * a pessimistic write lock on them.
+     *
+     * @param bookId   The unique identifier of the book.
+     * @param pageable Pageable object limiting the size of the batch.
+     * @return The pending reservations of the book.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<FlashSaleReservation> findAllByBookIdOrderByCreatedAt(String bookId, Pageable pageable);
+
+    /**
+     * Retrieves all pending reservations of a book while applying a pessimistic write lock on them.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The pending reservations of the book.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM FlashSaleReservation r WHERE r.bookId = :bookId")
+    List<FlashSaleReservation> findAllByBookIdForUpdate(@Param("bookId") String bookId);
+
+    /**
+     * Calculates the total amount of the pending reservations of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The total pending amount, or {@code null} if the book has no pending reservations.
+     */
+    @Query("SELECT SUM(r.amount) FROM FlashSaleReservation r WHERE r.bookId = :bookId")
+    Long sumAmountByBookId(@Param("bookId") String bookId);
+
+    /**
+     * Retrieves the identifiers of all books having pending reservations.
+     *
+     * @return The identifiers of the books.
+     */
+    @Query("SELECT DISTINCT r.bookId FROM FlashSaleReservation r")
+    List<String> findAllPendingBookIds();
+
+}
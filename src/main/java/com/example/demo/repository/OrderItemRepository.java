@@ -1,11 +1,28 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.BookOrderCountDTO;
 import com.example.demo.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * Repository interface for accessing and managing OrderItem entities in the database.
  * This interface extends JpaRepository to provide basic CRUD operations for OrderItem entities.
  */
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * Counts the ordered items of every book that has been ordered at least once.
+     *
+     * @return The number of ordered items per book.
+     */
+    @Query("""
+        SELECT NEW com.example.demo.dto.BookOrderCountDTO(b.id, COUNT(i.id))
+        FROM OrderItem i INNER JOIN i.book b
+        GROUP BY b.id
+        """)
+    List<BookOrderCountDTO> countOrderedItemsByBook();
+
 }
@@ -1,6 +1,7 @@
 package com.example.demo.repository;
 
 import com.example.demo.dto.OrderReportDTO;
+import com.example.demo.dto.OrderVersionDTO;
 import com.example.demo.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Repository interface for accessing and managing Order entities in the database.
@@ -86,4 +88,13 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     )
     Page<OrderReportDTO> findAllOrderStatistics(Pageable pageable);
 
+    /**
+     * Retrieves the id, owner and creation time of an order, without loading the order or its items.
+     *
+     * @param id The ID of the order.
+     * @return An {@link Optional} containing the {@link OrderVersionDTO}, or empty if no order has the ID.
+     */
+    @Query("SELECT NEW com.example.demo.dto.OrderVersionDTO(o.id, o.user.id, o.createdAt) FROM Order o WHERE o.id = :id")
+    Optional<OrderVersionDTO> findVersionById(@Param("id") Long id);
+
 }
@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.StockBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for accessing and managing StockBalanceSnapshot entities in the database.
+ * This interface extends JpaRepository to provide basic CRUD operations for StockBalanceSnapshot entities.
+ */
+public interface StockBalanceSnapshotRepository extends JpaRepository<StockBalanceSnapshot, String> {
+
+}
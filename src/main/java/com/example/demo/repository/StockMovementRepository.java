@@ -0,0 +1,78 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.StockMovement;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for accessing and managing StockMovement entities in the database.
+ * This interface extends JpaRepository to provide basic CRUD operations for StockMovement entities.
+ */
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    /**
+     * Retrieves the movements following the given sequence number that were created before the given time.
+     *
+     * @param sequence      The sequence number to start after.
+     * @param createdBefore The upper bound of the creation time.
+     * @param pageable      The maximum number of movements to retrieve.
+     * @return The movements in ascending sequence order.
+     */
+    @Query("""
+        SELECT m FROM StockMovement m
+        WHERE m.id > :sequence AND m.createdAt <= :createdBefore
+        ORDER BY m.id
+    """)
+    List<StockMovement> findAllAfterSequence(@Param("sequence") long sequence,
+                                             @Param("createdBefore") LocalDateTime createdBefore,
+                                             Pageable pageable);
+
+    /**
+     * Calculates the sum of the movements of a book created up to the given time.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param at     The upper bound of the creation time.
+     * @return The sum of the deltas, or {@code null} if there are no such movements.
+     */
+    @Query("SELECT SUM(m.delta) FROM StockMovement m WHERE m.bookId = :bookId AND m.createdAt <= :at")
+    Long sumDeltaByBookIdUpTo(@Param("bookId") String bookId, @Param("at") LocalDateTime at);
+
+    /**
+     * Calculates the sum of all movements of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The sum of the deltas, or {@code null} if the book has no movements.
+     */
+    @Query("SELECT SUM(m.delta) FROM StockMovement m WHERE m.bookId = :bookId")
+    Long sumDeltaByBookId(@Param("bookId") String bookId);
+
+    /**
+     * Retrieves the creation time of the first movement of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The creation time of the first movement, or {@code null} if the book has no movements.
+     */
+    @Query("SELECT MIN(m.createdAt) FROM StockMovement m WHERE m.bookId = :bookId")
+    LocalDateTime findFirstCreatedAtByBookId(@Param("bookId") String bookId);
+
+    /**
+     * Retrieves the movements created before the given time while applying a pessimistic write lock on them,
+     * so that the movements folded into the balance snapshots are exactly the ones deleted afterwards.
+     *
+     * @param createdBefore The exclusive upper bound of the creation time.
+     * @param pageable      The maximum number of movements to retrieve.
+     * @return The locked movements in ascending sequence order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM StockMovement m WHERE m.createdAt < :createdBefore ORDER BY m.id")
+    List<StockMovement> findAllCreatedBeforeForUpdate(@Param("createdBefore") LocalDateTime createdBefore,
+                                                      Pageable pageable);
+
+}
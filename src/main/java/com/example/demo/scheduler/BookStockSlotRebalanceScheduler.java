@@ -0,0 +1,45 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.repository.BookRepository;
+import com.example.demo.service.BookStockSlotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that periodically redistributes the stock slots of striped books,
+ * so that reservations keep finding a slot able to serve them without draining.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookStockSlotRebalanceScheduler {
+
+    private final BookRepository bookRepository;
+
+    private final BookStockSlotService bookStockSlotService;
+
+    /**
+     * Rebalances the stock slots of every striped book, each one in its own transaction.
+     */
+    @Scheduled(
+            initialDelayString = "${inventory.striping.rebalance-interval-ms:30000}",
+            fixedDelayString = "${inventory.striping.rebalance-interval-ms:30000}"
+    )
+    public void rebalanceStripedBooks() {
+
+        try {
+            for (String bookId : bookRepository.findAllStockStripedBookIds()) {
+                try {
+                    bookStockSlotService.rebalanceStock(bookId);
+                } catch (Exception e) {
+                    log.error("BookStockSlotRebalanceScheduler | rebalanceStripedBooks | bookId: {} | {}", bookId, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("BookStockSlotRebalanceScheduler | rebalanceStripedBooks | {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.FlashSaleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that writes the pending flash sale reservations behind to the stock of their books.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FlashSaleFlushScheduler {
+
+    private final FlashSaleService flashSaleService;
+
+    /**
+     * Flushes a batch of pending reservations for every book having any, each book in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${inventory.flash-sale.flush-interval-ms:1000}")
+    public void flushPendingReservations() {
+
+        try {
+            for (String bookId : flashSaleService.findBookIdsWithPendingReservations()) {
+                try {
+                    flashSaleService.flushReservations(bookId);
+                } catch (Exception e) {
+                    log.error("FlashSaleFlushScheduler | flushPendingReservations | bookId: {} | {}", bookId, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("FlashSaleFlushScheduler | flushPendingReservations | {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that validates the read replicas, so that a failed replica rejoins the rotation once it recovers.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaHealthCheckScheduler {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Value("${datasource.replicas.health-check-timeout-seconds:1}")
+    private int timeoutSeconds;
+
+    /**
+     * Validates every replica and forgets the users whose read-your-writes interval is over.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+
+        try {
+            replicaRoutingDataSource.checkReplicas(timeoutSeconds);
+        } catch (Exception e) {
+            log.error("ReplicaHealthCheckScheduler | checkReplicas | {}", e.getMessage());
+        }
+    }
+
+}
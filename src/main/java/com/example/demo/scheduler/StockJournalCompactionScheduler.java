@@ -0,0 +1,59 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.repository.BookRepository;
+import com.example.demo.service.StockJournalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled task that periodically compacts the stock journal.
+ * Books without a balance snapshot get one seeded from their current stock, and movements older than the
+ * retention period are folded into the balance snapshots and pruned.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StockJournalCompactionScheduler {
+
+    private final BookRepository bookRepository;
+
+    private final StockJournalService stockJournalService;
+
+    @Value("${inventory.stock-journal.retention-days:30}")
+    private long retentionDays;
+
+    /**
+     * Seeds the missing balance snapshots, then compacts the movements older than the retention period
+     * batch by batch, each batch in its own transaction.
+     */
+    @Scheduled(
+            initialDelayString = "${inventory.stock-journal.compaction-interval-ms:3600000}",
+            fixedDelayString = "${inventory.stock-journal.compaction-interval-ms:3600000}"
+    )
+    public void compactStockJournal() {
+
+        try {
+            for (String bookId : bookRepository.findAllIdsWithoutStockSnapshot()) {
+                try {
+                    stockJournalService.seedSnapshot(bookId);
+                } catch (Exception e) {
+                    log.error("StockJournalCompactionScheduler | compactStockJournal | bookId: {} | {}", bookId, e.getMessage());
+                }
+            }
+
+            final LocalDateTime createdBefore = LocalDateTime.now().minusDays(retentionDays);
+            int compacted;
+            do {
+                compacted = stockJournalService.compact(createdBefore);
+            } while (compacted > 0);
+        } catch (Exception e) {
+            log.error("StockJournalCompactionScheduler | compactStockJournal | {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.BookOrderCountDTO;
+import com.example.demo.model.Book;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically rebuilds the {@link BookAutocompleteTrie} from the catalog in the background and swaps it into the
+ * {@link BookAutocompleter}; requests keep being served from the previous trie while a rebuild runs.
+ * <p>The popularity of a title is the number of ordered items of the book, and the popularity of an author is the
+ * sum over their books.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookAutocompleteRebuilder {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final BookAutocompleter bookAutocompleter;
+
+    private final BookRepository bookRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    @Value("${search.autocomplete.max-completions:10}")
+    private int maxCompletions;
+
+    /**
+     * Builds a new trie and swaps it in. Failures are logged and the previous trie stays in place.
+     */
+    @Scheduled(
+            initialDelayString = "${search.autocomplete.initial-delay-ms:0}",
+            fixedDelayString = "${search.autocomplete.rebuild-interval-ms:300000}"
+    )
+    public void rebuild() {
+
+        try {
+            final long start = System.nanoTime();
+
+            final Map<String, Long> orderCounts = orderItemRepository.countOrderedItemsByBook()
+                    .stream()
+                    .collect(Collectors.toMap(BookOrderCountDTO::getBookId, BookOrderCountDTO::getOrderedItemCount));
+
+            final BookAutocompleteTrie.Builder builder = new BookAutocompleteTrie.Builder(maxCompletions);
+            Page<Book> page = bookRepository.findAll(PageRequest.of(0, PAGE_SIZE));
+            page.forEach(book -> add(builder, book, orderCounts));
+            while (page.hasNext()) {
+                page = bookRepository.findAll(page.nextPageable());
+                page.forEach(book -> add(builder, book, orderCounts));
+            }
+
+            final BookAutocompleteTrie trie = builder.build();
+            bookAutocompleter.swap(trie);
+
+            log.info("BookAutocompleteRebuilder | rebuild | {} completions, ~{} bytes, built in {} ms",
+                    trie.size(), trie.estimatedBytes(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("BookAutocompleteRebuilder | rebuild | {}", e.getMessage());
+        }
+    }
+
+    private void add(final BookAutocompleteTrie.Builder builder, final Book book, final Map<String, Long> orderCounts) {
+        final long popularity = orderCounts.getOrDefault(book.getId(), 0L);
+        builder.add(book.getName(), BookAutocompleteTrie.Kind.TITLE, popularity);
+        builder.add(book.getAuthorFullName(), BookAutocompleteTrie.Kind.AUTHOR, popularity);
+    }
+
+}
@@ -0,0 +1,400 @@
+package com.example.demo.search;
+
+import java.util.*;
+
+/**
+ * Immutable radix trie over the normalized titles and author names of the catalog, answering type-ahead prefixes
+ * with the most popular completions.
+ * <p>Every suggestion is keyed by its whole normalized text and by each suffix starting at a word boundary, so that
+ * {@code "rings"} completes to {@code "The Lord of the Rings"}. The top completions below every node are computed
+ * once at build time, so a lookup only walks the prefix and copies a precomputed list.</p>
+ * <p>Nodes are flattened into primitive arrays (edge labels in a single {@code char[]}, children stored contiguously
+ * and sorted by their first character) to keep the footprint small. Instances are never modified after
+ * {@link Builder#build()}, so they can be read concurrently and swapped in atomically.</p>
+ */
+public final class BookAutocompleteTrie {
+
+    private static final BookAutocompleteTrie EMPTY = new Builder(0).build();
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+
+    private static final int REFERENCE_BYTES = 8;
+
+    private final Completion[] completions;
+
+    private final char[] labels;
+
+    private final int[] labelStart;
+
+    private final int[] labelLength;
+
+    private final char[] firstChar;
+
+    private final int[] firstChild;
+
+    private final int[] childCount;
+
+    private final int[] topStart;
+
+    private final int[] topCount;
+
+    private final int[] top;
+
+    private final int maxCompletions;
+
+    /**
+     * Kind of a completion.
+     */
+    public enum Kind {
+        TITLE,
+        AUTHOR
+    }
+
+    /**
+     * A completion offered for a prefix.
+     *
+     * @param text       The text to display, as written in the catalog.
+     * @param kind       Whether the text is a book title or an author name.
+     * @param popularity The number of ordered items of the books behind the completion.
+     */
+    public record Completion(String text, Kind kind, long popularity) {
+    }
+
+    private BookAutocompleteTrie(final Completion[] completions, final char[] labels, final int[] labelStart,
+                                 final int[] labelLength, final char[] firstChar, final int[] firstChild,
+                                 final int[] childCount, final int[] topStart, final int[] topCount, final int[] top,
+                                 final int maxCompletions) {
+        this.completions = completions;
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.labelLength = labelLength;
+        this.firstChar = firstChar;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.top = top;
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Returns a trie without any completions.
+     *
+     * @return The empty trie.
+     */
+    public static BookAutocompleteTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the most popular completions of a prefix, most popular first.
+     *
+     * @param prefix The text typed so far; it is normalized like the indexed texts.
+     * @param limit  The maximum number of completions to return, capped at the size the trie was built for.
+     * @return The completions, or an empty list if nothing starts with the prefix.
+     */
+    public List<Completion> complete(final String prefix, final int limit) {
+
+        final String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0 || labels.length == 0) {
+            return List.of();
+        }
+
+        int node = 0;
+        int position = 0;
+
+        while (position < key.length()) {
+            final int child = findChild(node, key.charAt(position));
+            if (child < 0) {
+                return List.of();
+            }
+
+            final int length = labelLength[child];
+            final int start = labelStart[child];
+            int matched = 0;
+            while (matched < length && position + matched < key.length()
+                    && labels[start + matched] == key.charAt(position + matched)) {
+                matched++;
+            }
+
+            if (position + matched == key.length()) {
+                node = child;
+                break;
+            }
+            if (matched < length) {
+                return List.of();
+            }
+
+            node = child;
+            position += length;
+        }
+
+        final int count = Math.min(Math.min(limit, maxCompletions), topCount[node]);
+        final List<Completion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(completions[top[topStart[node] + i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of distinct completions in the trie.
+     *
+     * @return The number of completions.
+     */
+    public int size() {
+        return completions.length;
+    }
+
+    /**
+     * Estimates the heap retained by the trie, assuming compressed class pointers and 8-byte references.
+     *
+     * @return The estimated footprint in bytes.
+     */
+    public long estimatedBytes() {
+
+        long bytes = OBJECT_HEADER_BYTES + 11L * REFERENCE_BYTES;
+        bytes += ARRAY_HEADER_BYTES + 2L * labels.length + ARRAY_HEADER_BYTES + 2L * firstChar.length;
+        bytes += 6L * ARRAY_HEADER_BYTES + 4L * (labelStart.length + labelLength.length + firstChild.length
+                + childCount.length + topStart.length + topCount.length);
+        bytes += ARRAY_HEADER_BYTES + 4L * top.length;
+        bytes += ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * completions.length;
+        for (final Completion completion : completions) {
+            bytes += OBJECT_HEADER_BYTES + 2L * REFERENCE_BYTES + 8
+                    + OBJECT_HEADER_BYTES + 8 + ARRAY_HEADER_BYTES + completion.text().length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Normalizes a text to the form it is indexed under: lower case alphanumeric tokens without accents,
+     * separated by single spaces.
+     *
+     * @param text The text to normalize.
+     * @return The normalized text.
+     */
+    static String normalize(final String text) {
+        return String.join(" ", BookSearchIndex.tokenize(text));
+    }
+
+    private int findChild(final int node, final char c) {
+
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (firstChar[middle] < c) {
+                low = middle + 1;
+            } else if (firstChar[middle] > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collects titles and author names with their popularity and builds an immutable {@link BookAutocompleteTrie}.
+     * Texts that normalize to the same key and kind are merged and their popularity is summed.
+     */
+    public static final class Builder {
+
+        private final int maxCompletions;
+
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private final List<String> keys = new ArrayList<>();
+
+        private final List<String> texts = new ArrayList<>();
+
+        private final List<Kind> kinds = new ArrayList<>();
+
+        private final List<Long> popularities = new ArrayList<>();
+
+        /**
+         * Creates a builder.
+         *
+         * @param maxCompletions The number of completions precomputed for every prefix.
+         */
+        public Builder(final int maxCompletions) {
+            this.maxCompletions = maxCompletions;
+        }
+
+        /**
+         * Adds a text, or adds the popularity to an already added text with the same normalized form and kind.
+         *
+         * @param text       The title or author name.
+         * @param kind       The kind of the text.
+         * @param popularity The popularity to add.
+         * @return This builder.
+         */
+        public Builder add(final String text, final Kind kind, final long popularity) {
+
+            final String key = normalize(text == null ? "" : text);
+            if (key.isEmpty()) {
+                return this;
+            }
+
+            final Integer id = ids.putIfAbsent(kind + ":" + key, keys.size());
+            if (id == null) {
+                keys.add(key);
+                texts.add(text.strip());
+                kinds.add(kind);
+                popularities.add(popularity);
+            } else {
+                popularities.set(id, popularities.get(id) + popularity);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the trie.
+         *
+         * @return The immutable trie.
+         */
+        public BookAutocompleteTrie build() {
+
+            final Completion[] completions = new Completion[keys.size()];
+            for (int i = 0; i < completions.length; i++) {
+                completions[i] = new Completion(texts.get(i), kinds.get(i), popularities.get(i));
+            }
+
+            final Comparator<Integer> ranking = Comparator
+                    .<Integer>comparingLong(id -> -completions[id].popularity())
+                    .thenComparing(id -> completions[id].text())
+                    .thenComparing(id -> completions[id].kind());
+
+            final Node root = new Node("");
+            for (int id = 0; id < completions.length; id++) {
+                final String key = keys.get(id);
+                root.insert(key, id);
+                for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+                    root.insert(key.substring(i + 1), id);
+                }
+            }
+            root.rank(ranking, maxCompletions);
+
+            return flatten(root, completions);
+        }
+
+        private BookAutocompleteTrie flatten(final Node root, final Completion[] completions) {
+
+            final List<Node> nodes = new ArrayList<>();
+            nodes.add(root);
+            for (int i = 0; i < nodes.size(); i++) {
+                nodes.addAll(nodes.get(i).children.values());
+            }
+
+            final int size = nodes.size();
+            final int[] labelStart = new int[size];
+            final int[] labelLength = new int[size];
+            final char[] firstChar = new char[size];
+            final int[] firstChild = new int[size];
+            final int[] childCount = new int[size];
+            final int[] topStart = new int[size];
+            final int[] topCount = new int[size];
+
+            final StringBuilder labels = new StringBuilder();
+            int topSize = 0;
+            for (final Node node : nodes) {
+                topSize += node.top.length;
+            }
+            final int[] top = new int[topSize];
+
+            int nextChild = 1;
+            int nextTop = 0;
+            for (int i = 0; i < size; i++) {
+                final Node node = nodes.get(i);
+                labelStart[i] = labels.length();
+                labelLength[i] = node.label.length();
+                firstChar[i] = node.label.isEmpty() ? 0 : node.label.charAt(0);
+                labels.append(node.label);
+                firstChild[i] = nextChild;
+                childCount[i] = node.children.size();
+                nextChild += node.children.size();
+                topStart[i] = nextTop;
+                topCount[i] = node.top.length;
+                System.arraycopy(node.top, 0, top, nextTop, node.top.length);
+                nextTop += node.top.length;
+            }
+
+            return new BookAutocompleteTrie(completions, labels.toString().toCharArray(), labelStart, labelLength,
+                    firstChar, firstChild, childCount, topStart, topCount, top, maxCompletions);
+        }
+
+    }
+
+    /**
+     * Mutable node used while building; children are kept sorted by their first character so that the
+     * breadth-first flattening stores every node's children contiguously and in search order.
+     */
+    private static final class Node {
+
+        private String label;
+
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+
+        private final Set<Integer> terminals = new HashSet<>(1);
+
+        private int[] top = new int[0];
+
+        private Node(final String label) {
+            this.label = label;
+        }
+
+        private void insert(final String key, final int id) {
+
+            if (key.isEmpty()) {
+                terminals.add(id);
+                return;
+            }
+
+            final Node child = children.get(key.charAt(0));
+            if (child == null) {
+                final Node leaf = new Node(key);
+                leaf.terminals.add(id);
+                children.put(key.charAt(0), leaf);
+                return;
+            }
+
+            int common = 0;
+            final int max = Math.min(key.length(), child.label.length());
+            while (common < max && key.charAt(common) == child.label.charAt(common)) {
+                common++;
+            }
+
+            if (common < child.label.length()) {
+                final Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                children.put(key.charAt(0), split);
+                split.insert(key.substring(common), id);
+            } else {
+                child.insert(key.substring(common), id);
+            }
+        }
+
+        private void rank(final Comparator<Integer> ranking, final int maxCompletions) {
+
+            final Set<Integer> candidates = new HashSet<>(terminals);
+            for (final Node child : children.values()) {
+                child.rank(ranking, maxCompletions);
+                for (final int id : child.top) {
+                    candidates.add(id);
+                }
+            }
+
+            top = candidates.stream()
+                    .sorted(ranking)
+                    .limit(maxCompletions)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+    }
+
+}
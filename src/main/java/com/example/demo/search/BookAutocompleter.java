@@ -0,0 +1,66 @@
+package com.example.demo.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves type-ahead completions from the current {@link BookAutocompleteTrie}.
+ * <p>The trie is immutable and replaced as a whole by {@link #swap(BookAutocompleteTrie)}, so lookups never block
+ * and always see either the old or the new trie. Lookup latency (with its 99th percentile) and the estimated
+ * footprint of the current trie are published as metrics.</p>
+ */
+@Component
+public class BookAutocompleter {
+
+    private final AtomicReference<BookAutocompleteTrie> trie = new AtomicReference<>(BookAutocompleteTrie.empty());
+
+    private final Timer latency;
+
+    /**
+     * Creates the autocompleter with an empty trie and registers its metrics.
+     *
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    public BookAutocompleter(final MeterRegistry meterRegistry) {
+
+        this.latency = Timer.builder("books.autocomplete.latency")
+                .description("Time taken to answer an autocomplete prefix")
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+
+        Gauge.builder("books.autocomplete.trie.memory", trie, reference -> reference.get().estimatedBytes())
+                .description("Estimated heap footprint of the autocomplete trie")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder("books.autocomplete.trie.completions", trie, reference -> reference.get().size())
+                .description("Number of distinct completions in the autocomplete trie")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the most popular completions of a prefix.
+     *
+     * @param prefix The text typed so far.
+     * @param limit  The maximum number of completions to return.
+     * @return The completions, most popular first.
+     */
+    public List<BookAutocompleteTrie.Completion> complete(final String prefix, final int limit) {
+        return latency.record(() -> trie.get().complete(prefix, limit));
+    }
+
+    /**
+     * Replaces the current trie with a freshly built one.
+     *
+     * @param rebuilt The new trie.
+     */
+    public void swap(final BookAutocompleteTrie rebuilt) {
+        trie.set(rebuilt);
+    }
+
+}
@@ -0,0 +1,388 @@
+package com.example.demo.search;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over the name, author and ISBN of the books in the catalog.
+ * <p>Text is normalized (lower case, accents stripped) and split into alphanumeric tokens; the ISBN is also
+ * indexed as a single digits-only token. A query token matches indexed terms exactly, by prefix and within a
+ * small edit distance, with decreasing weight, and documents are ranked with BM25. Edit distance matches must share
+ * the first character of the query token, so that a query only compares the terms in that range of the index,
+ * and both the terms compared and the matches are capped.</p>
+ * <p>Reads share a read lock and updates take the write lock, so a search always sees a consistent index.</p>
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final double PREFIX_WEIGHT = 0.7;
+
+    private static final double FUZZY_WEIGHT = 0.5;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final int MAX_FUZZY_EXPANSIONS = 64;
+
+    private static final int MAX_FUZZY_CANDIDATES = 4096;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Map<String, Integer>> documents = new HashMap<>();
+
+    private final Map<String, Integer> lengths = new HashMap<>();
+
+    private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+
+    private long totalLength;
+
+    private volatile boolean dirty;
+
+    /**
+     * Result of a search: one page of matching book identifiers in ranking order, and the total number of matches.
+     *
+     * @param bookIds    The identifiers of the books on the requested page.
+     * @param totalHits  The total number of matching books.
+     */
+    public record Hits(List<String> bookIds, long totalHits) {
+    }
+
+    /**
+     * Adds a book to the index, replacing any previously indexed version of it.
+     *
+     * @param bookId         The unique identifier of the book.
+     * @param name           The name of the book.
+     * @param authorFullName The full name of the author.
+     * @param isbn           The ISBN of the book.
+     */
+    public void index(final String bookId, final String name, final String authorFullName, final String isbn) {
+        put(bookId, termFrequencies(name, authorFullName, isbn));
+    }
+
+    /**
+     * Adds an already tokenized book to the index, replacing any previously indexed version of it.
+     *
+     * @param bookId          The unique identifier of the book.
+     * @param termFrequencies The number of occurrences of each term in the book.
+     */
+    public void put(final String bookId, final Map<String, Integer> termFrequencies) {
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+
+            final Map<String, Integer> terms = new HashMap<>(termFrequencies);
+            documents.put(bookId, terms);
+            lengths.put(bookId, terms.values().stream().mapToInt(Integer::intValue).sum());
+            terms.forEach((term, frequency) -> {
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(bookId, frequency);
+                totalLength += frequency;
+            });
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a book from the index.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    public void remove(final String bookId) {
+
+        lock.writeLock().lock();
+        try {
+            if (removeDocument(bookId)) {
+                dirty = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every book that is not in the given collection from the index.
+     *
+     * @param bookIds The identifiers of the books to keep.
+     */
+    public void retainAll(final Collection<String> bookIds) {
+
+        final Set<String> retained = new HashSet<>(bookIds);
+
+        lock.writeLock().lock();
+        try {
+            for (String bookId : new ArrayList<>(documents.keySet())) {
+                if (!retained.contains(bookId) && removeDocument(bookId)) {
+                    dirty = true;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns one page of the matching books, best match first.
+     *
+     * @param query  The free-text query.
+     * @param offset The number of matches to skip.
+     * @param limit  The maximum number of matches to return.
+     * @return The {@link Hits} of the query.
+     */
+    public Hits search(final String query, final int offset, final int limit) {
+
+        final List<String> queryTokens = tokenize(query);
+        final String isbnToken = isbnToken(query);
+        if (isbnToken != null && !queryTokens.contains(isbnToken)) {
+            queryTokens.add(isbnToken);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty() || queryTokens.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+
+            final double averageLength = (double) totalLength / documents.size();
+            final Map<String, Double> scores = new HashMap<>();
+
+            for (String queryToken : queryTokens) {
+                final Map<String, Double> tokenScores = new HashMap<>();
+                expand(queryToken).forEach((term, weight) -> {
+                    final Map<String, Integer> posting = postings.get(term);
+                    final double idf = idf(posting.size());
+                    posting.forEach((bookId, frequency) -> {
+                        final double score = weight * idf * bm25(frequency, lengths.get(bookId), averageLength);
+                        tokenScores.merge(bookId, score, Math::max);
+                    });
+                });
+                tokenScores.forEach((bookId, score) -> scores.merge(bookId, score, Double::sum));
+            }
+
+            final List<String> ranked = scores.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            final int from = Math.min(offset, ranked.size());
+            final int to = Math.min(from + limit, ranked.size());
+
+            return new Hits(ranked.subList(from, to), ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of indexed books.
+     *
+     * @return The number of indexed books.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the tokenized books held by the index and clears its dirty flag.
+     *
+     * @return The number of occurrences of each term, per book identifier.
+     */
+    public Map<String, Map<String, Integer>> snapshot() {
+        lock.readLock().lock();
+        try {
+            final Map<String, Map<String, Integer>> copy = new HashMap<>(documents.size());
+            documents.forEach((bookId, terms) -> copy.put(bookId, Map.copyOf(terms)));
+            dirty = false;
+            return copy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the index has changed since its last snapshot.
+     *
+     * @return {@code true} if the index has changed, {@code false} otherwise.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Splits a text into normalized tokens: lower case, accents stripped, alphanumeric only.
+     *
+     * @param text The text to be tokenized, may be {@code null}.
+     * @return The tokens of the text, in order of appearance.
+     */
+    public static List<String> tokenize(final String text) {
+
+        final List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        final String normalized = DIACRITICS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Tokenizes the searchable fields of a book into term frequencies.
+     */
+    static Map<String, Integer> termFrequencies(final String name, final String authorFullName, final String isbn) {
+
+        final Map<String, Integer> terms = new HashMap<>();
+        tokenize(name).forEach(token -> terms.merge(token, 1, Integer::sum));
+        tokenize(authorFullName).forEach(token -> terms.merge(token, 1, Integer::sum));
+        tokenize(isbn).forEach(token -> terms.merge(token, 1, Integer::sum));
+
+        final String isbnToken = isbnToken(isbn);
+        if (isbnToken != null) {
+            terms.putIfAbsent(isbnToken, 1);
+        }
+
+        return terms;
+    }
+
+    /**
+     * Retrieves the digits-only form of a text that looks like an ISBN, so that it matches with or without hyphens.
+     */
+    private static String isbnToken(final String text) {
+
+        if (text == null) {
+            return null;
+        }
+
+        final String digits = text.replaceAll("[^0-9Xx]", "").toLowerCase(Locale.ROOT);
+        return digits.length() >= 10 ? digits : null;
+    }
+
+    /**
+     * Expands a query token into the indexed terms it matches, each with the weight of the match.
+     */
+    private Map<String, Double> expand(final String queryToken) {
+
+        final Map<String, Double> expansions = new HashMap<>();
+
+        if (postings.containsKey(queryToken)) {
+            expansions.put(queryToken, 1.0);
+        }
+
+        if (queryToken.length() >= 2) {
+            postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false)
+                    .keySet()
+                    .stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(term -> expansions.putIfAbsent(term, PREFIX_WEIGHT));
+        }
+
+        final int maxEdits = queryToken.length() >= 8 ? 2 : queryToken.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            final String firstCharacter = queryToken.substring(0, 1);
+            int candidates = 0;
+            int fuzzyExpansions = 0;
+            for (String term : postings.subMap(firstCharacter, true, firstCharacter + Character.MAX_VALUE, false)
+                    .keySet()) {
+                if (++candidates > MAX_FUZZY_CANDIDATES || fuzzyExpansions == MAX_FUZZY_EXPANSIONS) {
+                    break;
+                }
+                if (!expansions.containsKey(term)
+                        && Math.abs(term.length() - queryToken.length()) <= maxEdits
+                        && editDistance(queryToken, term, maxEdits) <= maxEdits) {
+                    expansions.put(term, FUZZY_WEIGHT);
+                    fuzzyExpansions++;
+                }
+            }
+        }
+
+        return expansions;
+    }
+
+    private double idf(final int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double bm25(final int frequency, final int length, final double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private boolean removeDocument(final String bookId) {
+
+        final Map<String, Integer> terms = documents.remove(bookId);
+        if (terms == null) {
+            return false;
+        }
+
+        lengths.remove(bookId);
+        terms.forEach((term, frequency) -> {
+            final Map<String, Integer> posting = postings.get(term);
+            posting.remove(bookId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+            totalLength -= frequency;
+        });
+
+        return true;
+    }
+
+    /**
+     * Calculates the Levenshtein distance of two strings, giving up as soon as it exceeds the given maximum.
+     */
+    static int editDistance(final String source, final String target, final int max) {
+
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                final int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[target.length()];
+    }
+
+}
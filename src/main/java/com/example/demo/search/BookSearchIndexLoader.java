@@ -0,0 +1,115 @@
+package com.example.demo.search;
+
+import com.example.demo.model.Book;
+import com.example.demo.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Builds the {@link BookSearchIndex} at startup and periodically persists it through the {@link BookSearchSegmentStore}.
+ * <p>If a segment was persisted, it is loaded as is and only the books created or updated since it was taken are
+ * re-tokenized; deleted books are dropped. Otherwise the whole catalog is tokenized page by page.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookSearchIndexLoader {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final BookSearchSegmentStore bookSearchSegmentStore;
+
+    private final BookRepository bookRepository;
+
+    @Value("${search.index.clock-skew-ms:60000}")
+    private long clockSkewMs;
+
+    @Value("${search.index.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    /**
+     * Loads the persisted segment and catches up with the catalog, or builds the index from scratch,
+     * unless {@code search.index.load-on-startup} is {@code false}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+
+        if (!loadOnStartup) {
+            return;
+        }
+
+        try {
+            final Optional<BookSearchSegmentStore.Segment> segment = bookSearchSegmentStore.read();
+
+            if (segment.isPresent()) {
+                segment.get().documents().forEach(bookSearchIndex::put);
+                bookSearchIndex.retainAll(bookRepository.findAllIds());
+
+                final LocalDateTime since = LocalDateTime
+                        .ofInstant(segment.get().takenAt(), ZoneId.systemDefault())
+                        .minusNanos(clockSkewMs * 1_000_000);
+                bookRepository.findAllModifiedSince(since).forEach(this::index);
+            } else {
+                Page<Book> page = bookRepository.findAll(PageRequest.of(0, PAGE_SIZE));
+                page.forEach(this::index);
+                while (page.hasNext()) {
+                    page = bookRepository.findAll(page.nextPageable());
+                    page.forEach(this::index);
+                }
+            }
+
+            log.info("BookSearchIndexLoader | loadIndex | {} books indexed", bookSearchIndex.size());
+        } catch (Exception e) {
+            log.error("BookSearchIndexLoader | loadIndex | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Persists the index if it has changed since it was last persisted.
+     */
+    @Scheduled(
+            initialDelayString = "${search.index.persist-interval-ms:60000}",
+            fixedDelayString = "${search.index.persist-interval-ms:60000}"
+    )
+    public void persistIndex() {
+
+        if (!bookSearchIndex.isDirty()) {
+            return;
+        }
+
+        try {
+            final Instant takenAt = Instant.now();
+            bookSearchSegmentStore.write(new BookSearchSegmentStore.Segment(bookSearchIndex.snapshot(), takenAt));
+        } catch (Exception e) {
+            log.error("BookSearchIndexLoader | persistIndex | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Persists the index one last time on shutdown.
+     */
+    @PreDestroy
+    public void persistIndexOnShutdown() {
+        persistIndex();
+    }
+
+    private void index(final Book book) {
+        bookSearchIndex.index(book.getId(), book.getName(), book.getAuthorFullName(), book.getIsbn());
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.example.demo.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persists the tokenized books of the {@link BookSearchIndex} as a segment file on the local disk,
+ * so that a restart only has to re-tokenize the books changed since the segment was written.
+ * <p>The segment is written to a temporary file and moved into place, so a crash never leaves a partial segment.</p>
+ */
+@Component
+@Slf4j
+public class BookSearchSegmentStore {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SEGMENT_FILE_NAME = "books.segment";
+
+    private final Path directory;
+
+    public BookSearchSegmentStore(@Value("${search.index.directory:${java.io.tmpdir}/bookdelivery/search}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * A persisted segment: the tokenized books and the time the segment was taken.
+     *
+     * @param documents The number of occurrences of each term, per book identifier.
+     * @param takenAt   The time the segment was taken; changes after this time are not included.
+     */
+    public record Segment(Map<String, Map<String, Integer>> documents, Instant takenAt) {
+    }
+
+    /**
+     * Writes a segment, replacing the previous one.
+     *
+     * @param segment The segment to be written.
+     * @throws IOException If the segment cannot be written.
+     */
+    public void write(final Segment segment) throws IOException {
+
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, SEGMENT_FILE_NAME, ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(segment.takenAt().toEpochMilli());
+            output.writeInt(segment.documents().size());
+
+            for (Map.Entry<String, Map<String, Integer>> document : segment.documents().entrySet()) {
+                output.writeUTF(document.getKey());
+                output.writeInt(document.getValue().size());
+                for (Map.Entry<String, Integer> term : document.getValue().entrySet()) {
+                    output.writeUTF(term.getKey());
+                    output.writeInt(term.getValue());
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, directory.resolve(SEGMENT_FILE_NAME),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the persisted segment.
+     *
+     * @return The segment, or an empty {@link Optional} if there is none or it cannot be read.
+     */
+    public Optional<Segment> read() {
+
+        final Path file = directory.resolve(SEGMENT_FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+
+            if (input.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+
+            final Instant takenAt = Instant.ofEpochMilli(input.readLong());
+            final int documentCount = input.readInt();
+            final Map<String, Map<String, Integer>> documents = new HashMap<>(documentCount);
+
+            for (int i = 0; i < documentCount; i++) {
+                final String bookId = input.readUTF();
+                final int termCount = input.readInt();
+                final Map<String, Integer> terms = new HashMap<>(termCount);
+                for (int j = 0; j < termCount; j++) {
+                    terms.put(input.readUTF(), input.readInt());
+                }
+                documents.put(bookId, terms);
+            }
+
+            return Optional.of(new Segment(documents, takenAt));
+        } catch (IOException e) {
+            log.error("BookSearchSegmentStore | read | {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+}
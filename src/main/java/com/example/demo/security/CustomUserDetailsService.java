@@ -1,5 +1,6 @@
 package com.example.demo.security;
 
+import com.example.demo.datasource.PrimaryReads;
 import com.example.demo.model.User;
 import com.example.demo.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     /**
      * Load user details by username.
+     * The user is read from the primary, so that a user can sign in right after registering.
      *
      * @param username The username (in this case, the user's email address).
      * @return A UserDetails object representing the user, or throw a UsernameNotFoundException if the user is not found.
@@ -30,7 +32,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         User user = null;
         try {
-            user = userService.findByEmail(username)
+            user = PrimaryReads.call(() -> userService.findByEmail(username))
                     .orElseThrow(() -> new Exception("User Name " + username + " not found"));
         } catch (Exception e) {
             throw new RuntimeException(e);
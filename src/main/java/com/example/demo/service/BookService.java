@@ -1,12 +1,22 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.BookChangesDTO;
 import com.example.demo.dto.BookDTO;
+import com.example.demo.payload.request.book.BookAutocompleteRequest;
+import com.example.demo.payload.request.book.BookBulkStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookChangesRequest;
 import com.example.demo.payload.request.book.BookCreateRequest;
+import com.example.demo.payload.request.book.BookSearchRequest;
+import com.example.demo.payload.request.book.BookStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookStockStripingRequest;
 import com.example.demo.payload.request.book.BookUpdateRequest;
 import com.example.demo.payload.request.book.BookUpdateStockRequest;
 import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.search.BookAutocompleteTrie;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 /**
  * This interface defines a service for managing books.
  */
@@ -28,6 +38,24 @@ public interface BookService {
      */
     BookDTO getBookById(String bookId);
 
+    /**
+     * Retrieves many books by their unique identifiers at once.
+     *
+     * @param bookIds The unique identifiers of the books.
+     * @return The {@link BookDTO}s of the known books, in the order of their first occurrence in {@code bookIds}.
+     */
+    List<BookDTO> getBooksByIds(List<String> bookIds);
+
+    /**
+     * Retrieves many books by their unique identifiers at once without opening a transaction of its own.
+     * <p>Unlike {@link #getBooksByIds(List)}, the books missing from the cache are read in a short read-only
+     * query and are not cached.</p>
+     *
+     * @param bookIds The unique identifiers of the books.
+     * @return The {@link BookDTO}s of the known books, in the order of their first occurrence in {@code bookIds}.
+     */
+    List<BookDTO> getBooksByIdsReadOnly(List<String> bookIds);
+
     /**
      * Updates the stock quantity of a book by its unique identifier.
      *
@@ -37,6 +65,26 @@ public interface BookService {
      */
     BookDTO updateBookStockById(String bookId, BookUpdateStockRequest request);
 
+    /**
+     * Adds the given delta to the stock of a book by its unique identifier and records the adjustment.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param request The request containing the stock delta and its reason.
+     * @return A {@link BookDTO} representing the book after the stock adjustment.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If the delta would take the stock below zero.
+     */
+    BookDTO adjustBookStockById(String bookId, BookStockAdjustmentRequest request);
+
+    /**
+     * Adds the given deltas to the stock of many books at once and records each adjustment.
+     * Either all adjustments are applied or none of them.
+     *
+     * @param request The request containing the stock deltas and their reasons.
+     * @return The {@link BookDTO}s representing the adjusted books after the stock adjustments.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If a delta would take a stock below zero.
+     */
+    List<BookDTO> adjustBookStocks(BookBulkStockAdjustmentRequest request);
+
     /**
      * Retrieves a paginated list of all books based on the provided request.
      *
@@ -45,6 +93,30 @@ public interface BookService {
      */
     Page<BookDTO> getAllBooks(PaginationRequest paginationRequest);
 
+    /**
+     * Searches the book catalog by name, author and ISBN, best match first.
+     *
+     * @param request The request containing the query and pagination information.
+     * @return A {@link Page} of {@link BookDTO} objects representing the matching books.
+     */
+    Page<BookDTO> searchBooks(BookSearchRequest request);
+
+    /**
+     * Retrieves the books changed after the given change version, oldest change first.
+     *
+     * @param request The request containing the change version to start after and the page size.
+     * @return A {@link BookChangesDTO} containing the changed books and the version to continue from.
+     */
+    BookChangesDTO getBookChanges(BookChangesRequest request);
+
+    /**
+     * Completes a prefix to the most popular book titles and author names.
+     *
+     * @param request The request containing the prefix and the number of completions.
+     * @return The completions, most popular first.
+     */
+    List<BookAutocompleteTrie.Completion> getBookCompletions(BookAutocompleteRequest request);
+
     /**
      * Updates a book by its unique identifier.
      *
@@ -63,4 +135,39 @@ public interface BookService {
      */
     boolean isStockAvailable(BookDTO bookDTO, int amount);
 
+    /**
+     * Reserves the given amount from the stock of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @return A {@link BookDTO} representing the book after the reservation.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If the book does not have enough stock.
+     */
+    BookDTO reserveStock(String bookId, int amount);
+
+    /**
+     * Turns the striped stock mode of a book on or off by its unique identifier.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param request The request containing the striping settings.
+     * @return A {@link BookDTO} representing the book after the update.
+     */
+    BookDTO updateStockStripingById(String bookId, BookStockStripingRequest request);
+
+    /**
+     * Puts a book in flash sale mode by its unique identifier, so that its stock is held by the in-memory ledger.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return A {@link BookDTO} representing the book after the update.
+     */
+    BookDTO enterFlashSaleById(String bookId);
+
+    /**
+     * Takes a book out of flash sale mode by its unique identifier, writing its ledger stock back to the database.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return A {@link BookDTO} representing the book after the update.
+     */
+    BookDTO exitFlashSaleById(String bookId);
+
 }
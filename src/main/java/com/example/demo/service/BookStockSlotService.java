@@ -0,0 +1,59 @@
+package com.example.demo.service;
+
+/**
+ * This interface defines a service for managing the striped stock slots of books.
+ */
+public interface BookStockSlotService {
+
+    /**
+     * Replaces the stock slots of a book with the given number of slots sharing the given stock evenly.
+     *
+     * @param bookId    The unique identifier of the book.
+     * @param stock     The total stock to be distributed across the slots.
+     * @param slotCount The number of slots to create.
+     */
+    void distributeStock(String bookId, int stock, int slotCount);
+
+    /**
+     * Removes all stock slots of a book and returns the stock they held.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The total stock held by the removed slots.
+     */
+    int collapseStock(String bookId);
+
+    /**
+     * Calculates the total stock of a book across all of its slots.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The total stock of the book.
+     */
+    int getTotalStock(String bookId);
+
+    /**
+     * Reserves the given amount from the stock slots of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If the slots do not hold enough stock in total.
+     */
+    void reserveStock(String bookId, int amount);
+
+    /**
+     * Adds the given delta to the stock slots of a book.
+     * A positive delta is added to a random slot, a negative delta is reserved across the slots.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param delta  The amount to be added, negative to remove stock.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If the slots do not hold enough stock to remove.
+     */
+    void adjustStock(String bookId, int delta);
+
+    /**
+     * Redistributes the stock of a book evenly across its existing slots.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    void rebalanceStock(String bookId);
+
+}
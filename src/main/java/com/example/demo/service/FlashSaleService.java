@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Book;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * This interface defines a service for managing the flash sale mode of books.
+ */
+public interface FlashSaleService {
+
+    /**
+     * Puts a book in flash sale mode, loading its stock into the in-memory ledger.
+     *
+     * @param book The locked {@link Book} entity to be put in flash sale mode.
+     */
+    void enterFlashSale(Book book);
+
+    /**
+     * Takes a book out of flash sale mode, flushing its pending reservations to its stock.
+     *
+     * @param book The locked {@link Book} entity to be taken out of flash sale mode.
+     */
+    void exitFlashSale(Book book);
+
+    /**
+     * Checks whether a book is currently in flash sale mode.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return {@code true} if the book is in flash sale mode, {@code false} otherwise.
+     */
+    boolean isInFlashSale(String bookId);
+
+    /**
+     * Retrieves the available stock of a book in flash sale mode.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The available stock, or an empty {@link OptionalLong} if the book is not in flash sale mode.
+     */
+    OptionalLong getAvailableStock(String bookId);
+
+    /**
+     * Reserves the given amount of a book from the in-memory ledger and records the pending reservation.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If the book does not have enough stock.
+     */
+    void reserveStock(String bookId, int amount);
+
+    /**
+     * Retrieves the identifiers of all books having pending reservations.
+     *
+     * @return The identifiers of the books.
+     */
+    List<String> findBookIdsWithPendingReservations();
+
+    /**
+     * Applies a batch of pending reservations of a book to its stock.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The number of flushed reservations.
+     */
+    int flushReservations(String bookId);
+
+    /**
+     * Rebuilds the in-memory ledger from the books in flash sale mode and their pending reservations.
+     */
+    void restoreLedger();
+
+}
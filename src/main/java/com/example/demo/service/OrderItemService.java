@@ -3,6 +3,9 @@ package com.example.demo.service;
 import com.example.demo.dto.OrderItemDTO;
 import com.example.demo.payload.request.order.OrderItemRequest;
 
+import java.util.Collection;
+import java.util.function.Supplier;
+
 /**
  * This interface defines a service for managing order items within an order.
  */
@@ -16,4 +19,15 @@ public interface OrderItemService {
      */
     OrderItemDTO createOrderItem(OrderItemRequest orderDetailRequest);
 
+    /**
+     * Runs the given action after being admitted to the order lanes of the books in the given order item requests.
+     * Must be called before a transaction is started, so that waiting does not hold a database connection.
+     *
+     * @param orderDetailRequests The order item requests whose books are going to be reserved.
+     * @param action              The action to be run once admitted.
+     * @param <T>                 The result type of the action.
+     * @return The result of the action.
+     */
+    <T> T admitOrderItems(Collection<OrderItemRequest> orderDetailRequests, Supplier<T> action);
+
 }
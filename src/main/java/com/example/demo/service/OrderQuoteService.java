@@ -0,0 +1,19 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.payload.request.order.CreateOrderRequest;
+
+/**
+ * This interface defines a service for quoting the availability and price of a cart without placing an order.
+ */
+public interface OrderQuoteService {
+
+    /**
+     * Quotes the availability and price of every line of a cart.
+     *
+     * @param createOrderRequest The cart, in the shape of an order creation request.
+     * @return An {@link OrderQuoteDTO} representing the availability and price of the cart.
+     */
+    OrderQuoteDTO quoteOrder(CreateOrderRequest createOrderRequest);
+
+}
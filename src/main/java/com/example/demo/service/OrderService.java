@@ -1,6 +1,7 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.OrderDTO;
+import com.example.demo.dto.OrderVersionDTO;
 import com.example.demo.payload.request.pagination.PaginatedFindAllRequest;
 import com.example.demo.payload.request.pagination.PaginationRequest;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,15 @@ public interface OrderService {
      */
     OrderDTO findOrderById(Long id);
 
+    /**
+     * Retrieves what identifies the version of an order, applying the same access rules as {@link #findOrderById(Long)}
+     * without loading the order and its items.
+     *
+     * @param id The unique identifier of the order.
+     * @return An {@link OrderVersionDTO} of the order with the specified ID.
+     */
+    OrderVersionDTO findOrderVersionById(Long id);
+
     /**
      * Retrieves a paginated list of all orders associated with a customer based on their unique identifier.
      *
@@ -0,0 +1,58 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.StockMovementDTO;
+import com.example.demo.model.enums.StockMovementType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This interface defines a service for the append-only journal of stock movements.
+ */
+public interface StockJournalService {
+
+    /**
+     * Records a change to the stock of a book.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param type   The kind of the change.
+     * @param delta  The amount added to the stock, negative if stock was removed.
+     */
+    void record(String bookId, StockMovementType type, int delta);
+
+    /**
+     * Retrieves the movements following the given sequence number.
+     *
+     * @param sequence The sequence number of the last movement already consumed, {@code 0} to start from the beginning.
+     * @param limit    The maximum number of movements to retrieve.
+     * @return The {@link StockMovementDTO}s in ascending sequence order.
+     */
+    List<StockMovementDTO> getMovementsSince(long sequence, int limit);
+
+    /**
+     * Calculates the stock of a book at the given point in time.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param at     The point in time.
+     * @return The stock of the book at that time.
+     * @throws com.example.demo.exception.book.StockHistoryNotFoundException If the journal no longer covers that time.
+     */
+    int getStockAt(String bookId, LocalDateTime at);
+
+    /**
+     * Seeds the balance snapshot of a book that has none yet from its current stock and its recorded movements.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    void seedSnapshot(String bookId);
+
+    /**
+     * Folds one batch of the movements created before the given time into the balance snapshots
+     * and deletes them.
+     *
+     * @param createdBefore The exclusive upper bound of the creation time of the movements to be compacted.
+     * @return The number of compacted movements.
+     */
+    int compact(LocalDateTime createdBefore);
+
+}
@@ -1,20 +1,59 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.BookCache;
+import com.example.demo.cache.Coalesced;
+import com.example.demo.cache.RequestCoalescer;
+import com.example.demo.catalog.BookChangeVersionClock;
+import com.example.demo.catalog.BookPageSnapshots;
+import com.example.demo.dto.BookChangesDTO;
 import com.example.demo.dto.BookDTO;
+import com.example.demo.exception.book.BookInFlashSaleException;
 import com.example.demo.exception.book.BookNotFoundException;
 import com.example.demo.exception.book.NoAvailableStockException;
 import com.example.demo.model.Book;
+import com.example.demo.model.BookStockAdjustment;
+import com.example.demo.model.enums.StockMovementType;
 import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.payload.request.book.BookAutocompleteRequest;
+import com.example.demo.payload.request.book.BookBulkStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookChangesRequest;
 import com.example.demo.payload.request.book.BookCreateRequest;
+import com.example.demo.payload.request.book.BookSearchRequest;
+import com.example.demo.payload.request.book.BookStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookStockStripingRequest;
 import com.example.demo.payload.request.book.BookUpdateRequest;
 import com.example.demo.payload.request.book.BookUpdateStockRequest;
 import com.example.demo.payload.request.pagination.PaginationRequest;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStockAdjustmentRepository;
+import com.example.demo.search.BookAutocompleteTrie;
+import com.example.demo.search.BookAutocompleter;
+import com.example.demo.search.BookSearchIndex;
 import com.example.demo.service.BookService;
+import com.example.demo.service.BookStockSlotService;
+import com.example.demo.service.FlashSaleService;
+import com.example.demo.service.StockJournalService;
+import com.example.demo.stream.BookChangeStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link BookService} interface for creating and managing books.
@@ -23,40 +62,167 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    private static final String BOOKS = "books";
+
+    private static final String BOOK_PAGES = "book-pages";
+
     private final BookRepository bookRepository;
 
+    private final BookStockSlotService bookStockSlotService;
+
+    private final FlashSaleService flashSaleService;
+
+    private final BookStockAdjustmentRepository bookStockAdjustmentRepository;
+
+    private final StockJournalService stockJournalService;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final BookAutocompleter bookAutocompleter;
+
+    private final BookCache bookCache;
+
+    private final BookChangeVersionClock bookChangeVersionClock;
+
+    private final BookChangeStream bookChangeStream;
+
+    private final BookPageSnapshots bookPageSnapshots;
+
+    private final RequestCoalescer requestCoalescer;
+
+    @Value("${inventory.striping.default-slot-count:8}")
+    private int defaultStockSlotCount;
+
+    @Value("${catalog.changes.settle-ms:2000}")
+    private long changeFeedSettleMs;
+
     /**
      * Creates a new book based on the provided request.
+     * The initial stock is recorded in the stock journal as a restock, and the book is added
+     * to the search index once the transaction commits.
      *
      * @param request The request containing book information.
      * @return A {@link BookDTO} representing the newly created book.
      */
+    @Transactional
     public BookDTO createBook(BookCreateRequest request) {
 
         final Book bookEntityToBeSaved = BookMapper.mapForSaving(request);
+        bookEntityToBeSaved.setChangeVersion(bookChangeVersionClock.next());
+        final Book savedBook = bookRepository.save(bookEntityToBeSaved);
 
-        return BookMapper.toDTO(bookRepository.save(bookEntityToBeSaved));
+        stockJournalService.record(
+                savedBook.getId(),
+                StockMovementType.RESTOCK,
+                savedBook.getStock() == null ? 0 : savedBook.getStock()
+        );
+        indexAfterCommit(savedBook);
+        runAfterCommit(this::markPagesStale);
+
+        return publishAfterCommit(BookMapper.toDTO(savedBook));
     }
 
     /**
-     * Retrieves a book by its unique identifier.
+     * Retrieves a book by its unique identifier, from the {@link BookCache} if it is cached.
+     * Concurrent requests for the same book share a single load when it is not cached.
      *
      * @param bookId The unique identifier of the book.
      * @return A {@link BookDTO} representing the requested book.
      */
     @Transactional
+    @Coalesced(BOOKS)
     public BookDTO getBookById(final String bookId) {
 
+        final Optional<BookDTO> cachedBook = bookCache.get(bookId);
+        if (cachedBook.isPresent()) {
+            return cachedBook.get();
+        }
+
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(
                         () -> new BookNotFoundException(bookId)
                 );
 
-        return BookMapper.toDTO(book);
+        final BookDTO bookDTO = toDTO(book);
+        bookCache.put(bookDTO);
+
+        return bookDTO;
+    }
+
+    /**
+     * Retrieves many books by their unique identifiers at once.
+     * <p>Cached books are served from the {@link BookCache}; all other books are loaded with a single
+     * {@code IN} query and cached. Unknown ids are skipped. The transaction is not read-only, so that the books
+     * cached are read from the primary rather than a lagging replica.</p>
+     *
+     * @param bookIds The unique identifiers of the books.
+     * @return The {@link BookDTO}s of the known books, in the order of their first occurrence in {@code bookIds}.
+     */
+    @Override
+    @Transactional
+    public List<BookDTO> getBooksByIds(final List<String> bookIds) {
+
+        final List<String> distinctBookIds = bookIds.stream()
+                .distinct()
+                .toList();
+
+        final Map<String, BookDTO> books = new HashMap<>(bookCache.getAll(distinctBookIds));
+
+        final List<String> missedBookIds = distinctBookIds.stream()
+                .filter(bookId -> !books.containsKey(bookId))
+                .toList();
+
+        if (!missedBookIds.isEmpty()) {
+            bookRepository.findAllById(missedBookIds).forEach(book -> {
+                final BookDTO bookDTO = toDTO(book);
+                bookCache.put(bookDTO);
+                books.put(bookDTO.getId(), bookDTO);
+            });
+        }
+
+        return distinctBookIds.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Retrieves many books by their unique identifiers at once without opening a transaction of its own.
+     * <p>Cached books are served from the {@link BookCache}. All other books are loaded with a single {@code IN}
+     * query in the repository's own read-only transaction, which may be served by a replica, so a connection is
+     * only held for that query and none at all when every book is cached. Those books are not cached, so that the
+     * cache keeps being filled from the primary only. Unknown ids are skipped.</p>
+     *
+     * @param bookIds The unique identifiers of the books.
+     * @return The {@link BookDTO}s of the known books, in the order of their first occurrence in {@code bookIds}.
+     */
+    @Override
+    public List<BookDTO> getBooksByIdsReadOnly(final List<String> bookIds) {
+
+        final List<String> distinctBookIds = bookIds.stream()
+                .distinct()
+                .toList();
+
+        final Map<String, BookDTO> books = new HashMap<>(bookCache.getAll(distinctBookIds));
+
+        final List<String> missedBookIds = distinctBookIds.stream()
+                .filter(bookId -> !books.containsKey(bookId))
+                .toList();
+
+        if (!missedBookIds.isEmpty()) {
+            bookRepository.findAllById(missedBookIds)
+                    .forEach(book -> books.put(book.getId(), toDTO(book)));
+        }
+
+        return distinctBookIds.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
      * Updates the stock quantity of a book by its unique identifier.
+     * The difference to the previous stock is recorded in the stock journal as a correction.
      *
      * @param bookId The unique identifier of the book.
      * @param request The request containing the updated stock information.
@@ -66,29 +232,225 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public BookDTO updateBookStockById(String bookId, BookUpdateStockRequest request) {
 
+        evictAfterCommit(bookId);
+
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (book.isFlashSale()) {
+            throw new BookInFlashSaleException(bookId);
+        }
+
+        final Integer previousStock = book.isStockStriped()
+                ? bookStockSlotService.getTotalStock(bookId)
+                : book.getStock();
+        recordCorrection(bookId, previousStock, request.getStock());
+
+        book.setChangeVersion(bookChangeVersionClock.next());
+
+        if (book.isStockStriped()) {
+            bookStockSlotService.distributeStock(bookId, request.getStock(), book.getStockSlotCount());
+            return publishAfterCommit(BookMapper.toDTO(bookRepository.save(book), request.getStock()));
+        }
+
         book.setStock(request.getStock());
 
-        return BookMapper.toDTO(bookRepository.save(book));
+        return publishAfterCommit(BookMapper.toDTO(bookRepository.save(book)));
+    }
+
+    /**
+     * Adds the given delta to the stock of a book by its unique identifier and records the adjustment.
+     * <p>The delta is applied with a single conditional {@code STOCK = STOCK + ?} update, so no lock is
+     * held between reading and writing the stock and concurrent orders are not overwritten. Only when
+     * the update is skipped is the book read, to apply the delta to its stock slots or report why it failed.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     * @param request The request containing the stock delta and its reason.
+     * @return A {@link BookDTO} representing the book after the stock adjustment.
+     * @throws NoAvailableStockException If the delta would take the stock below zero.
+     */
+    @Override
+    @Transactional
+    public BookDTO adjustBookStockById(final String bookId, final BookStockAdjustmentRequest request) {
+
+        evictAfterCommit(bookId);
+
+        if (bookRepository.adjustStock(bookId, request.getDelta(), bookChangeVersionClock.next()) == 0) {
+            adjustSkippedStock(bookId, request.getDelta());
+        }
+
+        recordAdjustment(bookId, request.getDelta());
+
+        bookStockAdjustmentRepository.save(BookStockAdjustment.builder()
+                .bookId(bookId)
+                .delta(request.getDelta())
+                .reason(request.getReason())
+                .build());
+
+        final Book book = bookRepository.findByIdWithoutLock(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        return publishAfterCommit(toDTO(book));
+    }
+
+    /**
+     * Adds the given deltas to the stock of many books at once and records each adjustment.
+     * <p>All deltas are sent as one JDBC batch of conditional {@code STOCK = STOCK + ?} updates. Skipped
+     * updates are handled one by one like {@link #adjustBookStockById}; if any of them fails, the whole
+     * batch is rolled back.</p>
+     *
+     * @param request The request containing the stock deltas and their reasons.
+     * @return The {@link BookDTO}s representing the adjusted books after the stock adjustments.
+     * @throws NoAvailableStockException If a delta would take a stock below zero.
+     */
+    @Override
+    @Transactional
+    public List<BookDTO> adjustBookStocks(final BookBulkStockAdjustmentRequest request) {
+
+        final List<BookStockAdjustment> adjustments = request.getAdjustments()
+                .stream()
+                .map(item -> BookStockAdjustment.builder()
+                        .bookId(item.getBookId())
+                        .delta(item.getDelta())
+                        .reason(item.getReason())
+                        .build())
+                .toList();
+
+        evictAfterCommit(adjustments.stream().map(BookStockAdjustment::getBookId).toList());
+
+        final int[] updateCounts = bookRepository.adjustStocks(adjustments, bookChangeVersionClock.reserve(adjustments.size()));
+        for (int i = 0; i < adjustments.size(); i++) {
+            if (updateCounts[i] == 0) {
+                adjustSkippedStock(adjustments.get(i).getBookId(), adjustments.get(i).getDelta());
+            }
+        }
+
+        bookStockAdjustmentRepository.saveAll(adjustments);
+        adjustments.forEach(adjustment -> recordAdjustment(adjustment.getBookId(), adjustment.getDelta()));
+
+        final List<String> bookIds = adjustments.stream()
+                .map(BookStockAdjustment::getBookId)
+                .distinct()
+                .toList();
+
+        final Map<String, Book> books = bookRepository.findAllById(bookIds)
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return bookIds.stream()
+                .map(books::get)
+                .map(this::toDTO)
+                .map(this::publishAfterCommit)
+                .toList();
     }
 
     /**
      * Retrieves a paginated list of all books based on the provided request.
+     * <p>Concurrent requests for one of the first pages share a single query, and its result is kept for
+     * {@code coalescing.book-pages.ttl-ms} or until a book changes.</p>
      *
      * @param paginationRequest The request containing pagination information.
      * @return A {@link Page} of {@link BookDTO} objects representing the list of books.
      */
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced(value = BOOK_PAGES, condition = "#p0.page < 3")
     public Page<BookDTO> getAllBooks(PaginationRequest paginationRequest) {
 
         return bookRepository
                 .findAll(paginationRequest.toPageable())
-                .map(BookMapper::toDTO);
+                .map(this::toDTO);
+    }
+
+    /**
+     * Searches the book catalog by name, author and ISBN, best match first.
+     * <p>The matching book identifiers come from the in-process {@link BookSearchIndex}; only the books on the
+     * requested page are then loaded, with a single query.</p>
+     *
+     * @param request The request containing the query and pagination information.
+     * @return A {@link Page} of {@link BookDTO} objects representing the matching books.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchBooks(final BookSearchRequest request) {
+
+        final Pageable pageable = request.toPageable();
+        final BookSearchIndex.Hits hits = bookSearchIndex
+                .search(request.getQuery(), (int) pageable.getOffset(), pageable.getPageSize());
+
+        final Map<String, Book> books = bookRepository.findAllById(hits.bookIds())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        final List<BookDTO> content = hits.bookIds()
+                .stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .toList();
+
+        return new PageImpl<>(content, pageable, hits.totalHits());
+    }
+
+    /**
+     * Retrieves the books changed after the given change version, oldest change first.
+     * <p>Every write stamps a new version on the book row, so a book appears once, with its latest state,
+     * however often it changed: superseded versions are compacted away by the row itself. Only versions older
+     * than the settle window are returned, so that writes still committing with an older version are not
+     * skipped. Books sharing a version are never split across pages: a page made of a single version is grown to
+     * all books of that version, so that the next page can start after it. The changes are read from the primary, since
+     * a replica lagging behind the settle window would skip versions for good.</p>
+     *
+     * @param request The request containing the change version to start after and the page size.
+     * @return A {@link BookChangesDTO} containing the changed books and the version to continue from.
+     */
+    @Override
+    @Transactional
+    public BookChangesDTO getBookChanges(final BookChangesRequest request) {
+
+        final int size = request.getSize();
+        final long upTo = bookChangeVersionClock.settledVersion(changeFeedSettleMs);
+        final List<Book> changedBooks = bookRepository
+                .findAllChangedBetween(request.getSince(), upTo, PageRequest.of(0, size + 1));
+
+        final boolean hasMore = changedBooks.size() > size;
+        List<Book> page = hasMore ? changedBooks.subList(0, size) : changedBooks;
+
+        if (hasMore) {
+            final Long lastVersion = page.get(size - 1).getChangeVersion();
+            if (lastVersion.equals(changedBooks.get(size).getChangeVersion())) {
+                final List<Book> withoutLastVersion = page.stream()
+                        .takeWhile(book -> !lastVersion.equals(book.getChangeVersion()))
+                        .toList();
+                page = withoutLastVersion.isEmpty()
+                        ? bookRepository.findAllByChangeVersion(lastVersion)
+                        : withoutLastVersion;
+            }
+        }
+
+        return BookChangesDTO.builder()
+                .books(page.stream().map(this::toDTO).toList())
+                .nextSince(page.isEmpty() ? request.getSince() : page.get(page.size() - 1).getChangeVersion())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Completes a prefix to the most popular book titles and author names.
+     * Completions are served from the in-memory trie and never reach the database.
+     *
+     * @param request The request containing the prefix and the number of completions.
+     * @return The completions, most popular first.
+     */
+    @Override
+    public List<BookAutocompleteTrie.Completion> getBookCompletions(final BookAutocompleteRequest request) {
+        return bookAutocompleter.complete(request.getPrefix(), request.getLimit());
     }
 
     /**
      * Updates a book by its unique identifier.
+     * A change of the stock is recorded in the stock journal as a correction, and the book is
+     * re-indexed for search once the transaction commits.
      *
      * @param bookId The unique identifier of the book.
      * @param request The request containing the updated book information.
@@ -97,13 +459,33 @@ public class BookServiceImpl implements BookService {
     @Override
     @Transactional
     public BookDTO updateBookById(final String bookId, final BookUpdateRequest request) {
+
+        evictAfterCommit(bookId);
+
         final Book bookEntityToBeUpdate = bookRepository
                 .findById(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
 
+        if (bookEntityToBeUpdate.isFlashSale()) {
+            throw new BookInFlashSaleException(bookId);
+        }
+
+        final Integer previousStock = bookEntityToBeUpdate.isStockStriped()
+                ? bookStockSlotService.getTotalStock(bookId)
+                : bookEntityToBeUpdate.getStock();
+
         BookMapper.mapForUpdating(bookEntityToBeUpdate, request);
+        recordCorrection(bookId, previousStock, bookEntityToBeUpdate.getStock());
+
+        if (bookEntityToBeUpdate.isStockStriped()) {
+            bookStockSlotService.distributeStock(bookId, request.getStock(), bookEntityToBeUpdate.getStockSlotCount());
+        }
 
-        return BookMapper.toDTO(bookRepository.save(bookEntityToBeUpdate));
+        bookEntityToBeUpdate.setChangeVersion(bookChangeVersionClock.next());
+        final Book updatedBook = bookRepository.save(bookEntityToBeUpdate);
+        indexAfterCommit(updatedBook);
+
+        return publishAfterCommit(BookMapper.toDTO(updatedBook));
     }
 
     /**
@@ -123,4 +505,299 @@ public class BookServiceImpl implements BookService {
 
     }
 
+    /**
+     * Reserves the given amount from the stock of a book.
+     * <p>For a book in flash sale mode, the amount is taken from the in-memory ledger. For a book with
+     * striped stock, the amount is taken from one of its stock slots. In both cases the book row is read
+     * without a lock. Otherwise, the book row is locked with a pessimistic write lock while its
+     * stock is checked and decremented; the book is not loaded before the lock is taken, so that the stock
+     * is read from the locked row, and a book that entered flash sale mode or had its stock striped while
+     * waiting for the lock is reserved like one. The reservation is recorded in the stock journal.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @return A {@link BookDTO} representing the book after the reservation.
+     * @throws NoAvailableStockException If the book does not have enough stock.
+     */
+    @Override
+    @Transactional
+    public BookDTO reserveStock(final String bookId, final int amount) {
+
+        evictAfterCommit(bookId);
+
+        if (flashSaleService.isInFlashSale(bookId)) {
+            final Book book = bookRepository.findByIdWithoutLock(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
+            flashSaleService.reserveStock(bookId, amount);
+            stockJournalService.record(bookId, StockMovementType.ORDER_RESERVATION, -amount);
+            return publishAfterCommit(toDTO(book));
+        }
+
+        // Decided without loading the book: a book loaded here would not be reloaded by the locked read below
+        final boolean striped = bookRepository.findStockSlotCountById(bookId)
+                .filter(stockSlotCount -> stockSlotCount > 0)
+                .isPresent();
+
+        if (striped) {
+            final Book stripedBook = bookRepository.findByIdWithoutLock(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
+            bookStockSlotService.reserveStock(bookId, amount);
+            stockJournalService.record(bookId, StockMovementType.ORDER_RESERVATION, -amount);
+            return publishAfterCommit(toDTO(stripedBook));
+        }
+
+        final Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (book.isFlashSale()) {
+            // The book entered flash sale mode while waiting for the lock
+            flashSaleService.reserveStock(bookId, amount);
+            stockJournalService.record(bookId, StockMovementType.ORDER_RESERVATION, -amount);
+            return publishAfterCommit(toDTO(book));
+        }
+
+        if (book.isStockStriped()) {
+            // The stock of the book was striped while waiting for the lock
+            bookStockSlotService.reserveStock(bookId, amount);
+            stockJournalService.record(bookId, StockMovementType.ORDER_RESERVATION, -amount);
+            return publishAfterCommit(toDTO(book));
+        }
+
+        isStockAvailable(BookMapper.toDTO(book), amount);
+        book.setStock(book.getStock() - amount);
+        book.setChangeVersion(bookChangeVersionClock.next());
+        stockJournalService.record(bookId, StockMovementType.ORDER_RESERVATION, -amount);
+
+        return publishAfterCommit(BookMapper.toDTO(bookRepository.save(book)));
+    }
+
+    /**
+     * Turns the striped stock mode of a book on or off by its unique identifier.
+     * <p>Enabling splits the current stock across the requested number of slots (or the configured default),
+     * re-splitting it if the book is already striped. Disabling sums the slots back into the stock column.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     * @param request The request containing the striping settings.
+     * @return A {@link BookDTO} representing the book after the update.
+     */
+    @Override
+    @Transactional
+    public BookDTO updateStockStripingById(final String bookId, final BookStockStripingRequest request) {
+
+        evictAfterCommit(bookId);
+
+        final Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (book.isFlashSale()) {
+            throw new BookInFlashSaleException(bookId);
+        }
+
+        final int stock = book.isStockStriped()
+                ? bookStockSlotService.collapseStock(bookId)
+                : book.getStock();
+
+        if (Boolean.TRUE.equals(request.getEnabled())) {
+            final int slotCount = request.getSlotCount() != null ? request.getSlotCount() : defaultStockSlotCount;
+            bookStockSlotService.distributeStock(bookId, stock, slotCount);
+            book.setStockSlotCount(slotCount);
+        } else {
+            book.setStockSlotCount(null);
+        }
+
+        book.setStock(stock);
+        book.setChangeVersion(bookChangeVersionClock.next());
+
+        return BookMapper.toDTO(bookRepository.save(book));
+    }
+
+    /**
+     * Puts a book in flash sale mode by its unique identifier.
+     * <p>A striped book has its slots collapsed into the stock column first, since the ledger
+     * writes its deltas back to that column. Entering an ongoing flash sale has no effect.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     * @return A {@link BookDTO} representing the book after the update.
+     */
+    @Override
+    @Transactional
+    public BookDTO enterFlashSaleById(final String bookId) {
+
+        evictAfterCommit(bookId);
+
+        final Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (book.isFlashSale()) {
+            return toDTO(book);
+        }
+
+        if (book.isStockStriped()) {
+            book.setStock(bookStockSlotService.collapseStock(bookId));
+            book.setStockSlotCount(null);
+        }
+
+        flashSaleService.enterFlashSale(book);
+        book.setFlashSale(true);
+        book.setChangeVersion(bookChangeVersionClock.next());
+
+        return toDTO(bookRepository.save(book));
+    }
+
+    /**
+     * Takes a book out of flash sale mode by its unique identifier.
+     * Leaving a book that is not in flash sale mode has no effect.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return A {@link BookDTO} representing the book after the update.
+     */
+    @Override
+    @Transactional
+    public BookDTO exitFlashSaleById(final String bookId) {
+
+        evictAfterCommit(bookId);
+
+        final Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (!book.isFlashSale()) {
+            return toDTO(book);
+        }
+
+        flashSaleService.exitFlashSale(book);
+        book.setFlashSale(false);
+        book.setChangeVersion(bookChangeVersionClock.next());
+
+        return toDTO(bookRepository.save(book));
+    }
+
+    /**
+     * Adds a book to the search index once the surrounding transaction commits,
+     * or immediately if there is no transaction.
+     */
+    private void indexAfterCommit(final Book book) {
+
+        final String bookId = book.getId();
+        final String name = book.getName();
+        final String authorFullName = book.getAuthorFullName();
+        final String isbn = book.getIsbn();
+
+        runAfterCommit(() -> bookSearchIndex.index(bookId, name, authorFullName, isbn));
+    }
+
+    /**
+     * Removes books from the {@link BookCache} and marks the pages of books stale once the surrounding
+     * transaction commits, or immediately if there is no transaction.
+     */
+    private void evictAfterCommit(final Collection<String> bookIds) {
+        runAfterCommit(() -> {
+            bookIds.forEach(bookCache::evict);
+            markPagesStale();
+        });
+    }
+
+    /**
+     * Marks the {@link BookPageSnapshots} stale and drops the pages kept by the {@link RequestCoalescer}.
+     */
+    private void markPagesStale() {
+        bookPageSnapshots.markStale();
+        requestCoalescer.invalidate(BOOK_PAGES);
+    }
+
+    private void evictAfterCommit(final String bookId) {
+        evictAfterCommit(List.of(bookId));
+    }
+
+    /**
+     * Publishes the stock and price of a book to the {@link BookChangeStream} once the surrounding
+     * transaction commits, or immediately if there is no transaction.
+     *
+     * @return The given book, for chaining.
+     */
+    private BookDTO publishAfterCommit(final BookDTO book) {
+        runAfterCommit(() -> bookChangeStream.publish(book));
+        return book;
+    }
+
+    private void runAfterCommit(final Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Records a change of the stock from one absolute value to another in the stock journal as a correction.
+     * Nothing is recorded if the stock did not change.
+     */
+    private void recordCorrection(final String bookId, final Integer previousStock, final Integer stock) {
+        if (previousStock != null && stock != null && !stock.equals(previousStock)) {
+            stockJournalService.record(bookId, StockMovementType.CORRECTION, stock - previousStock);
+        }
+    }
+
+    /**
+     * Records a relative stock adjustment in the stock journal, as a restock if it adds stock
+     * and as a correction if it removes stock.
+     */
+    private void recordAdjustment(final String bookId, final int delta) {
+        stockJournalService.record(bookId, delta > 0 ? StockMovementType.RESTOCK : StockMovementType.CORRECTION, delta);
+    }
+
+    /**
+     * Handles a stock delta whose conditional update was skipped. A striped book gets the delta applied to
+     * its stock slots; in every other case the adjustment is rejected with the matching exception.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param delta  The amount to be added to the stock, negative to remove stock.
+     */
+    private void adjustSkippedStock(final String bookId, final int delta) {
+
+        final Book book = bookRepository.findByIdWithoutLock(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (book.isFlashSale()) {
+            throw new BookInFlashSaleException(bookId);
+        }
+
+        if (book.isStockStriped()) {
+            bookStockSlotService.adjustStock(bookId, delta);
+            bookRepository.stampChangeVersion(bookId, bookChangeVersionClock.next());
+            return;
+        }
+
+        throw new NoAvailableStockException(-delta);
+    }
+
+    /**
+     * Converts a {@link Book} entity to a {@link BookDTO}, taking the stock of a book in flash sale mode
+     * from the in-memory ledger and summing the stock slots of a striped book.
+     *
+     * @param book The {@link Book} entity to be converted.
+     * @return A {@link BookDTO} containing data from the source entity.
+     */
+    private BookDTO toDTO(final Book book) {
+
+        if (book.isFlashSale()) {
+            final OptionalLong availableStock = flashSaleService.getAvailableStock(book.getId());
+            if (availableStock.isPresent()) {
+                return BookMapper.toDTO(book, (int) availableStock.getAsLong());
+            }
+        }
+
+        if (book.isStockStriped()) {
+            return BookMapper.toDTO(book, bookStockSlotService.getTotalStock(book.getId()));
+        }
+
+        return BookMapper.toDTO(book);
+    }
+
 }
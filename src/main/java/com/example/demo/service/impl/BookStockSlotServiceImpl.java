@@ -0,0 +1,192 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.exception.book.NoAvailableStockException;
+import com.example.demo.model.BookStockSlot;
+import com.example.demo.repository.BookStockSlotRepository;
+import com.example.demo.service.BookStockSlotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementation of the {@link BookStockSlotService} interface for managing striped book stock.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookStockSlotServiceImpl implements BookStockSlotService {
+
+    private final BookStockSlotRepository bookStockSlotRepository;
+
+    /**
+     * Replaces the stock slots of a book with the given number of slots sharing the given stock evenly.
+     *
+     * @param bookId    The unique identifier of the book.
+     * @param stock     The total stock to be distributed across the slots.
+     * @param slotCount The number of slots to create.
+     */
+    @Override
+    @Transactional
+    public void distributeStock(final String bookId, final int stock, final int slotCount) {
+
+        bookStockSlotRepository.findAllByBookIdForUpdate(bookId);
+        bookStockSlotRepository.deleteAllByBookId(bookId);
+
+        final List<BookStockSlot> slots = new ArrayList<>(slotCount);
+        for (int slotIndex = 0; slotIndex < slotCount; slotIndex++) {
+            slots.add(BookStockSlot.builder()
+                    .bookId(bookId)
+                    .slotIndex(slotIndex)
+                    .stock(shareOf(stock, slotCount, slotIndex))
+                    .build());
+        }
+
+        bookStockSlotRepository.saveAll(slots);
+    }
+
+    /**
+     * Removes all stock slots of a book and returns the stock they held.
+     * The slots are locked first, so that no reservation can decrement them while they are summed.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The total stock held by the removed slots.
+     */
+    @Override
+    @Transactional
+    public int collapseStock(final String bookId) {
+
+        final int totalStock = bookStockSlotRepository.findAllByBookIdForUpdate(bookId)
+                .stream()
+                .mapToInt(BookStockSlot::getStock)
+                .sum();
+
+        bookStockSlotRepository.deleteAllByBookId(bookId);
+
+        return totalStock;
+    }
+
+    /**
+     * Calculates the total stock of a book across all of its slots.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The total stock of the book.
+     */
+    @Override
+    public int getTotalStock(final String bookId) {
+
+        final Long totalStock = bookStockSlotRepository.sumStockByBookId(bookId);
+        return totalStock == null ? 0 : totalStock.intValue();
+    }
+
+    /**
+     * Reserves the given amount from the stock slots of a book.
+     * <p>Starting from a random slot, each slot is tried with a conditional decrement, so that concurrent
+     * reservations are spread over different rows. If no single slot holds the whole amount, the slots
+     * are locked and the amount is drained across them.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @throws NoAvailableStockException If the slots do not hold enough stock in total.
+     */
+    @Override
+    @Transactional
+    public void reserveStock(final String bookId, final int amount) {
+
+        final List<Integer> slotIndexes = bookStockSlotRepository.findSlotIndexesByBookId(bookId);
+        if (slotIndexes.isEmpty()) {
+            throw new NoAvailableStockException(amount);
+        }
+
+        final int start = ThreadLocalRandom.current().nextInt(slotIndexes.size());
+        for (int offset = 0; offset < slotIndexes.size(); offset++) {
+            final int slotIndex = slotIndexes.get((start + offset) % slotIndexes.size());
+            if (bookStockSlotRepository.decrementStock(bookId, slotIndex, amount) == 1) {
+                return;
+            }
+        }
+
+        drainStock(bookId, amount);
+    }
+
+    /**
+     * Adds the given delta to the stock slots of a book.
+     * A positive delta is added to a random slot with an atomic increment, a negative delta is
+     * reserved across the slots like an order.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param delta  The amount to be added, negative to remove stock.
+     * @throws NoAvailableStockException If the slots do not hold enough stock to remove.
+     */
+    @Override
+    @Transactional
+    public void adjustStock(final String bookId, final int delta) {
+
+        if (delta < 0) {
+            reserveStock(bookId, -delta);
+            return;
+        }
+
+        final List<Integer> slotIndexes = bookStockSlotRepository.findSlotIndexesByBookId(bookId);
+        if (!slotIndexes.isEmpty()) {
+            final int slotIndex = slotIndexes.get(ThreadLocalRandom.current().nextInt(slotIndexes.size()));
+            bookStockSlotRepository.incrementStock(bookId, slotIndex, delta);
+        }
+    }
+
+    /**
+     * Redistributes the stock of a book evenly across its existing slots.
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    @Override
+    @Transactional
+    public void rebalanceStock(final String bookId) {
+
+        final List<BookStockSlot> slots = bookStockSlotRepository.findAllByBookIdForUpdate(bookId);
+        final int totalStock = slots.stream()
+                .mapToInt(BookStockSlot::getStock)
+                .sum();
+
+        for (int slotIndex = 0; slotIndex < slots.size(); slotIndex++) {
+            slots.get(slotIndex).setStock(shareOf(totalStock, slots.size(), slotIndex));
+        }
+    }
+
+    /**
+     * Takes the given amount from the locked slots of a book, emptying them one after another.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @throws NoAvailableStockException If the slots do not hold enough stock in total.
+     */
+    private void drainStock(final String bookId, final int amount) {
+
+        final List<BookStockSlot> slots = bookStockSlotRepository.findAllByBookIdForUpdate(bookId);
+        final int totalStock = slots.stream()
+                .mapToInt(BookStockSlot::getStock)
+                .sum();
+
+        if (totalStock < amount) {
+            throw new NoAvailableStockException(amount);
+        }
+
+        int remaining = amount;
+        for (BookStockSlot slot : slots) {
+            final int taken = Math.min(slot.getStock(), remaining);
+            slot.setStock(slot.getStock() - taken);
+            remaining -= taken;
+        }
+    }
+
+    /**
+     * Calculates the share of a slot when the given stock is split evenly across the given number of slots.
+     * The remainder of the division is given to the first slots.
+     */
+    private static int shareOf(final int stock, final int slotCount, final int slotIndex) {
+        return stock / slotCount + (slotIndex < stock % slotCount ? 1 : 0);
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.datasource.PrimaryReads;
+import com.example.demo.inventory.FlashSaleLedger;
+import com.example.demo.model.Book;
+import com.example.demo.model.FlashSaleReservation;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.FlashSaleReservationRepository;
+import com.example.demo.service.FlashSaleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Implementation of the {@link FlashSaleService} interface backed by the in-memory {@link FlashSaleLedger}.
+ * <p>Reservations are taken from the ledger and recorded as {@link FlashSaleReservation} rows in the order
+ * transaction, without touching the book row. The recorded deltas are applied to {@code BOOKS.STOCK} in
+ * batches by a write-behind flush, and are used to rebuild the ledger on startup.</p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FlashSaleServiceImpl implements FlashSaleService {
+
+    private final FlashSaleLedger flashSaleLedger;
+
+    private final FlashSaleReservationRepository flashSaleReservationRepository;
+
+    private final BookRepository bookRepository;
+
+    @Value("${inventory.flash-sale.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    /**
+     * Puts a book in flash sale mode, loading its stock minus any still pending reservations into the ledger.
+     * The ledger is unloaded again if the surrounding transaction does not commit.
+     *
+     * @param book The locked {@link Book} entity to be put in flash sale mode.
+     */
+    @Override
+    public void enterFlashSale(final Book book) {
+
+        final String bookId = book.getId();
+        flashSaleLedger.load(bookId, book.getStock() - pendingAmountOf(bookId));
+
+        afterRollback(() -> flashSaleLedger.unload(bookId));
+    }
+
+    /**
+     * Takes a book out of flash sale mode. The book is removed from the ledger and all of its pending
+     * reservations are subtracted from its stock. The ledger is restored if the surrounding transaction
+     * does not commit.
+     *
+     * @param book The locked {@link Book} entity to be taken out of flash sale mode.
+     */
+    @Override
+    public void exitFlashSale(final Book book) {
+
+        final String bookId = book.getId();
+        final OptionalLong availableStock = flashSaleLedger.getAvailableStock(bookId);
+        flashSaleLedger.unload(bookId);
+
+        final List<FlashSaleReservation> reservations = flashSaleReservationRepository.findAllByBookIdForUpdate(bookId);
+        book.setStock(book.getStock() - sumOf(reservations));
+        flashSaleReservationRepository.deleteAllInBatch(reservations);
+
+        availableStock.ifPresent(stock -> afterRollback(() -> flashSaleLedger.load(bookId, stock)));
+    }
+
+    /**
+     * Checks whether a book is currently held by the in-memory ledger.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return {@code true} if the book is in flash sale mode, {@code false} otherwise.
+     */
+    @Override
+    public boolean isInFlashSale(final String bookId) {
+        return flashSaleLedger.isLoaded(bookId);
+    }
+
+    /**
+     * Retrieves the available stock of a book from the in-memory ledger.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The available stock, or an empty {@link OptionalLong} if the book is not in flash sale mode.
+     */
+    @Override
+    public OptionalLong getAvailableStock(final String bookId) {
+        return flashSaleLedger.getAvailableStock(bookId);
+    }
+
+    /**
+     * Reserves the given amount of a book from the in-memory ledger and records the pending reservation.
+     * The amount is given back to the ledger if the surrounding transaction does not commit.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param amount The amount to be reserved.
+     * @throws com.example.demo.exception.book.NoAvailableStockException If the book does not have enough stock.
+     */
+    @Override
+    @Transactional
+    public void reserveStock(final String bookId, final int amount) {
+
+        final String reservationId = flashSaleLedger.reserve(bookId, amount);
+
+        try {
+            flashSaleReservationRepository.save(FlashSaleReservation.builder()
+                    .id(reservationId)
+                    .bookId(bookId)
+                    .amount(amount)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException e) {
+            flashSaleLedger.release(bookId, amount);
+            throw e;
+        }
+
+        afterRollback(() -> flashSaleLedger.release(bookId, amount));
+    }
+
+    /**
+     * Retrieves the identifiers of all books having pending reservations.
+     *
+     * @return The identifiers of the books.
+     */
+    @Override
+    public List<String> findBookIdsWithPendingReservations() {
+        return flashSaleReservationRepository.findAllPendingBookIds();
+    }
+
+    /**
+     * Applies a batch of pending reservations of a book to its stock.
+     * The book row is locked before the reservations, in the same order as {@link #exitFlashSale(Book)}.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The number of flushed reservations.
+     */
+    @Override
+    @Transactional
+    public int flushReservations(final String bookId) {
+
+        final Book book = bookRepository.findById(bookId).orElse(null);
+        if (book == null) {
+            return 0;
+        }
+
+        final List<FlashSaleReservation> reservations = flashSaleReservationRepository
+                .findAllByBookIdOrderByCreatedAt(bookId, PageRequest.of(0, flushBatchSize));
+
+        book.setStock(book.getStock() - sumOf(reservations));
+        flashSaleReservationRepository.deleteAllInBatch(reservations);
+
+        return reservations.size();
+    }
+
+    /**
+     * Rebuilds the in-memory ledger from the books in flash sale mode and their pending reservations.
+     * Runs once the application is ready, so that a restarted instance resumes the sale where it stopped.
+     * The stock and reservations are read from the primary, since the ledger must not start behind it.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreLedger() {
+
+        try {
+            PrimaryReads.run(() -> {
+                for (Book book : bookRepository.findAllByFlashSaleTrue()) {
+                    flashSaleLedger.load(book.getId(), book.getStock() - pendingAmountOf(book.getId()));
+                }
+            });
+        } catch (Exception e) {
+            log.error("FlashSaleServiceImpl | restoreLedger | {}", e.getMessage());
+        }
+    }
+
+    private long pendingAmountOf(final String bookId) {
+        final Long pendingAmount = flashSaleReservationRepository.sumAmountByBookId(bookId);
+        return pendingAmount == null ? 0 : pendingAmount;
+    }
+
+    private static int sumOf(final List<FlashSaleReservation> reservations) {
+        return reservations.stream()
+                .mapToInt(FlashSaleReservation::getAmount)
+                .sum();
+    }
+
+    /**
+     * Runs the given action once the surrounding transaction has completed without committing.
+     */
+    private static void afterRollback(final Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+}
@@ -2,18 +2,23 @@ package com.example.demo.service.impl;
 
 import com.example.demo.dto.BookDTO;
 import com.example.demo.dto.OrderItemDTO;
+import com.example.demo.inventory.BookOrderLanes;
 import com.example.demo.model.Book;
 import com.example.demo.model.OrderItem;
 import com.example.demo.model.mapper.book.BookMapper;
 import com.example.demo.model.mapper.order.OrderItemMapper;
-import com.example.demo.payload.request.book.BookUpdateStockRequest;
 import com.example.demo.payload.request.order.OrderItemRequest;
+import com.example.demo.repository.BookRepository;
 import com.example.demo.service.BookService;
+import com.example.demo.service.FlashSaleService;
 import com.example.demo.service.OrderItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.function.Supplier;
+
 /**
  * Implementation of the {@link OrderItemService} interface for creating and managing order items.
  */
@@ -23,18 +28,23 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     private final BookService bookService;
 
+    private final FlashSaleService flashSaleService;
+
+    private final BookOrderLanes bookOrderLanes;
+
+    private final BookRepository bookRepository;
+
     /**
      * Creates an OrderItem based on the information provided in the OrderItemRequest.
      * This method performs the following steps:
-     * 1. Retrieves the BookDTO for the specified bookId.
-     * 2. Converts the BookDTO to a Book entity.
-     * 3. Checks if there is sufficient stock available for the requested amount,
+     * 1. Reserves the requested amount from the stock of the specified book,
      * throwing a {@link com.example.demo.exception.book.NoAvailableStockException} if stock is insufficient.
-     * 4. Constructs an OrderItem entity with the associated Book.
-     * 5. Updates the stock of the Book entity in the database.
-     * Important: Pessimistic Write lock is being applied on this step, to make sure that
+     * Important: For a book with striped stock, the amount is taken from one of its stock slots;
+     * otherwise a Pessimistic Write lock is applied on the book, to make sure that
      * the book data is not corrupted.
-     * 6. Returns the OrderItemDTO representing the created OrderItem.
+     * 2. Converts the reserved BookDTO to a Book entity.
+     * 3. Constructs an OrderItem entity with the associated Book.
+     * 4. Returns the OrderItemDTO representing the created OrderItem.
      *
      * @param orderDetailRequest The request containing information for creating an OrderItem,
      *                           including the bookId and the amount.
@@ -47,23 +57,48 @@ public class OrderItemServiceImpl implements OrderItemService {
     @Transactional
     public OrderItemDTO createOrderItem(OrderItemRequest orderDetailRequest) {
 
-        final BookDTO bookDTO = bookService.getBookById(orderDetailRequest.getBookId());
+        final BookDTO bookDTO = bookService.reserveStock(orderDetailRequest.getBookId(), orderDetailRequest.getAmount());
         final Book book = BookMapper.toBook(bookDTO);
 
-        bookService.isStockAvailable(bookDTO, orderDetailRequest.getAmount());
-
         final OrderItem orderItem = OrderItem.builder()
                 .book(book)
                 .build();
 
-        BookUpdateStockRequest bookUpdateStockRequest = BookUpdateStockRequest.builder()
-                .stock(bookDTO.getStock() - orderDetailRequest.getAmount())
-                .build();
+        return OrderItemMapper.toDTO(orderItem);
 
-        bookService.updateBookStockById(bookDTO.getId(), bookUpdateStockRequest);
+    }
 
-        return OrderItemMapper.toDTO(orderItem);
+    /**
+     * Runs the given action inside the per-book order lanes of the requested books.
+     * Orders for the same book queue up in the JVM instead of on the book row lock, so that they do not
+     * hold a pooled database connection while waiting.
+     * Books in flash sale mode and books with striped stock are skipped, as their stock is reserved without a
+     * row lock. Whether a book is striped is read from its row, as the book cache is evicted by every
+     * reservation and cannot be relied on for the hot books that striping is meant for.
+     *
+     * @param orderDetailRequests The order item requests whose books are going to be reserved.
+     * @param action              The action to be run once admitted.
+     * @param <T>                 The result type of the action.
+     * @return The result of the action.
+     * @throws com.example.demo.exception.book.BookOrderLaneSaturatedException If too many orders are already waiting for one of the books.
+     */
+    @Override
+    public <T> T admitOrderItems(Collection<OrderItemRequest> orderDetailRequests, Supplier<T> action) {
+
+        final Collection<String> bookIds = orderDetailRequests.stream()
+                .map(OrderItemRequest::getBookId)
+                .filter(bookId -> !flashSaleService.isInFlashSale(bookId))
+                .filter(bookId -> !isStockStriped(bookId))
+                .toList();
+
+        return bookOrderLanes.runInLanes(bookIds, action);
+
+    }
 
+    private boolean isStockStriped(final String bookId) {
+        return bookRepository.findStockSlotCountById(bookId)
+                .filter(stockSlotCount -> stockSlotCount > 0)
+                .isPresent();
     }
 
 }
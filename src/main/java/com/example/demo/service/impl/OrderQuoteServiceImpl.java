@@ -0,0 +1,103 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.BookCache;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.payload.request.order.CreateOrderRequest;
+import com.example.demo.payload.request.order.OrderItemRequest;
+import com.example.demo.service.BookService;
+import com.example.demo.service.OrderQuoteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link OrderQuoteService} interface for quoting carts.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderQuoteServiceImpl implements OrderQuoteService {
+
+    private final BookService bookService;
+
+    /**
+     * Quotes the availability and price of every line of a cart.
+     * <p>The books are read through {@link BookService#getBooksByIdsReadOnly}, that is from the {@link BookCache}
+     * and otherwise with a single read-only query outside of any transaction, so that no connection is held while
+     * the order waits for admission afterwards. The quote may lag behind concurrent orders by the cache time to
+     * live or the replica lag. Lines for the same book are checked against its stock together.</p>
+     *
+     * @param createOrderRequest The cart, in the shape of an order creation request.
+     * @return An {@link OrderQuoteDTO} representing the availability and price of the cart.
+     */
+    @Override
+    public OrderQuoteDTO quoteOrder(final CreateOrderRequest createOrderRequest) {
+
+        final Collection<OrderItemRequest> orderDetailRequests = createOrderRequest.getOrderDetailSet() == null
+                ? List.of()
+                : createOrderRequest.getOrderDetailSet();
+
+        final List<String> bookIds = orderDetailRequests.stream()
+                .map(OrderItemRequest::getBookId)
+                .distinct()
+                .toList();
+
+        final Map<String, BookDTO> books = bookIds.isEmpty()
+                ? Map.of()
+                : bookService.getBooksByIdsReadOnly(bookIds)
+                        .stream()
+                        .collect(Collectors.toMap(BookDTO::getId, Function.identity()));
+
+        final Map<String, Integer> requestedAmounts = orderDetailRequests.stream()
+                .collect(Collectors.groupingBy(OrderItemRequest::getBookId,
+                        Collectors.summingInt(OrderItemRequest::getAmount)));
+
+        final List<OrderQuoteDTO.OrderQuoteLine> lines = orderDetailRequests.stream()
+                .map(request -> toLine(request, books.get(request.getBookId()), requestedAmounts.get(request.getBookId())))
+                .toList();
+
+        final BigDecimal totalPrice = lines.stream()
+                .map(OrderQuoteDTO.OrderQuoteLine::getLinePrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return OrderQuoteDTO.builder()
+                .lines(lines)
+                .totalPrice(totalPrice)
+                .fulfillable(lines.stream().allMatch(OrderQuoteDTO.OrderQuoteLine::isAvailable))
+                .build();
+    }
+
+    private OrderQuoteDTO.OrderQuoteLine toLine(final OrderItemRequest request, final BookDTO book,
+                                                final int requestedAmount) {
+
+        if (book == null) {
+            return OrderQuoteDTO.OrderQuoteLine.builder()
+                    .bookId(request.getBookId())
+                    .amount(request.getAmount())
+                    .known(false)
+                    .available(false)
+                    .linePrice(BigDecimal.ZERO)
+                    .build();
+        }
+
+        final int stock = book.getStock() == null ? 0 : book.getStock();
+        final BigDecimal unitPrice = book.getPrice() == null ? BigDecimal.ZERO : book.getPrice();
+
+        return OrderQuoteDTO.OrderQuoteLine.builder()
+                .bookId(request.getBookId())
+                .amount(request.getAmount())
+                .known(true)
+                .available(stock >= requestedAmount)
+                .availableStock(stock)
+                .unitPrice(unitPrice)
+                .linePrice(unitPrice.multiply(BigDecimal.valueOf(request.getAmount())))
+                .build();
+    }
+
+}
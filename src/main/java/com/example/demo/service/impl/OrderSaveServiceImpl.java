@@ -2,6 +2,9 @@ package com.example.demo.service.impl;
 
 import com.example.demo.dto.OrderDTO;
 import com.example.demo.dto.OrderItemDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.exception.book.BookNotFoundException;
+import com.example.demo.exception.book.NoAvailableStockException;
 import com.example.demo.exception.user.UserNotFoundException;
 import com.example.demo.model.Order;
 import com.example.demo.model.User;
@@ -11,12 +14,13 @@ import com.example.demo.payload.request.order.CreateOrderRequest;
 import com.example.demo.repository.OrderRepository;
 import com.example.demo.security.CustomUserDetails;
 import com.example.demo.service.OrderItemService;
+import com.example.demo.service.OrderQuoteService;
 import com.example.demo.service.OrderSaveService;
 import com.example.demo.service.UserService;
 import com.example.demo.util.Identity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -29,22 +33,63 @@ public class OrderSaveServiceImpl implements OrderSaveService {
 
     private final OrderItemService orderItemService;
 
+    private final OrderQuoteService orderQuoteService;
+
     private final UserService userService;
 
     private final OrderRepository orderRepository;
 
     private final Identity identity;
 
+    private final TransactionTemplate transactionTemplate;
+
     /**
      * Creates a new order based on the provided create order request.
+     * A cart that the lock-free quote already shows to be unfulfillable is rejected up front.
+     * Otherwise the order is admitted to the order lanes of its books before its transaction is started,
+     * so that concurrent orders for the same book wait without holding a database connection.
      *
      * @param createOrderRequest The request containing order information to be used for creation.
      * @return An {@link OrderDTO} representing the newly created order.
+     * @throws BookNotFoundException     If the quote does not know one of the books.
+     * @throws NoAvailableStockException If the quote shows not enough stock for one of the books.
      */
-    @Transactional
     @Override
     public OrderDTO createOrder(CreateOrderRequest createOrderRequest) {
 
+        rejectUnfulfillable(orderQuoteService.quoteOrder(createOrderRequest));
+
+        return orderItemService.admitOrderItems(
+                createOrderRequest.getOrderDetailSet(),
+                () -> transactionTemplate.execute(status -> saveOrder(createOrderRequest))
+        );
+
+    }
+
+    /**
+     * Throws for the first line of the quote that cannot be fulfilled. As the quote is read without locks,
+     * passing this check does not guarantee the reservation; the locking transaction still checks the stock.
+     */
+    private void rejectUnfulfillable(OrderQuoteDTO orderQuoteDTO) {
+
+        if (orderQuoteDTO.isFulfillable()) {
+            return;
+        }
+
+        orderQuoteDTO.getLines().stream()
+                .filter(line -> !line.isAvailable())
+                .findFirst()
+                .ifPresent(line -> {
+                    if (!line.isKnown()) {
+                        throw new BookNotFoundException(line.getBookId());
+                    }
+                    throw new NoAvailableStockException(line.getAmount());
+                });
+
+    }
+
+    private OrderDTO saveOrder(CreateOrderRequest createOrderRequest) {
+
         CustomUserDetails customUserDetails = identity.getCustomUserDetails();
 
         User user = userService.findByEmail(customUserDetails.getEmail())
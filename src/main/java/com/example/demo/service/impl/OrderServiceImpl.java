@@ -1,6 +1,7 @@
 package com.example.demo.service.impl;
 
 import com.example.demo.dto.OrderDTO;
+import com.example.demo.dto.OrderVersionDTO;
 import com.example.demo.exception.order.OrderNotFoundException;
 import com.example.demo.model.enums.Role;
 import com.example.demo.model.mapper.order.OrderMapper;
@@ -15,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementation of the {@link OrderService} interface for managing orders.
@@ -34,24 +36,35 @@ public class OrderServiceImpl implements OrderService {
      * @return An {@link OrderDTO} representing the order with the specified ID.
      */
     @Override
+    @Transactional(readOnly = true)
     public OrderDTO findOrderById(Long id) {
 
-        CustomUserDetails userDetails = identity.getCustomUserDetails();
-
         return orderRepository.findById(id)
                 .map(order -> {
-                    // Check access based on customUserDetails here
-                    if ((userDetails.getId().equals(order.getUser().getId()) &&
-                            userDetails.getUser().getRole().equals(Role.ROLE_CUSTOMER))
-                            || userDetails.getUser().getRole().equals(Role.ROLE_ADMIN)) {
-                        return OrderMapper.toOrderDTO(order);
-                    } else {
-                        throw new AccessDeniedException("You cannot access this order by Id");
-                    }
+                    checkAccess(order.getUser().getId());
+                    return OrderMapper.toOrderDTO(order);
                 })
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
     }
 
+    /**
+     * Retrieves the id and creation time of an order with a single projection query, applying the same
+     * access rules as {@link #findOrderById(Long)}.
+     *
+     * @param id The unique identifier of the order.
+     * @return An {@link OrderVersionDTO} of the order with the specified ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderVersionDTO findOrderVersionById(final Long id) {
+
+        final OrderVersionDTO orderVersion = orderRepository.findVersionById(id)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+
+        checkAccess(orderVersion.getUserId());
+        return orderVersion;
+    }
+
     /**
      * Retrieves a paginated list of all orders associated with a customer based on their unique identifier.
      *
@@ -60,6 +73,7 @@ public class OrderServiceImpl implements OrderService {
      * @return A {@link Page} of {@link OrderDTO} objects representing the list of orders for the customer.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDTO> findAllOrdersByCustomerId(Long customerId, PaginationRequest paginationRequest) {
 
         final CustomUserDetails userDetails = identity.getCustomUserDetails();
@@ -81,6 +95,7 @@ public class OrderServiceImpl implements OrderService {
      * @return A {@link Page} of {@link OrderDTO} objects representing the list of orders within the specified date interval.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDTO> findAllOrdersBetweenTwoDatesAndPagination(PaginatedFindAllRequest paginatedFindAllRequest) {
 
         DateIntervalRequest dateIntervalRequest = paginatedFindAllRequest.getDateIntervalRequest();
@@ -94,4 +109,19 @@ public class OrderServiceImpl implements OrderService {
 
     }
 
+    /**
+     * Lets admins access every order and customers only their own.
+     *
+     * @param ownerId The unique identifier of the customer who placed the order.
+     */
+    private void checkAccess(final Long ownerId) {
+
+        final CustomUserDetails userDetails = identity.getCustomUserDetails();
+
+        if (!(userDetails.getId().equals(ownerId) && userDetails.getUser().getRole().equals(Role.ROLE_CUSTOMER))
+                && !userDetails.getUser().getRole().equals(Role.ROLE_ADMIN)) {
+            throw new AccessDeniedException("You cannot access this order by Id");
+        }
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.Coalesced;
 import com.example.demo.dto.OrderReportDTO;
 import com.example.demo.model.enums.Role;
 import com.example.demo.payload.request.pagination.PaginationRequest;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementation of the {@link StatisticsService} interface for retrieving order statistics.
@@ -31,6 +33,7 @@ public class StatisticsServiceImpl implements StatisticsService {
      * @return A {@link Page} of {@link OrderReportDTO} objects representing order statistics for the customer.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderReportDTO> getOrderStatisticsByCustomerId(Long customerId, PaginationRequest paginationRequest) {
 
         final CustomUserDetails userDetails = identity.getCustomUserDetails();
@@ -44,11 +47,15 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     /**
      * Retrieves overall order statistics.
+     * <p>Concurrent requests for one of the first pages share a single query, and its result is kept for
+     * {@code coalescing.order-statistics.ttl-ms}.</p>
      *
      * @param paginationRequest The request containing pagination information.
      * @return A {@link Page} of {@link OrderReportDTO} objects representing overall order statistics.
      */
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced(value = "order-statistics", condition = "#p0.page < 3")
     public Page<OrderReportDTO> getAllOrderStatistics(PaginationRequest paginationRequest) {
         return orderRepository.findAllOrderStatistics(paginationRequest.toPageable());
     }
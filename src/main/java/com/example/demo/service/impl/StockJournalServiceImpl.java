@@ -0,0 +1,256 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.StockMovementDTO;
+import com.example.demo.exception.book.BookNotFoundException;
+import com.example.demo.exception.book.StockHistoryNotFoundException;
+import com.example.demo.model.Book;
+import com.example.demo.model.StockBalanceSnapshot;
+import com.example.demo.model.StockMovement;
+import com.example.demo.model.enums.StockMovementType;
+import com.example.demo.model.mapper.book.StockMovementMapper;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.StockBalanceSnapshotRepository;
+import com.example.demo.repository.StockMovementRepository;
+import com.example.demo.service.BookStockSlotService;
+import com.example.demo.service.FlashSaleService;
+import com.example.demo.service.StockJournalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link StockJournalService} interface.
+ * <p>Movements recorded inside a transaction are buffered and written together right before it commits,
+ * so the movements of an order or a bulk adjustment go to the database as one batch insert, and
+ * nothing is written if the stock mutation rolls back.</p>
+ * <p>Compaction folds movements older than the retention period into one {@link StockBalanceSnapshot}
+ * per book, so point-in-time queries stay exact for any time after the snapshot.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class StockJournalServiceImpl implements StockJournalService {
+
+    private final StockMovementRepository stockMovementRepository;
+
+    private final StockBalanceSnapshotRepository stockBalanceSnapshotRepository;
+
+    private final BookRepository bookRepository;
+
+    private final BookStockSlotService bookStockSlotService;
+
+    private final FlashSaleService flashSaleService;
+
+    @Value("${inventory.stock-journal.tail-settle-ms:2000}")
+    private long tailSettleMs;
+
+    @Value("${inventory.stock-journal.compaction-batch-size:5000}")
+    private int compactionBatchSize;
+
+    /**
+     * Records a change to the stock of a book. Inside a transaction the movement is written when the
+     * transaction commits, otherwise it is written immediately.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param type   The kind of the change.
+     * @param delta  The amount added to the stock, negative if stock was removed.
+     */
+    @Override
+    public void record(final String bookId, final StockMovementType type, final int delta) {
+
+        final StockMovement stockMovement = StockMovement.builder()
+                .bookId(bookId)
+                .type(type)
+                .delta(delta)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockMovementRepository.save(stockMovement);
+            return;
+        }
+
+        pendingMovements().add(stockMovement);
+    }
+
+    /**
+     * Retrieves the movements following the given sequence number.
+     * <p>Sequence numbers are assigned before commit, so a movement may become visible after a movement
+     * with a higher sequence number. Movements younger than the settle period are therefore held back,
+     * which lets consumers safely continue from the last sequence number they have seen.</p>
+     *
+     * @param sequence The sequence number of the last movement already consumed, {@code 0} to start from the beginning.
+     * @param limit    The maximum number of movements to retrieve.
+     * @return The {@link StockMovementDTO}s in ascending sequence order.
+     */
+    @Override
+    public List<StockMovementDTO> getMovementsSince(final long sequence, final int limit) {
+
+        final LocalDateTime settledBefore = LocalDateTime.now().minusNanos(tailSettleMs * 1_000_000);
+
+        return stockMovementRepository
+                .findAllAfterSequence(sequence, settledBefore, PageRequest.of(0, limit))
+                .stream()
+                .map(StockMovementMapper::toDTO)
+                .toList();
+    }
+
+    /**
+     * Calculates the stock of a book at the given point in time from its balance snapshot
+     * and the movements recorded since.
+     *
+     * @param bookId The unique identifier of the book.
+     * @param at     The point in time.
+     * @return The stock of the book at that time.
+     * @throws StockHistoryNotFoundException If the time is before the balance snapshot of the book.
+     */
+    @Override
+    public int getStockAt(final String bookId, final LocalDateTime at) {
+
+        if (!bookRepository.existsById(bookId)) {
+            throw new BookNotFoundException(bookId);
+        }
+
+        final Optional<StockBalanceSnapshot> snapshot = stockBalanceSnapshotRepository.findById(bookId);
+        if (snapshot.isPresent() && at.isBefore(snapshot.get().getSnapshotAt())) {
+            throw new StockHistoryNotFoundException(bookId, at);
+        }
+
+        final Long delta = stockMovementRepository.sumDeltaByBookIdUpTo(bookId, at);
+
+        return snapshot.map(StockBalanceSnapshot::getStock).orElse(0)
+                + (delta == null ? 0 : delta.intValue());
+    }
+
+    /**
+     * Seeds the balance snapshot of a book that has none yet.
+     * <p>The snapshot is taken at the first recorded movement of the book, holding its current stock minus
+     * every recorded movement, so that the history stays exact however many movements were recorded before
+     * the book was seeded. A book without movements gets its current stock as of now.</p>
+     * <p>The book row is locked first, so that no order can change the stock while it is read.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     */
+    @Override
+    @Transactional
+    public void seedSnapshot(final String bookId) {
+
+        final Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+
+        if (stockBalanceSnapshotRepository.existsById(bookId)) {
+            return;
+        }
+
+        final Long recordedDelta = stockMovementRepository.sumDeltaByBookId(bookId);
+        final LocalDateTime firstMovementAt = stockMovementRepository.findFirstCreatedAtByBookId(bookId);
+
+        stockBalanceSnapshotRepository.save(StockBalanceSnapshot.builder()
+                .bookId(bookId)
+                .stock(currentStockOf(book) - (recordedDelta == null ? 0 : recordedDelta.intValue()))
+                .snapshotAt(firstMovementAt == null ? LocalDateTime.now() : firstMovementAt)
+                .build());
+    }
+
+    /**
+     * Folds one batch of the movements created before the given time into the balance snapshots and deletes them.
+     * The movements are read with a locking read, so the folded movements are exactly the deleted ones.
+     *
+     * @param createdBefore The exclusive upper bound of the creation time of the movements to be compacted.
+     * @return The number of compacted movements.
+     */
+    @Override
+    @Transactional
+    public int compact(final LocalDateTime createdBefore) {
+
+        final List<StockMovement> movements = stockMovementRepository
+                .findAllCreatedBeforeForUpdate(createdBefore, PageRequest.of(0, compactionBatchSize));
+
+        if (movements.isEmpty()) {
+            return 0;
+        }
+
+        final Map<String, Integer> deltas = movements.stream()
+                .collect(Collectors.groupingBy(StockMovement::getBookId, Collectors.summingInt(StockMovement::getDelta)));
+
+        final Map<String, StockBalanceSnapshot> snapshots = stockBalanceSnapshotRepository.findAllById(deltas.keySet())
+                .stream()
+                .collect(Collectors.toMap(StockBalanceSnapshot::getBookId, snapshot -> snapshot));
+
+        deltas.forEach((bookId, delta) -> {
+            final StockBalanceSnapshot snapshot = snapshots.getOrDefault(bookId, StockBalanceSnapshot.builder()
+                    .bookId(bookId)
+                    .stock(0)
+                    .snapshotAt(createdBefore)
+                    .build());
+
+            snapshot.setStock(snapshot.getStock() + delta);
+            if (snapshot.getSnapshotAt().isBefore(createdBefore)) {
+                snapshot.setSnapshotAt(createdBefore);
+            }
+            snapshots.put(bookId, snapshot);
+        });
+
+        stockBalanceSnapshotRepository.saveAll(snapshots.values());
+        stockMovementRepository.deleteAllInBatch(movements);
+
+        return movements.size();
+    }
+
+    /**
+     * Retrieves the movements buffered for the current transaction, registering the buffer
+     * and its flush on first use.
+     */
+    @SuppressWarnings("unchecked")
+    private List<StockMovement> pendingMovements() {
+
+        final List<StockMovement> bound = (List<StockMovement>) TransactionSynchronizationManager.getResource(this);
+        if (bound != null) {
+            return bound;
+        }
+
+        final List<StockMovement> pending = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stockMovementRepository.saveAll(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockJournalServiceImpl.this);
+            }
+        });
+
+        return pending;
+    }
+
+    /**
+     * Retrieves the stock of a book wherever it currently lives: the flash sale ledger,
+     * the stock slots or the stock column.
+     */
+    private int currentStockOf(final Book book) {
+
+        if (book.isFlashSale()) {
+            return (int) flashSaleService.getAvailableStock(book.getId()).orElse(book.getStock() == null ? 0 : book.getStock());
+        }
+
+        if (book.isStockStriped()) {
+            return bookStockSlotService.getTotalStock(book.getId());
+        }
+
+        return book.getStock() == null ? 0 : book.getStock();
+    }
+
+}
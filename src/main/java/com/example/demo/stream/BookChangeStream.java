@@ -0,0 +1,397 @@
+package com.example.demo.stream;
+
+import com.example.demo.dto.BookDTO;
+import com.example.demo.payload.response.book.BookChangeEventResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes changes of the stock and price of books to subscribers as server-sent events.
+ * <p>Changes are coalesced per book: only the latest change of a book within a coalescing window is sent.
+ * A subscriber either follows the whole catalog or a set of books, and is indexed by book so that an event
+ * only visits the subscribers interested in it.</p>
+ * <p>Idle subscribers hold no thread: the emitters are asynchronous requests, events are put on a bounded
+ * per-subscriber buffer and written by a small pool of sender threads. A subscriber whose buffer overflows
+ * is too slow to keep up and is dropped; it can reconnect and catch up through the change feed, using the
+ * change version sent as event id.</p>
+ * <p>A send that does not complete within the send timeout means the client stopped reading: the subscriber is
+ * dropped and, so that it does not hold back the other subscribers, the sender pool gets an extra thread until
+ * the stalled send returns. The emitter of a subscriber is only ever touched by the sender draining it.</p>
+ */
+@Component
+@Slf4j
+public class BookChangeStream {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<String, BookDTO> pendingChanges = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Set<Subscriber> catalogSubscribers = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Set<Subscriber>> subscribersByBook = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ThreadPoolExecutor senders;
+
+    private final Object sendersLock = new Object();
+
+    private final int senderThreads;
+
+    private int stalledSenders;
+
+    private final int bufferSize;
+
+    private final long sendTimeoutNanos;
+
+    private final long timeoutMs;
+
+    private final Counter events;
+
+    private final Counter dropped;
+
+    /**
+     * Creates the stream, starts its coalescing and heartbeat schedule and registers its metrics.
+     *
+     * @param coalesceWindowMs    How long changes of a book are coalesced before being sent, in milliseconds.
+     * @param heartbeatIntervalMs How often idle subscribers get a heartbeat comment, in milliseconds.
+     * @param bufferSize          The number of events buffered per subscriber before it is dropped.
+     * @param senderThreads       The number of threads writing events to subscribers.
+     * @param sendTimeoutMs       How long a single send may take before the subscriber is dropped, in milliseconds.
+     * @param timeoutMs           How long a subscription lasts before the client has to reconnect, in milliseconds.
+     * @param meterRegistry       The registry the metrics are published to.
+     */
+    public BookChangeStream(@Value("${stream.books.coalesce-window-ms:250}") final long coalesceWindowMs,
+                            @Value("${stream.books.heartbeat-interval-ms:30000}") final long heartbeatIntervalMs,
+                            @Value("${stream.books.subscriber-buffer:64}") final int bufferSize,
+                            @Value("${stream.books.sender-threads:4}") final int senderThreads,
+                            @Value("${stream.books.send-timeout-ms:5000}") final long sendTimeoutMs,
+                            @Value("${stream.books.timeout-ms:1800000}") final long timeoutMs,
+                            final MeterRegistry meterRegistry) {
+
+        this.bufferSize = bufferSize;
+        this.senderThreads = senderThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.timeoutMs = timeoutMs;
+
+        final AtomicInteger senderCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "book-change-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "book-change-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flush, coalesceWindowMs, coalesceWindowMs, TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        final long stallCheckIntervalMs = Math.max(1, sendTimeoutMs / 2);
+        this.scheduler.scheduleWithFixedDelay(this::evictStalledSubscribers, stallCheckIntervalMs, stallCheckIntervalMs,
+                TimeUnit.MILLISECONDS);
+
+        this.events = Counter.builder("books.stream.events")
+                .description("Coalesced book change events dispatched to subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("books.stream.subscribers.dropped")
+                .description("Subscribers dropped because their buffer overflowed or a send stalled")
+                .register(meterRegistry);
+        Gauge.builder("books.stream.subscribers", subscribers, Set::size)
+                .description("Number of open book change subscriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription to the changes of the given books.
+     *
+     * @param bookIds The unique identifiers of the books to follow, or an empty collection to follow the whole catalog.
+     * @return The emitter the events are sent through.
+     */
+    public SseEmitter subscribe(final Collection<String> bookIds) {
+        return register(bookIds, new SseEmitter(timeoutMs));
+    }
+
+    /**
+     * Queues the change of a book, replacing a change of the same book that has not been sent yet.
+     *
+     * @param book The book after the change.
+     */
+    public void publish(final BookDTO book) {
+        pendingChanges.put(book.getId(), book);
+    }
+
+    SseEmitter register(final Collection<String> bookIds, final SseEmitter emitter) {
+
+        final Subscriber subscriber = new Subscriber(emitter, bookIds == null ? Set.of() : Set.copyOf(bookIds), bufferSize);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        subscribers.add(subscriber);
+        if (subscriber.bookIds.isEmpty()) {
+            catalogSubscribers.add(subscriber);
+        } else {
+            subscriber.bookIds.forEach(bookId -> subscribersByBook.compute(bookId, (key, bookSubscribers) -> {
+                final Set<Subscriber> updated = bookSubscribers == null ? ConcurrentHashMap.newKeySet() : bookSubscribers;
+                updated.add(subscriber);
+                return updated;
+            }));
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Dispatches the changes coalesced since the last flush to the subscribers interested in them.
+     */
+    void flush() {
+
+        try {
+            for (final String bookId : pendingChanges.keySet()) {
+                final BookDTO book = pendingChanges.remove(bookId);
+                if (book == null) {
+                    continue;
+                }
+
+                final BookChangeEventResponse event = BookChangeEventResponse.builder()
+                        .bookId(book.getId())
+                        .stock(book.getStock())
+                        .price(book.getPrice())
+                        .changeVersion(book.getChangeVersion())
+                        .build();
+                events.increment();
+
+                catalogSubscribers.forEach(subscriber -> enqueue(subscriber, event));
+                final Set<Subscriber> bookSubscribers = subscribersByBook.get(bookId);
+                if (bookSubscribers != null) {
+                    bookSubscribers.forEach(subscriber -> enqueue(subscriber, event));
+                }
+            }
+        } catch (Exception e) {
+            log.error("BookChangeStream | flush | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment to every subscriber, so that connections closed by the client are detected.
+     */
+    void heartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT));
+    }
+
+    /**
+     * Drops the subscribers whose current send has taken longer than the send timeout, interrupts their sender and
+     * adds a sender thread in its place until the stalled send returns.
+     */
+    void evictStalledSubscribers() {
+
+        final long now = System.nanoTime();
+        subscribers.forEach(subscriber -> {
+            synchronized (sendersLock) {
+                final long sendStartedNanos = subscriber.sendStartedNanos;
+                if (sendStartedNanos == 0 || subscriber.stalled || now - sendStartedNanos < sendTimeoutNanos) {
+                    return;
+                }
+                subscriber.stalled = true;
+                resizeSenders(++stalledSenders);
+                subscriber.sender.interrupt();
+            }
+            log.warn("BookChangeStream | evictStalledSubscribers | Send stalled for more than {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            close(subscriber);
+        });
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    int getSenderThreads() {
+        return senders.getCorePoolSize();
+    }
+
+    /**
+     * Stops dispatching and closes all subscriptions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void enqueue(final Subscriber subscriber, final Object item) {
+
+        if (!subscriber.buffer.offer(item)) {
+            close(subscriber);
+            return;
+        }
+
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * Drops a subscriber; its emitter is completed by the sender draining it, never by the calling thread, since
+     * the emitter is locked for as long as a send to it is in progress.
+     */
+    private void close(final Subscriber subscriber) {
+
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        dropped.increment();
+        unregister(subscriber);
+        subscriber.buffer.clear();
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(final Subscriber subscriber) {
+
+        if (senders.isShutdown() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(final Subscriber subscriber) {
+
+        try {
+            Object item;
+            while (!subscriber.closed.get() && (item = subscriber.buffer.poll()) != null) {
+                send(subscriber, item);
+            }
+            if (subscriber.closed.get() && subscriber.completed.compareAndSet(false, true)) {
+                subscriber.emitter.complete();
+            }
+        } finally {
+            subscriber.draining.set(false);
+            if (!subscriber.buffer.isEmpty() || subscriber.closed.get() && !subscriber.completed.get()) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    private void send(final Subscriber subscriber, final Object item) {
+
+        synchronized (sendersLock) {
+            subscriber.sender = Thread.currentThread();
+            subscriber.sendStartedNanos = System.nanoTime();
+        }
+
+        try {
+            if (item == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                final BookChangeEventResponse event = (BookChangeEventResponse) item;
+                final SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                        .name("book-change")
+                        .data(event, MediaType.APPLICATION_JSON);
+                if (event.getChangeVersion() != null) {
+                    builder.id(String.valueOf(event.getChangeVersion()));
+                }
+                subscriber.emitter.send(builder);
+            }
+        } catch (IOException | IllegalStateException e) {
+            unregister(subscriber);
+            subscriber.buffer.clear();
+        } finally {
+            synchronized (sendersLock) {
+                subscriber.sendStartedNanos = 0;
+                subscriber.sender = null;
+                if (subscriber.stalled) {
+                    subscriber.stalled = false;
+                    resizeSenders(--stalledSenders);
+                }
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void resizeSenders(final int extraThreads) {
+
+        final int size = senderThreads + extraThreads;
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void unregister(final Subscriber subscriber) {
+
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+
+        catalogSubscribers.remove(subscriber);
+        subscriber.bookIds.forEach(bookId -> subscribersByBook.computeIfPresent(bookId, (key, bookSubscribers) -> {
+            bookSubscribers.remove(subscriber);
+            return bookSubscribers.isEmpty() ? null : bookSubscribers;
+        }));
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Set<String> bookIds;
+
+        private final Queue<Object> buffer;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private volatile long sendStartedNanos;
+
+        private Thread sender;
+
+        private boolean stalled;
+
+        private Subscriber(final SseEmitter emitter, final Set<String> bookIds, final int bufferSize) {
+            this.emitter = emitter;
+            this.bookIds = bookIds;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+    }
+
+}
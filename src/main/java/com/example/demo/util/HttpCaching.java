@@ -0,0 +1,47 @@
+package com.example.demo.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+@UtilityClass
+public class HttpCaching {
+
+    /**
+     * Answers a conditional GET request. If the {@code If-None-Match} or {@code If-Modified-Since} header of the
+     * request matches the given validators, a {@code 304 Not Modified} without a body is returned and the body is
+     * never built; otherwise the body is built and returned with the validators.
+     * {@code If-None-Match} takes precedence over {@code If-Modified-Since}.
+     *
+     * @param webRequest   The current request.
+     * @param eTag         The strong entity tag of the current representation, or {@code null} if there is none.
+     * @param lastModified The time the resource last changed, or {@code null} if it is not known.
+     * @param cacheControl The caching policy of the endpoint, sent with both outcomes.
+     * @param body         Builds the body, only called if the request has no matching validator.
+     * @param <T>          The type of the body.
+     * @return The full response or the not modified response.
+     */
+    public static <T> ResponseEntity<T> conditionalGet(final WebRequest webRequest,
+                                                       final String eTag,
+                                                       final Instant lastModified,
+                                                       final CacheControl cacheControl,
+                                                       final Supplier<T> body) {
+
+        final long lastModifiedMillis = lastModified == null ? -1 : lastModified.toEpochMilli();
+        if (webRequest.checkNotModified(eTag, lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(body.get());
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.example.demo.warmup;
+
+import com.example.demo.dto.BookDTO;
+import com.example.demo.model.enums.TokenClaims;
+import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.model.mapper.order.OrderMapper;
+import com.example.demo.model.mapper.order.OrderReportMapper;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.security.jwt.JwtUtils;
+import com.example.demo.service.BookService;
+import com.example.demo.service.StatisticsService;
+import com.example.demo.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the application up before it reports itself ready: opens the connection pool, then replays a synthetic
+ * mix of book and order reads, token parses and statistics queries in-process, so that the first real requests
+ * do not pay for lazily opened connections, first-use query translation and interpreted code.
+ * <p>Application runners complete before the readiness state changes to accepting traffic, so the actuator
+ * readiness probe reports the application out of service until the warm-up is over. The warm-up stops once its
+ * time budget is spent, and is skipped if the pool cannot be opened. Its duration is published as the
+ * {@code application.warmup} timer.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StartupWarmUpRunner implements ApplicationRunner {
+
+    private static final String WARM_UP_EMAIL = "warmup@bookdelivery.local";
+
+    private final DataSource dataSource;
+
+    private final BookService bookService;
+
+    private final StatisticsService statisticsService;
+
+    private final UserService userService;
+
+    private final OrderRepository orderRepository;
+
+    private final JwtUtils jwtUtils;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.connections:10}")
+    private int connections;
+
+    @Value("${warmup.iterations:100}")
+    private int iterations;
+
+    @Value("${warmup.max-duration-ms:30000}")
+    private long maxDurationMs;
+
+    @Value("${warmup.mix.book-reads:10}")
+    private int bookReads;
+
+    @Value("${warmup.mix.order-reads:2}")
+    private int orderReads;
+
+    @Value("${warmup.mix.token-parses:10}")
+    private int tokenParses;
+
+    @Value("${warmup.mix.statistics-queries:1}")
+    private int statisticsQueries;
+
+    /**
+     * Runs the warm-up and records its duration.
+     *
+     * @param args The application arguments.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+
+        if (!enabled) {
+            return;
+        }
+
+        final long startedAt = System.nanoTime();
+        final long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+
+        try {
+            openPool();
+
+            int failures = 0;
+            int iteration = 0;
+            for (; iteration < iterations && System.nanoTime() - deadline < 0; iteration++) {
+                failures += replay(bookReads, this::readBooks);
+                failures += replay(orderReads, this::readOrders);
+                failures += replay(tokenParses, this::parseToken);
+                failures += replay(statisticsQueries, this::queryStatistics);
+            }
+
+            log.info("StartupWarmUpRunner | run | {} iterations in {} ms, {} failed requests", iteration,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), failures);
+        } catch (Exception e) {
+            log.error("StartupWarmUpRunner | run | {}", e.getMessage());
+        } finally {
+            Timer.builder("application.warmup")
+                    .description("Duration of the warm-up run before the application reports itself ready")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Opens connections up to the pool size by holding them all at once, then hands them back to the pool.
+     */
+    private void openPool() throws SQLException {
+
+        final int poolSize = dataSource.isWrapperFor(HikariDataSource.class)
+                ? Math.min(connections, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize())
+                : connections;
+
+        final List<Connection> opened = new ArrayList<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                opened.add(dataSource.getConnection());
+            }
+        } finally {
+            for (final Connection connection : opened) {
+                connection.close();
+            }
+        }
+    }
+
+    private int replay(final int times, final Runnable request) {
+
+        int failures = 0;
+        for (int i = 0; i < times; i++) {
+            try {
+                request.run();
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private void readBooks() {
+
+        final Page<BookDTO> books = bookService.getAllBooks(new PaginationRequest(0, 10));
+        BookMapper.toGetResponse(books);
+
+        for (final BookDTO book : books) {
+            final BookDTO cached = bookService.getBookById(book.getId());
+            BookMapper.toGetResponse(cached);
+            BookMapper.toETag(cached);
+        }
+    }
+
+    private void readOrders() {
+        orderRepository.findAll(PageRequest.of(0, 10))
+                .map(OrderMapper::toOrderDTO)
+                .forEach(OrderMapper::toGetResponse);
+    }
+
+    private void parseToken() {
+
+        final String token = jwtUtils.createToken(Map.of(
+                TokenClaims.ID.getValue(), 0L,
+                TokenClaims.EMAIL.getValue(), WARM_UP_EMAIL
+        ), WARM_UP_EMAIL);
+
+        jwtUtils.extractClaims(token);
+        jwtUtils.getIdFromToken(token);
+        userService.findByEmail(jwtUtils.getEmailFromToken(token));
+    }
+
+    private void queryStatistics() {
+        OrderReportMapper.toOrderReportResponseList(statisticsService.getAllOrderStatistics(new PaginationRequest(0, 10)));
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.example.demo.workload;
+
+import com.example.demo.exception.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Admits every request through the {@link AdaptiveConcurrencyLimiter} before any other filter, so that excess load
+ * is shed with a {@code 503 Service Unavailable} and a {@code Retry-After} header instead of queueing until it times
+ * out.
+ * <p>Requests are grouped by their {@link WorkloadClass}, unclassified ones under {@value #OTHER_GROUP}, and order
+ * placement is the priority group. An asynchronous request is released once it completes, except for event streams,
+ * which are released as soon as they are subscribed.</p>
+ * <p>Requests to the management endpoints bypass the limiter, so that health probes keep being answered while the
+ * application sheds load and an overloaded instance is not restarted or taken out of rotation for it.</p>
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * The route group of the requests of no workload class.
+     */
+    public static final String OTHER_GROUP = "other";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final long retryAfterSeconds;
+
+    private final String managementBasePath;
+
+    /**
+     * Creates the filter.
+     *
+     * @param limiter            The limiter the requests are admitted through.
+     * @param objectMapper       The mapper the error responses are written with.
+     * @param retryAfterSeconds  The delay suggested to rejected clients, in seconds.
+     * @param managementBasePath The base path of the management endpoints, which are never limited.
+     */
+    public AdaptiveConcurrencyLimitFilter(final AdaptiveConcurrencyLimiter limiter,
+                                          final ObjectMapper objectMapper,
+                                          final long retryAfterSeconds,
+                                          final String managementBasePath) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.managementBasePath = managementBasePath;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(managementBasePath) || path.startsWith(managementBasePath + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+
+        final Optional<WorkloadClass> workloadClass = WorkloadClass.of(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        final String group = workloadClass.map(WorkloadClass::getKey).orElse(OTHER_GROUP);
+
+        final Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire(group,
+                workloadClass.filter(WorkloadClass.ORDER_WRITE::equals).isPresent());
+        if (permit.isEmpty()) {
+            reject(response, group);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.get().releaseWithoutSample();
+            throw e;
+        }
+
+        if (!request.isAsyncStarted()) {
+            permit.get().release();
+        } else if (isEventStream(response)) {
+            permit.get().releaseWithoutSample();
+        } else {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit.get()));
+        }
+    }
+
+    private static boolean isEventStream(final HttpServletResponse response) {
+        return response.getContentType() != null
+                && response.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private void reject(final HttpServletResponse response, final String group) throws IOException {
+
+        log.warn("AdaptiveConcurrencyLimitFilter | reject | limit of {} reached for {}", limiter.getLimit(), group);
+
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .message("The server is overloaded, please try again later!")
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once it completes, without a sample if it timed out or failed.
+     */
+    private record PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            permit.releaseWithoutSample();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            permit.releaseWithoutSample();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
+}
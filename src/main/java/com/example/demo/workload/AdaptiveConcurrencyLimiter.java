@@ -0,0 +1,227 @@
+package com.example.demo.workload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of requests handled at a time with a limit adapted to the observed latency, following the
+ * AIMD (additive increase, multiplicative decrease) algorithm of Netflix concurrency-limits.
+ * <p>Every completed request is a latency sample of its route group, compared with the usual latency of that group.
+ * While at least half of the limit is in use, a sample slower than {@code latencyTolerance} times the usual latency
+ * means requests are queueing downstream and the limit is cut by {@code backoffRatio}, and any other sample grows it
+ * by one. Requests over the limit are rejected at once instead of queueing. A share of the limit is reserved for the
+ * priority group: the other groups are rejected once they would leave less than {@code priorityShare} of it free.</p>
+ * <p>The state is published as the {@code workload.adaptive.limit} gauge and, per route group, the
+ * {@code workload.adaptive.in-flight} and {@code workload.adaptive.latency.baseline} gauges and the
+ * {@code workload.adaptive.rejected} counter.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_SMOOTHING = 0.1;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final double latencyTolerance;
+
+    private final double priorityShare;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, RouteGroup> groups = new ConcurrentHashMap<>();
+
+    private volatile int limit;
+
+    private int inFlight;
+
+    private int otherInFlight;
+
+    /**
+     * Creates the limiter and registers its metrics.
+     *
+     * @param initialLimit     The limit before any sample is taken.
+     * @param minLimit         The lowest the limit is cut to.
+     * @param maxLimit         The highest the limit grows to.
+     * @param backoffRatio     The ratio the limit is multiplied by on a slow sample.
+     * @param latencyTolerance How many times its usual latency a request may take before it counts as slow.
+     * @param priorityShare    The share of the limit only the priority group may use.
+     * @param meterRegistry    The registry the metrics are published to.
+     */
+    public AdaptiveConcurrencyLimiter(final int initialLimit,
+                                      final int minLimit,
+                                      final int maxLimit,
+                                      final double backoffRatio,
+                                      final double latencyTolerance,
+                                      final double priorityShare,
+                                      final MeterRegistry meterRegistry) {
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.priorityShare = priorityShare;
+        this.meterRegistry = meterRegistry;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("workload.adaptive.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Requests handled at a time at most, adapted to the latency")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request of the given route group if the limit allows it.
+     *
+     * @param group    The route group of the request.
+     * @param priority Whether the request may use the share of the limit reserved for priority requests.
+     * @return The permit of the admitted request, to be released once it completes, or empty if it is rejected.
+     */
+    public Optional<Permit> tryAcquire(final String group, final boolean priority) {
+
+        final RouteGroup routeGroup = groups.computeIfAbsent(group, this::register);
+        synchronized (this) {
+            final int reserved = (int) Math.ceil(limit * priorityShare);
+            if (inFlight < limit && (priority || otherInFlight < limit - reserved)) {
+                inFlight++;
+                if (!priority) {
+                    otherInFlight++;
+                }
+                routeGroup.inFlight.incrementAndGet();
+                return Optional.of(new Permit(routeGroup, priority, inFlight, System.nanoTime()));
+            }
+        }
+        routeGroup.rejected.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return The number of requests handled at a time at most.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    private synchronized void onSample(final Permit permit, final long latencyNanos) {
+
+        free(permit);
+
+        final RouteGroup group = permit.group;
+        if (group.baselineNanos == 0) {
+            group.baselineNanos = latencyNanos;
+            return;
+        }
+
+        // Latency is only attributed to concurrency while the limit is actually in use
+        final boolean loaded = permit.inFlightAtStart * 2 >= limit;
+        final boolean slow = latencyNanos > group.baselineNanos * latencyTolerance;
+        if (slow && loaded && limit > minLimit) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            return;
+        }
+        if (!slow && loaded) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        // Slow samples at the lowest limit are learnt from, so that a lasting change of the usual latency is followed
+        group.baselineNanos += (latencyNanos - group.baselineNanos) * BASELINE_SMOOTHING;
+    }
+
+    private synchronized void free(final Permit permit) {
+        inFlight--;
+        if (!permit.priority) {
+            otherInFlight--;
+        }
+        permit.group.inFlight.decrementAndGet();
+    }
+
+    private RouteGroup register(final String group) {
+
+        final RouteGroup routeGroup = new RouteGroup(Counter.builder("workload.adaptive.rejected")
+                .description("Requests rejected because the adaptive limit was reached")
+                .tag("group", group)
+                .register(meterRegistry));
+        Gauge.builder("workload.adaptive.in-flight", routeGroup.inFlight, AtomicInteger::get)
+                .description("Requests of the route group being handled")
+                .tag("group", group)
+                .register(meterRegistry);
+        TimeGauge.builder("workload.adaptive.latency.baseline", routeGroup, TimeUnit.NANOSECONDS,
+                        value -> value.baselineNanos)
+                .description("Usual latency of the route group the samples are compared with")
+                .tag("group", group)
+                .register(meterRegistry);
+        return routeGroup;
+    }
+
+    /**
+     * The admission of one request, released exactly once when the request completes.
+     */
+    public final class Permit {
+
+        private final RouteGroup group;
+
+        private final boolean priority;
+
+        private final int inFlightAtStart;
+
+        private final long startNanos;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(final RouteGroup group, final boolean priority, final int inFlightAtStart, final long startNanos) {
+            this.group = group;
+            this.priority = priority;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the permit, taking the time since it was acquired as a latency sample.
+         */
+        public void release() {
+            release(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Releases the permit without a latency sample, for requests that failed or are not meant to complete soon.
+         */
+        public void releaseWithoutSample() {
+            if (released.compareAndSet(false, true)) {
+                free(this);
+            }
+        }
+
+        void release(final long latencyNanos) {
+            if (released.compareAndSet(false, true)) {
+                onSample(this, latencyNanos);
+            }
+        }
+
+    }
+
+    private static final class RouteGroup {
+
+        private final Counter rejected;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private volatile double baselineNanos;
+
+        private RouteGroup(final Counter rejected) {
+            this.rejected = rejected;
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.example.demo.workload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs the {@link WorkloadClass#ANALYTICS} requests asynchronously on a bounded executor of their own.
+ * <p>The controller returns the task right away, so a long statistics query holds neither a Tomcat thread nor
+ * more connections than the analytics quota while it runs. Tasks beyond the pool threads wait in a bounded queue;
+ * once that is full too, the request is rejected with a {@code 503 Service Unavailable}. The saturation of the
+ * executor is published with the same {@code workload.*} metrics as the bulkheads of the other classes.</p>
+ * <p>The executor is not exposed as a bean, so that it does not replace the application task executor.</p>
+ */
+@Component
+public class AnalyticsTasks {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final long timeoutMs;
+
+    /**
+     * Creates the executor and registers its metrics.
+     *
+     * @param threads       The number of analytics requests run at a time.
+     * @param queueCapacity The number of analytics requests waiting for a thread at most.
+     * @param timeoutMs     How long an analytics request may take, in milliseconds.
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    public AnalyticsTasks(@Value("${workload.analytics.threads:2}") final int threads,
+                          @Value("${workload.analytics.queue-capacity:10}") final int queueCapacity,
+                          @Value("${workload.analytics.timeout-ms:30000}") final long timeoutMs,
+                          final MeterRegistry meterRegistry) {
+
+        this.timeoutMs = timeoutMs;
+
+        final String workload = WorkloadClass.ANALYTICS.getKey();
+        final Counter rejected = Counter.builder("workload.rejected")
+                .description("Requests rejected because their workload class was saturated")
+                .tag("workload", workload)
+                .register(meterRegistry);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(workload + "-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(task -> () -> {
+            WorkloadContext.set(WorkloadClass.ANALYTICS);
+            try {
+                task.run();
+            } finally {
+                WorkloadContext.clear();
+            }
+        });
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
+        executor.initialize();
+
+        Gauge.builder("workload.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Requests of the workload class being handled")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("workload.waiting", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+                .description("Requests of the workload class waiting to be handled")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("workload.limit", () -> threads)
+                .description("Requests of the workload class handled at a time at most")
+                .tag("workload", workload)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps the given work into an asynchronous task run on the analytics executor.
+     *
+     * @param work The work producing the response.
+     * @param <T>  The type of the response.
+     * @return The task to be returned by the controller.
+     */
+    public <T> WebAsyncTask<T> submit(final Callable<T> work) {
+        return new WebAsyncTask<>(timeoutMs, executor, work);
+    }
+
+    /**
+     * Stops the executor, letting the running and queued requests complete.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.demo.workload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests of one {@link WorkloadClass} handled at a time with a fair semaphore.
+ * <p>With a {@code maxWaitMs} of {@code 0}, the default, a request that finds no free slot is rejected at once;
+ * otherwise it waits up to {@code maxWaitMs} for one. A wait smooths out short bursts, but the waiting request holds
+ * its Tomcat thread, which is what the bulkhead is meant to keep free for the other classes. The saturation of the
+ * bulkhead is published as the {@code workload.active}, {@code workload.waiting} and {@code workload.limit} gauges
+ * and the {@code workload.rejected} counter, tagged with the workload class.</p>
+ */
+public class WorkloadBulkhead {
+
+    private final Semaphore slots;
+
+    private final long maxWaitMs;
+
+    private final Counter rejected;
+
+    /**
+     * Creates the bulkhead and registers its metrics.
+     *
+     * @param workloadClass The workload class isolated by the bulkhead.
+     * @param maxConcurrent The number of requests handled at a time.
+     * @param maxWaitMs     How long a request waits for a free slot, in milliseconds; {@code 0} not to wait.
+     * @param meterRegistry The registry the metrics are published to.
+     */
+    public WorkloadBulkhead(final WorkloadClass workloadClass,
+                            final int maxConcurrent,
+                            final long maxWaitMs,
+                            final MeterRegistry meterRegistry) {
+
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.maxWaitMs = maxWaitMs;
+
+        final String workload = workloadClass.getKey();
+        this.rejected = Counter.builder("workload.rejected")
+                .description("Requests rejected because their workload class was saturated")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("workload.active", slots, semaphore -> maxConcurrent - semaphore.availablePermits())
+                .description("Requests of the workload class being handled")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("workload.waiting", slots, Semaphore::getQueueLength)
+                .description("Requests of the workload class waiting to be handled")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("workload.limit", () -> maxConcurrent)
+                .description("Requests of the workload class handled at a time at most")
+                .tag("workload", workload)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, without waiting if the maximum wait is {@code 0} and otherwise waiting up to the maximum wait
+     * for one to free up.
+     *
+     * @return {@code true} if a slot was taken and must be given back with {@link #leave()}.
+     */
+    public boolean tryEnter() {
+
+        if (maxWaitMs <= 0 ? slots.tryAcquire() : acquireWithin(maxWaitMs)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Gives a slot back.
+     */
+    public void leave() {
+        slots.release();
+    }
+
+    private boolean acquireWithin(final long waitMs) {
+
+        try {
+            return slots.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
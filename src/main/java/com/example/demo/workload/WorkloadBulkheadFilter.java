@@ -0,0 +1,96 @@
+package com.example.demo.workload;
+
+import com.example.demo.exception.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Classifies every request into its {@link WorkloadClass} and admits it through the {@link WorkloadBulkhead} of
+ * that class, before authentication.
+ * <p>The class is kept in the {@link WorkloadContext} while the request is handled, so that its connections count
+ * against the quota of the class. A request rejected by its bulkhead gets a {@code 503 Service Unavailable} with a
+ * {@code Retry-After} header. Classes without a bulkhead, such as the analytics class running on its own executor,
+ * are only classified.</p>
+ */
+@Slf4j
+public class WorkloadBulkheadFilter extends OncePerRequestFilter {
+
+    private final Map<WorkloadClass, WorkloadBulkhead> bulkheads;
+
+    private final ObjectMapper objectMapper;
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Creates the filter.
+     *
+     * @param bulkheads         The bulkheads, by workload class.
+     * @param objectMapper      The mapper the error responses are written with.
+     * @param retryAfterSeconds The delay suggested to rejected clients, in seconds.
+     */
+    public WorkloadBulkheadFilter(final Map<WorkloadClass, WorkloadBulkhead> bulkheads,
+                                  final ObjectMapper objectMapper,
+                                  final long retryAfterSeconds) {
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+
+        final Optional<WorkloadClass> workloadClass = WorkloadClass.of(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (workloadClass.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final WorkloadBulkhead bulkhead = bulkheads.get(workloadClass.get());
+        if (bulkhead != null && !bulkhead.tryEnter()) {
+            reject(response, workloadClass.get());
+            return;
+        }
+
+        WorkloadContext.set(workloadClass.get());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            WorkloadContext.clear();
+            if (bulkhead != null) {
+                bulkhead.leave();
+            }
+        }
+    }
+
+    private void reject(final HttpServletResponse response, final WorkloadClass workloadClass) throws IOException {
+
+        log.warn("WorkloadBulkheadFilter | reject | {} requests saturated", workloadClass.getKey());
+
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .message("Too many " + workloadClass.getKey() + " requests are being handled, please try again later!")
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+}
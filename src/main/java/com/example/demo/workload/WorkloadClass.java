@@ -0,0 +1,73 @@
+package com.example.demo.workload;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The workload classes requests are isolated by, each with its own concurrency limit and connection quota.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum WorkloadClass {
+
+    /**
+     * Order placement and quotes.
+     */
+    ORDER_WRITE("order-write"),
+
+    /**
+     * Book lookups, pages, search and the change feed.
+     */
+    CATALOG_READ("catalog-read"),
+
+    /**
+     * Order statistics and order reports over date ranges, run asynchronously on their own executor.
+     */
+    ANALYTICS("analytics"),
+
+    /**
+     * Registration, sign-in and token refresh.
+     */
+    AUTH("auth");
+
+    private static final String BOOKS = "/api/v1/books";
+
+    private static final Set<String> BOOK_READ_POSTS = Set.of(
+            BOOKS + "/batch", BOOKS + "/all", BOOKS + "/search", BOOKS + "/autocomplete");
+
+    /**
+     * The name of the class in the configuration and in the metric tags.
+     */
+    private final String key;
+
+    /**
+     * Classifies a request by its method and path. Requests of no class, such as book and user administration,
+     * order lookups and the actuator, are not isolated.
+     *
+     * @param method The HTTP method of the request.
+     * @param path   The path of the request, without the context path.
+     * @return The workload class of the request, if any.
+     */
+    public static Optional<WorkloadClass> of(final String method, final String path) {
+
+        if (path.startsWith("/api/v1/auth/")) {
+            return Optional.of(AUTH);
+        }
+        if (path.equals("/api/v1/statistics") || path.startsWith("/api/v1/statistics/")
+                || ("POST".equals(method) && path.equals("/api/v1/orders/between-dates"))) {
+            return Optional.of(ANALYTICS);
+        }
+        if ("POST".equals(method) && (path.equals("/api/v1/orders") || path.equals("/api/v1/orders/quote"))) {
+            return Optional.of(ORDER_WRITE);
+        }
+        if (("GET".equals(method) && path.startsWith(BOOKS + "/"))
+                || ("POST".equals(method) && BOOK_READ_POSTS.contains(path))) {
+            return Optional.of(CATALOG_READ);
+        }
+        return Optional.empty();
+    }
+
+}
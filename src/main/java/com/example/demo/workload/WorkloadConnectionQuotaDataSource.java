@@ -0,0 +1,64 @@
+package com.example.demo.workload;
+
+import com.example.demo.execution.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts the connections borrowed by each {@link WorkloadClass} against a quota of its own, so that one class cannot
+ * hold the whole pool. The class is taken from the {@link WorkloadContext} of the borrowing thread; work of no class,
+ * and classes without a quota, borrow from the pool directly. A caller over its quota waits up to the acquire
+ * timeout for a connection of its class to be closed.
+ */
+public class WorkloadConnectionQuotaDataSource extends DelegatingDataSource {
+
+    private final Map<WorkloadClass, DataSource> quotas = new EnumMap<>(WorkloadClass.class);
+
+    /**
+     * Wraps the given data source and registers the metrics of the quotas, tagged with the workload class.
+     *
+     * @param targetDataSource The data source the connections are borrowed from.
+     * @param quotas           The number of connections each class may borrow at a time; classes left out or
+     *                         given zero have no quota.
+     * @param acquireTimeoutMs How long a caller over its quota waits, in milliseconds.
+     * @param meterRegistry    The registry the metrics are published to.
+     */
+    public WorkloadConnectionQuotaDataSource(final DataSource targetDataSource,
+                                             final Map<WorkloadClass, Integer> quotas,
+                                             final long acquireTimeoutMs,
+                                             final MeterRegistry meterRegistry) {
+
+        super(targetDataSource);
+        quotas.forEach((workloadClass, quota) -> {
+            if (quota > 0) {
+                this.quotas.put(workloadClass, new ConnectionLimitingDataSource(targetDataSource, quota,
+                        acquireTimeoutMs, meterRegistry, "workload.connections",
+                        Tags.of("workload", workloadClass.getKey())));
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return dataSourceOfCurrentClass().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return dataSourceOfCurrentClass().getConnection(username, password);
+    }
+
+    private DataSource dataSourceOfCurrentClass() {
+        return WorkloadContext.current()
+                .map(quotas::get)
+                .orElseGet(this::obtainTargetDataSource);
+    }
+
+}
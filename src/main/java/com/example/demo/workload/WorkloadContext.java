@@ -0,0 +1,41 @@
+package com.example.demo.workload;
+
+import java.util.Optional;
+
+/**
+ * Holds the workload class of the work running on the current thread, so that the connections it borrows are
+ * counted against the quota of its class.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * Returns the workload class of the current thread.
+     *
+     * @return The workload class, or empty outside of classified work.
+     */
+    public static Optional<WorkloadClass> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Marks the work on the current thread as work of the given class, until {@link #clear()} is called.
+     *
+     * @param workloadClass The workload class.
+     */
+    public static void set(final WorkloadClass workloadClass) {
+        CURRENT.set(workloadClass);
+    }
+
+    /**
+     * Clears the workload class of the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap and off-heap {@link BookCache} stores holding a large catalog: lookup latency and allocation,
+ * and the duration of a full garbage collection while the cached books are live.
+ * <p>Not part of the test suite; run with
+ * {@code mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt} and
+ * {@code java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.demo.cache.BookCacheBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookCacheBenchmark {
+
+    @Param({"heap", "off-heap"})
+    public String store;
+
+    @Param({"2000000"})
+    public int books;
+
+    private BookCache bookCache;
+
+    private String[] bookIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        bookCache = new BookCache(TimeUnit.HOURS.toMillis(1), books, store, books * 160L, new SimpleMeterRegistry());
+        bookIds = new String[books];
+
+        for (int i = 0; i < books; i++) {
+            bookIds[i] = UUID.randomUUID().toString();
+            bookCache.put(BookDTO.builder()
+                    .id(bookIds[i])
+                    .isbn(String.valueOf(9_780_000_000_000L + i))
+                    .name("Title of book number " + i)
+                    .authorFullName("Author " + (i % 50_000))
+                    .price(BigDecimal.valueOf(1_000 + i % 9_000, 2))
+                    .stock(i % 100)
+                    .changeVersion((long) i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<BookDTO> get() {
+        return bookCache.get(bookIds[ThreadLocalRandom.current().nextInt(books)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public void fullGc() {
+        System.gc();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookCacheBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCacheSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenWrittenSnapshot_whenRead_thenReturnSameBooksAndTime() throws IOException {
+
+        // Given
+        BookCacheSnapshotStore store = new BookCacheSnapshotStore(directory.toString());
+        List<BookDTO> books = List.of(
+                BookDTO.builder()
+                        .id("1")
+                        .isbn("9780261103344")
+                        .name("Le Petit Prince – édition illustrée")
+                        .authorFullName("Antoine de Saint-Exupéry")
+                        .price(new BigDecimal("-12.50"))
+                        .stock(7)
+                        .stockSlotCount(8)
+                        .flashSale(true)
+                        .changeVersion(1_700_000_000_000_001L)
+                        .build(),
+                BookDTO.builder().id("2").build()
+        );
+        Instant takenAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // When
+        store.write(new BookCacheSnapshotStore.Snapshot(books, takenAt));
+        Optional<BookCacheSnapshotStore.Snapshot> snapshot = store.read();
+
+        // Then
+        assertTrue(snapshot.isPresent());
+        assertEquals(books, snapshot.get().books());
+        assertEquals(takenAt, snapshot.get().takenAt());
+    }
+
+    @Test
+    void givenBookTooLargeForFormat_whenWrite_thenLeaveItOut() throws IOException {
+
+        // Given
+        BookCacheSnapshotStore store = new BookCacheSnapshotStore(directory.toString());
+        BookDTO kept = BookDTO.builder().id("1").build();
+        BookDTO tooLong = BookDTO.builder().id("2").name("x".repeat(70_000)).build();
+
+        // When
+        store.write(new BookCacheSnapshotStore.Snapshot(List.of(kept, tooLong), Instant.now()));
+
+        // Then
+        assertEquals(List.of(kept), store.read().orElseThrow().books());
+    }
+
+    @Test
+    void givenNoSnapshot_whenRead_thenReturnEmpty() {
+
+        BookCacheSnapshotStore store = new BookCacheSnapshotStore(directory.resolve("missing").toString());
+
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void givenTruncatedSnapshot_whenRead_thenReturnEmpty() throws IOException {
+
+        // Given
+        BookCacheSnapshotStore store = new BookCacheSnapshotStore(directory.toString());
+        store.write(new BookCacheSnapshotStore.Snapshot(
+                List.of(BookDTO.builder().id("1").name("The Hobbit").build()), Instant.now()));
+
+        Path file = directory.resolve("books.snapshot");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        // Then
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void givenForeignFile_whenRead_thenReturnEmpty() throws IOException {
+
+        // Given
+        Files.writeString(directory.resolve("books.snapshot"), "not a snapshot");
+        BookCacheSnapshotStore store = new BookCacheSnapshotStore(directory.toString());
+
+        // Then
+        assertTrue(store.read().isEmpty());
+    }
+
+}
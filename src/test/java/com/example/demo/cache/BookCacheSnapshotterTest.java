@@ -0,0 +1,115 @@
+package com.example.demo.cache;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.dto.BookVersionDTO;
+import com.example.demo.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class BookCacheSnapshotterTest extends BaseServiceTest {
+
+    @InjectMocks
+    private BookCacheSnapshotter bookCacheSnapshotter;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private BookCacheSnapshotStore bookCacheSnapshotStore;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookCacheSnapshotter, "enabled", true);
+        ReflectionTestUtils.setField(bookCacheSnapshotter, "validateBatchSize", 2);
+    }
+
+    @Test
+    void givenPersistedBooks_whenLoadSnapshot_thenCacheOnlyBooksAtCurrentVersion() {
+
+        // Given
+        BookDTO current = BookDTO.builder().id("1").changeVersion(10L).build();
+        BookDTO changed = BookDTO.builder().id("2").changeVersion(20L).build();
+        BookDTO deleted = BookDTO.builder().id("3").changeVersion(30L).build();
+
+        // When
+        when(bookCacheSnapshotStore.read()).thenReturn(Optional.of(
+                new BookCacheSnapshotStore.Snapshot(List.of(current, changed, deleted), Instant.now())));
+        when(bookRepository.findVersionsByIds(List.of("1", "2")))
+                .thenReturn(List.of(new BookVersionDTO("1", 10L), new BookVersionDTO("2", 21L)));
+        when(bookRepository.findVersionsByIds(List.of("3"))).thenReturn(List.of());
+
+        // Then
+        bookCacheSnapshotter.loadSnapshot();
+
+        verify(bookCache).put(current);
+        verify(bookCache, never()).put(changed);
+        verify(bookCache, never()).put(deleted);
+    }
+
+    @Test
+    void givenNoSnapshot_whenLoadSnapshot_thenLeaveCacheEmpty() {
+
+        // When
+        when(bookCacheSnapshotStore.read()).thenReturn(Optional.empty());
+
+        // Then
+        bookCacheSnapshotter.loadSnapshot();
+
+        verify(bookRepository, never()).findVersionsByIds(anyCollection());
+        verify(bookCache, never()).put(any());
+    }
+
+    @Test
+    void givenCachedBooks_whenPersistSnapshot_thenWriteOnlyBooksCoveredByChangeVersion() throws IOException {
+
+        // Given
+        BookDTO plain = BookDTO.builder().id("1").stock(3).changeVersion(10L).build();
+        BookDTO striped = BookDTO.builder().id("2").stock(3).stockSlotCount(4).changeVersion(20L).build();
+        BookDTO flashSale = BookDTO.builder().id("3").stock(3).flashSale(true).changeVersion(30L).build();
+        BookDTO unversioned = BookDTO.builder().id("4").stock(3).build();
+
+        // When
+        when(bookCache.getAllUnexpired()).thenReturn(List.of(plain, striped, flashSale, unversioned));
+
+        // Then
+        bookCacheSnapshotter.persistSnapshot();
+
+        ArgumentCaptor<BookCacheSnapshotStore.Snapshot> snapshot =
+                ArgumentCaptor.forClass(BookCacheSnapshotStore.Snapshot.class);
+        verify(bookCacheSnapshotStore).write(snapshot.capture());
+        assertEquals(List.of(plain), snapshot.getValue().books());
+    }
+
+    @Test
+    void givenSnapshotsDisabled_whenLoadAndPersist_thenDoNothing() throws IOException {
+
+        // Given
+        ReflectionTestUtils.setField(bookCacheSnapshotter, "enabled", false);
+
+        // When
+        bookCacheSnapshotter.loadSnapshot();
+        bookCacheSnapshotter.persistOnShutdown();
+
+        // Then
+        verifyNoInteractions(bookCacheSnapshotStore, bookCache, bookRepository);
+    }
+
+}
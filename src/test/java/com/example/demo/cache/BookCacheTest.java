@@ -0,0 +1,133 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BookCache bookCache = new BookCache(1000, 2, meterRegistry, clock::get);
+
+    @Test
+    void givenCachedBook_whenGetBeforeExpiry_thenReturnIt() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").name("The Hobbit").build();
+
+        // When
+        bookCache.put(book);
+        clock.addAndGet(999_000_000L);
+
+        // Then
+        assertEquals(book, bookCache.get("1").orElseThrow());
+        assertEquals(1, meterRegistry.get("books.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void givenCachedBook_whenGetAfterExpiry_thenMiss() {
+
+        // When
+        bookCache.put(BookDTO.builder().id("1").build());
+        clock.addAndGet(1_000_000_000L);
+
+        // Then
+        assertTrue(bookCache.get("1").isEmpty());
+        assertEquals(1, meterRegistry.get("books.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void givenEvictedBook_whenGet_thenMiss() {
+
+        // When
+        bookCache.put(BookDTO.builder().id("1").build());
+        bookCache.evict("1");
+
+        // Then
+        assertTrue(bookCache.get("1").isEmpty());
+    }
+
+    @Test
+    void givenSomeCachedBooks_whenGetAll_thenReturnOnlyCachedOnes() {
+
+        // When
+        bookCache.put(BookDTO.builder().id("1").build());
+        bookCache.put(BookDTO.builder().id("2").build());
+
+        // Then
+        Map<String, BookDTO> books = bookCache.getAll(List.of("2", "3", "1"));
+        assertEquals(2, books.size());
+        assertTrue(books.keySet().containsAll(List.of("1", "2")));
+    }
+
+    @Test
+    void givenFullCache_whenPut_thenCacheOnlyOnceExpiredEntriesMakeRoom() {
+
+        // Given
+        bookCache.put(BookDTO.builder().id("1").build());
+        bookCache.put(BookDTO.builder().id("2").build());
+
+        // When
+        bookCache.put(BookDTO.builder().id("3").build());
+
+        // Then
+        assertTrue(bookCache.get("3").isEmpty());
+        assertEquals(2, meterRegistry.get("books.cache.size").gauge().value());
+
+        // When
+        clock.addAndGet(1_000_000_000L);
+        bookCache.put(BookDTO.builder().id("3").build());
+
+        // Then
+        assertTrue(bookCache.get("3").isPresent());
+        assertEquals(1, meterRegistry.get("books.cache.size").gauge().value());
+    }
+
+    @Test
+    void givenOffHeapStore_whenPutAndGet_thenServeSameBookUntilExpiry() {
+
+        // Given
+        SimpleMeterRegistry offHeapMeterRegistry = new SimpleMeterRegistry();
+        BookCache offHeapCache = new BookCache(1000, new OffHeapBookCacheStore(2, 1024), offHeapMeterRegistry, clock::get);
+        BookDTO book = BookDTO.builder().id("1").name("The Hobbit").price(BigDecimal.TEN).stock(3).build();
+
+        // When
+        offHeapCache.put(book);
+
+        // Then
+        assertEquals(book, offHeapCache.get("1").orElseThrow());
+        assertEquals(2L * OffHeapBookCacheStore.RECORD_BYTES + 1024,
+                offHeapMeterRegistry.get("books.cache.off-heap.memory").gauge().value());
+
+        clock.addAndGet(1_000_000_000L);
+        assertTrue(offHeapCache.get("1").isEmpty());
+    }
+
+    @Test
+    void givenCachedBooks_whenGetAllUnexpired_thenReturnOnlyUnexpiredOnes() {
+
+        // Given
+        BookDTO expired = BookDTO.builder().id("1").build();
+        BookDTO live = BookDTO.builder().id("2").build();
+
+        // When
+        bookCache.put(expired);
+        clock.addAndGet(500_000_000L);
+        bookCache.put(live);
+        clock.addAndGet(500_000_000L);
+
+        // Then
+        assertEquals(List.of(live), bookCache.getAllUnexpired());
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.demo.cache;
+
+import com.example.demo.datasource.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingAspectTest {
+
+    private Catalog target;
+
+    private Catalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        target = new Catalog();
+        final AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new CoalescingAspect(new RequestCoalescer(
+                new MockEnvironment().withProperty("coalescing.pages.ttl-ms", "60000"), 0, new SimpleMeterRegistry())));
+        catalog = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void givenMatchingCall_whenRepeated_thenShareTheKeptResult() {
+
+        // When
+        catalog.page(0);
+        catalog.page(0);
+        catalog.page(1);
+
+        // Then
+        assertEquals(2, target.queries);
+    }
+
+    @Test
+    void givenCallOutsideTheCondition_whenRepeated_thenRunEveryCall() {
+
+        // When
+        catalog.page(3);
+        catalog.page(3);
+
+        // Then
+        assertEquals(2, target.queries);
+    }
+
+    @Test
+    void givenCallInTransactionOrOnPrimary_whenRepeated_thenRunEveryCall() {
+
+        // When
+        catalog.page(0);
+        PrimaryReads.run(() -> catalog.page(0));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        catalog.page(0);
+
+        // Then
+        assertEquals(3, target.queries);
+    }
+
+    static class Catalog {
+
+        private int queries;
+
+        @Coalesced(value = "pages", condition = "#p0 < 3")
+        public int page(final int page) {
+            queries++;
+            return page;
+        }
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapBookCacheStoreTest {
+
+    private static final long NOW = 0;
+
+    private static final long LATER = 1_000;
+
+    @Test
+    void givenStoredBook_whenGet_thenReturnAllFields() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 1024);
+        BookDTO book = BookDTO.builder()
+                .id("1")
+                .isbn("9780261103344")
+                .name("Le Petit Prince – édition illustrée")
+                .authorFullName("Antoine de Saint-Exupéry")
+                .price(new BigDecimal("12.50"))
+                .stock(7)
+                .stockSlotCount(8)
+                .flashSale(true)
+                .changeVersion(1_700_000_000_000_001L)
+                .build();
+
+        // When
+        assertTrue(store.put(book, LATER, NOW));
+
+        // Then
+        assertEquals(book, store.get("1", NOW));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void givenBookWithoutOptionalFields_whenGet_thenReturnNulls() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 1024);
+        BookDTO book = BookDTO.builder().id("1").build();
+
+        // When
+        store.put(book, LATER, NOW);
+
+        // Then
+        assertEquals(book, store.get("1", NOW));
+    }
+
+    @Test
+    void givenStoredBook_whenUpdated_thenReplaceItAndItsIsbnEntry() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 1024);
+        store.put(BookDTO.builder().id("1").isbn("111").name("Old").stock(1).build(), LATER, NOW);
+
+        // When
+        BookDTO updated = BookDTO.builder().id("1").isbn("222").name("New").stock(2).build();
+        store.put(updated, LATER, NOW);
+
+        // Then
+        assertEquals(updated, store.get("1", NOW));
+        assertEquals(updated, store.getByIsbn("222", NOW));
+        assertNull(store.getByIsbn("111", NOW));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void givenManyBooks_whenSomeRemoved_thenOthersStayReachable() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(64, 16 * 1024);
+        for (int i = 0; i < 64; i++) {
+            store.put(BookDTO.builder().id("book-" + i).isbn("isbn-" + i).build(), LATER, NOW);
+        }
+
+        // When
+        for (int i = 0; i < 64; i += 3) {
+            store.remove("book-" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 64; i++) {
+            if (i % 3 == 0) {
+                assertNull(store.get("book-" + i, NOW));
+                assertNull(store.getByIsbn("isbn-" + i, NOW));
+            } else {
+                assertEquals("book-" + i, store.get("book-" + i, NOW).getId());
+                assertEquals("book-" + i, store.getByIsbn("isbn-" + i, NOW).getId());
+            }
+        }
+        assertEquals(42, store.size());
+    }
+
+    @Test
+    void givenFullStore_whenPut_thenStoreOnlyOnceExpiredBooksMakeRoom() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(2, 1024);
+        store.put(BookDTO.builder().id("1").build(), LATER, NOW);
+        store.put(BookDTO.builder().id("2").build(), LATER, NOW);
+
+        // When
+        boolean storedBeforeExpiry = store.put(BookDTO.builder().id("3").build(), LATER, NOW);
+        boolean storedAfterExpiry = store.put(BookDTO.builder().id("3").build(), LATER + LATER, LATER);
+
+        // Then
+        assertFalse(storedBeforeExpiry);
+        assertTrue(storedAfterExpiry);
+        assertNull(store.get("1", LATER));
+        assertEquals("3", store.get("3", LATER).getId());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void givenArenaFullOfReplacedStrings_whenPut_thenCompactAndKeepLiveStrings() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 160);
+        store.put(BookDTO.builder().id("a").name("first").build(), LATER, NOW);
+        store.put(BookDTO.builder().id("b").name("kept").build(), LATER, NOW);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            assertTrue(store.put(BookDTO.builder().id("a").name("name " + i).build(), LATER, NOW));
+        }
+
+        // Then
+        assertEquals("name 49", store.get("a", NOW).getName());
+        assertEquals("kept", store.get("b", NOW).getName());
+    }
+
+    @Test
+    void givenArenaTooSmall_whenPut_thenRejectAndDropOlderVersion() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 32);
+        store.put(BookDTO.builder().id("1").name("short").build(), LATER, NOW);
+
+        // When
+        boolean stored = store.put(BookDTO.builder().id("1").name("a name far longer than the arena").build(), LATER, NOW);
+
+        // Then
+        assertFalse(stored);
+        assertNull(store.get("1", NOW));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void givenPriceNotFittingRecord_whenPut_thenRejectIt() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 1024);
+
+        // When
+        boolean stored = store.put(BookDTO.builder().id("1").price(new BigDecimal("1e200")).build(), LATER, NOW);
+
+        // Then
+        assertFalse(stored);
+        assertNull(store.get("1", NOW));
+    }
+
+    @Test
+    void givenExpiredBook_whenGet_thenMiss() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 1024);
+        store.put(BookDTO.builder().id("1").build(), LATER, NOW);
+
+        // Then
+        assertNotNull(store.get("1", LATER - 1));
+        assertNull(store.get("1", LATER));
+    }
+
+    @Test
+    void givenStoredBooks_whenValues_thenReturnUnexpiredOnes() {
+
+        // Given
+        OffHeapBookCacheStore store = new OffHeapBookCacheStore(4, 1024);
+        BookDTO expiring = BookDTO.builder().id("1").name("expiring").build();
+        BookDTO live = BookDTO.builder().id("2").name("live").build();
+        store.put(expiring, LATER, NOW);
+        store.put(live, LATER + LATER, NOW);
+
+        // Then
+        assertEquals(2, store.values(NOW).size());
+        assertEquals(List.of(live), store.values(LATER));
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.example.demo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private double random = 1.0;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(
+            new MockEnvironment().withProperty("coalescing.pages.ttl-ms", "1000"), 1.0, meterRegistry,
+            clock::get, () -> random);
+
+    @Test
+    void givenRunningCall_whenIdenticalCallsArrive_thenShareItsResult() throws Throwable {
+
+        // Given
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        final List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> execute("books", "1", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "The Hobbit";
+                })));
+                if (i == 0) {
+                    while (loads.get() == 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+            while (calls("books", "shared") < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            for (final Future<String> result : results) {
+                assertEquals("The Hobbit", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0.75, meterRegistry.get("coalescing.ratio").tag("name", "books").gauge().value());
+        assertEquals("Lord of the Rings", requestCoalescer.execute("books", "1", () -> "Lord of the Rings"));
+    }
+
+    @Test
+    void givenKeptResult_whenExpiryNears_thenRefreshEarlyAtRandom() throws Throwable {
+
+        // Given
+        final AtomicInteger loads = new AtomicInteger();
+        final RequestCoalescer.Loader<Integer> loader = () -> {
+            clock.addAndGet(100 * MILLIS);
+            return loads.incrementAndGet();
+        };
+        assertEquals(1, requestCoalescer.execute("pages", 0, loader));
+
+        // When
+        clock.set(500 * MILLIS);
+        random = 0.5;
+
+        // Then
+        assertEquals(1, requestCoalescer.execute("pages", 0, loader));
+
+        // When
+        clock.set(1050 * MILLIS);
+        random = 1.0;
+
+        // Then
+        assertEquals(1, requestCoalescer.execute("pages", 0, loader));
+
+        // When
+        random = 0.5;
+
+        // Then
+        assertEquals(2, requestCoalescer.execute("pages", 0, loader));
+        assertEquals(1, meterRegistry.get("coalescing.early.refreshes").tag("name", "pages").counter().count());
+        assertEquals(2, calls("pages", "cached"));
+    }
+
+    @Test
+    void givenKeptResult_whenInvalidated_thenLoadAgain() throws Throwable {
+
+        // Given
+        final AtomicInteger loads = new AtomicInteger();
+        requestCoalescer.execute("pages", 0, loads::incrementAndGet);
+
+        // When
+        requestCoalescer.invalidate("pages");
+        requestCoalescer.invalidate("unknown");
+
+        // Then
+        assertEquals(2, requestCoalescer.execute("pages", 0, loads::incrementAndGet));
+        assertEquals(2, requestCoalescer.execute("pages", 0, loads::incrementAndGet));
+    }
+
+    @Test
+    void givenFailingCall_whenExecuted_thenRethrowAndKeepNothing() throws Throwable {
+
+        // Given
+        final IllegalStateException failure = new IllegalStateException("Database unavailable");
+
+        // Then
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> requestCoalescer.execute("pages", 0, () -> {
+                    throw failure;
+                })));
+        assertEquals(1, requestCoalescer.execute("pages", 0, () -> 1));
+    }
+
+    private <V> V execute(final String name, final Object key, final RequestCoalescer.Loader<V> loader)
+            throws Exception {
+
+        try {
+            return requestCoalescer.execute(name, key, loader);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double calls(final String name, final String result) {
+        return meterRegistry.get("coalescing.calls").tag("name", name).tag("result", result).counter().count();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.demo.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookChangeVersionClockTest {
+
+    private final AtomicLong currentTimeMicros = new AtomicLong(1_000);
+
+    private final BookChangeVersionClock bookChangeVersionClock = new BookChangeVersionClock(currentTimeMicros::get);
+
+    @Test
+    void givenClockNotMoving_whenNext_thenIssueStrictlyIncreasingVersions() {
+        assertEquals(1_000, bookChangeVersionClock.next());
+        assertEquals(1_001, bookChangeVersionClock.next());
+        assertEquals(1_002, bookChangeVersionClock.next());
+    }
+
+    @Test
+    void givenClockMovedOn_whenNext_thenIssueCurrentTime() {
+
+        bookChangeVersionClock.next();
+        currentTimeMicros.set(5_000);
+
+        assertEquals(5_000, bookChangeVersionClock.next());
+    }
+
+    @Test
+    void givenBlock_whenReserve_thenSkipWholeBlock() {
+
+        assertEquals(1_000, bookChangeVersionClock.reserve(10));
+
+        assertEquals(1_010, bookChangeVersionClock.next());
+    }
+
+    @Test
+    void givenSettleWindow_whenSettledVersion_thenSubtractItFromCurrentTime() {
+
+        currentTimeMicros.set(10_000_000);
+
+        assertEquals(8_000_000, bookChangeVersionClock.settledVersion(2_000));
+    }
+
+}
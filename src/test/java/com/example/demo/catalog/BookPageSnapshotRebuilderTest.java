@@ -0,0 +1,107 @@
+package com.example.demo.catalog;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.builder.BookBuilder;
+import com.example.demo.model.Book;
+import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.service.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookPageSnapshotRebuilderTest extends BaseServiceTest {
+
+    @InjectMocks
+    private BookPageSnapshotRebuilder bookPageSnapshotRebuilder;
+
+    @Spy
+    private BookPageSnapshots bookPageSnapshots = new BookPageSnapshots(new SimpleMeterRegistry());
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookPageSnapshotRebuilder, "pages", 2);
+        ReflectionTestUtils.setField(bookPageSnapshotRebuilder, "pageSizes", List.of(10, 20));
+    }
+
+    @Test
+    void givenStaleSnapshots_whenRebuild_thenSnapshotHotPagesPlainAndGzipped() throws IOException {
+
+        // Given
+        Book book = new BookBuilder().withValidFields().build();
+
+        // When
+        when(bookService.getAllBooks(any(PaginationRequest.class))).thenAnswer(invocation -> {
+            PaginationRequest request = invocation.getArgument(0);
+            return new PageImpl<>(List.of(BookMapper.toDTO(book)), PageRequest.of(request.getPage(), request.getSize()), 21);
+        });
+
+        // Then
+        bookPageSnapshotRebuilder.rebuildIfStale();
+
+        verify(bookService, times(4)).getAllBooks(any(PaginationRequest.class));
+        assertFalse(bookPageSnapshots.isStale());
+
+        BookPageSnapshots.Snapshot snapshot = bookPageSnapshots.get(1, 20).orElseThrow();
+        JsonNode body = objectMapper.readTree(snapshot.plain());
+        assertEquals(book.getId(), body.at("/response/content/0/id").asText());
+        assertEquals(1, body.at("/response/pageNumber").asInt());
+        assertEquals(20, body.at("/response/pageSize").asInt());
+        assertTrue(body.at("/isSuccess").asBoolean());
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.plain(), gzip.readAllBytes());
+        }
+        assertTrue(bookPageSnapshots.get(2, 10).isEmpty());
+    }
+
+    @Test
+    void givenFreshSnapshots_whenRebuild_thenSkip() {
+
+        // Given
+        bookPageSnapshots.swap(List.of(), bookPageSnapshots.getGeneration());
+
+        // When
+        bookPageSnapshotRebuilder.rebuildIfStale();
+
+        // Then
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void givenFailingRead_whenRebuild_thenStayStale() {
+
+        // When
+        when(bookService.getAllBooks(any(PaginationRequest.class))).thenThrow(new IllegalStateException("down"));
+
+        // Then
+        bookPageSnapshotRebuilder.rebuildIfStale();
+
+        assertTrue(bookPageSnapshots.isStale());
+        verify(bookPageSnapshots, never()).swap(any(), anyLong());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.example.demo.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookPageSnapshotsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BookPageSnapshots bookPageSnapshots = new BookPageSnapshots(meterRegistry);
+
+    @Test
+    void givenSwappedSnapshots_whenGetHotPage_thenReturnIt() {
+
+        // Given
+        BookPageSnapshots.Snapshot snapshot = new BookPageSnapshots.Snapshot(1, 10, new byte[]{1}, new byte[]{2});
+
+        // When
+        bookPageSnapshots.swap(List.of(snapshot), bookPageSnapshots.getGeneration());
+
+        // Then
+        assertSame(snapshot, bookPageSnapshots.get(1, 10).orElseThrow());
+        assertTrue(bookPageSnapshots.get(1, 20).isEmpty());
+        assertTrue(bookPageSnapshots.get(2, 10).isEmpty());
+        assertEquals(1, meterRegistry.get("books.snapshots.requests").tag("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("books.snapshots.requests").tag("result", "miss").counter().count());
+        assertEquals(2, meterRegistry.get("books.snapshots.memory").gauge().value());
+    }
+
+    @Test
+    void givenNoSnapshots_whenCreated_thenStale() {
+        assertTrue(bookPageSnapshots.isStale());
+        assertTrue(bookPageSnapshots.get(0, 10).isEmpty());
+    }
+
+    @Test
+    void givenBookChangedDuringRebuild_whenSwapped_thenStillStale() {
+
+        // Given
+        long generation = bookPageSnapshots.getGeneration();
+
+        // When
+        bookPageSnapshots.markStale();
+        bookPageSnapshots.swap(List.of(), generation);
+
+        // Then
+        assertTrue(bookPageSnapshots.isStale());
+
+        bookPageSnapshots.swap(List.of(), bookPageSnapshots.getGeneration());
+        assertFalse(bookPageSnapshots.isStale());
+    }
+
+    @Test
+    void givenAcceptEncodingHeaders_whenAcceptsGzip_thenHonourQualities() {
+        assertTrue(BookPageSnapshots.acceptsGzip("gzip, deflate, br"));
+        assertTrue(BookPageSnapshots.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(BookPageSnapshots.acceptsGzip("*"));
+        assertFalse(BookPageSnapshots.acceptsGzip(null));
+        assertFalse(BookPageSnapshots.acceptsGzip("identity"));
+        assertFalse(BookPageSnapshots.acceptsGzip("gzip;q=0, *"));
+        assertFalse(BookPageSnapshots.acceptsGzip("*;q=0.0"));
+    }
+
+}
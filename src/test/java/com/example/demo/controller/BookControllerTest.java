@@ -1,11 +1,24 @@
 package com.example.demo.controller;
 
+import com.example.demo.catalog.BookPageSnapshots;
 import com.example.demo.base.BaseControllerTest;
 import com.example.demo.builder.BookBuilder;
+import com.example.demo.dto.BookChangesDTO;
 import com.example.demo.dto.BookDTO;
+import com.example.demo.dto.StockMovementDTO;
+import com.example.demo.model.enums.StockMovementType;
 import com.example.demo.model.Book;
 import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.payload.request.book.BookBulkStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookAutocompleteRequest;
+import com.example.demo.payload.request.book.BookBatchGetRequest;
+import com.example.demo.payload.request.book.BookChangesRequest;
 import com.example.demo.payload.request.book.BookCreateRequest;
+import com.example.demo.payload.request.book.BookSearchRequest;
+import com.example.demo.payload.request.book.BookStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookStockAtRequest;
+import com.example.demo.payload.request.book.StockMovementTailRequest;
+import com.example.demo.payload.request.book.BookStockStripingRequest;
 import com.example.demo.payload.request.book.BookUpdateRequest;
 import com.example.demo.payload.request.book.BookUpdateStockRequest;
 import com.example.demo.payload.request.pagination.PaginationRequest;
@@ -14,7 +27,10 @@ import com.example.demo.payload.response.CustomResponse;
 import com.example.demo.payload.response.book.BookCreatedResponse;
 import com.example.demo.payload.response.book.BookGetResponse;
 import com.example.demo.payload.response.book.BookUpdatedResponse;
+import com.example.demo.search.BookAutocompleteTrie;
 import com.example.demo.service.impl.BookServiceImpl;
+import com.example.demo.service.impl.StockJournalServiceImpl;
+import com.example.demo.stream.BookChangeStream;
 import com.example.demo.util.RandomUtil;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -23,13 +39,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class BookControllerTest extends BaseControllerTest {
@@ -37,6 +59,15 @@ class BookControllerTest extends BaseControllerTest {
     @MockBean
     private BookServiceImpl bookService;
 
+    @MockBean
+    private StockJournalServiceImpl stockJournalService;
+
+    @MockBean
+    private BookChangeStream bookChangeStream;
+
+    @MockBean
+    private BookPageSnapshots bookPageSnapshots;
+
     @Test
     void givenCreateBookRequest_whenAdminRole_ReturnBookCreatedResponse() throws Exception {
 
@@ -293,4 +324,441 @@ class BookControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.time").isNotEmpty());
     }
 
+    @Test
+    void givenBookIdAndBookStockStripingRequest_whenAdminRoleAndBookFound_ReturnBookUpdatedResponse() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        book.setStockSlotCount(4);
+        String bookId = book.getId();
+
+        BookStockStripingRequest stripingRequest = BookStockStripingRequest.builder()
+                .enabled(true)
+                .slotCount(4)
+                .build();
+
+        BookDTO updatedBook = BookMapper.toDTO(book);
+        BookUpdatedResponse bookUpdatedResponse = BookMapper.toUpdatedResponse(updatedBook);
+
+        // when
+        Mockito.when(bookService.updateStockStripingById(bookId, stripingRequest)).thenReturn(updatedBook);
+
+        // then
+        CustomResponse<BookUpdatedResponse> customResponseOfBookUpdatedResponse = CustomResponse.ok(bookUpdatedResponse);
+
+        mockMvc.perform(put("/api/v1/books/stock-striping/{bookId}", bookId)
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stripingRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.id").value(bookUpdatedResponse.getId()))
+                .andExpect(jsonPath("$.response.stock").value(bookUpdatedResponse.getStock()))
+                .andExpect(jsonPath("$.response.stockSlotCount").value(bookUpdatedResponse.getStockSlotCount()))
+                .andExpect(jsonPath("$.isSuccess").value(customResponseOfBookUpdatedResponse.getIsSuccess()))
+                .andExpect(jsonPath("$.httpStatus").value(customResponseOfBookUpdatedResponse.getHttpStatus().getReasonPhrase()))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookId_whenAdminRoleAndEnterFlashSale_ReturnBookUpdatedResponse() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        book.setFlashSale(true);
+        String bookId = book.getId();
+
+        BookDTO updatedBook = BookMapper.toDTO(book);
+        BookUpdatedResponse bookUpdatedResponse = BookMapper.toUpdatedResponse(updatedBook);
+
+        // when
+        Mockito.when(bookService.enterFlashSaleById(bookId)).thenReturn(updatedBook);
+
+        // then
+        CustomResponse<BookUpdatedResponse> customResponseOfBookUpdatedResponse = CustomResponse.ok(bookUpdatedResponse);
+
+        mockMvc.perform(put("/api/v1/books/flash-sale/{bookId}", bookId)
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.id").value(bookUpdatedResponse.getId()))
+                .andExpect(jsonPath("$.response.stock").value(bookUpdatedResponse.getStock()))
+                .andExpect(jsonPath("$.response.flashSale").value(true))
+                .andExpect(jsonPath("$.isSuccess").value(customResponseOfBookUpdatedResponse.getIsSuccess()))
+                .andExpect(jsonPath("$.httpStatus").value(customResponseOfBookUpdatedResponse.getHttpStatus().getReasonPhrase()))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookId_whenAdminRoleAndExitFlashSale_ReturnBookUpdatedResponse() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        String bookId = book.getId();
+
+        BookDTO updatedBook = BookMapper.toDTO(book);
+        BookUpdatedResponse bookUpdatedResponse = BookMapper.toUpdatedResponse(updatedBook);
+
+        // when
+        Mockito.when(bookService.exitFlashSaleById(bookId)).thenReturn(updatedBook);
+
+        // then
+        CustomResponse<BookUpdatedResponse> customResponseOfBookUpdatedResponse = CustomResponse.ok(bookUpdatedResponse);
+
+        mockMvc.perform(delete("/api/v1/books/flash-sale/{bookId}", bookId)
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.id").value(bookUpdatedResponse.getId()))
+                .andExpect(jsonPath("$.response.stock").value(bookUpdatedResponse.getStock()))
+                .andExpect(jsonPath("$.response.flashSale").value(false))
+                .andExpect(jsonPath("$.isSuccess").value(customResponseOfBookUpdatedResponse.getIsSuccess()))
+                .andExpect(jsonPath("$.httpStatus").value(customResponseOfBookUpdatedResponse.getHttpStatus().getReasonPhrase()))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookIdAndBookStockAdjustmentRequest_whenAdminRole_ReturnBookUpdatedResponse() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        String bookId = book.getId();
+
+        BookStockAdjustmentRequest bookStockAdjustmentRequest = BookStockAdjustmentRequest.builder()
+                .delta(-3)
+                .reason("damaged")
+                .build();
+
+        BookDTO updatedBook = BookMapper.toDTO(book);
+        BookUpdatedResponse bookUpdatedResponse = BookMapper.toUpdatedResponse(updatedBook);
+
+        // when
+        Mockito.when(bookService.adjustBookStockById(bookId, bookStockAdjustmentRequest)).thenReturn(updatedBook);
+
+        // then
+        CustomResponse<BookUpdatedResponse> customResponseOfBookUpdatedResponse = CustomResponse.ok(bookUpdatedResponse);
+
+        mockMvc.perform(post("/api/v1/books/stock-adjustment/{bookId}", bookId)
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookStockAdjustmentRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.id").value(bookUpdatedResponse.getId()))
+                .andExpect(jsonPath("$.response.stock").value(bookUpdatedResponse.getStock()))
+                .andExpect(jsonPath("$.isSuccess").value(customResponseOfBookUpdatedResponse.getIsSuccess()))
+                .andExpect(jsonPath("$.httpStatus").value(customResponseOfBookUpdatedResponse.getHttpStatus().getReasonPhrase()))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookBulkStockAdjustmentRequest_whenAdminRole_ReturnListOfBookUpdatedResponse() throws Exception {
+
+        // given
+        Book book1 = new BookBuilder().withValidFields().build();
+        Book book2 = new BookBuilder().withValidFields().build();
+
+        BookBulkStockAdjustmentRequest bookBulkStockAdjustmentRequest = BookBulkStockAdjustmentRequest.builder()
+                .adjustments(List.of(
+                        BookBulkStockAdjustmentRequest.Item.builder().bookId(book1.getId()).delta(500).reason("received").build(),
+                        BookBulkStockAdjustmentRequest.Item.builder().bookId(book2.getId()).delta(-1).reason("damaged").build()
+                ))
+                .build();
+
+        List<BookDTO> updatedBooks = List.of(BookMapper.toDTO(book1), BookMapper.toDTO(book2));
+
+        // when
+        Mockito.when(bookService.adjustBookStocks(bookBulkStockAdjustmentRequest)).thenReturn(updatedBooks);
+
+        // then
+        mockMvc.perform(post("/api/v1/books/stock-adjustments")
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookBulkStockAdjustmentRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response[0].id").value(book1.getId()))
+                .andExpect(jsonPath("$.response[1].id").value(book2.getId()))
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenStockMovementTailRequest_whenAdminRole_ReturnListOfStockMovementResponse() throws Exception {
+
+        // given
+        String bookId = RandomUtil.generateUUID();
+
+        StockMovementTailRequest stockMovementTailRequest = StockMovementTailRequest.builder()
+                .since(41L)
+                .size(100)
+                .build();
+
+        StockMovementDTO stockMovementDTO = StockMovementDTO.builder()
+                .sequence(42L)
+                .bookId(bookId)
+                .type(StockMovementType.RESTOCK)
+                .delta(500)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // when
+        Mockito.when(stockJournalService.getMovementsSince(41L, 100)).thenReturn(List.of(stockMovementDTO));
+
+        // then
+        mockMvc.perform(post("/api/v1/books/stock-movements")
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stockMovementTailRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response[0].sequence").value(42))
+                .andExpect(jsonPath("$.response[0].bookId").value(bookId))
+                .andExpect(jsonPath("$.response[0].type").value("RESTOCK"))
+                .andExpect(jsonPath("$.response[0].delta").value(500))
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookIdAndBookStockAtRequest_whenAdminRole_ReturnBookStockAtResponse() throws Exception {
+
+        // given
+        String bookId = RandomUtil.generateUUID();
+        LocalDateTime at = LocalDateTime.now().minusDays(1);
+
+        BookStockAtRequest bookStockAtRequest = BookStockAtRequest.builder()
+                .at(at)
+                .build();
+
+        // when
+        Mockito.when(stockJournalService.getStockAt(Mockito.eq(bookId), Mockito.any(LocalDateTime.class))).thenReturn(85);
+
+        // then
+        mockMvc.perform(post("/api/v1/books/stock-history/{bookId}", bookId)
+                        .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookStockAtRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.bookId").value(bookId))
+                .andExpect(jsonPath("$.response.stock").value(85))
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookSearchRequest_whenCustomerRole_ReturnCustomPageResponse() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+
+        BookSearchRequest bookSearchRequest = BookSearchRequest.builder()
+                .query("tolkien")
+                .build();
+
+        Page<BookDTO> bookDTOPage = new PageImpl<>(List.of(BookMapper.toDTO(book)), bookSearchRequest.toPageable(), 1);
+
+        // when
+        Mockito.when(bookService.searchBooks(bookSearchRequest)).thenReturn(bookDTOPage);
+
+        // then
+        mockMvc.perform(post("/api/v1/books/search")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookSearchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.content[0].id").value(book.getId()))
+                .andExpect(jsonPath("$.response.totalElementCount").value(1))
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.time").isNotEmpty());
+    }
+
+    @Test
+    void givenBookAutocompleteRequest_whenCustomerRole_ReturnCompletions() throws Exception {
+
+        // given
+        BookAutocompleteRequest bookAutocompleteRequest = BookAutocompleteRequest.builder()
+                .prefix("hob")
+                .build();
+
+        List<BookAutocompleteTrie.Completion> completions = List.of(
+                new BookAutocompleteTrie.Completion("The Hobbit", BookAutocompleteTrie.Kind.TITLE, 12)
+        );
+
+        // when
+        Mockito.when(bookService.getBookCompletions(bookAutocompleteRequest)).thenReturn(completions);
+
+        // then
+        mockMvc.perform(post("/api/v1/books/autocomplete")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookAutocompleteRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response[0].text").value("The Hobbit"))
+                .andExpect(jsonPath("$.response[0].kind").value("TITLE"))
+                .andExpect(jsonPath("$.response[0].popularity").value(12))
+                .andExpect(jsonPath("$.isSuccess").value(true));
+    }
+
+    @Test
+    void givenBookBatchGetRequest_whenCustomerRole_ReturnBooksInOrderAndUnknownIds() throws Exception {
+
+        // given
+        Book book1 = new BookBuilder().withValidFields().build();
+        Book book2 = new BookBuilder().withValidFields().build();
+
+        BookBatchGetRequest bookBatchGetRequest = BookBatchGetRequest.builder()
+                .bookIds(List.of(book2.getId(), "unknown", book1.getId()))
+                .build();
+
+        // when
+        Mockito.when(bookService.getBooksByIds(bookBatchGetRequest.getBookIds()))
+                .thenReturn(List.of(BookMapper.toDTO(book2), BookMapper.toDTO(book1)));
+
+        // then
+        mockMvc.perform(post("/api/v1/books/batch")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookBatchGetRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.books[0].id").value(book2.getId()))
+                .andExpect(jsonPath("$.response.books[1].id").value(book1.getId()))
+                .andExpect(jsonPath("$.response.unknownBookIds[0]").value("unknown"))
+                .andExpect(jsonPath("$.isSuccess").value(true));
+    }
+
+    @Test
+    void givenSinceVersion_whenCustomerRole_ReturnBookChanges() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        book.setChangeVersion(1_700_000_000_000_001L);
+
+        BookChangesDTO bookChanges = BookChangesDTO.builder()
+                .books(List.of(BookMapper.toDTO(book)))
+                .nextSince(book.getChangeVersion())
+                .hasMore(false)
+                .build();
+
+        // when
+        Mockito.when(bookService.getBookChanges(BookChangesRequest.builder().since(42L).size(50).build()))
+                .thenReturn(bookChanges);
+
+        // then
+        mockMvc.perform(get("/api/v1/books/changes")
+                        .param("since", "42")
+                        .param("size", "50")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.books[0].id").value(book.getId()))
+                .andExpect(jsonPath("$.response.books[0].changeVersion").value(book.getChangeVersion()))
+                .andExpect(jsonPath("$.response.nextSince").value(book.getChangeVersion()))
+                .andExpect(jsonPath("$.response.hasMore").value(false))
+                .andExpect(jsonPath("$.isSuccess").value(true));
+    }
+
+    @Test
+    void givenBookIds_whenStreamBookChanges_thenStartEventStream() throws Exception {
+
+        // given
+        String bookId = RandomUtil.generateUUID();
+
+        // when
+        Mockito.when(bookChangeStream.subscribe(List.of(bookId))).thenReturn(new SseEmitter());
+
+        // then
+        mockMvc.perform(get("/api/v1/books/stream")
+                        .param("bookIds", bookId)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void givenHotPage_whenGzipAccepted_thenWriteCompressedSnapshot() throws Exception {
+
+        // given
+        PaginationRequest paginationRequest = PaginationRequest.builder().page(0).size(10).build();
+        BookPageSnapshots.Snapshot snapshot = new BookPageSnapshots.Snapshot(0, 10,
+                "{\"isSuccess\":true}".getBytes(), new byte[]{31, -117, 8});
+
+        // when
+        Mockito.when(bookPageSnapshots.get(0, 10)).thenReturn(Optional.of(snapshot));
+
+        // then
+        mockMvc.perform(post("/api/v1/books/all")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paginationRequest))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(snapshot.gzip()));
+
+        Mockito.verify(bookService, Mockito.never()).getAllBooks(any(PaginationRequest.class));
+    }
+
+    @Test
+    void givenHotPage_whenGzipNotAccepted_thenWritePlainSnapshot() throws Exception {
+
+        // given
+        PaginationRequest paginationRequest = PaginationRequest.builder().page(0).size(10).build();
+        BookPageSnapshots.Snapshot snapshot = new BookPageSnapshots.Snapshot(0, 10,
+                "{\"isSuccess\":true}".getBytes(), new byte[]{31, -117, 8});
+
+        // when
+        Mockito.when(bookPageSnapshots.get(0, 10)).thenReturn(Optional.of(snapshot));
+
+        // then
+        mockMvc.perform(post("/api/v1/books/all")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paginationRequest))
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.isSuccess").value(true));
+    }
+
+    @Test
+    void givenBookIdAndMatchingETag_whenGetBook_thenReturnNotModified() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        book.setChangeVersion(1_700_000_000_000_001L);
+        BookDTO bookDTO = BookMapper.toDTO(book);
+        String eTag = "\"" + BookMapper.toETag(bookDTO) + "\"";
+
+        // when
+        Mockito.when(bookService.getBookById(book.getId())).thenReturn(bookDTO);
+
+        // then
+        mockMvc.perform(get("/api/v1/books/{bookId}", book.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, must-revalidate, private"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenBookIdAndIfModifiedSinceAfterLastChange_whenGetBook_thenReturnNotModified() throws Exception {
+
+        // given
+        Book book = new BookBuilder().withValidFields().build();
+        book.setChangeVersion(1_700_000_000_000_001L);
+        BookDTO bookDTO = BookMapper.toDTO(book);
+
+        // when
+        Mockito.when(bookService.getBookById(book.getId())).thenReturn(bookDTO);
+
+        // then
+        mockMvc.perform(get("/api/v1/books/{bookId}", book.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 14 Nov 2023 22:13:21 GMT")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/v1/books/{bookId}", book.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 14 Nov 2023 22:13:19 GMT")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(jsonPath("$.response.id").value(book.getId()));
+    }
+
 }
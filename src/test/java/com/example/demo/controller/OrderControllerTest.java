@@ -4,6 +4,8 @@ import com.example.demo.base.BaseControllerTest;
 import com.example.demo.builder.BookBuilder;
 import com.example.demo.builder.UserBuilder;
 import com.example.demo.dto.OrderDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.dto.OrderVersionDTO;
 import com.example.demo.model.Book;
 import com.example.demo.model.Order;
 import com.example.demo.model.OrderItem;
@@ -23,6 +25,7 @@ import com.example.demo.payload.response.order.OrderGetBetweenDatesResponse;
 import com.example.demo.payload.response.order.OrderGetByCustomerResponse;
 import com.example.demo.payload.response.order.OrderGetResponse;
 import com.example.demo.security.CustomUserDetails;
+import com.example.demo.service.OrderQuoteService;
 import com.example.demo.service.OrderSaveService;
 import com.example.demo.service.OrderService;
 import com.example.demo.util.Identity;
@@ -33,15 +36,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class OrderControllerTest extends BaseControllerTest {
@@ -52,6 +63,9 @@ class OrderControllerTest extends BaseControllerTest {
     @MockBean
     private OrderSaveService orderSaveService;
 
+    @MockBean
+    private OrderQuoteService orderQuoteService;
+
     @MockBean
     private Identity identity;
 
@@ -151,6 +165,7 @@ class OrderControllerTest extends BaseControllerTest {
 
         // when
         when(identity.getCustomUserDetails()).thenReturn(customUserDetails);
+        when(orderService.findOrderVersionById(orderId)).thenReturn(new OrderVersionDTO(orderId, userId, null));
         when(orderService.findOrderById(orderId)).thenReturn(mockOrderDTO);
 
         // then
@@ -204,6 +219,7 @@ class OrderControllerTest extends BaseControllerTest {
 
         // when
         when(identity.getCustomUserDetails()).thenReturn(customUserDetails);
+        when(orderService.findOrderVersionById(orderId)).thenReturn(new OrderVersionDTO(orderId, userId, null));
         when(orderService.findOrderById(orderId)).thenReturn(mockOrderDTO);
 
         // then
@@ -395,10 +411,14 @@ class OrderControllerTest extends BaseControllerTest {
         when(orderService.findAllOrdersBetweenTwoDatesAndPagination(any(PaginatedFindAllRequest.class))).thenReturn(mockPageOfOrderDTOs);
 
         // then
-        mockMvc.perform(post("/api/v1/orders/between-dates")
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/orders/between-dates")
                         .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response.content[0].id").value(orderId))
                 .andExpect(jsonPath("$.response.content[0].user.id").value(userId))
@@ -409,4 +429,95 @@ class OrderControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.time").isNotEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenCreateOrderRequest_whenQuoted_returnOrderQuoteResponse() throws Exception {
+
+        // Given
+        final Book book = new BookBuilder().withValidFields().build();
+
+        final CreateOrderRequest createOrderRequest = CreateOrderRequest.builder()
+                .orderDetailSet(new LinkedHashSet<>(List.of(OrderItemRequest.builder().amount(2).bookId(book.getId()).build())))
+                .build();
+
+        final OrderQuoteDTO orderQuoteDTO = OrderQuoteDTO.builder()
+                .lines(List.of(OrderQuoteDTO.OrderQuoteLine.builder()
+                        .bookId(book.getId())
+                        .amount(2)
+                        .known(true)
+                        .available(true)
+                        .availableStock(5)
+                        .unitPrice(BigDecimal.TEN)
+                        .linePrice(BigDecimal.valueOf(20))
+                        .build()))
+                .totalPrice(BigDecimal.valueOf(20))
+                .fulfillable(true)
+                .build();
+
+        // When
+        when(orderQuoteService.quoteOrder(any(CreateOrderRequest.class))).thenReturn(orderQuoteDTO);
+
+        // Then
+        mockMvc.perform(post("/api/v1/orders/quote")
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createOrderRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.fulfillable").value(true))
+                .andExpect(jsonPath("$.response.totalPrice").value(20))
+                .andExpect(jsonPath("$.response.lines[0].bookId").value(book.getId()))
+                .andExpect(jsonPath("$.response.lines[0].available").value(true))
+                .andExpect(jsonPath("$.isSuccess").value(true));
+    }
+
+    @Test
+    void givenOrderIdAndMatchingETag_WhenGetOrder_ReturnNotModifiedWithoutLoadingOrder() throws Exception {
+
+        // given
+        Long orderId = 1L;
+        OrderVersionDTO orderVersion = new OrderVersionDTO(orderId, mockUser.getId(), LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        String eTag = "\"" + OrderMapper.toETag(orderVersion) + "\"";
+
+        // when
+        when(orderService.findOrderVersionById(orderId)).thenReturn(orderVersion);
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/{orderId}", orderId)
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+                .andExpect(content().string(""));
+
+        verify(orderService, never()).findOrderById(orderId);
+    }
+
+    @Test
+    void givenOrderIdAndStaleETag_WhenGetOrder_ReturnOrderWithValidators() throws Exception {
+
+        // given
+        Long orderId = 1L;
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        OrderVersionDTO orderVersion = new OrderVersionDTO(orderId, mockUser.getId(), createdAt);
+        OrderDTO orderDTO = OrderDTO.builder()
+                .id(orderId)
+                .user(UserMapper.toDTO(mockUser))
+                .createdAt(createdAt)
+                .orderItems(List.of())
+                .build();
+
+        // when
+        when(orderService.findOrderVersionById(orderId)).thenReturn(orderVersion);
+        when(orderService.findOrderById(orderId)).thenReturn(orderDTO);
+
+        // then
+        mockMvc.perform(get("/api/v1/orders/{orderId}", orderId)
+                        .header(HttpHeaders.AUTHORIZATION, mockUserToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + OrderMapper.toETag(orderVersion) + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.response.id").value(orderId));
+    }
+
+}
@@ -14,14 +14,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.Month;
 import java.util.Collections;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class StatisticsControllerTest extends BaseControllerTest {
@@ -56,10 +59,14 @@ class StatisticsControllerTest extends BaseControllerTest {
         CustomPageResponse<OrderReportResponse> customPageResponse = OrderReportMapper.toOrderReportResponseList(pageOfOrderReportDTOs);
         CustomResponse<CustomPageResponse<OrderReportResponse>> expectedResponse = CustomResponse.ok(customPageResponse);
 
-        mockMvc.perform(get("/api/v1/statistics/{customerId}", customerId)
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/statistics/{customerId}", customerId)
                         .header(HttpHeaders.AUTHORIZATION, mockUserToken)
                         .content(objectMapper.writeValueAsString(paginationRequest))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response.content[0].month").value(orderReportDTO.getMonth()))
                 .andExpect(jsonPath("$.response.content[0].year").value(orderReportDTO.getYear()))
@@ -97,10 +104,14 @@ class StatisticsControllerTest extends BaseControllerTest {
         CustomPageResponse<OrderReportResponse> customPageResponse = OrderReportMapper.toOrderReportResponseList(pageOfOrderReportDTOs);
         CustomResponse<CustomPageResponse<OrderReportResponse>> expectedResponse = CustomResponse.ok(customPageResponse);
 
-        mockMvc.perform(get("/api/v1/statistics/{customerId}", customerId)
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/statistics/{customerId}", customerId)
                         .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
                         .content(objectMapper.writeValueAsString(paginationRequest))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response.content[0].month").value(orderReportDTO.getMonth()))
                 .andExpect(jsonPath("$.response.content[0].year").value(orderReportDTO.getYear()))
@@ -136,10 +147,14 @@ class StatisticsControllerTest extends BaseControllerTest {
         CustomPageResponse<OrderReportResponse> customPageResponse = OrderReportMapper.toOrderReportResponseList(pageOfOrderReportDTOs);
         CustomResponse<CustomPageResponse<OrderReportResponse>> expectedResponse = CustomResponse.ok(customPageResponse);
 
-        mockMvc.perform(get("/api/v1/statistics")
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/statistics")
                         .header(HttpHeaders.AUTHORIZATION, mockAdminToken)
                         .content(objectMapper.writeValueAsString(paginationRequest))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response.content[0].month").value(orderReportDTO.getMonth()))
                 .andExpect(jsonPath("$.response.content[0].year").value(orderReportDTO.getYear()))
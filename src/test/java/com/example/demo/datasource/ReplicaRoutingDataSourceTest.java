@@ -0,0 +1,271 @@
+package com.example.demo.datasource;
+
+import com.example.demo.base.BaseServiceTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Routes against three in-memory databases, each holding its own name, standing in for a primary and two replicas.
+ */
+class ReplicaRoutingDataSourceTest extends BaseServiceTest {
+
+    private MeterRegistry meterRegistry;
+
+    private DataSource primary;
+
+    private DataSource firstReplica;
+
+    private DataSource secondReplica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = database("primary");
+        firstReplica = database("replica-0");
+        secondReplica = database("replica-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenReadOnlyTransaction_whenQuery_thenRouteToReplica() {
+
+        // Given
+        final Routing routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Map.of("replica-0", firstReplica));
+
+        // Then
+        assertEquals("replica-0", routing.readOnly());
+        assertEquals("primary", routing.readWrite());
+        assertEquals(1.0, meterRegistry.get("datasource.routing.connections").tag("target", "replica-0").counter().count());
+    }
+
+    @Test
+    void givenTwoReplicas_whenRoundRobin_thenAlternateReplicas() {
+
+        // Given
+        final Routing routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, replicas());
+
+        // Then
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"),
+                List.of(routing.readOnly(), routing.readOnly(), routing.readOnly(), routing.readOnly()));
+    }
+
+    @Test
+    void givenBusyReplica_whenLeastLoaded_thenRouteToOtherReplica() throws SQLException {
+
+        // Given
+        final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas(),
+                ReplicaRoutingDataSource.Selection.LEAST_LOADED, 0, meterRegistry);
+        final Routing routing = new Routing(routingDataSource);
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        final Connection held = routingDataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        // Then
+        try {
+            assertEquals("replica-1", routing.readOnly());
+            assertEquals("replica-1", routing.readOnly());
+        } finally {
+            held.close();
+        }
+        assertEquals(List.of("replica-1", "replica-0"), List.of(routing.readOnly(), routing.readOnly()));
+    }
+
+    @Test
+    void givenOwnWrite_whenReadOnlyTransaction_thenRouteToPrimaryUntilIntervalIsOver() throws InterruptedException {
+
+        // Given
+        final Routing routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Map.of("replica-0", firstReplica),
+                200);
+
+        // When
+        signIn("writer@bookdelivery.com");
+        routing.write();
+
+        // Then
+        assertEquals("primary", routing.readOnly());
+
+        signIn("reader@bookdelivery.com");
+        assertEquals("replica-0", routing.readOnly());
+
+        signIn("writer@bookdelivery.com");
+        Thread.sleep(300);
+        assertEquals("replica-0", routing.readOnly());
+    }
+
+    @Test
+    void givenOwnQueryOnly_whenReadOnlyTransaction_thenRouteToReplica() {
+
+        // Given
+        final Routing routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Map.of("replica-0", firstReplica),
+                60_000);
+
+        // When
+        signIn("reader@bookdelivery.com");
+        routing.readWrite();
+
+        // Then
+        assertEquals("replica-0", routing.readOnly());
+    }
+
+    @Test
+    void givenRolledBackWrite_whenReadOnlyTransaction_thenRouteToReplica() {
+
+        // Given
+        final Routing routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Map.of("replica-0", firstReplica),
+                60_000);
+
+        // When
+        signIn("writer@bookdelivery.com");
+        routing.transactionTemplate.executeWithoutResult(status -> {
+            routing.jdbcTemplate.update("UPDATE DATABASE_NAME SET NAME = NAME");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals("replica-0", routing.readOnly());
+    }
+
+    @Test
+    void givenPrimaryReads_whenReadOnlyTransaction_thenRouteToPrimary() {
+
+        // Given
+        final Routing routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Map.of("replica-0", firstReplica));
+
+        // Then
+        assertEquals("primary", PrimaryReads.call(routing::readOnly));
+        assertFalse(PrimaryReads.isActive());
+    }
+
+    @Test
+    void givenFailingReplica_whenReadOnlyTransaction_thenFailOverUntilReplicaIsValidAgain() throws SQLException {
+
+        // Given
+        final DataSource failingReplica = mock(DataSource.class);
+        final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary,
+                Map.of("replica-0", failingReplica), ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 0, meterRegistry);
+        final Routing routing = new Routing(routingDataSource);
+
+        // When
+        when(failingReplica.getConnection()).thenThrow(new SQLTransientConnectionException("Connection refused"));
+
+        // Then
+        assertEquals("primary", routing.readOnly());
+        assertEquals("primary", routing.readOnly());
+        assertEquals(0, routingDataSource.getHealthyReplicaCount());
+        assertEquals(1.0, meterRegistry.get("datasource.routing.failovers").counter().count());
+        verify(failingReplica, times(1)).getConnection();
+
+        // When
+        reset(failingReplica);
+        when(failingReplica.getConnection()).thenAnswer(invocation -> firstReplica.getConnection());
+        routingDataSource.checkReplicas(1);
+
+        // Then
+        assertEquals(1, routingDataSource.getHealthyReplicaCount());
+        assertEquals("replica-0", routing.readOnly());
+    }
+
+    private Routing routing(final ReplicaRoutingDataSource.Selection selection, final Map<String, DataSource> replicas) {
+        return routing(selection, replicas, 0);
+    }
+
+    private Routing routing(final ReplicaRoutingDataSource.Selection selection,
+                            final Map<String, DataSource> replicas,
+                            final long readYourWritesMs) {
+        return new Routing(new ReplicaRoutingDataSource(primary, replicas, selection, readYourWritesMs, meterRegistry));
+    }
+
+    private Map<String, DataSource> replicas() {
+        final Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", firstReplica);
+        replicas.put("replica-1", secondReplica);
+        return replicas;
+    }
+
+    private static DataSource database(final String name) {
+
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE DATABASE_NAME (NAME VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO DATABASE_NAME VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void signIn(final String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
+
+    /**
+     * The data source as the application uses it: behind a lazy connection proxy, inside transactions.
+     */
+    private static final class Routing {
+
+        private final DataSource dataSource;
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private final TransactionTemplate transactionTemplate;
+
+        private final TransactionTemplate readOnlyTransactionTemplate;
+
+        private Routing(final ReplicaRoutingDataSource routingDataSource) {
+            this.dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+            this.readOnlyTransactionTemplate.setReadOnly(true);
+        }
+
+        private String readOnly() {
+            return readOnlyTransactionTemplate.execute(status -> databaseName());
+        }
+
+        private String readWrite() {
+            return transactionTemplate.execute(status -> databaseName());
+        }
+
+        private void write() {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update("UPDATE DATABASE_NAME SET NAME = NAME"));
+        }
+
+        private String databaseName() {
+            return jdbcTemplate.queryForObject("SELECT NAME FROM DATABASE_NAME", String.class);
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.demo.execution;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the throughput of blocking request handling on the Tomcat platform thread pool and on virtual threads,
+ * with 5000 concurrent closed-loop clients.
+ * <p>A request borrows a connection from a Hikari pool of 10 on an in-memory H2 database, runs a query and holds
+ * the connection for {@code lockWaitMs} (a pessimistic lock wait), then blocks for {@code ioMs} without the
+ * connection (the rest of the request). Platform mode hands requests to a pool of 200 threads, the Tomcat default;
+ * virtual mode starts a virtual thread per request, guarded by the {@link ConnectionLimitingDataSource}.</p>
+ * <p>Not part of the test suite; run it with {@code mvn test-compile dependency:build-classpath
+ * -Dmdep.outputFile=target/cp.txt} and {@code java -cp target/test-classes:target/classes:$(cat target/cp.txt)
+ * com.example.demo.execution.BlockingRequestLoadSimulation}, tuned with {@code -Dclients}, {@code -DlockWaitMs},
+ * {@code -DioMs}, {@code -DwarmUpSeconds} and {@code -DmeasureSeconds}.</p>
+ */
+public class BlockingRequestLoadSimulation {
+
+    private static final int CLIENTS = Integer.getInteger("clients", 5000);
+
+    private static final int POOL_SIZE = 10;
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    private static final long LOCK_WAIT_MS = Long.getLong("lockWaitMs", 1);
+
+    private static final long IO_MS = Long.getLong("ioMs", 50);
+
+    private static final long WARM_UP_SECONDS = Long.getLong("warmUpSeconds", 5);
+
+    private static final long MEASURE_SECONDS = Long.getLong("measureSeconds", 15);
+
+    public static void main(final String[] args) throws Exception {
+
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(30_000);
+
+        System.out.printf("Java %s, %d clients, pool of %d, lock wait %d ms, other I/O %d ms%n",
+                Runtime.version(), CLIENTS, POOL_SIZE, LOCK_WAIT_MS, IO_MS);
+
+        try (HikariDataSource hikari = new HikariDataSource(config)) {
+
+            run("platform", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), hikari);
+
+            run("virtual", VirtualThreads.newThreadPerTaskExecutor("handler-"),
+                    new ConnectionLimitingDataSource(hikari, POOL_SIZE, 30_000, new SimpleMeterRegistry()));
+        }
+    }
+
+    private static void run(final String mode, final ExecutorService handlers, final DataSource dataSource)
+            throws InterruptedException {
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicBoolean measuring = new AtomicBoolean();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final List<long[]> latencies = new ArrayList<>();
+
+        final ThreadFactory clientThreads = VirtualThreads.newThreadFactory("client-");
+
+        final List<Thread> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            final long[] clientLatencies = new long[1 << 12];
+            latencies.add(clientLatencies);
+            clients.add(clientThreads.newThread(() -> {
+                int recorded = 0;
+                while (running.get()) {
+                    final long startedAt = System.nanoTime();
+                    try {
+                        handlers.submit(() -> handle(dataSource)).get();
+                        if (measuring.get()) {
+                            completed.incrementAndGet();
+                            if (recorded < clientLatencies.length) {
+                                clientLatencies[recorded++] = System.nanoTime() - startedAt;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        clients.forEach(Thread::start);
+
+        TimeUnit.SECONDS.sleep(WARM_UP_SECONDS);
+        measuring.set(true);
+        TimeUnit.SECONDS.sleep(MEASURE_SECONDS);
+        measuring.set(false);
+        running.set(false);
+
+        handlers.shutdown();
+        handlers.awaitTermination(1, TimeUnit.MINUTES);
+        for (final Thread client : clients) {
+            client.join();
+        }
+
+        final long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(latency -> latency > 0).sorted().toArray();
+        System.out.printf("%s: %.0f requests/s, p50 %d ms, p99 %d ms, %d failed%n", mode,
+                (double) completed.get() / MEASURE_SECONDS,
+                TimeUnit.NANOSECONDS.toMillis(percentile(all, 0.50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(all, 0.99)),
+                failed.get());
+    }
+
+    private static Void handle(final DataSource dataSource) throws Exception {
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+            resultSet.next();
+            TimeUnit.MILLISECONDS.sleep(LOCK_WAIT_MS);
+        }
+        TimeUnit.MILLISECONDS.sleep(IO_MS);
+        return null;
+    }
+
+    private static long percentile(final long[] sorted, final double percentile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, sorted.length * percentile)];
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.example.demo.execution;
+
+import com.example.demo.base.BaseServiceTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionLimitingDataSourceTest extends BaseServiceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private MeterRegistry meterRegistry;
+
+    private ConnectionLimitingDataSource connectionLimitingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        connectionLimitingDataSource = new ConnectionLimitingDataSource(targetDataSource, 1, 50, meterRegistry);
+    }
+
+    @Test
+    void givenAllPermitsTaken_whenGetConnection_thenTimeOut() throws SQLException {
+
+        // When
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        // Then
+        connectionLimitingDataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, connectionLimitingDataSource::getConnection);
+        assertEquals(1.0, meterRegistry.get("datasource.connections.permits.timeouts").counter().count());
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void givenClosedConnection_whenGetConnection_thenReusePermit() throws SQLException {
+
+        // When
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        // Then
+        final Connection borrowed = connectionLimitingDataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        connectionLimitingDataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, connectionLimitingDataSource::getConnection);
+        assertEquals(0.0, meterRegistry.get("datasource.connections.permits.available").gauge().value());
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void givenFailingTarget_whenGetConnection_thenReleasePermit() throws SQLException {
+
+        // When
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("Connection refused")).thenReturn(connection);
+
+        // Then
+        assertThrows(SQLException.class, connectionLimitingDataSource::getConnection);
+
+        final Connection borrowed = connectionLimitingDataSource.getConnection();
+        borrowed.isValid(1);
+
+        verify(connection).isValid(1);
+        assertSame(connection, borrowed.unwrap(Connection.class));
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.demo.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsTest {
+
+    @Test
+    void givenPrefix_whenNewThreadPerTaskExecutor_thenRunTasksOnNamedVirtualThreads() throws Exception {
+
+        // When
+        final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+
+        // Then
+        final Thread thread = executor.submit(Thread::currentThread).get(1, TimeUnit.SECONDS);
+        assertTrue(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("test-"));
+        executor.shutdown();
+    }
+
+}
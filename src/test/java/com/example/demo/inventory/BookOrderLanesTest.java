@@ -0,0 +1,139 @@
+package com.example.demo.inventory;
+
+import com.example.demo.exception.book.BookOrderLaneSaturatedException;
+import com.example.demo.util.RandomUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookOrderLanesTest {
+
+    @Test
+    void givenFreeLane_whenRunInLanes_thenRunActionAndDiscardLane() {
+
+        // Given
+        BookOrderLanes bookOrderLanes = new BookOrderLanes(2, 100);
+        String bookId = RandomUtil.generateUUID();
+
+        // When
+        String result = bookOrderLanes.runInLanes(List.of(bookId), () -> {
+            assertEquals(1, bookOrderLanes.getOccupancy(bookId));
+            return "done";
+        });
+
+        // Then
+        assertEquals("done", result);
+        assertEquals(0, bookOrderLanes.getOccupancy(bookId));
+    }
+
+    @Test
+    void givenFullLane_whenRunInLanes_thenThrowBookOrderLaneSaturatedException() throws Exception {
+
+        // Given
+        BookOrderLanes bookOrderLanes = new BookOrderLanes(0, 5_000);
+        String bookId = RandomUtil.generateUUID();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> bookOrderLanes.runInLanes(List.of(bookId), () -> {
+            holding.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        // Then
+        assertThrows(
+                BookOrderLaneSaturatedException.class,
+                () -> bookOrderLanes.runInLanes(List.of(bookId), () -> null)
+        );
+
+        release.countDown();
+        holder.get();
+        executor.shutdown();
+
+        assertEquals(0, bookOrderLanes.getOccupancy(bookId));
+    }
+
+    @Test
+    void givenBusyLane_whenWaitExceedsLimit_thenThrowBookOrderLaneSaturatedException() throws Exception {
+
+        // Given
+        BookOrderLanes bookOrderLanes = new BookOrderLanes(5, 50);
+        String bookId = RandomUtil.generateUUID();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> bookOrderLanes.runInLanes(List.of(bookId), () -> {
+            holding.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        // Then
+        assertThrows(
+                BookOrderLaneSaturatedException.class,
+                () -> bookOrderLanes.runInLanes(List.of(bookId), () -> null)
+        );
+        assertEquals(1, bookOrderLanes.getOccupancy(bookId));
+
+        release.countDown();
+        holder.get();
+        executor.shutdown();
+    }
+
+    @Test
+    void givenConcurrentOrdersForSameBooks_whenRunInLanes_thenSerializeThem() throws Exception {
+
+        // Given
+        BookOrderLanes bookOrderLanes = new BookOrderLanes(1_000, 10_000);
+        String bookId1 = RandomUtil.generateUUID();
+        String bookId2 = RandomUtil.generateUUID();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        // When
+        List<Future<Object>> futures = executor.invokeAll(IntStream.range(0, 200)
+                .mapToObj(i -> (Callable<Object>) () -> bookOrderLanes.runInLanes(
+                        i % 2 == 0 ? List.of(bookId1, bookId2) : List.of(bookId2, bookId1),
+                        () -> {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            inside.decrementAndGet();
+                            return null;
+                        }))
+                .toList());
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, maxInside.get());
+        assertEquals(0, bookOrderLanes.getOccupancy(bookId1));
+        assertEquals(0, bookOrderLanes.getOccupancy(bookId2));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.demo.inventory;
+
+import com.example.demo.exception.book.NoAvailableStockException;
+import com.example.demo.util.RandomUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlashSaleLedgerTest {
+
+    private final FlashSaleLedger flashSaleLedger = new FlashSaleLedger();
+
+    @Test
+    void givenLoadedBook_whenReservedWithinStock_thenDecrementAvailableStock() {
+
+        // Given
+        String bookId = RandomUtil.generateUUID();
+        flashSaleLedger.load(bookId, 10);
+
+        // When
+        String reservationId = flashSaleLedger.reserve(bookId, 4);
+
+        // Then
+        assertNotNull(reservationId);
+        assertEquals(6, flashSaleLedger.getAvailableStock(bookId).getAsLong());
+    }
+
+    @Test
+    void givenLoadedBook_whenReservedBeyondStock_thenThrowNoAvailableStockException() {
+
+        // Given
+        String bookId = RandomUtil.generateUUID();
+        flashSaleLedger.load(bookId, 3);
+
+        // Then
+        assertThrows(NoAvailableStockException.class, () -> flashSaleLedger.reserve(bookId, 4));
+        assertEquals(3, flashSaleLedger.getAvailableStock(bookId).getAsLong());
+    }
+
+    @Test
+    void givenUnloadedBook_whenReserved_thenThrowNoAvailableStockException() {
+
+        // Given
+        String bookId = RandomUtil.generateUUID();
+
+        // Then
+        assertThrows(NoAvailableStockException.class, () -> flashSaleLedger.reserve(bookId, 1));
+        assertFalse(flashSaleLedger.getAvailableStock(bookId).isPresent());
+    }
+
+    @Test
+    void givenReservation_whenReleased_thenRestoreAvailableStock() {
+
+        // Given
+        String bookId = RandomUtil.generateUUID();
+        flashSaleLedger.load(bookId, 5);
+        flashSaleLedger.reserve(bookId, 5);
+
+        // When
+        flashSaleLedger.release(bookId, 2);
+
+        // Then
+        assertEquals(2, flashSaleLedger.getAvailableStock(bookId).getAsLong());
+    }
+
+    @Test
+    void givenTenThousandConcurrentReservations_whenStockIsLimited_thenNeverOversell() throws Exception {
+
+        // Given
+        String bookId = RandomUtil.generateUUID();
+        int stock = 1_000;
+        int reservationCount = 10_000;
+        flashSaleLedger.load(bookId, stock);
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(reservationCount);
+
+        // When
+        for (int i = 0; i < reservationCount; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    flashSaleLedger.reserve(bookId, 1);
+                    succeeded.incrementAndGet();
+                } catch (NoAvailableStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(stock, succeeded.get());
+        assertEquals(reservationCount - stock, rejected.get());
+        assertEquals(0, flashSaleLedger.getAvailableStock(bookId).getAsLong());
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.example.demo.model;
+
+import com.example.demo.logging.entity.LogEntity;
+import com.example.demo.model.enums.Role;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Hibernate flush paths of the book and order updates, and reading log entries, against an in-memory
+ * H2 database: with the entities enhanced at build time (dirty tracking, lazy basic attributes) or not.
+ * <p>Not part of the test suite; run it once as built and once built with {@code -Penhance} (after a {@code clean}), with
+ * {@code mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt} and
+ * {@code java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.demo.model.EntityFlushBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityFlushBenchmark {
+
+    private static final int BOOKS = 100;
+
+    private static final int LOG_ENTRIES = 100;
+
+    private static final int LOG_TEXT_LENGTH = 8 * 1024;
+
+    /**
+     * The number of books in the persistence context at flush: one for a stock update, more for an order.
+     */
+    @Param({"1", "20"})
+    public int managedBooks;
+
+    private SessionFactory sessionFactory;
+
+    private List<String> bookIds;
+
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        System.out.println("Entities enhanced: " + SelfDirtinessTracker.class.isAssignableFrom(Book.class));
+
+        final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, "jdbc:h2:mem:flush;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.SHOW_SQL, false)
+                .build();
+
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(User.class, Book.class, Order.class, OrderItem.class, LogEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        bookIds = new ArrayList<>();
+        try (Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+
+            user = User.builder().fullName("Customer").username("customer").email("customer@bookdelivery.com")
+                    .password("password").role(Role.ROLE_CUSTOMER).build();
+            session.persist(user);
+
+            for (int i = 0; i < BOOKS; i++) {
+                final Book book = Book.builder().isbn("isbn-" + i).name("Book " + i).authorFullName("Author " + i)
+                        .stock(1_000_000).price(BigDecimal.TEN).build();
+                session.persist(book);
+                bookIds.add(book.getId());
+            }
+
+            final String text = "x".repeat(LOG_TEXT_LENGTH);
+            for (int i = 0; i < LOG_ENTRIES; i++) {
+                session.persist(LogEntity.builder().endpoint("/api/v1/books").method("GET")
+                        .message(text).response(text).build());
+            }
+
+            transaction.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * The stock update path: the loaded books are flushed after the stock of one of them changed.
+     */
+    @Benchmark
+    public void updateBookStock() {
+
+        try (Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+
+            final List<Book> books = loadBooks(session);
+            books.get(0).setStock(books.get(0).getStock() - 1);
+            session.flush();
+
+            transaction.rollback();
+        }
+    }
+
+    /**
+     * The order creation path: the stock of every ordered book is reserved and the order is persisted with its items.
+     */
+    @Benchmark
+    public void createOrder() {
+
+        try (Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+
+            final List<OrderItem> items = new ArrayList<>();
+            for (final Book book : loadBooks(session)) {
+                book.setStock(book.getStock() - 1);
+                items.add(OrderItem.builder().book(book).build());
+            }
+
+            final Order order = Order.builder().user(session.getReference(User.class, user.getId())).build();
+            order.setOrderItems(items);
+            session.persist(order);
+            session.flush();
+
+            transaction.rollback();
+        }
+    }
+
+    /**
+     * Reads log entries without their {@code TEXT} columns.
+     */
+    @Benchmark
+    public void readLogEntries(final Blackhole blackhole) {
+
+        try (Session session = sessionFactory.openSession()) {
+            for (final LogEntity logEntity : session.createQuery("FROM LogEntity", LogEntity.class).getResultList()) {
+                blackhole.consume(logEntity.getEndpoint());
+            }
+        }
+    }
+
+    private List<Book> loadBooks(final Session session) {
+
+        final List<Book> books = new ArrayList<>(managedBooks);
+        for (int i = 0; i < managedBooks; i++) {
+            books.add(session.get(Book.class, bookIds.get(i)));
+        }
+        return books;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityFlushBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.example.demo.reactive;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.exception.book.BookNotFoundException;
+import com.example.demo.model.enums.Role;
+import com.example.demo.model.enums.TokenClaims;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.security.jwt.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveBookHandlerTest extends BaseServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private ReactiveBookService reactiveBookService;
+
+    private JwtUtils jwtUtils;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 600000);
+
+        final ReactiveBookHandler handler = new ReactiveBookHandler(reactiveBookService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new ReactiveCatalogConfig().catalogRoutes(handler, new ReactiveJwtAuthorizationFilter(jwtUtils)))
+                .handlerStrategies(HandlerStrategies.builder()
+                        .codecs(configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                        .build())
+                .build();
+    }
+
+    @Test
+    void givenNoToken_whenGetBookById_thenReturnUnauthorized() {
+
+        webTestClient.get().uri("/api/v1/catalog/books/1")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(reactiveBookService);
+    }
+
+    @Test
+    void givenTokenWithForeignSignature_whenGetBookById_thenReturnUnauthorized() {
+
+        // Given
+        JwtUtils foreignJwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(foreignJwtUtils, "jwtSecret", SECRET.replace('4', '5'));
+        ReflectionTestUtils.setField(foreignJwtUtils, "jwtExpirationMs", 600000);
+        String foreignToken = foreignJwtUtils.createToken(Map.of(
+                TokenClaims.ROLES.getValue(), List.of(Role.ROLE_ADMIN.name())
+        ), "admin");
+
+        // Then
+        webTestClient.get().uri("/api/v1/catalog/books/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + foreignToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(reactiveBookService);
+    }
+
+    @Test
+    void givenTokenWithoutReaderRole_whenGetBookById_thenReturnForbidden() {
+
+        webTestClient.get().uri("/api/v1/catalog/books/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ROLE_GUEST"))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void givenCustomerToken_whenGetBookById_thenReturnBookWithETag() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").name("Book").price(BigDecimal.TEN).stock(5).changeVersion(7L).build();
+
+        // When
+        when(reactiveBookService.getBookById("1")).thenReturn(Mono.just(book));
+
+        // Then
+        webTestClient.get().uri("/api/v1/catalog/books/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.ROLE_CUSTOMER.name()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"7-5\"")
+                .expectBody()
+                .jsonPath("$.response.id").isEqualTo("1")
+                .jsonPath("$.response.stock").isEqualTo(5)
+                .jsonPath("$.isSuccess").isEqualTo(true);
+    }
+
+    @Test
+    void givenMatchingETag_whenGetBookById_thenReturnNotModified() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(5).changeVersion(7L).build();
+
+        // When
+        when(reactiveBookService.getBookById("1")).thenReturn(Mono.just(book));
+
+        // Then
+        webTestClient.get().uri("/api/v1/catalog/books/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.ROLE_CUSTOMER.name()))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7-5\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void givenUnknownBook_whenGetBookById_thenReturnNotFound() {
+
+        // When
+        when(reactiveBookService.getBookById("1")).thenReturn(Mono.error(new BookNotFoundException("1")));
+
+        // Then
+        webTestClient.get().uri("/api/v1/catalog/books/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.ROLE_ADMIN.name()))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo(404);
+    }
+
+    @Test
+    void givenTooLargePage_whenGetBooks_thenReturnBadRequest() {
+
+        webTestClient.get().uri("/api/v1/catalog/books?page=0&size=51")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.ROLE_CUSTOMER.name()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation Errors");
+
+        verify(reactiveBookService, never()).getAllBooks(any());
+    }
+
+    @Test
+    void givenPaginationRequest_whenGetBooks_thenReturnPage() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(5).build();
+
+        // When
+        when(reactiveBookService.getAllBooks(any(PaginationRequest.class)))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(book), PageRequest.of(0, 10), 1)));
+
+        // Then
+        webTestClient.get().uri("/api/v1/catalog/books?page=0&size=10")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.ROLE_CUSTOMER.name()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.response.content[0].id").isEqualTo("1")
+                .jsonPath("$.response.totalElementCount").isEqualTo(1);
+    }
+
+    @Test
+    void givenCatalog_whenStreamBooks_thenWriteOneBookPerLine() {
+
+        // When
+        when(reactiveBookService.streamAllBooks()).thenReturn(Flux.just(
+                BookDTO.builder().id("1").stock(5).build(),
+                BookDTO.builder().id("2").stock(3).build()
+        ));
+
+        // Then
+        webTestClient.get().uri("/api/v1/catalog/books/stream")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Role.ROLE_CUSTOMER.name()))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertEquals(2, body.trim().split("\n").length));
+    }
+
+    private String token(final String role) {
+        return jwtUtils.createToken(Map.of(
+                TokenClaims.ROLES.getValue(), List.of(role),
+                TokenClaims.EMAIL.getValue(), "customer@bookdelivery.com"
+        ), "customer");
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.demo.reactive;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.dto.BookDTO;
+import io.r2dbc.spi.Readable;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ReactiveBookRepositoryTest extends BaseServiceTest {
+
+    @Mock
+    private Readable row;
+
+    @Test
+    void givenStripedBookRow_whenToDTO_thenUseResolvedStock() {
+
+        // When
+        when(row.get("ID", String.class)).thenReturn("1");
+        when(row.get("NAME", String.class)).thenReturn("Book");
+        when(row.get("PRICE", BigDecimal.class)).thenReturn(BigDecimal.TEN);
+        when(row.get("RESOLVED_STOCK", Long.class)).thenReturn(12L);
+        when(row.get("STOCK_SLOT_COUNT", Integer.class)).thenReturn(4);
+        when(row.get("FLASH_SALE", Boolean.class)).thenReturn(false);
+        when(row.get("CHANGE_VERSION", Long.class)).thenReturn(7L);
+
+        // Then
+        final BookDTO book = ReactiveBookRepository.toDTO(row);
+
+        assertEquals("1", book.getId());
+        assertEquals("Book", book.getName());
+        assertEquals(BigDecimal.TEN, book.getPrice());
+        assertEquals(12, book.getStock());
+        assertEquals(4, book.getStockSlotCount());
+        assertFalse(book.isFlashSale());
+        assertEquals(7L, book.getChangeVersion());
+    }
+
+    @Test
+    void givenRowWithoutStockOrFlag_whenToDTO_thenLeaveStockEmptyAndFlagUnset() {
+
+        // When
+        when(row.get("ID", String.class)).thenReturn("1");
+
+        // Then
+        final BookDTO book = ReactiveBookRepository.toDTO(row);
+
+        assertNull(book.getStock());
+        assertFalse(book.isFlashSale());
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.example.demo.reactive;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.cache.BookCache;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.exception.book.BookNotFoundException;
+import com.example.demo.inventory.FlashSaleLedger;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReactiveBookServiceImplTest extends BaseServiceTest {
+
+    @InjectMocks
+    private ReactiveBookServiceImpl reactiveBookService;
+
+    @Mock
+    private ReactiveBookRepository reactiveBookRepository;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private FlashSaleLedger flashSaleLedger;
+
+    @Test
+    void givenCachedBook_whenGetBookById_thenReturnCachedBookWithoutQuery() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(5).build();
+
+        // When
+        when(bookCache.get("1")).thenReturn(Optional.of(book));
+
+        // Then
+        StepVerifier.create(reactiveBookService.getBookById("1"))
+                .expectNext(book)
+                .verifyComplete();
+
+        verify(reactiveBookRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void givenUncachedBook_whenGetBookById_thenReadWithoutCaching() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(5).build();
+
+        // When
+        when(bookCache.get("1")).thenReturn(Optional.empty());
+        when(reactiveBookRepository.findById("1")).thenReturn(Mono.just(book));
+
+        // Then
+        StepVerifier.create(reactiveBookService.getBookById("1"))
+                .expectNext(book)
+                .verifyComplete();
+
+        verify(bookCache, never()).put(any());
+    }
+
+    @Test
+    void givenUnknownBook_whenGetBookById_thenFailWithBookNotFound() {
+
+        // When
+        when(bookCache.get("1")).thenReturn(Optional.empty());
+        when(reactiveBookRepository.findById("1")).thenReturn(Mono.empty());
+
+        // Then
+        StepVerifier.create(reactiveBookService.getBookById("1"))
+                .expectError(BookNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void givenFlashSaleBook_whenStreamAllBooks_thenTakeStockFromLedger() {
+
+        // Given
+        BookDTO regular = BookDTO.builder().id("1").stock(5).build();
+        BookDTO flashSale = BookDTO.builder().id("2").stock(100).flashSale(true).changeVersion(7L).build();
+
+        // When
+        when(reactiveBookRepository.findAll()).thenReturn(Flux.just(regular, flashSale));
+        when(flashSaleLedger.getAvailableStock("2")).thenReturn(OptionalLong.of(42));
+
+        // Then
+        StepVerifier.create(reactiveBookService.streamAllBooks())
+                .expectNext(regular)
+                .assertNext(book -> {
+                    assertEquals("2", book.getId());
+                    assertEquals(42, book.getStock());
+                    assertEquals(7L, book.getChangeVersion());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenPaginationRequest_whenGetAllBooks_thenReturnPageWithTotal() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(5).build();
+
+        // When
+        when(reactiveBookRepository.findPage(1, 10)).thenReturn(Flux.just(book));
+        when(reactiveBookRepository.count()).thenReturn(Mono.just(11L));
+
+        // Then
+        StepVerifier.create(reactiveBookService.getAllBooks(new PaginationRequest(1, 10)))
+                .assertNext(page -> {
+                    assertEquals(1, page.getNumber());
+                    assertEquals(11L, page.getTotalElements());
+                    assertEquals(2, page.getTotalPages());
+                    assertEquals(book, page.getContent().get(0));
+                })
+                .verifyComplete();
+    }
+
+}
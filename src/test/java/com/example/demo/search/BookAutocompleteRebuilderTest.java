@@ -0,0 +1,81 @@
+package com.example.demo.search;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.builder.BookBuilder;
+import com.example.demo.dto.BookOrderCountDTO;
+import com.example.demo.model.Book;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.OrderItemRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookAutocompleteRebuilderTest extends BaseServiceTest {
+
+    @InjectMocks
+    private BookAutocompleteRebuilder bookAutocompleteRebuilder;
+
+    @Mock
+    private BookAutocompleter bookAutocompleter;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Test
+    void givenBooksAndOrders_whenRebuild_thenSwapInTrieRankedByOrderedItems() {
+
+        // Given
+        ReflectionTestUtils.setField(bookAutocompleteRebuilder, "maxCompletions", 10);
+
+        Book hobbit = new BookBuilder().withValidFields().build();
+        hobbit.setName("The Hobbit");
+        hobbit.setAuthorFullName("J. R. R. Tolkien");
+
+        Book hungerGames = new BookBuilder().withValidFields().build();
+        hungerGames.setName("The Hunger Games");
+        hungerGames.setAuthorFullName("Suzanne Collins");
+
+        // When
+        when(orderItemRepository.countOrderedItemsByBook())
+                .thenReturn(List.of(new BookOrderCountDTO(hungerGames.getId(), 7L)));
+        when(bookRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(hobbit, hungerGames)));
+
+        // Then
+        bookAutocompleteRebuilder.rebuild();
+
+        ArgumentCaptor<BookAutocompleteTrie> trie = ArgumentCaptor.forClass(BookAutocompleteTrie.class);
+        verify(bookAutocompleter, times(1)).swap(trie.capture());
+
+        List<BookAutocompleteTrie.Completion> completions = trie.getValue().complete("the h", 10);
+        assertEquals(List.of("The Hunger Games", "The Hobbit"), completions.stream().map(BookAutocompleteTrie.Completion::text).toList());
+        assertEquals(7, completions.get(0).popularity());
+        assertEquals(4, trie.getValue().size());
+    }
+
+    @Test
+    void givenRepositoryFailure_whenRebuild_thenKeepPreviousTrie() {
+
+        // When
+        when(orderItemRepository.countOrderedItemsByBook()).thenThrow(new IllegalStateException("down"));
+
+        // Then
+        bookAutocompleteRebuilder.rebuild();
+
+        verify(bookAutocompleter, never()).swap(any());
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookAutocompleteTrieTest {
+
+    private final BookAutocompleteTrie trie = new BookAutocompleteTrie.Builder(3)
+            .add("The Lord of the Rings", BookAutocompleteTrie.Kind.TITLE, 40)
+            .add("The Hobbit", BookAutocompleteTrie.Kind.TITLE, 90)
+            .add("J. R. R. Tolkien", BookAutocompleteTrie.Kind.AUTHOR, 90)
+            .add("J. R. R. Tolkien", BookAutocompleteTrie.Kind.AUTHOR, 40)
+            .add("The Hunger Games", BookAutocompleteTrie.Kind.TITLE, 70)
+            .add("Les Misérables", BookAutocompleteTrie.Kind.TITLE, 5)
+            .add("Thérèse Raquin", BookAutocompleteTrie.Kind.TITLE, 1)
+            .build();
+
+    @Test
+    void givenPrefix_whenComplete_thenReturnCompletionsByPopularity() {
+
+        List<BookAutocompleteTrie.Completion> completions = trie.complete("the h", 10);
+
+        assertEquals(List.of("The Hobbit", "The Hunger Games"), completions.stream().map(BookAutocompleteTrie.Completion::text).toList());
+    }
+
+    @Test
+    void givenPrefixMatchingManyTexts_whenComplete_thenReturnAtMostPrecomputedTopK() {
+
+        List<BookAutocompleteTrie.Completion> completions = trie.complete("th", 10);
+
+        assertEquals(List.of("The Hobbit", "The Hunger Games", "The Lord of the Rings"),
+                completions.stream().map(BookAutocompleteTrie.Completion::text).toList());
+    }
+
+    @Test
+    void givenLimit_whenComplete_thenReturnOnlyMostPopular() {
+
+        List<BookAutocompleteTrie.Completion> completions = trie.complete("th", 1);
+
+        assertEquals("The Hobbit", completions.get(0).text());
+        assertEquals(1, completions.size());
+    }
+
+    @Test
+    void givenPrefixOfLaterWord_whenComplete_thenMatchWordBoundary() {
+
+        List<BookAutocompleteTrie.Completion> completions = trie.complete("ring", 10);
+
+        assertEquals("The Lord of the Rings", completions.get(0).text());
+    }
+
+    @Test
+    void givenSameAuthorAddedTwice_whenComplete_thenMergePopularity() {
+
+        List<BookAutocompleteTrie.Completion> completions = trie.complete("tolk", 10);
+
+        assertEquals(1, completions.size());
+        assertEquals(BookAutocompleteTrie.Kind.AUTHOR, completions.get(0).kind());
+        assertEquals(130, completions.get(0).popularity());
+    }
+
+    @Test
+    void givenAccentsAndPunctuation_whenComplete_thenMatchNormalizedText() {
+        assertEquals("Les Misérables", trie.complete("MISER", 10).get(0).text());
+        assertEquals("Thérèse Raquin", trie.complete("therese", 10).get(0).text());
+        assertEquals("J. R. R. Tolkien", trie.complete("j.r", 10).get(0).text());
+    }
+
+    @Test
+    void givenUnknownPrefix_whenComplete_thenReturnEmptyList() {
+        assertTrue(trie.complete("xyz", 10).isEmpty());
+        assertTrue(trie.complete("the hobbitses", 10).isEmpty());
+        assertTrue(trie.complete("  ", 10).isEmpty());
+        assertTrue(BookAutocompleteTrie.empty().complete("the", 10).isEmpty());
+    }
+
+    @Test
+    void givenTrie_whenEstimatedBytes_thenGrowWithContent() {
+        assertEquals(6, trie.size());
+        assertTrue(trie.estimatedBytes() > BookAutocompleteTrie.empty().estimatedBytes());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.demo.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookAutocompleterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BookAutocompleter bookAutocompleter = new BookAutocompleter(meterRegistry);
+
+    @Test
+    void givenSwappedTrie_whenComplete_thenServeFromNewTrie() {
+
+        // Given
+        assertTrue(bookAutocompleter.complete("hob", 5).isEmpty());
+
+        // When
+        bookAutocompleter.swap(new BookAutocompleteTrie.Builder(5)
+                .add("The Hobbit", BookAutocompleteTrie.Kind.TITLE, 3)
+                .build());
+
+        // Then
+        List<BookAutocompleteTrie.Completion> completions = bookAutocompleter.complete("hob", 5);
+        assertEquals("The Hobbit", completions.get(0).text());
+    }
+
+    @Test
+    void givenCompletions_whenMetricsRead_thenPublishLatencyAndFootprint() {
+
+        // Given
+        BookAutocompleteTrie trie = new BookAutocompleteTrie.Builder(5)
+                .add("The Hobbit", BookAutocompleteTrie.Kind.TITLE, 3)
+                .build();
+
+        // When
+        bookAutocompleter.swap(trie);
+        bookAutocompleter.complete("hob", 5);
+        bookAutocompleter.complete("the", 5);
+
+        // Then
+        assertEquals(2, meterRegistry.get("books.autocomplete.latency").timer().count());
+        assertEquals(trie.estimatedBytes(), meterRegistry.get("books.autocomplete.trie.memory").gauge().value());
+        assertEquals(1, meterRegistry.get("books.autocomplete.trie.completions").gauge().value());
+    }
+
+}
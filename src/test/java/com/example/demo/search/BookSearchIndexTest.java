@@ -0,0 +1,146 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex();
+        bookSearchIndex.index("1", "The Lord of the Rings", "J. R. R. Tolkien", "978-0-261-10325-2");
+        bookSearchIndex.index("2", "The Hobbit", "J. R. R. Tolkien", "978-0-261-10221-7");
+        bookSearchIndex.index("3", "Crime and Punishment", "Fyodor Dostoyevsky", "978-0-14-044913-6");
+        bookSearchIndex.index("4", "Les Misérables", "Victor Hugo", "978-0-14-044430-8");
+    }
+
+    @Test
+    void givenText_whenTokenize_thenReturnLowerCaseAlphanumericTokensWithoutAccents() {
+        assertEquals(List.of("les", "miserables", "victor", "hugo"), BookSearchIndex.tokenize("Les Misérables, Victor-Hugo!"));
+    }
+
+    @Test
+    void givenExactTerm_whenSearch_thenReturnMatchingBooks() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("tolkien", 0, 10);
+
+        assertEquals(2, hits.totalHits());
+        assertTrue(hits.bookIds().containsAll(List.of("1", "2")));
+    }
+
+    @Test
+    void givenSeveralTerms_whenSearch_thenRankBookMatchingMostTermsFirst() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("hobbit tolkien", 0, 10);
+
+        assertEquals(List.of("2", "1"), hits.bookIds());
+    }
+
+    @Test
+    void givenPrefix_whenSearch_thenReturnBooksWithTermsStartingWithIt() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("dosto", 0, 10);
+
+        assertEquals(List.of("3"), hits.bookIds());
+    }
+
+    @Test
+    void givenMisspelledTerm_whenSearch_thenReturnFuzzyMatches() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("punishmant", 0, 10);
+
+        assertEquals(List.of("3"), hits.bookIds());
+    }
+
+    @Test
+    void givenMisspelledFirstCharacter_whenSearch_thenReturnNoFuzzyMatches() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("hunishment", 0, 10);
+
+        assertEquals(0, hits.totalHits());
+    }
+
+    @Test
+    void givenManyTermsWithinEditDistance_whenSearch_thenCapFuzzyMatches() {
+
+        int bookId = 100;
+        for (int position = 1; position < 7; position++) {
+            for (char character = 'a'; character < 'z'; character++) {
+                final String term = "zzzzzzz".substring(0, position) + character + "zzzzzzz".substring(position + 1);
+                bookSearchIndex.index(String.valueOf(bookId++), term, "Anonymous", null);
+            }
+        }
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("zzzzzzz", 0, 10);
+
+        assertEquals(64, hits.totalHits());
+    }
+
+    @Test
+    void givenAccentFreeQuery_whenSearch_thenMatchAccentedText() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("miserables", 0, 10);
+
+        assertEquals(List.of("4"), hits.bookIds());
+    }
+
+    @Test
+    void givenIsbnWithoutHyphens_whenSearch_thenReturnBook() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("9780261102217", 0, 10);
+
+        assertEquals("2", hits.bookIds().get(0));
+    }
+
+    @Test
+    void givenUpdatedBook_whenIndexedAgain_thenOldTermsNoLongerMatch() {
+
+        bookSearchIndex.index("2", "There and Back Again", "J. R. R. Tolkien", "978-0-261-10221-7");
+
+        assertEquals(0, bookSearchIndex.search("hobbit", 0, 10).totalHits());
+        assertEquals(List.of("2"), bookSearchIndex.search("again", 0, 10).bookIds());
+        assertEquals(4, bookSearchIndex.size());
+    }
+
+    @Test
+    void givenRemovedBooks_whenRetainAll_thenDropThemFromIndex() {
+
+        bookSearchIndex.retainAll(List.of("1", "3"));
+
+        assertEquals(2, bookSearchIndex.size());
+        assertEquals(List.of("1"), bookSearchIndex.search("tolkien", 0, 10).bookIds());
+    }
+
+    @Test
+    void givenOffsetAndLimit_whenSearch_thenReturnRequestedPageAndTotal() {
+
+        BookSearchIndex.Hits hits = bookSearchIndex.search("the", 1, 1);
+
+        assertEquals(2, hits.totalHits());
+        assertEquals(1, hits.bookIds().size());
+    }
+
+    @Test
+    void givenSnapshot_whenPutIntoNewIndex_thenSearchResultsAreTheSame() {
+
+        BookSearchIndex restored = new BookSearchIndex();
+        bookSearchIndex.snapshot().forEach(restored::put);
+
+        assertFalse(bookSearchIndex.isDirty());
+        assertEquals(bookSearchIndex.search("tolkien hobbit", 0, 10), restored.search("tolkien hobbit", 0, 10));
+    }
+
+    @Test
+    void givenStrings_whenEditDistance_thenReturnLevenshteinDistanceCappedAboveMax() {
+        assertEquals(1, BookSearchIndex.editDistance("hobit", "hobbit", 2));
+        assertEquals(2, BookSearchIndex.editDistance("tolkein", "tolkien", 2));
+        assertEquals(3, BookSearchIndex.editDistance("crime", "hugo", 2));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchSegmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenWrittenSegment_whenRead_thenReturnSameDocumentsAndTime() throws IOException {
+
+        // Given
+        BookSearchSegmentStore store = new BookSearchSegmentStore(directory.toString());
+        Map<String, Map<String, Integer>> documents = Map.of(
+                "1", Map.of("hobbit", 1, "tolkien", 1),
+                "2", Map.of("crime", 1, "and", 1, "punishment", 1)
+        );
+        Instant takenAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // When
+        store.write(new BookSearchSegmentStore.Segment(documents, takenAt));
+        Optional<BookSearchSegmentStore.Segment> segment = store.read();
+
+        // Then
+        assertTrue(segment.isPresent());
+        assertEquals(documents, segment.get().documents());
+        assertEquals(takenAt, segment.get().takenAt());
+    }
+
+    @Test
+    void givenNoSegment_whenRead_thenReturnEmpty() {
+
+        BookSearchSegmentStore store = new BookSearchSegmentStore(directory.resolve("missing").toString());
+
+        assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    void givenCorruptSegment_whenRead_thenReturnEmpty() throws IOException {
+
+        // Given
+        Files.writeString(directory.resolve("books.segment"), "not a segment");
+        BookSearchSegmentStore store = new BookSearchSegmentStore(directory.toString());
+
+        // Then
+        assertTrue(store.read().isEmpty());
+    }
+
+}
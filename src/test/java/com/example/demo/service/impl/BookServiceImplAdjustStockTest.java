@@ -0,0 +1,98 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.BookCache;
+import com.example.demo.cache.RequestCoalescer;
+import com.example.demo.catalog.BookChangeVersionClock;
+import com.example.demo.catalog.BookPageSnapshots;
+import com.example.demo.model.Book;
+import com.example.demo.model.BookStockSlot;
+import com.example.demo.payload.request.book.BookStockAdjustmentRequest;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStockAdjustmentRepository;
+import com.example.demo.repository.BookStockSlotRepository;
+import com.example.demo.search.BookAutocompleter;
+import com.example.demo.search.BookSearchIndex;
+import com.example.demo.service.FlashSaleService;
+import com.example.demo.service.StockJournalService;
+import com.example.demo.stream.BookChangeStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Adjusts the stock of striped books against an in-memory database, so that the slot rows are really written.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookServiceImplAdjustStockTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookStockSlotRepository bookStockSlotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void givenStripedBookWithNoSlotHoldingTheDelta_whenAdjustBookStockById_thenDrainTheSlots() {
+
+        // Given
+        final String bookId = bookRepository.save(Book.builder()
+                .name("The Hobbit")
+                .authorFullName("J. R. R. Tolkien")
+                .isbn("978-0-261-10221-4")
+                .stock(0)
+                .stockSlotCount(2)
+                .price(BigDecimal.TEN)
+                .build()).getId();
+        bookStockSlotRepository.saveAll(List.of(
+                BookStockSlot.builder().bookId(bookId).slotIndex(0).stock(3).build(),
+                BookStockSlot.builder().bookId(bookId).slotIndex(1).stock(3).build()));
+
+        final BookServiceImpl bookService = bookService();
+        final BookStockAdjustmentRequest request = BookStockAdjustmentRequest.builder()
+                .delta(-5)
+                .reason("Damaged copies")
+                .build();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                bookService.adjustBookStockById(bookId, request));
+
+        // Then
+        assertEquals(1L, bookStockSlotRepository.sumStockByBookId(bookId));
+    }
+
+    private BookServiceImpl bookService() {
+        return new BookServiceImpl(
+                bookRepository,
+                new BookStockSlotServiceImpl(bookStockSlotRepository),
+                mock(FlashSaleService.class),
+                mock(BookStockAdjustmentRepository.class),
+                mock(StockJournalService.class),
+                mock(BookSearchIndex.class),
+                mock(BookAutocompleter.class),
+                mock(BookCache.class),
+                mock(BookChangeVersionClock.class),
+                mock(BookChangeStream.class),
+                mock(BookPageSnapshots.class),
+                mock(RequestCoalescer.class)
+        );
+    }
+
+}
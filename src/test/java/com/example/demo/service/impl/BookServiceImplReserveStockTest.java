@@ -0,0 +1,183 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.BookCache;
+import com.example.demo.cache.RequestCoalescer;
+import com.example.demo.catalog.BookChangeVersionClock;
+import com.example.demo.catalog.BookPageSnapshots;
+import com.example.demo.model.Book;
+import com.example.demo.model.BookStockSlot;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStockAdjustmentRepository;
+import com.example.demo.repository.BookStockSlotRepository;
+import com.example.demo.search.BookAutocompleter;
+import com.example.demo.search.BookSearchIndex;
+import com.example.demo.service.BookStockSlotService;
+import com.example.demo.service.FlashSaleService;
+import com.example.demo.service.StockJournalService;
+import com.example.demo.stream.BookChangeStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Reserves stock from concurrent transactions against an in-memory database, so that the row locks are real.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookServiceImplReserveStockTest {
+
+    /**
+     * The reads made before the row lock is taken, where both transactions are held until the other one arrives.
+     */
+    private static final Set<String> UNLOCKED_READS = Set.of("findByIdWithoutLock", "findStockSlotCountById");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookStockSlotRepository bookStockSlotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void givenConcurrentReservations_whenReserveStock_thenApplyBoth() throws Exception {
+
+        // Given
+        final String bookId = bookRepository.save(Book.builder()
+                .name("The Hobbit")
+                .authorFullName("J. R. R. Tolkien")
+                .isbn("978-0-261-10221-4")
+                .stock(10)
+                .price(BigDecimal.TEN)
+                .build()).getId();
+
+        final CyclicBarrier unlockedReads = new CyclicBarrier(2);
+        final BookServiceImpl bookService = bookService(barrierAfterUnlockedReads(unlockedReads),
+                mock(BookStockSlotService.class));
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<?>> reservations = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                reservations.add(executor.submit(() ->
+                        transactionTemplate.executeWithoutResult(status -> bookService.reserveStock(bookId, 1))));
+            }
+            for (final Future<?> reservation : reservations) {
+                reservation.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(8, bookRepository.findByIdWithoutLock(bookId).orElseThrow().getStock());
+    }
+
+    @Test
+    void givenStockStripedWhileWaitingForTheLock_whenReserveStock_thenReserveFromTheSlots() {
+
+        // Given
+        final String bookId = bookRepository.save(Book.builder()
+                .name("The Hobbit")
+                .authorFullName("J. R. R. Tolkien")
+                .isbn("978-0-261-10221-4")
+                .stock(10)
+                .stockSlotCount(2)
+                .price(BigDecimal.TEN)
+                .build()).getId();
+        bookStockSlotRepository.saveAll(List.of(
+                BookStockSlot.builder().bookId(bookId).slotIndex(0).stock(5).build(),
+                BookStockSlot.builder().bookId(bookId).slotIndex(1).stock(5).build()));
+
+        final BookServiceImpl bookService = bookService(stripedAfterUnlockedReads(),
+                new BookStockSlotServiceImpl(bookStockSlotRepository));
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                bookService.reserveStock(bookId, 3));
+
+        // Then
+        assertEquals(7L, bookStockSlotRepository.sumStockByBookId(bookId));
+        assertEquals(10, bookRepository.findByIdWithoutLock(bookId).orElseThrow().getStock());
+    }
+
+    private BookRepository barrierAfterUnlockedReads(final CyclicBarrier barrier) {
+
+        return (BookRepository) Proxy.newProxyInstance(BookRepository.class.getClassLoader(),
+                new Class<?>[]{BookRepository.class}, (proxy, method, args) -> {
+                    final Object result;
+                    try {
+                        result = method.invoke(bookRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (UNLOCKED_READS.contains(method.getName())) {
+                        barrier.await(10, TimeUnit.SECONDS);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Answers the unlocked striping check as if the stock of the book was striped only after it was made.
+     */
+    private BookRepository stripedAfterUnlockedReads() {
+
+        return (BookRepository) Proxy.newProxyInstance(BookRepository.class.getClassLoader(),
+                new Class<?>[]{BookRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findStockSlotCountById")) {
+                        return Optional.empty();
+                    }
+                    try {
+                        return method.invoke(bookRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static BookServiceImpl bookService(final BookRepository bookRepository,
+                                               final BookStockSlotService bookStockSlotService) {
+        return new BookServiceImpl(
+                bookRepository,
+                bookStockSlotService,
+                mock(FlashSaleService.class),
+                mock(BookStockAdjustmentRepository.class),
+                mock(StockJournalService.class),
+                mock(BookSearchIndex.class),
+                mock(BookAutocompleter.class),
+                mock(BookCache.class),
+                mock(BookChangeVersionClock.class),
+                mock(BookChangeStream.class),
+                mock(BookPageSnapshots.class),
+                mock(RequestCoalescer.class)
+        );
+    }
+
+}
@@ -2,16 +2,38 @@ package com.example.demo.service.impl;
 
 import com.example.demo.base.BaseServiceTest;
 import com.example.demo.builder.BookBuilder;
+import com.example.demo.cache.BookCache;
+import com.example.demo.cache.RequestCoalescer;
+import com.example.demo.catalog.BookChangeVersionClock;
+import com.example.demo.catalog.BookPageSnapshots;
+import com.example.demo.dto.BookChangesDTO;
 import com.example.demo.dto.BookDTO;
+import com.example.demo.exception.book.BookInFlashSaleException;
 import com.example.demo.exception.book.BookNotFoundException;
 import com.example.demo.exception.book.NoAvailableStockException;
 import com.example.demo.model.Book;
+import com.example.demo.model.BookStockAdjustment;
+import com.example.demo.model.enums.StockMovementType;
 import com.example.demo.model.mapper.book.BookMapper;
+import com.example.demo.payload.request.book.BookBulkStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookChangesRequest;
+import com.example.demo.payload.request.book.BookAutocompleteRequest;
 import com.example.demo.payload.request.book.BookCreateRequest;
+import com.example.demo.payload.request.book.BookSearchRequest;
+import com.example.demo.payload.request.book.BookStockAdjustmentRequest;
+import com.example.demo.payload.request.book.BookStockStripingRequest;
 import com.example.demo.payload.request.book.BookUpdateRequest;
 import com.example.demo.payload.request.book.BookUpdateStockRequest;
 import com.example.demo.payload.request.pagination.PaginationRequest;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStockAdjustmentRepository;
+import com.example.demo.search.BookAutocompleteTrie;
+import com.example.demo.search.BookAutocompleter;
+import com.example.demo.search.BookSearchIndex;
+import com.example.demo.service.BookStockSlotService;
+import com.example.demo.service.FlashSaleService;
+import com.example.demo.service.StockJournalService;
+import com.example.demo.stream.BookChangeStream;
 import com.example.demo.util.RandomUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -21,15 +43,21 @@ import org.mockito.Mockito;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +69,39 @@ class BookServiceImplTest extends BaseServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookStockSlotService bookStockSlotService;
+
+    @Mock
+    private FlashSaleService flashSaleService;
+
+    @Mock
+    private BookStockAdjustmentRepository bookStockAdjustmentRepository;
+
+    @Mock
+    private StockJournalService stockJournalService;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookAutocompleter bookAutocompleter;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private BookChangeVersionClock bookChangeVersionClock;
+
+    @Mock
+    private BookChangeStream bookChangeStream;
+
+    @Mock
+    private BookPageSnapshots bookPageSnapshots;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
     @Test
     void givenValidBookCreateRequest_whenBookCreated_returnBook() {
 
@@ -141,6 +202,7 @@ class BookServiceImplTest extends BaseServiceTest {
         assertEquals(mockRequest.getStock(), response.getStock());
         verify(bookRepository, times(1)).findById(Mockito.anyString());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(stockJournalService, times(1)).record(mockBookId, StockMovementType.CORRECTION, -198);
     }
 
     @Test
@@ -327,4 +389,685 @@ class BookServiceImplTest extends BaseServiceTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenBookIdAndAmount_whenStockAvailable_thenReserveStockOnBookRow() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(10).build();
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        BookDTO response = bookService.reserveStock(mockBookId, 3);
+
+        assertEquals(7, response.getStock());
+        verify(bookRepository, times(1)).findById(mockBookId);
+        verify(bookRepository, times(1)).save(mockBook);
+        verify(bookStockSlotService, never()).reserveStock(anyString(), anyInt());
+        verify(stockJournalService, times(1)).record(mockBookId, StockMovementType.ORDER_RESERVATION, -3);
+    }
+
+    @Test
+    void givenBookIdAndAmount_whenStockNotAvailable_thenThrowNoAvailableStockException() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(2).build();
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+
+        // Then
+        assertThrows(
+                NoAvailableStockException.class,
+                () -> bookService.reserveStock(mockBookId, 3)
+        );
+
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void givenStripedBookIdAndAmount_whenReserveStock_thenReserveStockOnSlotsWithoutLock() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        mockBook.setStockSlotCount(4);
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(bookRepository.findStockSlotCountById(mockBookId)).thenReturn(Optional.of(4));
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookStockSlotService.getTotalStock(mockBookId)).thenReturn(37);
+
+        // Then
+        BookDTO response = bookService.reserveStock(mockBookId, 3);
+
+        assertEquals(37, response.getStock());
+        verify(bookStockSlotService, times(1)).reserveStock(mockBookId, 3);
+        verify(bookRepository, never()).findById(anyString());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void givenStripedBookId_whenBookFound_thenReturnSummedStock() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(0).build();
+        mockBook.setStockSlotCount(4);
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookStockSlotService.getTotalStock(mockBookId)).thenReturn(40);
+
+        // Then
+        BookDTO response = bookService.getBookById(mockBookId);
+
+        assertEquals(40, response.getStock());
+        assertEquals(4, response.getStockSlotCount());
+    }
+
+    @Test
+    void givenBookIdAndEnabledStripingRequest_whenBookFound_thenDistributeStockAcrossSlots() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(100).build();
+        String mockBookId = mockBook.getId();
+
+        BookStockStripingRequest mockRequest = BookStockStripingRequest.builder()
+                .enabled(true)
+                .slotCount(4)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        BookDTO response = bookService.updateStockStripingById(mockBookId, mockRequest);
+
+        assertEquals(4, response.getStockSlotCount());
+        assertEquals(100, response.getStock());
+        verify(bookStockSlotService, times(1)).distributeStock(mockBookId, 100, 4);
+        verify(bookStockSlotService, never()).collapseStock(anyString());
+    }
+
+    @Test
+    void givenStripedBookIdAndDisabledStripingRequest_whenBookFound_thenCollapseSlotsIntoStock() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(100).build();
+        mockBook.setStockSlotCount(4);
+        String mockBookId = mockBook.getId();
+
+        BookStockStripingRequest mockRequest = BookStockStripingRequest.builder()
+                .enabled(false)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookStockSlotService.collapseStock(mockBookId)).thenReturn(61);
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        BookDTO response = bookService.updateStockStripingById(mockBookId, mockRequest);
+
+        Assertions.assertNull(response.getStockSlotCount());
+        assertEquals(61, response.getStock());
+        verify(bookStockSlotService, never()).distributeStock(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void givenBookInFlashSaleAndAmount_whenReserveStock_thenReserveFromLedgerWithoutLock() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        mockBook.setFlashSale(true);
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(flashSaleService.isInFlashSale(mockBookId)).thenReturn(true);
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(flashSaleService.getAvailableStock(mockBookId)).thenReturn(OptionalLong.of(12));
+
+        // Then
+        BookDTO response = bookService.reserveStock(mockBookId, 3);
+
+        assertEquals(12, response.getStock());
+        verify(flashSaleService, times(1)).reserveStock(mockBookId, 3);
+        verify(bookRepository, never()).findById(anyString());
+        verify(bookStockSlotService, never()).reserveStock(anyString(), anyInt());
+    }
+
+    @Test
+    void givenStripedBookId_whenEnterFlashSale_thenCollapseSlotsAndLoadLedger() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(0).build();
+        mockBook.setStockSlotCount(4);
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookStockSlotService.collapseStock(mockBookId)).thenReturn(40);
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(flashSaleService.getAvailableStock(mockBookId)).thenReturn(OptionalLong.of(40));
+
+        // Then
+        BookDTO response = bookService.enterFlashSaleById(mockBookId);
+
+        Assertions.assertTrue(response.isFlashSale());
+        Assertions.assertNull(response.getStockSlotCount());
+        assertEquals(40, response.getStock());
+        verify(flashSaleService, times(1)).enterFlashSale(mockBook);
+    }
+
+    @Test
+    void givenBookInFlashSale_whenExitFlashSale_thenWriteLedgerBack() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(40).build();
+        mockBook.setFlashSale(true);
+        String mockBookId = mockBook.getId();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        BookDTO response = bookService.exitFlashSaleById(mockBookId);
+
+        Assertions.assertFalse(response.isFlashSale());
+        verify(flashSaleService, times(1)).exitFlashSale(mockBook);
+    }
+
+    @Test
+    void givenBookInFlashSale_whenUpdateStock_thenThrowBookInFlashSaleException() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        mockBook.setFlashSale(true);
+        String mockBookId = mockBook.getId();
+
+        BookUpdateStockRequest mockRequest = BookUpdateStockRequest.builder()
+                .stock(123)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+
+        // Then
+        assertThrows(
+                BookInFlashSaleException.class,
+                () -> bookService.updateBookStockById(mockBookId, mockRequest)
+        );
+
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void givenBookIdAndBookStockAdjustmentRequest_whenStockAdjusted_thenRecordAdjustmentAndReturnBookDTO() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(510).build();
+        String mockBookId = mockBook.getId();
+
+        BookStockAdjustmentRequest mockRequest = BookStockAdjustmentRequest.builder()
+                .delta(500)
+                .reason("received")
+                .build();
+
+        // When
+        when(bookRepository.adjustStock(eq(mockBookId), eq(500), anyLong())).thenReturn(1);
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+
+        // Then
+        BookDTO response = bookService.adjustBookStockById(mockBookId, mockRequest);
+
+        assertEquals(510, response.getStock());
+        verify(bookRepository, never()).findById(anyString());
+        verify(bookStockAdjustmentRepository, times(1)).save(argThat(adjustment ->
+                adjustment.getBookId().equals(mockBookId)
+                        && adjustment.getDelta() == 500
+                        && adjustment.getReason().equals("received")
+        ));
+    }
+
+    @Test
+    void givenBookIdAndNegativeDeltaBeyondStock_whenAdjustStock_thenThrowNoAvailableStockException() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(2).build();
+        String mockBookId = mockBook.getId();
+
+        BookStockAdjustmentRequest mockRequest = BookStockAdjustmentRequest.builder()
+                .delta(-3)
+                .reason("damaged")
+                .build();
+
+        // When
+        when(bookRepository.adjustStock(eq(mockBookId), eq(-3), anyLong())).thenReturn(0);
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+
+        // Then
+        assertThrows(
+                NoAvailableStockException.class,
+                () -> bookService.adjustBookStockById(mockBookId, mockRequest)
+        );
+
+        verify(bookStockAdjustmentRepository, never()).save(any(BookStockAdjustment.class));
+    }
+
+    @Test
+    void givenStripedBookIdAndBookStockAdjustmentRequest_whenAdjustStock_thenAdjustStockSlots() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        mockBook.setStockSlotCount(4);
+        String mockBookId = mockBook.getId();
+
+        BookStockAdjustmentRequest mockRequest = BookStockAdjustmentRequest.builder()
+                .delta(-3)
+                .build();
+
+        // When
+        when(bookRepository.adjustStock(eq(mockBookId), eq(-3), anyLong())).thenReturn(0);
+        when(bookRepository.findByIdWithoutLock(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookStockSlotService.getTotalStock(mockBookId)).thenReturn(37);
+
+        // Then
+        BookDTO response = bookService.adjustBookStockById(mockBookId, mockRequest);
+
+        assertEquals(37, response.getStock());
+        verify(bookStockSlotService, times(1)).adjustStock(mockBookId, -3);
+        verify(bookStockAdjustmentRepository, times(1)).save(any(BookStockAdjustment.class));
+    }
+
+    @Test
+    void givenBookBulkStockAdjustmentRequest_whenStocksAdjusted_thenApplyBatchAndRecordEachAdjustment() {
+
+        // Given
+        Book mockBook1 = new BookBuilder().withValidFields().withStock(20).build();
+        Book mockBook2 = new BookBuilder().withValidFields().build();
+        mockBook2.setStockSlotCount(2);
+
+        BookBulkStockAdjustmentRequest mockRequest = BookBulkStockAdjustmentRequest.builder()
+                .adjustments(List.of(
+                        BookBulkStockAdjustmentRequest.Item.builder().bookId(mockBook1.getId()).delta(10).reason("received").build(),
+                        BookBulkStockAdjustmentRequest.Item.builder().bookId(mockBook2.getId()).delta(5).reason("received").build()
+                ))
+                .build();
+
+        // When
+        when(bookRepository.adjustStocks(anyList(), anyLong())).thenReturn(new int[]{1, 0});
+        when(bookRepository.findByIdWithoutLock(mockBook2.getId())).thenReturn(Optional.of(mockBook2));
+        when(bookRepository.findAllById(List.of(mockBook1.getId(), mockBook2.getId())))
+                .thenReturn(List.of(mockBook2, mockBook1));
+        when(bookStockSlotService.getTotalStock(mockBook2.getId())).thenReturn(15);
+
+        // Then
+        List<BookDTO> response = bookService.adjustBookStocks(mockRequest);
+
+        assertEquals(List.of(mockBook1.getId(), mockBook2.getId()), response.stream().map(BookDTO::getId).toList());
+        assertEquals(List.of(20, 15), response.stream().map(BookDTO::getStock).toList());
+        verify(bookStockSlotService, times(1)).adjustStock(mockBook2.getId(), 5);
+        verify(stockJournalService, times(1)).record(mockBook1.getId(), StockMovementType.RESTOCK, 10);
+        verify(stockJournalService, times(1)).record(mockBook2.getId(), StockMovementType.RESTOCK, 5);
+        verify(bookRepository, never()).findByIdWithoutLock(mockBook1.getId());
+        verify(bookStockAdjustmentRepository, times(1)).saveAll(argThat(adjustments ->
+                ((List<BookStockAdjustment>) adjustments).size() == 2
+        ));
+    }
+
+    @Test
+    void givenBookSearchRequest_whenBooksMatch_thenReturnPageInRankingOrder() {
+
+        // Given
+        Book mockBook1 = new BookBuilder().withValidFields().build();
+        Book mockBook2 = new BookBuilder().withValidFields().build();
+
+        BookSearchRequest mockRequest = BookSearchRequest.builder()
+                .query("tolkien")
+                .page(1)
+                .size(2)
+                .build();
+
+        // When
+        when(bookSearchIndex.search("tolkien", 2, 2))
+                .thenReturn(new BookSearchIndex.Hits(List.of(mockBook2.getId(), mockBook1.getId()), 5));
+        when(bookRepository.findAllById(List.of(mockBook2.getId(), mockBook1.getId())))
+                .thenReturn(List.of(mockBook1, mockBook2));
+
+        // Then
+        Page<BookDTO> response = bookService.searchBooks(mockRequest);
+
+        assertEquals(List.of(mockBook2.getId(), mockBook1.getId()), response.getContent().stream().map(BookDTO::getId).toList());
+        assertEquals(5, response.getTotalElements());
+        assertEquals(1, response.getNumber());
+    }
+
+    @Test
+    void givenBookUpdateRequest_whenBookUpdated_thenReindexBookForSearch() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        String mockBookId = mockBook.getId();
+
+        BookUpdateRequest mockRequest = BookUpdateRequest.builder()
+                .isbn("9780261102217")
+                .name("The Hobbit")
+                .authorFullName("J. R. R. Tolkien")
+                .stock(mockBook.getStock())
+                .price(BigDecimal.TEN)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBookId)).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        bookService.updateBookById(mockBookId, mockRequest);
+
+        verify(bookSearchIndex, times(1)).index(mockBookId, "The Hobbit", "J. R. R. Tolkien", "9780261102217");
+    }
+
+    @Test
+    void givenBookAutocompleteRequest_whenGetBookCompletions_thenReturnCompletionsFromTrie() {
+
+        // Given
+        BookAutocompleteRequest mockRequest = BookAutocompleteRequest.builder()
+                .prefix("hob")
+                .limit(5)
+                .build();
+
+        List<BookAutocompleteTrie.Completion> completions = List.of(
+                new BookAutocompleteTrie.Completion("The Hobbit", BookAutocompleteTrie.Kind.TITLE, 12)
+        );
+
+        // When
+        when(bookAutocompleter.complete("hob", 5)).thenReturn(completions);
+
+        // Then
+        assertEquals(completions, bookService.getBookCompletions(mockRequest));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void givenCachedBook_whenGetBookById_thenReturnCachedBookWithoutQuery() {
+
+        // Given
+        BookDTO cachedBook = BookMapper.toDTO(new BookBuilder().withValidFields().build());
+
+        // When
+        when(bookCache.get(cachedBook.getId())).thenReturn(Optional.of(cachedBook));
+
+        // Then
+        assertEquals(cachedBook, bookService.getBookById(cachedBook.getId()));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void givenUncachedBook_whenGetBookById_thenLoadAndCacheIt() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+
+        // Then
+        BookDTO response = bookService.getBookById(mockBook.getId());
+
+        verify(bookCache, times(1)).put(response);
+    }
+
+    @Test
+    void givenBookIds_whenGetBooksByIds_thenLoadMissesInOneQueryAndKeepRequestOrder() {
+
+        // Given
+        Book cachedBook = new BookBuilder().withValidFields().build();
+        Book uncachedBook1 = new BookBuilder().withValidFields().build();
+        Book uncachedBook2 = new BookBuilder().withValidFields().build();
+        BookDTO cachedBookDTO = BookMapper.toDTO(cachedBook);
+
+        List<String> bookIds = List.of(uncachedBook2.getId(), "unknown", cachedBook.getId(), uncachedBook1.getId(), uncachedBook2.getId());
+
+        // When
+        when(bookCache.getAll(List.of(uncachedBook2.getId(), "unknown", cachedBook.getId(), uncachedBook1.getId())))
+                .thenReturn(Map.of(cachedBook.getId(), cachedBookDTO));
+        when(bookRepository.findAllById(List.of(uncachedBook2.getId(), "unknown", uncachedBook1.getId())))
+                .thenReturn(List.of(uncachedBook1, uncachedBook2));
+
+        // Then
+        List<BookDTO> response = bookService.getBooksByIds(bookIds);
+
+        assertEquals(List.of(uncachedBook2.getId(), cachedBook.getId(), uncachedBook1.getId()),
+                response.stream().map(BookDTO::getId).toList());
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookCache, times(2)).put(any(BookDTO.class));
+    }
+
+    @Test
+    void givenBookIds_whenGetBooksByIdsReadOnly_thenLoadMissesWithoutCachingThem() throws NoSuchMethodException {
+
+        // Given
+        Book cachedBook = new BookBuilder().withValidFields().build();
+        Book uncachedBook = new BookBuilder().withValidFields().build();
+        BookDTO cachedBookDTO = BookMapper.toDTO(cachedBook);
+
+        List<String> bookIds = List.of(uncachedBook.getId(), cachedBook.getId(), "unknown");
+
+        // When
+        when(bookCache.getAll(bookIds)).thenReturn(Map.of(cachedBook.getId(), cachedBookDTO));
+        when(bookRepository.findAllById(List.of(uncachedBook.getId(), "unknown"))).thenReturn(List.of(uncachedBook));
+
+        // Then
+        List<BookDTO> response = bookService.getBooksByIdsReadOnly(bookIds);
+
+        assertEquals(List.of(uncachedBook.getId(), cachedBook.getId()), response.stream().map(BookDTO::getId).toList());
+        verify(bookCache, never()).put(any(BookDTO.class));
+        assertNull(BookServiceImpl.class.getMethod("getBooksByIdsReadOnly", List.class)
+                .getAnnotation(Transactional.class));
+    }
+
+    @Test
+    void givenBookUpdateStockRequest_whenStockUpdated_thenEvictBookFromCache() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        BookUpdateStockRequest mockRequest = BookUpdateStockRequest.builder()
+                .stock(5)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        bookService.updateBookStockById(mockBook.getId(), mockRequest);
+
+        verify(bookCache, times(1)).evict(mockBook.getId());
+    }
+
+    @Test
+    void givenBookUpdateStockRequest_whenStockUpdated_thenPublishChange() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        BookUpdateStockRequest mockRequest = BookUpdateStockRequest.builder()
+                .stock(5)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        BookDTO response = bookService.updateBookStockById(mockBook.getId(), mockRequest);
+
+        verify(bookChangeStream, times(1)).publish(response);
+    }
+
+    @Test
+    void givenBookUpdateStockRequest_whenStockUpdated_thenMarkPageSnapshotsStale() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        BookUpdateStockRequest mockRequest = BookUpdateStockRequest.builder()
+                .stock(5)
+                .build();
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        bookService.updateBookStockById(mockBook.getId(), mockRequest);
+
+        verify(bookPageSnapshots, times(1)).markStale();
+        verify(requestCoalescer, times(1)).invalidate("book-pages");
+    }
+
+    @Test
+    void givenBookUpdateRequest_whenBookUpdated_thenStampNewChangeVersion() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().build();
+        mockBook.setChangeVersion(41L);
+
+        BookUpdateRequest mockRequest = BookUpdateRequest.builder()
+                .isbn(mockBook.getIsbn())
+                .name(mockBook.getName())
+                .authorFullName(mockBook.getAuthorFullName())
+                .stock(mockBook.getStock())
+                .price(mockBook.getPrice())
+                .build();
+
+        // When
+        when(bookChangeVersionClock.next()).thenReturn(42L);
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        BookDTO response = bookService.updateBookById(mockBook.getId(), mockRequest);
+
+        assertEquals(42L, response.getChangeVersion());
+    }
+
+    @Test
+    void givenChangedBooksBeyondPageSize_whenGetBookChanges_thenReturnPageAndVersionToContinueFrom() {
+
+        // Given
+        Book mockBook1 = new BookBuilder().withValidFields().build();
+        mockBook1.setChangeVersion(11L);
+        Book mockBook2 = new BookBuilder().withValidFields().build();
+        mockBook2.setChangeVersion(12L);
+        Book mockBook3 = new BookBuilder().withValidFields().build();
+        mockBook3.setChangeVersion(13L);
+
+        BookChangesRequest mockRequest = BookChangesRequest.builder()
+                .since(10L)
+                .size(2)
+                .build();
+
+        // When
+        when(bookChangeVersionClock.settledVersion(anyLong())).thenReturn(100L);
+        when(bookRepository.findAllChangedBetween(eq(10L), eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(mockBook1, mockBook2, mockBook3));
+
+        // Then
+        BookChangesDTO response = bookService.getBookChanges(mockRequest);
+
+        assertEquals(List.of(mockBook1.getId(), mockBook2.getId()), response.getBooks().stream().map(BookDTO::getId).toList());
+        assertEquals(12L, response.getNextSince());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void givenPageEndingInsideVersion_whenGetBookChanges_thenDoNotSplitThatVersion() {
+
+        // Given
+        Book mockBook1 = new BookBuilder().withValidFields().build();
+        mockBook1.setChangeVersion(11L);
+        Book mockBook2 = new BookBuilder().withValidFields().build();
+        mockBook2.setChangeVersion(12L);
+        Book mockBook3 = new BookBuilder().withValidFields().build();
+        mockBook3.setChangeVersion(12L);
+
+        BookChangesRequest mockRequest = BookChangesRequest.builder()
+                .since(10L)
+                .size(2)
+                .build();
+
+        // When
+        when(bookChangeVersionClock.settledVersion(anyLong())).thenReturn(100L);
+        when(bookRepository.findAllChangedBetween(eq(10L), eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(mockBook1, mockBook2, mockBook3));
+
+        // Then
+        BookChangesDTO response = bookService.getBookChanges(mockRequest);
+
+        assertEquals(List.of(mockBook1.getId()), response.getBooks().stream().map(BookDTO::getId).toList());
+        assertEquals(11L, response.getNextSince());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void givenPageInsideSingleVersion_whenGetBookChanges_thenReturnWholeVersion() {
+
+        // Given
+        Book mockBook1 = new BookBuilder().withValidFields().build();
+        mockBook1.setChangeVersion(12L);
+        Book mockBook2 = new BookBuilder().withValidFields().build();
+        mockBook2.setChangeVersion(12L);
+        Book mockBook3 = new BookBuilder().withValidFields().build();
+        mockBook3.setChangeVersion(12L);
+        Book mockBook4 = new BookBuilder().withValidFields().build();
+        mockBook4.setChangeVersion(12L);
+
+        BookChangesRequest mockRequest = BookChangesRequest.builder()
+                .since(10L)
+                .size(2)
+                .build();
+
+        // When
+        when(bookChangeVersionClock.settledVersion(anyLong())).thenReturn(100L);
+        when(bookRepository.findAllChangedBetween(eq(10L), eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(mockBook1, mockBook2, mockBook3));
+        when(bookRepository.findAllByChangeVersion(12L))
+                .thenReturn(List.of(mockBook1, mockBook2, mockBook3, mockBook4));
+
+        // Then
+        BookChangesDTO response = bookService.getBookChanges(mockRequest);
+
+        assertEquals(List.of(mockBook1.getId(), mockBook2.getId(), mockBook3.getId(), mockBook4.getId()),
+                response.getBooks().stream().map(BookDTO::getId).toList());
+        assertEquals(12L, response.getNextSince());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void givenNoChanges_whenGetBookChanges_thenKeepVersion() {
+
+        // Given
+        BookChangesRequest mockRequest = BookChangesRequest.builder()
+                .since(10L)
+                .build();
+
+        // When
+        when(bookRepository.findAllChangedBetween(anyLong(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        // Then
+        BookChangesDTO response = bookService.getBookChanges(mockRequest);
+
+        assertTrue(response.getBooks().isEmpty());
+        assertEquals(10L, response.getNextSince());
+        assertFalse(response.isHasMore());
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.exception.book.NoAvailableStockException;
+import com.example.demo.model.BookStockSlot;
+import com.example.demo.repository.BookStockSlotRepository;
+import com.example.demo.util.RandomUtil;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookStockSlotServiceImplTest extends BaseServiceTest {
+
+    @InjectMocks
+    private BookStockSlotServiceImpl bookStockSlotService;
+
+    @Mock
+    private BookStockSlotRepository bookStockSlotRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenStockAndSlotCount_whenDistributeStock_thenSplitStockEvenly() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        ArgumentCaptor<List<BookStockSlot>> slotsCaptor = ArgumentCaptor.forClass(List.class);
+
+        // Then
+        bookStockSlotService.distributeStock(mockBookId, 10, 4);
+
+        verify(bookStockSlotRepository, times(1)).deleteAllByBookId(mockBookId);
+        verify(bookStockSlotRepository, times(1)).saveAll(slotsCaptor.capture());
+
+        List<Integer> stocks = slotsCaptor.getValue().stream().map(BookStockSlot::getStock).toList();
+        assertEquals(List.of(3, 3, 2, 2), stocks);
+    }
+
+    @Test
+    void givenBookIdAndAmount_whenFirstTriedSlotHasStock_thenDecrementOnlyThatSlot() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+
+        // When
+        when(bookStockSlotRepository.findSlotIndexesByBookId(mockBookId)).thenReturn(List.of(0, 1, 2, 3));
+        when(bookStockSlotRepository.decrementStock(eq(mockBookId), anyInt(), eq(2))).thenReturn(1);
+
+        // Then
+        bookStockSlotService.reserveStock(mockBookId, 2);
+
+        verify(bookStockSlotRepository, times(1)).decrementStock(eq(mockBookId), anyInt(), eq(2));
+        verify(bookStockSlotRepository, never()).findAllByBookIdForUpdate(mockBookId);
+    }
+
+    @Test
+    void givenBookIdAndAmount_whenNoSingleSlotHasStock_thenDrainAcrossLockedSlots() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        List<BookStockSlot> slots = List.of(
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(0).stock(2).build(),
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(1).stock(3).build()
+        );
+
+        // When
+        when(bookStockSlotRepository.findSlotIndexesByBookId(mockBookId)).thenReturn(List.of(0, 1));
+        when(bookStockSlotRepository.decrementStock(eq(mockBookId), anyInt(), eq(4))).thenReturn(0);
+        when(bookStockSlotRepository.findAllByBookIdForUpdate(mockBookId)).thenReturn(slots);
+
+        // Then
+        bookStockSlotService.reserveStock(mockBookId, 4);
+
+        assertEquals(0, slots.get(0).getStock());
+        assertEquals(1, slots.get(1).getStock());
+        verify(bookStockSlotRepository, times(2)).decrementStock(eq(mockBookId), anyInt(), eq(4));
+    }
+
+    @Test
+    void givenBookIdAndAmount_whenSlotsDoNotHoldEnoughStock_thenThrowNoAvailableStockException() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        List<BookStockSlot> slots = List.of(
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(0).stock(1).build(),
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(1).stock(1).build()
+        );
+
+        // When
+        when(bookStockSlotRepository.findSlotIndexesByBookId(mockBookId)).thenReturn(List.of(0, 1));
+        when(bookStockSlotRepository.decrementStock(eq(mockBookId), anyInt(), eq(3))).thenReturn(0);
+        when(bookStockSlotRepository.findAllByBookIdForUpdate(mockBookId)).thenReturn(slots);
+
+        // Then
+        assertThrows(
+                NoAvailableStockException.class,
+                () -> bookStockSlotService.reserveStock(mockBookId, 3)
+        );
+
+        assertEquals(1, slots.get(0).getStock());
+        assertEquals(1, slots.get(1).getStock());
+    }
+
+    @Test
+    void givenUnevenSlots_whenRebalanceStock_thenRedistributeTotalEvenly() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        List<BookStockSlot> slots = List.of(
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(0).stock(0).build(),
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(1).stock(0).build(),
+                BookStockSlot.builder().bookId(mockBookId).slotIndex(2).stock(9).build()
+        );
+
+        // When
+        when(bookStockSlotRepository.findAllByBookIdForUpdate(mockBookId)).thenReturn(slots);
+
+        // Then
+        bookStockSlotService.rebalanceStock(mockBookId);
+
+        assertEquals(List.of(3, 3, 3), slots.stream().map(BookStockSlot::getStock).toList());
+    }
+
+    @Test
+    void givenBookIdAndPositiveDelta_whenAdjustStock_thenIncrementOneSlot() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+
+        // When
+        when(bookStockSlotRepository.findSlotIndexesByBookId(mockBookId)).thenReturn(List.of(0, 1, 2, 3));
+
+        // Then
+        bookStockSlotService.adjustStock(mockBookId, 500);
+
+        verify(bookStockSlotRepository, times(1)).incrementStock(eq(mockBookId), anyInt(), eq(500));
+        verify(bookStockSlotRepository, never()).decrementStock(anyString(), anyInt(), anyInt());
+    }
+
+}
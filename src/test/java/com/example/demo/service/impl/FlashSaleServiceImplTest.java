@@ -0,0 +1,175 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.builder.BookBuilder;
+import com.example.demo.exception.book.NoAvailableStockException;
+import com.example.demo.inventory.FlashSaleLedger;
+import com.example.demo.model.Book;
+import com.example.demo.model.FlashSaleReservation;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.FlashSaleReservationRepository;
+import com.example.demo.util.RandomUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FlashSaleServiceImplTest extends BaseServiceTest {
+
+    @InjectMocks
+    private FlashSaleServiceImpl flashSaleService;
+
+    @Spy
+    private FlashSaleLedger flashSaleLedger = new FlashSaleLedger();
+
+    @Mock
+    private FlashSaleReservationRepository flashSaleReservationRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(flashSaleService, "flushBatchSize", 500);
+    }
+
+    @Test
+    void givenBookWithPendingReservations_whenEnterFlashSale_thenLoadStockMinusPendingIntoLedger() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(100).build();
+
+        // When
+        when(flashSaleReservationRepository.sumAmountByBookId(mockBook.getId())).thenReturn(7L);
+
+        // Then
+        flashSaleService.enterFlashSale(mockBook);
+
+        assertTrue(flashSaleService.isInFlashSale(mockBook.getId()));
+        assertEquals(93, flashSaleService.getAvailableStock(mockBook.getId()).getAsLong());
+    }
+
+    @Test
+    void givenBookInFlashSale_whenReserveStock_thenRecordPendingReservation() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        flashSaleLedger.load(mockBookId, 10);
+
+        // Then
+        flashSaleService.reserveStock(mockBookId, 3);
+
+        assertEquals(7, flashSaleLedger.getAvailableStock(mockBookId).getAsLong());
+        verify(flashSaleReservationRepository, times(1)).save(argThat(reservation ->
+                reservation.getBookId().equals(mockBookId) && reservation.getAmount() == 3 && reservation.isNew()
+        ));
+    }
+
+    @Test
+    void givenBookInFlashSale_whenReservationCannotBeRecorded_thenReleaseLedgerStock() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        flashSaleLedger.load(mockBookId, 10);
+
+        // When
+        when(flashSaleReservationRepository.save(any(FlashSaleReservation.class))).thenThrow(new IllegalStateException());
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> flashSaleService.reserveStock(mockBookId, 3));
+        assertEquals(10, flashSaleLedger.getAvailableStock(mockBookId).getAsLong());
+    }
+
+    @Test
+    void givenBookInFlashSale_whenStockNotAvailable_thenThrowNoAvailableStockException() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        flashSaleLedger.load(mockBookId, 2);
+
+        // Then
+        assertThrows(NoAvailableStockException.class, () -> flashSaleService.reserveStock(mockBookId, 3));
+        verify(flashSaleReservationRepository, never()).save(any(FlashSaleReservation.class));
+    }
+
+    @Test
+    void givenPendingReservations_whenFlushReservations_thenSubtractFromStockAndDelete() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(50).build();
+        List<FlashSaleReservation> reservations = List.of(
+                reservation(mockBook.getId(), 2),
+                reservation(mockBook.getId(), 5)
+        );
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(flashSaleReservationRepository.findAllByBookIdOrderByCreatedAt(eq(mockBook.getId()), any(Pageable.class)))
+                .thenReturn(reservations);
+
+        // Then
+        int flushed = flashSaleService.flushReservations(mockBook.getId());
+
+        assertEquals(2, flushed);
+        assertEquals(43, mockBook.getStock());
+        verify(flashSaleReservationRepository, times(1)).deleteAllInBatch(reservations);
+    }
+
+    @Test
+    void givenBookInFlashSale_whenExitFlashSale_thenUnloadLedgerAndApplyPendingReservations() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(50).build();
+        flashSaleLedger.load(mockBook.getId(), 46);
+        List<FlashSaleReservation> reservations = List.of(reservation(mockBook.getId(), 4));
+
+        // When
+        when(flashSaleReservationRepository.findAllByBookIdForUpdate(mockBook.getId())).thenReturn(reservations);
+
+        // Then
+        flashSaleService.exitFlashSale(mockBook);
+
+        assertFalse(flashSaleService.isInFlashSale(mockBook.getId()));
+        assertEquals(46, mockBook.getStock());
+        verify(flashSaleReservationRepository, times(1)).deleteAllInBatch(reservations);
+    }
+
+    @Test
+    void givenBooksInFlashSale_whenRestoreLedger_thenRebuildLedgerFromPendingReservations() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(80).build();
+        mockBook.setFlashSale(true);
+
+        // When
+        when(bookRepository.findAllByFlashSaleTrue()).thenReturn(List.of(mockBook));
+        when(flashSaleReservationRepository.sumAmountByBookId(mockBook.getId())).thenReturn(30L);
+
+        // Then
+        flashSaleService.restoreLedger();
+
+        assertEquals(50, flashSaleLedger.getAvailableStock(mockBook.getId()).getAsLong());
+    }
+
+    private static FlashSaleReservation reservation(String bookId, int amount) {
+        return FlashSaleReservation.builder()
+                .id(RandomUtil.generateUUID())
+                .bookId(bookId)
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+}
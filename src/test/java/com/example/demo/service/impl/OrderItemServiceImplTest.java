@@ -0,0 +1,58 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.inventory.BookOrderLanes;
+import com.example.demo.payload.request.order.OrderItemRequest;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.service.FlashSaleService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class OrderItemServiceImplTest extends BaseServiceTest {
+
+    @InjectMocks
+    private OrderItemServiceImpl orderItemService;
+
+    @Mock
+    private FlashSaleService flashSaleService;
+
+    @Mock
+    private BookOrderLanes bookOrderLanes;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Test
+    void givenFlashSaleAndStripedBooks_whenAdmitOrderItems_thenQueueOnlyOtherBooksInLanes() {
+
+        // Given
+        final List<OrderItemRequest> orderItemRequests = List.of(
+                OrderItemRequest.builder().bookId("flash-sale").amount(1).build(),
+                OrderItemRequest.builder().bookId("striped").amount(1).build(),
+                OrderItemRequest.builder().bookId("plain").amount(1).build(),
+                OrderItemRequest.builder().bookId("unknown").amount(1).build()
+        );
+
+        // When
+        when(flashSaleService.isInFlashSale(anyString())).thenReturn(false);
+        when(flashSaleService.isInFlashSale("flash-sale")).thenReturn(true);
+        when(bookRepository.findStockSlotCountById(anyString())).thenReturn(Optional.empty());
+        when(bookRepository.findStockSlotCountById("striped")).thenReturn(Optional.of(4));
+        when(bookOrderLanes.runInLanes(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        // Then
+        assertEquals("saved", orderItemService.admitOrderItems(orderItemRequests, () -> "saved"));
+        verify(bookOrderLanes, times(1)).runInLanes(eq(List.of("plain", "unknown")), any());
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.payload.request.order.CreateOrderRequest;
+import com.example.demo.payload.request.order.OrderItemRequest;
+import com.example.demo.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OrderQuoteServiceImplTest extends BaseServiceTest {
+
+    @InjectMocks
+    private OrderQuoteServiceImpl orderQuoteService;
+
+    @Mock
+    private BookService bookService;
+
+    @Test
+    void givenCartWithinStock_whenQuoteOrder_thenReturnFulfillableQuoteWithTotalPrice() {
+
+        // Given
+        BookDTO book1 = BookDTO.builder().id("1").stock(5).price(new BigDecimal("10.50")).build();
+        BookDTO book2 = BookDTO.builder().id("2").stock(1).price(new BigDecimal("4.00")).build();
+
+        CreateOrderRequest mockRequest = cart(
+                OrderItemRequest.builder().bookId("1").amount(2).build(),
+                OrderItemRequest.builder().bookId("2").amount(1).build()
+        );
+
+        // When
+        when(bookService.getBooksByIdsReadOnly(List.of("1", "2"))).thenReturn(List.of(book1, book2));
+
+        // Then
+        OrderQuoteDTO response = orderQuoteService.quoteOrder(mockRequest);
+
+        assertTrue(response.isFulfillable());
+        assertEquals(new BigDecimal("25.00"), response.getTotalPrice());
+        assertEquals(new BigDecimal("21.00"), response.getLines().get(0).getLinePrice());
+        assertEquals(5, response.getLines().get(0).getAvailableStock());
+    }
+
+    @Test
+    void givenCartExceedingStock_whenQuoteOrder_thenMarkLineUnavailable() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(1).price(BigDecimal.TEN).build();
+
+        CreateOrderRequest mockRequest = cart(OrderItemRequest.builder().bookId("1").amount(2).build());
+
+        // When
+        when(bookService.getBooksByIdsReadOnly(List.of("1"))).thenReturn(List.of(book));
+
+        // Then
+        OrderQuoteDTO response = orderQuoteService.quoteOrder(mockRequest);
+
+        assertFalse(response.isFulfillable());
+        assertTrue(response.getLines().get(0).isKnown());
+        assertFalse(response.getLines().get(0).isAvailable());
+    }
+
+    @Test
+    void givenLinesForSameBook_whenQuoteOrder_thenCheckTheirSumAgainstStock() {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").stock(4).price(BigDecimal.ONE).build();
+
+        CreateOrderRequest mockRequest = cart(
+                OrderItemRequest.builder().bookId("1").amount(2).build(),
+                OrderItemRequest.builder().bookId("1").amount(3).build()
+        );
+
+        // When
+        when(bookService.getBooksByIdsReadOnly(List.of("1"))).thenReturn(List.of(book));
+
+        // Then
+        OrderQuoteDTO response = orderQuoteService.quoteOrder(mockRequest);
+
+        assertFalse(response.isFulfillable());
+        assertEquals(2, response.getLines().size());
+    }
+
+    @Test
+    void givenUnknownBook_whenQuoteOrder_thenMarkLineUnknown() {
+
+        // Given
+        CreateOrderRequest mockRequest = cart(OrderItemRequest.builder().bookId("unknown").amount(1).build());
+
+        // When
+        when(bookService.getBooksByIdsReadOnly(List.of("unknown"))).thenReturn(List.of());
+
+        // Then
+        OrderQuoteDTO response = orderQuoteService.quoteOrder(mockRequest);
+
+        assertFalse(response.isFulfillable());
+        assertFalse(response.getLines().get(0).isKnown());
+        assertEquals(BigDecimal.ZERO, response.getTotalPrice());
+    }
+
+    @Test
+    void givenEmptyCart_whenQuoteOrder_thenReturnEmptyQuoteWithoutLookup() {
+
+        // Then
+        OrderQuoteDTO response = orderQuoteService.quoteOrder(new CreateOrderRequest(null));
+
+        assertTrue(response.isFulfillable());
+        assertTrue(response.getLines().isEmpty());
+        verify(bookService, never()).getBooksByIdsReadOnly(anyList());
+    }
+
+    private static CreateOrderRequest cart(OrderItemRequest... orderItemRequests) {
+        return CreateOrderRequest.builder()
+                .orderDetailSet(new LinkedHashSet<>(List.of(orderItemRequests)))
+                .build();
+    }
+
+}
@@ -5,6 +5,9 @@ import com.example.demo.builder.BookBuilder;
 import com.example.demo.builder.UserBuilder;
 import com.example.demo.dto.OrderDTO;
 import com.example.demo.dto.OrderItemDTO;
+import com.example.demo.dto.OrderQuoteDTO;
+import com.example.demo.exception.book.BookNotFoundException;
+import com.example.demo.exception.book.NoAvailableStockException;
 import com.example.demo.model.Order;
 import com.example.demo.model.OrderItem;
 import com.example.demo.model.User;
@@ -15,6 +18,7 @@ import com.example.demo.payload.request.order.OrderItemRequest;
 import com.example.demo.repository.OrderRepository;
 import com.example.demo.security.CustomUserDetails;
 import com.example.demo.service.OrderItemService;
+import com.example.demo.service.OrderQuoteService;
 import com.example.demo.service.UserService;
 import com.example.demo.util.Identity;
 import com.example.demo.util.RandomUtil;
@@ -23,10 +27,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 class OrderSaveServiceImplTest extends BaseServiceTest {
 
@@ -39,12 +46,18 @@ class OrderSaveServiceImplTest extends BaseServiceTest {
     @Mock
     private OrderItemService orderItemService;
 
+    @Mock
+    private OrderQuoteService orderQuoteService;
+
     @Mock
     private UserService userService;
 
     @Mock
     private Identity identity;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @Test
     void givenValidCreateOrderRequest_whenOrderCreated_thenReturnOrderDTO() {
 
@@ -90,6 +103,12 @@ class OrderSaveServiceImplTest extends BaseServiceTest {
         OrderDTO expected = OrderMapper.toOrderDTO(order);
 
         // When
+        Mockito.when(orderQuoteService.quoteOrder(mockCreateOrderRequest))
+                .thenReturn(OrderQuoteDTO.builder().lines(List.of()).fulfillable(true).build());
+        Mockito.when(orderItemService.admitOrderItems(Mockito.anyCollection(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         Mockito.when(identity.getCustomUserDetails()).thenReturn(userDetails);
         Mockito.when(userService.findByEmail(Mockito.anyString())).thenReturn(Optional.of(user));
         Mockito.when(orderItemService.createOrderItem(mockOrderItemRequest1)).thenReturn(orderItemDTO1);
@@ -100,9 +119,57 @@ class OrderSaveServiceImplTest extends BaseServiceTest {
         OrderDTO response = orderSaveService.createOrder(mockCreateOrderRequest);
 
         Assertions.assertEquals(expected, response);
+        Mockito.verify(orderItemService, Mockito.times(1))
+                .admitOrderItems(Mockito.eq(mockCreateOrderRequest.getOrderDetailSet()), Mockito.any());
+        Mockito.verify(transactionTemplate, Mockito.times(1)).execute(Mockito.any());
         Mockito.verify(identity, Mockito.times(1)).getCustomUserDetails();
         Mockito.verify(orderItemService, Mockito.times(2)).createOrderItem(Mockito.any(OrderItemRequest.class));
         Mockito.verify(orderRepository, Mockito.times(1)).save(Mockito.any(Order.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenQuoteWithUnknownBook_whenOrderCreated_thenThrowBookNotFoundExceptionBeforeAdmission() {
+
+        // Given
+        CreateOrderRequest mockCreateOrderRequest = CreateOrderRequest.builder()
+                .orderDetailSet(new LinkedHashSet<>(List.of(OrderItemRequest.builder().bookId("unknown").amount(1).build())))
+                .build();
+
+        OrderQuoteDTO quote = OrderQuoteDTO.builder()
+                .lines(List.of(OrderQuoteDTO.OrderQuoteLine.builder().bookId("unknown").amount(1).known(false).available(false).build()))
+                .fulfillable(false)
+                .build();
+
+        // When
+        Mockito.when(orderQuoteService.quoteOrder(mockCreateOrderRequest)).thenReturn(quote);
+
+        // Then
+        Assertions.assertThrows(BookNotFoundException.class, () -> orderSaveService.createOrder(mockCreateOrderRequest));
+        Mockito.verify(orderItemService, Mockito.never()).admitOrderItems(Mockito.anyCollection(), Mockito.any());
+        Mockito.verify(transactionTemplate, Mockito.never()).execute(Mockito.any());
+    }
+
+    @Test
+    void givenQuoteWithoutEnoughStock_whenOrderCreated_thenThrowNoAvailableStockExceptionBeforeAdmission() {
+
+        // Given
+        String bookId = RandomUtil.generateUUID();
+
+        CreateOrderRequest mockCreateOrderRequest = CreateOrderRequest.builder()
+                .orderDetailSet(new LinkedHashSet<>(List.of(OrderItemRequest.builder().bookId(bookId).amount(3).build())))
+                .build();
+
+        OrderQuoteDTO quote = OrderQuoteDTO.builder()
+                .lines(List.of(OrderQuoteDTO.OrderQuoteLine.builder().bookId(bookId).amount(3).known(true).available(false).availableStock(1).build()))
+                .fulfillable(false)
+                .build();
+
+        // When
+        Mockito.when(orderQuoteService.quoteOrder(mockCreateOrderRequest)).thenReturn(quote);
+
+        // Then
+        Assertions.assertThrows(NoAvailableStockException.class, () -> orderSaveService.createOrder(mockCreateOrderRequest));
+        Mockito.verify(orderItemService, Mockito.never()).admitOrderItems(Mockito.anyCollection(), Mockito.any());
+    }
+
+}
@@ -4,6 +4,8 @@ import com.example.demo.base.BaseServiceTest;
 import com.example.demo.builder.BookBuilder;
 import com.example.demo.builder.UserBuilder;
 import com.example.demo.dto.OrderDTO;
+import com.example.demo.dto.OrderVersionDTO;
+import com.example.demo.exception.order.OrderNotFoundException;
 import com.example.demo.model.Book;
 import com.example.demo.model.Order;
 import com.example.demo.model.OrderItem;
@@ -18,6 +20,7 @@ import com.example.demo.util.Identity;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,6 +34,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class OrderServiceImplTest extends BaseServiceTest {
@@ -188,4 +192,46 @@ class OrderServiceImplTest extends BaseServiceTest {
         // verify
         verify(orderRepository, times(1)).findAllByCreatedAtBetween(dateIntervalRequest.getStartDate(), dateIntervalRequest.getEndDate(), pageRequest);
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenOwnOrderId_WhenFindOrderVersion_ReturnOrderVersionDTO() {
+
+        // given
+        User mockUser = new UserBuilder().customer().build();
+        OrderVersionDTO orderVersion = new OrderVersionDTO(1L, mockUser.getId(), LocalDateTime.now());
+
+        // when
+        when(identity.getCustomUserDetails()).thenReturn(new CustomUserDetails(mockUser));
+        when(orderRepository.findVersionById(1L)).thenReturn(Optional.of(orderVersion));
+
+        // then
+        assertEquals(orderVersion, orderService.findOrderVersionById(1L));
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void givenOrderIdOfOtherCustomer_WhenFindOrderVersion_ThrowAccessDeniedException() {
+
+        // given
+        User mockUser = new UserBuilder().customer().build();
+        OrderVersionDTO orderVersion = new OrderVersionDTO(1L, mockUser.getId() + 1, LocalDateTime.now());
+
+        // when
+        when(identity.getCustomUserDetails()).thenReturn(new CustomUserDetails(mockUser));
+        when(orderRepository.findVersionById(1L)).thenReturn(Optional.of(orderVersion));
+
+        // then
+        assertThrows(AccessDeniedException.class, () -> orderService.findOrderVersionById(1L));
+    }
+
+    @Test
+    void givenUnknownOrderId_WhenFindOrderVersion_ThrowOrderNotFoundException() {
+
+        // when
+        when(orderRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        // then
+        assertThrows(OrderNotFoundException.class, () -> orderService.findOrderVersionById(1L));
+    }
+
+}
@@ -0,0 +1,314 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.builder.BookBuilder;
+import com.example.demo.dto.StockMovementDTO;
+import com.example.demo.exception.book.StockHistoryNotFoundException;
+import com.example.demo.model.Book;
+import com.example.demo.model.StockBalanceSnapshot;
+import com.example.demo.model.StockMovement;
+import com.example.demo.model.enums.StockMovementType;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.StockBalanceSnapshotRepository;
+import com.example.demo.repository.StockMovementRepository;
+import com.example.demo.service.BookStockSlotService;
+import com.example.demo.service.FlashSaleService;
+import com.example.demo.util.RandomUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StockJournalServiceImplTest extends BaseServiceTest {
+
+    @InjectMocks
+    private StockJournalServiceImpl stockJournalService;
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Mock
+    private StockBalanceSnapshotRepository stockBalanceSnapshotRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookStockSlotService bookStockSlotService;
+
+    @Mock
+    private FlashSaleService flashSaleService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockJournalService, "tailSettleMs", 2000L);
+        ReflectionTestUtils.setField(stockJournalService, "compactionBatchSize", 5000);
+    }
+
+    @Test
+    void givenNoTransaction_whenRecord_thenSaveMovementImmediately() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+
+        // Then
+        stockJournalService.record(mockBookId, StockMovementType.RESTOCK, 500);
+
+        verify(stockMovementRepository, times(1)).save(argThat(movement ->
+                movement.getBookId().equals(mockBookId)
+                        && movement.getType() == StockMovementType.RESTOCK
+                        && movement.getDelta() == 500
+                        && movement.getCreatedAt() != null
+        ));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenTransaction_whenRecordSeveralMovements_thenSaveThemTogetherBeforeCommit() {
+
+        // Given
+        String mockBookId1 = RandomUtil.generateUUID();
+        String mockBookId2 = RandomUtil.generateUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+
+            // When
+            stockJournalService.record(mockBookId1, StockMovementType.ORDER_RESERVATION, -1);
+            stockJournalService.record(mockBookId2, StockMovementType.ORDER_RESERVATION, -2);
+
+            verify(stockMovementRepository, never()).save(any(StockMovement.class));
+            verify(stockMovementRepository, never()).saveAll(anyList());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            // Then
+            ArgumentCaptor<List<StockMovement>> movementsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(stockMovementRepository, times(1)).saveAll(movementsCaptor.capture());
+
+            assertEquals(List.of(-1, -2), movementsCaptor.getValue().stream().map(StockMovement::getDelta).toList());
+            assertNull(TransactionSynchronizationManager.getResource(stockJournalService));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenSequence_whenGetMovementsSince_thenReturnSettledMovementsInOrder() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        StockMovement movement = StockMovement.builder()
+                .id(42L)
+                .bookId(mockBookId)
+                .type(StockMovementType.CORRECTION)
+                .delta(-3)
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+
+        // When
+        when(stockMovementRepository.findAllAfterSequence(eq(41L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(movement));
+
+        // Then
+        List<StockMovementDTO> response = stockJournalService.getMovementsSince(41L, 100);
+
+        assertEquals(1, response.size());
+        assertEquals(42L, response.get(0).getSequence());
+        assertEquals(-3, response.get(0).getDelta());
+        verify(stockMovementRepository, times(1)).findAllAfterSequence(
+                eq(41L),
+                argThat(settledBefore -> settledBefore.isBefore(LocalDateTime.now().minusSeconds(1))),
+                eq(Pageable.ofSize(100))
+        );
+    }
+
+    @Test
+    void givenSnapshotAndLaterMovements_whenGetStockAt_thenAddMovementsToSnapshot() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        LocalDateTime at = LocalDateTime.now();
+        StockBalanceSnapshot snapshot = StockBalanceSnapshot.builder()
+                .bookId(mockBookId)
+                .stock(100)
+                .snapshotAt(at.minusDays(30))
+                .build();
+
+        // When
+        when(bookRepository.existsById(mockBookId)).thenReturn(true);
+        when(stockBalanceSnapshotRepository.findById(mockBookId)).thenReturn(Optional.of(snapshot));
+        when(stockMovementRepository.sumDeltaByBookIdUpTo(mockBookId, at)).thenReturn(-15L);
+
+        // Then
+        assertEquals(85, stockJournalService.getStockAt(mockBookId, at));
+    }
+
+    @Test
+    void givenTimeBeforeSnapshot_whenGetStockAt_thenThrowStockHistoryNotFoundException() {
+
+        // Given
+        String mockBookId = RandomUtil.generateUUID();
+        LocalDateTime snapshotAt = LocalDateTime.now().minusDays(30);
+        StockBalanceSnapshot snapshot = StockBalanceSnapshot.builder()
+                .bookId(mockBookId)
+                .stock(100)
+                .snapshotAt(snapshotAt)
+                .build();
+
+        // When
+        when(bookRepository.existsById(mockBookId)).thenReturn(true);
+        when(stockBalanceSnapshotRepository.findById(mockBookId)).thenReturn(Optional.of(snapshot));
+
+        // Then
+        assertThrows(
+                StockHistoryNotFoundException.class,
+                () -> stockJournalService.getStockAt(mockBookId, snapshotAt.minusDays(1))
+        );
+    }
+
+    @Test
+    void givenBookWithoutStockHistory_whenSeedSnapshot_thenSaveCurrentStockAsSnapshot() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(64).build();
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(stockBalanceSnapshotRepository.existsById(mockBook.getId())).thenReturn(false);
+        when(stockMovementRepository.sumDeltaByBookId(mockBook.getId())).thenReturn(null);
+        when(stockMovementRepository.findFirstCreatedAtByBookId(mockBook.getId())).thenReturn(null);
+
+        // Then
+        stockJournalService.seedSnapshot(mockBook.getId());
+
+        verify(stockBalanceSnapshotRepository, times(1)).save(argThat(snapshot ->
+                snapshot.getBookId().equals(mockBook.getId()) && snapshot.getStock() == 64
+        ));
+    }
+
+    @Test
+    void givenBookWithMovementsButNoSnapshot_whenSeedSnapshot_thenSeedTheStockBeforeTheFirstMovement() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(64).build();
+        LocalDateTime firstMovementAt = LocalDateTime.now().minusMinutes(30);
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(stockBalanceSnapshotRepository.existsById(mockBook.getId())).thenReturn(false);
+        when(stockMovementRepository.sumDeltaByBookId(mockBook.getId())).thenReturn(-6L);
+        when(stockMovementRepository.findFirstCreatedAtByBookId(mockBook.getId())).thenReturn(firstMovementAt);
+
+        // Then
+        stockJournalService.seedSnapshot(mockBook.getId());
+
+        verify(stockBalanceSnapshotRepository, times(1)).save(argThat(snapshot ->
+                snapshot.getBookId().equals(mockBook.getId())
+                        && snapshot.getStock() == 70
+                        && snapshot.getSnapshotAt().equals(firstMovementAt)
+        ));
+    }
+
+    @Test
+    void givenSeededBook_whenSeedSnapshot_thenKeepTheExistingSnapshot() {
+
+        // Given
+        Book mockBook = new BookBuilder().withValidFields().withStock(64).build();
+
+        // When
+        when(bookRepository.findById(mockBook.getId())).thenReturn(Optional.of(mockBook));
+        when(stockBalanceSnapshotRepository.existsById(mockBook.getId())).thenReturn(true);
+
+        // Then
+        stockJournalService.seedSnapshot(mockBook.getId());
+
+        verify(stockBalanceSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenOldMovements_whenCompact_thenFoldThemIntoSnapshotsAndDeleteThem() {
+
+        // Given
+        String mockBookId1 = RandomUtil.generateUUID();
+        String mockBookId2 = RandomUtil.generateUUID();
+        LocalDateTime createdBefore = LocalDateTime.now().minusDays(30);
+
+        List<StockMovement> movements = List.of(
+                movement(1L, mockBookId1, 50, createdBefore.minusDays(3)),
+                movement(2L, mockBookId1, -5, createdBefore.minusDays(2)),
+                movement(3L, mockBookId2, 20, createdBefore.minusDays(1))
+        );
+
+        StockBalanceSnapshot existingSnapshot = StockBalanceSnapshot.builder()
+                .bookId(mockBookId1)
+                .stock(10)
+                .snapshotAt(createdBefore.minusDays(10))
+                .build();
+
+        // When
+        when(stockMovementRepository.findAllCreatedBeforeForUpdate(eq(createdBefore), any(Pageable.class)))
+                .thenReturn(movements);
+        when(stockBalanceSnapshotRepository.findAllById(anyIterable())).thenReturn(List.of(existingSnapshot));
+
+        // Then
+        int compacted = stockJournalService.compact(createdBefore);
+
+        assertEquals(3, compacted);
+
+        ArgumentCaptor<Iterable<StockBalanceSnapshot>> snapshotsCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(stockBalanceSnapshotRepository, times(1)).saveAll(snapshotsCaptor.capture());
+
+        Map<String, StockBalanceSnapshot> snapshots = ((Collection<StockBalanceSnapshot>) snapshotsCaptor.getValue())
+                .stream()
+                .collect(Collectors.toMap(StockBalanceSnapshot::getBookId, snapshot -> snapshot));
+
+        assertEquals(55, snapshots.get(mockBookId1).getStock());
+        assertEquals(20, snapshots.get(mockBookId2).getStock());
+        assertEquals(createdBefore, snapshots.get(mockBookId1).getSnapshotAt());
+        assertEquals(createdBefore, snapshots.get(mockBookId2).getSnapshotAt());
+        verify(stockMovementRepository, times(1)).deleteAllInBatch(movements);
+    }
+
+    @Test
+    void givenNoOldMovements_whenCompact_thenReturnZero() {
+
+        // When
+        when(stockMovementRepository.findAllCreatedBeforeForUpdate(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Then
+        assertEquals(0, stockJournalService.compact(LocalDateTime.now()));
+        verify(stockMovementRepository, never()).deleteAllInBatch(anyIterable());
+    }
+
+    private static StockMovement movement(Long id, String bookId, int delta, LocalDateTime createdAt) {
+        return StockMovement.builder()
+                .id(id)
+                .bookId(bookId)
+                .type(delta > 0 ? StockMovementType.RESTOCK : StockMovementType.ORDER_RESERVATION)
+                .delta(delta)
+                .createdAt(createdAt)
+                .build();
+    }
+
+}
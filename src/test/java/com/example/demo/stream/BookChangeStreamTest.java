@@ -0,0 +1,213 @@
+package com.example.demo.stream;
+
+import com.example.demo.dto.BookDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookChangeStreamTest {
+
+    private static final long NEVER = 3_600_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BookChangeStream bookChangeStream = new BookChangeStream(NEVER, NEVER, 2, 2, NEVER, NEVER, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        bookChangeStream.shutdown();
+    }
+
+    @Test
+    void givenSeveralChangesOfOneBook_whenFlushed_thenSendOnlyOneEvent() throws IOException {
+
+        // Given
+        SseEmitter emitter = mock(SseEmitter.class);
+        bookChangeStream.register(List.of(), emitter);
+
+        // When
+        bookChangeStream.publish(book("1", 5));
+        bookChangeStream.publish(book("1", 4));
+        bookChangeStream.publish(book("1", 3));
+        bookChangeStream.flush();
+
+        // Then
+        verify(emitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(1, meterRegistry.get("books.stream.events").counter().count());
+    }
+
+    @Test
+    void givenSubscriberFollowingBooks_whenOtherBookChanges_thenSendNothing() throws IOException {
+
+        // Given
+        SseEmitter followingEmitter = mock(SseEmitter.class);
+        SseEmitter otherEmitter = mock(SseEmitter.class);
+        bookChangeStream.register(List.of("1"), followingEmitter);
+        bookChangeStream.register(List.of("2"), otherEmitter);
+
+        // When
+        bookChangeStream.publish(book("1", 5));
+        bookChangeStream.flush();
+
+        // Then
+        verify(followingEmitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(otherEmitter, after(100).never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void givenSlowSubscriber_whenBufferOverflows_thenDropIt() throws IOException, InterruptedException {
+
+        // Given
+        BlockingEmitter slowEmitter = new BlockingEmitter();
+        bookChangeStream.register(List.of(), slowEmitter);
+
+        bookChangeStream.publish(book("1", 1));
+        bookChangeStream.flush();
+        slowEmitter.blocked.await();
+
+        // When
+        for (int i = 2; i <= 4; i++) {
+            bookChangeStream.publish(book(String.valueOf(i), i));
+            bookChangeStream.flush();
+        }
+
+        // Then
+        assertEquals(0, bookChangeStream.getSubscriberCount());
+        assertEquals(1, meterRegistry.get("books.stream.subscribers.dropped").counter().count());
+        assertEquals(1, slowEmitter.completed.getCount());
+        slowEmitter.release.complete(null);
+        assertTrue(slowEmitter.completed.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenStalledSend_whenSendTimeoutExpires_thenDropSubscriberAndKeepServingOthers() throws IOException, InterruptedException {
+
+        // Given
+        BookChangeStream stream = new BookChangeStream(NEVER, NEVER, 2, 1, 50, NEVER, meterRegistry);
+        BlockingEmitter stalledEmitter = new BlockingEmitter();
+        SseEmitter otherEmitter = mock(SseEmitter.class);
+        stream.register(List.of("1"), stalledEmitter);
+        stream.register(List.of("2"), otherEmitter);
+
+        try {
+            stream.publish(book("1", 1));
+            stream.flush();
+            stalledEmitter.blocked.await();
+
+            // When
+            Thread.sleep(100);
+            stream.evictStalledSubscribers();
+            stream.publish(book("2", 2));
+            stream.flush();
+
+            // Then
+            verify(otherEmitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+            assertEquals(1, stream.getSubscriberCount());
+            assertEquals(2, stream.getSenderThreads());
+            assertEquals(1, meterRegistry.get("books.stream.subscribers.dropped").counter().count());
+
+            stalledEmitter.release.complete(null);
+            assertTrue(stalledEmitter.completed.await(1, TimeUnit.SECONDS));
+            awaitSenderThreads(stream, 1);
+        } finally {
+            stalledEmitter.release.complete(null);
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    void givenShutdownStream_whenChangesArePublished_thenRejectNothing() throws IOException {
+
+        // Given
+        SseEmitter emitter = mock(SseEmitter.class);
+        bookChangeStream.register(List.of(), emitter);
+        bookChangeStream.shutdown();
+
+        // When
+        bookChangeStream.publish(book("1", 1));
+        bookChangeStream.flush();
+        bookChangeStream.heartbeat();
+
+        // Then
+        verify(emitter, after(100).never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void givenClosedConnection_whenSendFails_thenUnregisterSubscriber() throws IOException, InterruptedException {
+
+        // Given
+        SseEmitter emitter = mock(SseEmitter.class);
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        bookChangeStream.register(List.of("1"), emitter);
+
+        // When
+        bookChangeStream.heartbeat();
+
+        // Then
+        verify(emitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        awaitSubscriberCount(0);
+    }
+
+    private void awaitSubscriberCount(final int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 1000;
+        while (bookChangeStream.getSubscriberCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, bookChangeStream.getSubscriberCount());
+    }
+
+    private static void awaitSenderThreads(final BookChangeStream stream, final int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 1000;
+        while (stream.getSenderThreads() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, stream.getSenderThreads());
+    }
+
+    /**
+     * An emitter whose sends block until released, standing in for a client that stopped reading.
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private final CompletableFuture<Void> release = new CompletableFuture<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(final SseEventBuilder builder) {
+            blocked.countDown();
+            release.join();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+    }
+
+    private static BookDTO book(String id, int stock) {
+        return BookDTO.builder()
+                .id(id)
+                .stock(stock)
+                .price(BigDecimal.TEN)
+                .changeVersion((long) stock)
+                .build();
+    }
+
+}
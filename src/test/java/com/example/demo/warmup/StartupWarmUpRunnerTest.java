@@ -0,0 +1,145 @@
+package com.example.demo.warmup;
+
+import com.example.demo.base.BaseServiceTest;
+import com.example.demo.dto.BookDTO;
+import com.example.demo.payload.request.pagination.PaginationRequest;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.security.jwt.JwtUtils;
+import com.example.demo.service.BookService;
+import com.example.demo.service.StatisticsService;
+import com.example.demo.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StartupWarmUpRunnerTest extends BaseServiceTest {
+
+    @InjectMocks
+    private StartupWarmUpRunner startupWarmUpRunner;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(startupWarmUpRunner, "enabled", true);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "connections", 3);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "iterations", 2);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "maxDurationMs", 60_000L);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "bookReads", 2);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "orderReads", 1);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "tokenParses", 3);
+        ReflectionTestUtils.setField(startupWarmUpRunner, "statisticsQueries", 1);
+    }
+
+    @Test
+    void givenReachableDatabase_whenRun_thenOpenPoolReplayMixAndRecordDuration() throws SQLException {
+
+        // Given
+        BookDTO book = BookDTO.builder().id("1").name("The Hobbit").build();
+
+        // When
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(bookService.getAllBooks(any(PaginationRequest.class))).thenReturn(new PageImpl<>(List.of(book)));
+        when(bookService.getBookById("1")).thenReturn(book);
+        when(orderRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(statisticsService.getAllOrderStatistics(any(PaginationRequest.class))).thenReturn(Page.empty());
+        when(jwtUtils.createToken(anyMap(), anyString())).thenReturn("token");
+        when(jwtUtils.getIdFromToken("token")).thenReturn(0L);
+        when(jwtUtils.getEmailFromToken("token")).thenReturn("warmup@bookdelivery.local");
+
+        // Then
+        startupWarmUpRunner.run(null);
+
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+        verify(bookService, times(4)).getAllBooks(any(PaginationRequest.class));
+        verify(bookService, times(4)).getBookById("1");
+        verify(orderRepository, times(2)).findAll(any(Pageable.class));
+        verify(jwtUtils, times(6)).extractClaims("token");
+        verify(userService, times(6)).findByEmail("warmup@bookdelivery.local");
+        verify(statisticsService, times(2)).getAllOrderStatistics(any(PaginationRequest.class));
+        assertEquals(1, meterRegistry.get("application.warmup").timer().count());
+    }
+
+    @Test
+    void givenFailingRequests_whenRun_thenKeepReplayingTheMix() throws SQLException {
+
+        // When
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(bookService.getAllBooks(any(PaginationRequest.class))).thenThrow(new IllegalStateException("boom"));
+
+        // Then
+        startupWarmUpRunner.run(null);
+
+        verify(bookService, times(4)).getAllBooks(any(PaginationRequest.class));
+        verify(statisticsService, times(2)).getAllOrderStatistics(any(PaginationRequest.class));
+    }
+
+    @Test
+    void givenUnreachableDatabase_whenRun_thenSkipMixButRecordDuration() throws SQLException {
+
+        // When
+        when(dataSource.getConnection()).thenReturn(connection).thenThrow(new SQLException("Communications link failure"));
+
+        // Then
+        startupWarmUpRunner.run(null);
+
+        verify(connection).close();
+        verifyNoInteractions(bookService, orderRepository, jwtUtils, userService, statisticsService);
+        assertEquals(1, meterRegistry.get("application.warmup").timer().count());
+    }
+
+    @Test
+    void givenWarmUpDisabled_whenRun_thenDoNothing() {
+
+        // Given
+        ReflectionTestUtils.setField(startupWarmUpRunner, "enabled", false);
+
+        // When
+        startupWarmUpRunner.run(null);
+
+        // Then
+        verifyNoInteractions(dataSource, bookService, orderRepository, jwtUtils, userService, statisticsService);
+        assertNull(meterRegistry.find("application.warmup").timer());
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.example.demo.workload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimitFilter adaptiveConcurrencyLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adaptiveConcurrencyLimitFilter = new AdaptiveConcurrencyLimitFilter(
+                new AdaptiveConcurrencyLimiter(1, 1, 1, 0.9, 2.0, 0, meterRegistry),
+                new ObjectMapper().registerModule(new JavaTimeModule()), 3, "/actuator");
+    }
+
+    @Test
+    void givenAsyncRequest_whenFiltered_thenHoldThePermitUntilItCompletes() throws Exception {
+
+        // Given
+        final MockHttpServletRequest asyncRequest = new MockHttpServletRequest("POST", "/api/v1/statistics");
+        asyncRequest.setAsyncSupported(true);
+
+        // When
+        adaptiveConcurrencyLimitFilter.doFilter(asyncRequest, new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(final HttpServletRequest request, final HttpServletResponse response) {
+                        request.startAsync();
+                    }
+                }));
+        final MockHttpServletResponse rejectedResponse = new MockHttpServletResponse();
+        final MockFilterChain rejectedChain = new MockFilterChain();
+        adaptiveConcurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/books/1"),
+                rejectedResponse, rejectedChain);
+
+        // Then
+        assertEquals(503, rejectedResponse.getStatus());
+        assertEquals("3", rejectedResponse.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(rejectedChain.getRequest());
+        assertEquals(1.0, meterRegistry.get("workload.adaptive.rejected").tag("group", "catalog-read")
+                .counter().count());
+        assertEquals(1.0, inFlight("analytics"));
+
+        // When
+        ((MockAsyncContext) asyncRequest.getAsyncContext()).complete();
+
+        // Then
+        assertEquals(0.0, inFlight("analytics"));
+    }
+
+    @Test
+    void givenEventStream_whenSubscribed_thenReleaseThePermit() throws Exception {
+
+        // Given
+        final MockHttpServletRequest streamRequest = new MockHttpServletRequest("GET", "/api/v1/books/stream");
+        streamRequest.setAsyncSupported(true);
+
+        // When
+        adaptiveConcurrencyLimitFilter.doFilter(streamRequest, new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(final HttpServletRequest request, final HttpServletResponse response) {
+                        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+                        request.startAsync();
+                    }
+                }));
+
+        // Then
+        assertEquals(0.0, inFlight("catalog-read"));
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        adaptiveConcurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", "/favicon.ico"), response,
+                new MockFilterChain());
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, inFlight(AdaptiveConcurrencyLimitFilter.OTHER_GROUP));
+    }
+
+    @Test
+    void givenSaturatedLimit_whenProbeRequested_thenBypassTheLimiter() throws Exception {
+
+        // Given
+        final MockHttpServletRequest asyncRequest = new MockHttpServletRequest("POST", "/api/v1/statistics");
+        asyncRequest.setAsyncSupported(true);
+        adaptiveConcurrencyLimitFilter.doFilter(asyncRequest, new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(final HttpServletRequest request, final HttpServletResponse response) {
+                        request.startAsync();
+                    }
+                }));
+        final MockHttpServletRequest probeRequest = new MockHttpServletRequest("GET", "/app/actuator/health/readiness");
+        probeRequest.setContextPath("/app");
+        final MockHttpServletResponse probeResponse = new MockHttpServletResponse();
+        final MockFilterChain probeChain = new MockFilterChain();
+        final MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+
+        // When
+        adaptiveConcurrencyLimitFilter.doFilter(probeRequest, probeResponse, probeChain);
+        adaptiveConcurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", "/actuatorx"), otherResponse,
+                new MockFilterChain());
+
+        // Then
+        assertEquals(200, probeResponse.getStatus());
+        assertSame(probeRequest, probeChain.getRequest());
+        assertEquals(503, otherResponse.getStatus());
+        assertEquals(1.0, inFlight("analytics"));
+        assertEquals(0.0, inFlight(AdaptiveConcurrencyLimitFilter.OTHER_GROUP));
+    }
+
+    private double inFlight(final String group) {
+        return meterRegistry.get("workload.adaptive.in-flight").tag("group", group).gauge().value();
+    }
+
+}
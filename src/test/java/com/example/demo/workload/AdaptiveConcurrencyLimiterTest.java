@@ -0,0 +1,112 @@
+package com.example.demo.workload;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenReservedShare_whenLimitIsNearlyReached_thenAdmitOnlyPriorityRequests() {
+
+        // Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10, 0.9, 2.0, 0.2,
+                meterRegistry);
+
+        // When
+        final List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(limiter.tryAcquire("catalog-read", false).orElseThrow());
+        }
+
+        // Then
+        assertEquals(Optional.empty(), limiter.tryAcquire("analytics", false));
+        assertTrue(limiter.tryAcquire("order-write", true).isPresent());
+        assertTrue(limiter.tryAcquire("order-write", true).isPresent());
+        assertEquals(Optional.empty(), limiter.tryAcquire("order-write", true));
+
+        assertEquals(1.0, meterRegistry.get("workload.adaptive.rejected").tag("group", "analytics").counter().count());
+        assertEquals(1.0, meterRegistry.get("workload.adaptive.rejected").tag("group", "order-write").counter().count());
+        assertEquals(8.0, meterRegistry.get("workload.adaptive.in-flight").tag("group", "catalog-read").gauge().value());
+
+        permits.get(0).releaseWithoutSample();
+        permits.get(0).releaseWithoutSample();
+        assertEquals(7.0, meterRegistry.get("workload.adaptive.in-flight").tag("group", "catalog-read").gauge().value());
+        assertTrue(limiter.tryAcquire("analytics", false).isPresent());
+    }
+
+    @Test
+    void givenSamples_whenLimitIsInUse_thenIncreaseOnFastAndDecreaseOnSlowSamples() {
+
+        // Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 20, 0.9, 2.0, 0,
+                meterRegistry);
+        final List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.tryAcquire("catalog-read", false).orElseThrow());
+        }
+
+        // When
+        permits.get(0).release(FAST);
+
+        // Then
+        assertEquals(4, limiter.getLimit());
+        assertEquals(10.0, meterRegistry.get("workload.adaptive.latency.baseline").tag("group", "catalog-read")
+                .timeGauge().value(TimeUnit.MILLISECONDS));
+
+        // When
+        permits.get(2).release(FAST);
+
+        // Then
+        assertEquals(5, limiter.getLimit());
+
+        // When
+        permits.get(3).release(SLOW);
+
+        // Then
+        assertEquals(4, limiter.getLimit());
+        assertEquals(4.0, meterRegistry.get("workload.adaptive.limit").gauge().value());
+
+        // When
+        permits.get(1).release(FAST);
+        permits.get(1).release(SLOW);
+
+        // Then
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void givenLightLoad_whenSlowSample_thenKeepTheLimit() {
+
+        // Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 0.9, 2.0, 0,
+                meterRegistry);
+        limiter.tryAcquire("analytics", false).orElseThrow().release(FAST);
+
+        // When
+        limiter.tryAcquire("analytics", false).orElseThrow().release(SLOW);
+
+        // Then
+        assertEquals(10, limiter.getLimit());
+    }
+
+}
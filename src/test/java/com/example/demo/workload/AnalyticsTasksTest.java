@@ -0,0 +1,73 @@
+package com.example.demo.workload;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsTasksTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AnalyticsTasks analyticsTasks;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        analyticsTasks = new AnalyticsTasks(1, 0, 1000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsTasks.shutdown();
+    }
+
+    @Test
+    void givenWork_whenSubmitted_thenRunAsAnalyticsOnItsOwnThread() throws Exception {
+
+        // Given
+        final WebAsyncTask<Optional<WorkloadClass>> task = analyticsTasks.submit(WorkloadContext::current);
+
+        // When
+        final Future<?> result = start(task);
+
+        // Then
+        assertEquals(Optional.of(WorkloadClass.ANALYTICS), result.get(5, TimeUnit.SECONDS));
+        assertEquals(1000L, task.getTimeout());
+        assertEquals(Optional.empty(), WorkloadContext.current());
+    }
+
+    @Test
+    void givenSaturatedExecutor_whenSubmitted_thenRejectAndCount() throws Exception {
+
+        // Given
+        final CountDownLatch release = new CountDownLatch(1);
+        final WebAsyncTask<Boolean> blocking = analyticsTasks.submit(() -> release.await(5, TimeUnit.SECONDS));
+        final Future<?> running = start(blocking);
+        final WebAsyncTask<Boolean> rejected = analyticsTasks.submit(() -> true);
+
+        // Then
+        assertThrows(TaskRejectedException.class, () -> start(rejected));
+        assertEquals(1.0, meterRegistry.get("workload.rejected").tag("workload", "analytics").counter().count());
+        assertEquals(1.0, meterRegistry.get("workload.limit").tag("workload", "analytics").gauge().value());
+
+        release.countDown();
+        assertEquals(Boolean.TRUE, running.get(5, TimeUnit.SECONDS));
+    }
+
+    private static Future<?> start(final WebAsyncTask<?> task) {
+        return ((AsyncTaskExecutor) task.getExecutor()).submit(task.getCallable());
+    }
+
+}
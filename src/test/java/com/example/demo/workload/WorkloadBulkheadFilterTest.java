@@ -0,0 +1,110 @@
+package com.example.demo.workload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadBulkheadFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private WorkloadBulkhead orderWriteBulkhead;
+
+    private WorkloadBulkheadFilter workloadBulkheadFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderWriteBulkhead = new WorkloadBulkhead(WorkloadClass.ORDER_WRITE, 1, 0, meterRegistry);
+        workloadBulkheadFilter = new WorkloadBulkheadFilter(Map.of(WorkloadClass.ORDER_WRITE, orderWriteBulkhead),
+                new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+    }
+
+    @Test
+    void givenClassifiedRequest_whenFiltered_thenHandleAsWorkOfItsClassAndFreeTheSlot() throws Exception {
+
+        // Given
+        final List<Optional<WorkloadClass>> seenClasses = new ArrayList<>();
+        final List<Double> seenActive = new ArrayList<>();
+        final MockFilterChain filterChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(final HttpServletRequest request, final HttpServletResponse response) {
+                seenClasses.add(WorkloadContext.current());
+                seenActive.add(activeOrderWrites());
+            }
+        });
+
+        // When
+        workloadBulkheadFilter.doFilter(new MockHttpServletRequest("POST", "/api/v1/orders"),
+                new MockHttpServletResponse(), filterChain);
+
+        // Then
+        assertEquals(List.of(Optional.of(WorkloadClass.ORDER_WRITE)), seenClasses);
+        assertEquals(List.of(1.0), seenActive);
+        assertEquals(Optional.empty(), WorkloadContext.current());
+        assertEquals(0.0, activeOrderWrites());
+    }
+
+    @Test
+    void givenSaturatedClass_whenFiltered_thenRejectWithServiceUnavailable() throws Exception {
+
+        // Given
+        assertTrue(orderWriteBulkhead.tryEnter());
+        final MockFilterChain filterChain = new MockFilterChain();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        workloadBulkheadFilter.doFilter(new MockHttpServletRequest("POST", "/api/v1/orders"), response, filterChain);
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("order-write"));
+        assertNull(filterChain.getRequest());
+        assertEquals(1.0, meterRegistry.get("workload.rejected").tag("workload", "order-write").counter().count());
+    }
+
+    @Test
+    void givenUnclassifiedRequest_whenFiltered_thenPassThroughWithoutClass() throws Exception {
+
+        // Given
+        assertTrue(orderWriteBulkhead.tryEnter());
+        final List<Optional<WorkloadClass>> seen = new ArrayList<>();
+        final MockFilterChain filterChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(final HttpServletRequest request, final HttpServletResponse response) {
+                seen.add(WorkloadContext.current());
+            }
+        });
+
+        // When
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        workloadBulkheadFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders/1"), response, filterChain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(List.of(Optional.empty()), seen);
+    }
+
+    private double activeOrderWrites() {
+        return meterRegistry.get("workload.active").tag("workload", "order-write").gauge().value();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.demo.workload;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadBulkheadTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenFullBulkheadWithoutWait_whenEnter_thenRejectWithoutBlocking() {
+
+        // Given
+        WorkloadBulkhead bulkhead = new WorkloadBulkhead(WorkloadClass.CATALOG_READ, 1, 0, meterRegistry);
+        assertTrue(bulkhead.tryEnter());
+
+        // When
+        Thread.currentThread().interrupt();
+        boolean entered = bulkhead.tryEnter();
+        boolean interrupted = Thread.interrupted();
+
+        // Then
+        assertFalse(entered);
+        assertTrue(interrupted);
+        assertEquals(1, meterRegistry.get("workload.rejected").counter().count());
+    }
+
+    @Test
+    void givenFullBulkheadWithWait_whenSlotFreesInTime_thenEnter() throws Exception {
+
+        // Given
+        WorkloadBulkhead bulkhead = new WorkloadBulkhead(WorkloadClass.ORDER_WRITE, 1, 5000, meterRegistry);
+        assertTrue(bulkhead.tryEnter());
+
+        // When
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(bulkhead::tryEnter);
+        TimeUnit.MILLISECONDS.sleep(50);
+        bulkhead.leave();
+
+        // Then
+        assertTrue(waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.get("workload.rejected").counter().count());
+    }
+
+}
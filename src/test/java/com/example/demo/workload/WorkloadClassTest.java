@@ -0,0 +1,34 @@
+package com.example.demo.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkloadClassTest {
+
+    @Test
+    void givenRequests_whenClassified_thenReturnTheirWorkloadClass() {
+
+        assertEquals(Optional.of(WorkloadClass.ORDER_WRITE), WorkloadClass.of("POST", "/api/v1/orders"));
+        assertEquals(Optional.of(WorkloadClass.ORDER_WRITE), WorkloadClass.of("POST", "/api/v1/orders/quote"));
+        assertEquals(Optional.of(WorkloadClass.CATALOG_READ), WorkloadClass.of("GET", "/api/v1/books/1"));
+        assertEquals(Optional.of(WorkloadClass.CATALOG_READ), WorkloadClass.of("POST", "/api/v1/books/all"));
+        assertEquals(Optional.of(WorkloadClass.CATALOG_READ), WorkloadClass.of("POST", "/api/v1/books/search"));
+        assertEquals(Optional.of(WorkloadClass.ANALYTICS), WorkloadClass.of("GET", "/api/v1/statistics"));
+        assertEquals(Optional.of(WorkloadClass.ANALYTICS), WorkloadClass.of("GET", "/api/v1/statistics/1"));
+        assertEquals(Optional.of(WorkloadClass.ANALYTICS), WorkloadClass.of("POST", "/api/v1/orders/between-dates"));
+        assertEquals(Optional.of(WorkloadClass.AUTH), WorkloadClass.of("POST", "/api/v1/auth/login"));
+    }
+
+    @Test
+    void givenAdministrationAndLookups_whenClassified_thenReturnNoWorkloadClass() {
+
+        assertEquals(Optional.empty(), WorkloadClass.of("POST", "/api/v1/books"));
+        assertEquals(Optional.empty(), WorkloadClass.of("PUT", "/api/v1/books/stock-amount/1"));
+        assertEquals(Optional.empty(), WorkloadClass.of("GET", "/api/v1/orders/1"));
+        assertEquals(Optional.empty(), WorkloadClass.of("GET", "/actuator/health"));
+    }
+
+}
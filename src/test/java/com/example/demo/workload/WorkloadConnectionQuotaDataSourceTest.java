@@ -0,0 +1,71 @@
+package com.example.demo.workload;
+
+import com.example.demo.base.BaseServiceTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WorkloadConnectionQuotaDataSourceTest extends BaseServiceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private MeterRegistry meterRegistry;
+
+    private WorkloadConnectionQuotaDataSource workloadConnectionQuotaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workloadConnectionQuotaDataSource = new WorkloadConnectionQuotaDataSource(targetDataSource,
+                Map.of(WorkloadClass.ANALYTICS, 1, WorkloadClass.ORDER_WRITE, 0), 50, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.clear();
+    }
+
+    @Test
+    void givenQuotaUsedUp_whenGetConnection_thenTimeOutOnlyForThatClass() throws SQLException {
+
+        // When
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        // Then
+        WorkloadContext.set(WorkloadClass.ANALYTICS);
+        final Connection analyticsConnection = workloadConnectionQuotaDataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, workloadConnectionQuotaDataSource::getConnection);
+        assertEquals(1.0, meterRegistry.get("workload.connections.timeouts")
+                .tag("workload", "analytics").counter().count());
+
+        WorkloadContext.set(WorkloadClass.ORDER_WRITE);
+        workloadConnectionQuotaDataSource.getConnection();
+        workloadConnectionQuotaDataSource.getConnection();
+
+        WorkloadContext.clear();
+        workloadConnectionQuotaDataSource.getConnection();
+
+        WorkloadContext.set(WorkloadClass.ANALYTICS);
+        analyticsConnection.close();
+        assertNotNull(workloadConnectionQuotaDataSource.getConnection());
+
+        verify(targetDataSource, times(5)).getConnection();
+    }
+
+}